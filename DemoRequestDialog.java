@@ -3,6 +3,10 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 
 public class DemoRequestDialog extends JDialog {
@@ -14,6 +18,9 @@ public class DemoRequestDialog extends JDialog {
     private static final Color DARK_TEXT = new Color(51, 51, 51);
     private static final Color SUCCESS_GREEN = new Color(212, 237, 218);
     private static final Color SUCCESS_TEXT = new Color(21, 87, 36);
+    private static final Color PRESSED_FILL = new Color(245, 245, 245);
+    private static final Color ROLLOVER_FILL = new Color(250, 250, 250);
+    private static final BasicStroke OUTLINE_STROKE = new BasicStroke(2);
 
     private JTextField fullNameField;
     private JTextField companyNameField;
@@ -24,6 +31,7 @@ public class DemoRequestDialog extends JDialog {
     private JButton cancelButton;
     private JPanel formPanel;
     private JPanel successPanel;
+    private CompletableFuture<TalosApiClient.ApiResponse> pendingSubmit;
 
     private static final Pattern EMAIL_PATTERN = Pattern.compile(
         "^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$"
@@ -39,21 +47,7 @@ public class DemoRequestDialog extends JDialog {
         setResizable(false);
 
         // Main container with gradient background
-        JPanel mainPanel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-
-                // Create subtle gradient
-                GradientPaint gradient = new GradientPaint(0, 0, Color.WHITE,
-                                                          getWidth(), getHeight(),
-                                                          LIGHT_GRAY);
-                g2d.setPaint(gradient);
-                g2d.fillRect(0, 0, getWidth(), getHeight());
-            }
-        };
+        JPanel mainPanel = createBackgroundPanel();
         mainPanel.setLayout(new BorderLayout());
         mainPanel.setBorder(new EmptyBorder(20, 20, 20, 20));
 
@@ -255,30 +249,15 @@ public class DemoRequestDialog extends JDialog {
 
     private JButton createPrimaryButton(String text, ActionListener action) {
         JButton button = new JButton(text) {
+            private final RenderCache normal = new RenderCache(
+                (g, w, h) -> TalosLoginApp.paintPrimaryButton(g, w, h, PRIMARY_GREEN, getText(), getFont()), false);
+            private final RenderCache hover = new RenderCache(
+                (g, w, h) -> TalosLoginApp.paintPrimaryButton(g, w, h, HOVER_GREEN, getText(), getFont()), false);
+
             @Override
             protected void paintComponent(Graphics g) {
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                if (getModel().isPressed()) {
-                    g2d.setColor(HOVER_GREEN);
-                } else if (getModel().isRollover()) {
-                    g2d.setColor(HOVER_GREEN);
-                } else {
-                    g2d.setColor(PRIMARY_GREEN);
-                }
-
-                g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 8, 8);
-
-                // Draw text
-                g2d.setColor(Color.WHITE);
-                g2d.setFont(getFont());
-                FontMetrics fm = g2d.getFontMetrics();
-                int textWidth = fm.stringWidth(getText());
-                int textHeight = fm.getHeight();
-                int x = (getWidth() - textWidth) / 2;
-                int y = (getHeight() - textHeight) / 2 + fm.getAscent();
-                g2d.drawString(getText(), x, y);
+                RenderCache state = getModel().isPressed() || getModel().isRollover() ? hover : normal;
+                state.paint(g, this, getWidth(), getHeight(), List.of(getText(), getFont()));
             }
         };
 
@@ -298,36 +277,17 @@ public class DemoRequestDialog extends JDialog {
 
     private JButton createSecondaryButton(String text, ActionListener action) {
         JButton button = new JButton(text) {
+            private final RenderCache normal = new RenderCache(
+                (g, w, h) -> paintSecondaryButton(g, w, h, Color.WHITE, getText(), getFont()), false);
+            private final RenderCache hover = new RenderCache(
+                (g, w, h) -> paintSecondaryButton(g, w, h, ROLLOVER_FILL, getText(), getFont()), false);
+            private final RenderCache pressed = new RenderCache(
+                (g, w, h) -> paintSecondaryButton(g, w, h, PRESSED_FILL, getText(), getFont()), false);
+
             @Override
             protected void paintComponent(Graphics g) {
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                // Draw border and background
-                if (getModel().isPressed()) {
-                    g2d.setColor(new Color(245, 245, 245));
-                    g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 8, 8);
-                } else if (getModel().isRollover()) {
-                    g2d.setColor(new Color(250, 250, 250));
-                    g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 8, 8);
-                } else {
-                    g2d.setColor(Color.WHITE);
-                    g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 8, 8);
-                }
-
-                g2d.setColor(BORDER_GRAY);
-                g2d.setStroke(new BasicStroke(2));
-                g2d.drawRoundRect(1, 1, getWidth()-3, getHeight()-3, 8, 8);
-
-                // Draw text
-                g2d.setColor(TEXT_GRAY);
-                g2d.setFont(getFont());
-                FontMetrics fm = g2d.getFontMetrics();
-                int textWidth = fm.stringWidth(getText());
-                int textHeight = fm.getHeight();
-                int x = (getWidth() - textWidth) / 2;
-                int y = (getHeight() - textHeight) / 2 + fm.getAscent();
-                g2d.drawString(getText(), x, y);
+                RenderCache state = getModel().isPressed() ? pressed : getModel().isRollover() ? hover : normal;
+                state.paint(g, this, getWidth(), getHeight(), List.of(getText(), getFont()));
             }
         };
 
@@ -432,47 +392,93 @@ public class DemoRequestDialog extends JDialog {
         // Disable form during submission
         submitButton.setText("Submitting...");
         submitButton.setEnabled(false);
-        cancelButton.setEnabled(false);
-
-        // Simulate submission process
-        SwingUtilities.invokeLater(() -> {
-            try {
-                Thread.sleep(1500); // Simulate network delay
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt();
-            }
 
-            SwingUtilities.invokeLater(() -> {
+        // Cancel stays enabled: closing the dialog abandons the request.
+        pendingSubmit = TalosApiClient.shared().submitDemoRequest(formFields());
+        TalosApiClient.onEdt(pendingSubmit, (response, error) -> {
+            pendingSubmit = null;
+            if (error == null && response.isSuccess()) {
                 // Switch to success panel
                 getContentPane().removeAll();
                 getContentPane().add(createMainPanelWithSuccess());
                 revalidate();
                 repaint();
-            });
+                return;
+            }
+
+            submitButton.setText("Submit Request");
+            submitButton.setEnabled(true);
+            JOptionPane.showMessageDialog(this,
+                error != null
+                    ? "Could not reach the Talos server. Please check your connection and try again."
+                    : response.message(),
+                "Submission Failed",
+                JOptionPane.ERROR_MESSAGE);
         });
     }
 
+    private Map<String, String> formFields() {
+        String fullName = fullNameField.getText().trim();
+        int space = fullName.indexOf(' ');
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("firstName", space > 0 ? fullName.substring(0, space) : fullName);
+        fields.put("lastName", space > 0 ? fullName.substring(space + 1).trim() : null);
+        fields.put("email", emailField.getText().trim());
+        fields.put("company", companyNameField.getText().trim());
+        fields.put("phone", phoneField.getText().trim());
+        fields.put("companySize", (String) employeeCountCombo.getSelectedItem());
+        return fields;
+    }
+
+    @Override
+    public void dispose() {
+        if (pendingSubmit != null) {
+            pendingSubmit.cancel(true);
+            pendingSubmit = null;
+        }
+        super.dispose();
+    }
+
     private JPanel createMainPanelWithSuccess() {
-        JPanel mainPanel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-
-                GradientPaint gradient = new GradientPaint(0, 0, Color.WHITE,
-                                                          getWidth(), getHeight(),
-                                                          LIGHT_GRAY);
-                g2d.setPaint(gradient);
-                g2d.fillRect(0, 0, getWidth(), getHeight());
-            }
-        };
+        JPanel mainPanel = createBackgroundPanel();
         mainPanel.setLayout(new BorderLayout());
         mainPanel.setBorder(new EmptyBorder(20, 20, 20, 20));
         mainPanel.add(successPanel, BorderLayout.CENTER);
         return mainPanel;
     }
 
+    private JPanel createBackgroundPanel() {
+        return new JPanel() {
+            private final RenderCache background = new RenderCache(DemoRequestDialog::paintBackground, true);
+
+            @Override
+            protected void paintComponent(Graphics g) {
+                background.paint(g, this, getWidth(), getHeight(), null);
+            }
+        };
+    }
+
+    static void paintBackground(Graphics2D g2d, int width, int height) {
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+
+        // Create subtle gradient
+        g2d.setPaint(new GradientPaint(0, 0, Color.WHITE, width, height, LIGHT_GRAY));
+        g2d.fillRect(0, 0, width, height);
+    }
+
+    static void paintSecondaryButton(Graphics2D g2d, int width, int height, Color fill, String text, Font font) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        // Draw border and background
+        g2d.setColor(fill);
+        g2d.fillRoundRect(0, 0, width, height, 8, 8);
+        g2d.setColor(BORDER_GRAY);
+        g2d.setStroke(OUTLINE_STROKE);
+        g2d.drawRoundRect(1, 1, width - 3, height - 3, 8, 8);
+
+        TalosLoginApp.drawCenteredText(g2d, width, height, text, font, TEXT_GRAY);
+    }
+
     private void handleCancel(ActionEvent e) {
         dispose();
     }
@@ -0,0 +1,85 @@
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * A pre-rendered image of one custom-painted surface: a panel background, or a button
+ * in one of its states.
+ *
+ * The painter runs only when the surface's size, the display scale or its content key
+ * (e.g. the button text) changes; every other repaint is a single image copy. Images
+ * are created compatible with the component's screen, which lets Java2D keep them in
+ * video memory as managed images without the content-loss handling a VolatileImage
+ * needs. They are rendered at device resolution so HiDPI screens stay sharp.
+ */
+final class RenderCache {
+    interface Painter {
+        void paint(Graphics2D g, int width, int height);
+    }
+
+    private final Painter painter;
+    private final boolean opaque;
+    private BufferedImage image;
+    private Object[] key;
+    private int renders;
+
+    RenderCache(Painter painter, boolean opaque) {
+        this.painter = painter;
+        this.opaque = opaque;
+    }
+
+    /**
+     * Draws the surface at (0, 0) with the given size, rendering it first if the size,
+     * scale or {@code content} differ from the cached image's.
+     */
+    void paint(Graphics g, Component component, int width, int height, Object content) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        Graphics2D g2d = (Graphics2D) g;
+        AffineTransform transform = g2d.getTransform();
+        double scaleX = transform.getScaleX();
+        double scaleY = transform.getScaleY();
+        Object[] wanted = {width, height, scaleX, scaleY, content};
+        if (image == null || !Arrays.equals(key, wanted)) {
+            render(component, width, height, scaleX, scaleY);
+            key = wanted;
+        }
+        g2d.drawImage(image, 0, 0, width, height, null);
+    }
+
+    /**
+     * How many times the painter has run; for the repaint benchmark.
+     */
+    int renders() {
+        return renders;
+    }
+
+    private void render(Component component, int width, int height, double scaleX, double scaleY) {
+        int pixelWidth = (int) Math.ceil(width * scaleX);
+        int pixelHeight = (int) Math.ceil(height * scaleY);
+        if (image != null) {
+            image.flush();
+        }
+        GraphicsConfiguration config = component != null ? component.getGraphicsConfiguration() : null;
+        int transparency = opaque ? Transparency.OPAQUE : Transparency.TRANSLUCENT;
+        image = config != null
+            ? config.createCompatibleImage(pixelWidth, pixelHeight, transparency)
+            : new BufferedImage(pixelWidth, pixelHeight,
+                opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.scale(scaleX, scaleY);
+            painter.paint(g, width, height);
+        } finally {
+            g.dispose();
+        }
+        renders++;
+    }
+
+}
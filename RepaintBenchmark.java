@@ -0,0 +1,100 @@
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * Times repaints of the login window's and demo dialog's custom surfaces, drawn
+ * directly as before and through {@link RenderCache}. Runs headless:
+ *
+ *   javac *.java && java -Djava.awt.headless=true RepaintBenchmark [frames]
+ *
+ * "hover" alternates a button between its normal and hover states every frame, as
+ * moving the mouse across it does. "resize" changes the size every frame, which is the
+ * cache's worst case since each frame re-renders.
+ */
+public class RepaintBenchmark {
+    private static final Font BUTTON_FONT = new Font(Font.SANS_SERIF, Font.BOLD, 14);
+    private static final Color PRIMARY_GREEN = new Color(26, 90, 58);
+    private static final Color HOVER_GREEN = new Color(15, 61, 38);
+
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        BufferedImage screen = new BufferedImage(450, 600, BufferedImage.TYPE_INT_RGB);
+
+        System.out.printf("%-28s %12s %12s %8s%n", "surface", "direct us", "cached us", "renders");
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1; // the first round warms up the JIT
+            run(report, "login background", screen, frames, false,
+                TalosLoginApp::paintBackground, 450, 600);
+            run(report, "demo background", screen, frames, false,
+                DemoRequestDialog::paintBackground, 410, 560);
+            run(report, "login background resize", screen, frames / 10, true,
+                TalosLoginApp::paintBackground, 450, 600);
+
+            RenderCache.Painter normal = (g, w, h) ->
+                TalosLoginApp.paintPrimaryButton(g, w, h, PRIMARY_GREEN, "Sign In", BUTTON_FONT);
+            RenderCache.Painter hover = (g, w, h) ->
+                TalosLoginApp.paintPrimaryButton(g, w, h, HOVER_GREEN, "Sign In", BUTTON_FONT);
+            hover(report, "primary button hover", screen, frames, normal, hover, 370, 45);
+
+            RenderCache.Painter outline = (g, w, h) ->
+                TalosLoginApp.paintSecondaryButton(g, w, h, false, "Get Demo", BUTTON_FONT);
+            RenderCache.Painter filled = (g, w, h) ->
+                TalosLoginApp.paintSecondaryButton(g, w, h, true, "Get Demo", BUTTON_FONT);
+            hover(report, "secondary button hover", screen, frames, outline, filled, 370, 45);
+        }
+    }
+
+    private static void run(boolean report, String name, BufferedImage screen, int frames, boolean resize,
+                            RenderCache.Painter painter, int width, int height) {
+        long direct = time(frames, frame -> {
+            Graphics2D g = screen.createGraphics();
+            painter.paint(g, width - (resize ? frame % 40 : 0), height);
+            g.dispose();
+        });
+        RenderCache cache = new RenderCache(painter, true);
+        long cached = time(frames, frame -> {
+            Graphics2D g = screen.createGraphics();
+            cache.paint(g, null, width - (resize ? frame % 40 : 0), height, null);
+            g.dispose();
+        });
+        print(report, name, direct, cached, frames, cache.renders());
+    }
+
+    private static void hover(boolean report, String name, BufferedImage screen, int frames,
+                              RenderCache.Painter normal, RenderCache.Painter hover, int width, int height) {
+        long direct = time(frames, frame -> {
+            Graphics2D g = screen.createGraphics();
+            (frame % 2 == 0 ? normal : hover).paint(g, width, height);
+            g.dispose();
+        });
+        List<RenderCache> states = List.of(new RenderCache(normal, false), new RenderCache(hover, false));
+        long cached = time(frames, frame -> {
+            Graphics2D g = screen.createGraphics();
+            states.get(frame % 2).paint(g, null, width, height, null);
+            g.dispose();
+        });
+        print(report, name, direct, cached, frames, states.get(0).renders() + states.get(1).renders());
+    }
+
+    private interface Frame {
+        void paint(int frame);
+    }
+
+    private static long time(int frames, Frame frame) {
+        long start = System.nanoTime();
+        for (int i = 0; i < frames; i++) {
+            frame.paint(i);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void print(boolean report, String name, long direct, long cached, int frames, int renders) {
+        if (report) {
+            System.out.printf("%-28s %12.1f %12.1f %8d%n", name,
+                direct / 1000.0 / frames, cached / 1000.0 / frames, renders);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+import javax.swing.SwingUtilities;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Asynchronous client for the Talos backend, shared by the login window and the demo
+ * request dialog.
+ *
+ * One HttpClient (HTTP/2 where the server offers it, falling back to HTTP/1.1) is
+ * reused for every call, so connections stay open between requests. Calls never block
+ * the caller: they return a CompletableFuture, and {@link #onEdt} delivers the outcome
+ * back on the Event Dispatch Thread. Cancelling a returned future (e.g. when its dialog
+ * closes) suppresses the callback and, on Java 16 and later, aborts the exchange.
+ *
+ * The backend URL defaults to http://localhost:8080 and can be set with
+ * -Dtalos.api.url=... or the TALOS_API_URL environment variable.
+ */
+public final class TalosApiClient {
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(
+        Long.getLong("talos.api.connect-timeout-seconds", 10));
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(
+        Long.getLong("talos.api.timeout-seconds", 30));
+
+    private static volatile TalosApiClient shared;
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+
+    public TalosApiClient(String baseUrl) {
+        this.baseUri = URI.create(baseUrl.replaceAll("/+$", "") + "/");
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(CONNECT_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+    }
+
+    public static TalosApiClient shared() {
+        TalosApiClient client = shared;
+        if (client == null) {
+            synchronized (TalosApiClient.class) {
+                client = shared;
+                if (client == null) {
+                    String url = System.getProperty("talos.api.url", System.getenv("TALOS_API_URL"));
+                    client = new TalosApiClient(url != null && !url.isBlank() ? url : "http://localhost:8080");
+                    shared = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    public CompletableFuture<ApiResponse> health() {
+        return send(request("api/health").GET().build());
+    }
+
+    public CompletableFuture<ApiResponse> login(String email, char[] password) {
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("email", email);
+        body.put("password", new String(password));
+        return post("api/auth/login", body);
+    }
+
+    /**
+     * Submits the demo form. Keys are the backend's field names: firstName, lastName,
+     * email, company, phone, companySize.
+     */
+    public CompletableFuture<ApiResponse> submitDemoRequest(Map<String, String> fields) {
+        return post("api/demo-request", fields);
+    }
+
+    /**
+     * Runs {@code callback} on the Event Dispatch Thread once {@code future} completes,
+     * with the result or the failure's cause. Nothing runs if the future was cancelled.
+     */
+    public static <T> void onEdt(CompletableFuture<T> future, BiConsumer<? super T, Throwable> callback) {
+        future.whenComplete((result, failure) -> {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+            if (cause instanceof CancellationException) {
+                return;
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (!future.isCancelled()) {
+                    callback.accept(result, cause);
+                }
+            });
+        });
+    }
+
+    private CompletableFuture<ApiResponse> post(String path, Map<String, String> body) {
+        return send(request(path)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(toJson(body), StandardCharsets.UTF_8))
+            .build());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Accept", "application/json");
+    }
+
+    private CompletableFuture<ApiResponse> send(HttpRequest request) {
+        CompletableFuture<HttpResponse<String>> exchange =
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        CompletableFuture<ApiResponse> result =
+            exchange.thenApply(response -> new ApiResponse(response.statusCode(), response.body()));
+        // Cancelling the caller's future must reach the exchange itself.
+        result.whenComplete((response, failure) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private static String toJson(Map<String, String> fields) {
+        StringBuilder json = new StringBuilder("{");
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            appendString(json, field.getKey());
+            json.append(':');
+            if (field.getValue() == null) {
+                json.append("null");
+            } else {
+                appendString(json, field.getValue());
+            }
+        }
+        return json.append('}').toString();
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * A backend reply. The backend answers with a JSON object holding "status" and
+     * "message"; {@link #field} reads those and other top-level strings without a JSON
+     * library.
+     */
+    public static final class ApiResponse {
+        private final int statusCode;
+        private final String body;
+
+        ApiResponse(int statusCode, String body) {
+            this.statusCode = statusCode;
+            this.body = body != null ? body : "";
+        }
+
+        public int statusCode() {
+            return statusCode;
+        }
+
+        public boolean isSuccess() {
+            return statusCode >= 200 && statusCode < 300;
+        }
+
+        /**
+         * The backend's "message", or a generic one for its status code.
+         */
+        public String message() {
+            String message = field("message");
+            return message != null ? message : "The server responded with status " + statusCode + ".";
+        }
+
+        /**
+         * The first string value named {@code name} in the body, or null.
+         */
+        public String field(String name) {
+            Matcher matcher = Pattern.compile("\"" + Pattern.quote(name) + "\"\\s*:\\s*\"((?:[^\"\\\\]|\\\\.)*)\"")
+                .matcher(body);
+            return matcher.find() ? unescape(matcher.group(1)) : null;
+        }
+
+        private static String unescape(String value) {
+            StringBuilder out = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c != '\\' || i + 1 == value.length()) {
+                    out.append(c);
+                    continue;
+                }
+                char next = value.charAt(++i);
+                switch (next) {
+                    case 'n': out.append('\n'); break;
+                    case 't': out.append('\t'); break;
+                    case 'r': out.append('\r'); break;
+                    case 'b': out.append('\b'); break;
+                    case 'f': out.append('\f'); break;
+                    case 'u':
+                        if (i + 4 < value.length()) {
+                            out.append((char) Integer.parseInt(value.substring(i + 1, i + 5), 16));
+                            i += 4;
+                        }
+                        break;
+                    default: out.append(next);
+                }
+            }
+            return out.toString();
+        }
+    }
+}
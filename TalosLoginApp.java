@@ -6,6 +6,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.List;
 
 public class TalosLoginApp extends JFrame {
     private static final Color PRIMARY_GREEN = new Color(26, 90, 58);
@@ -34,28 +35,11 @@ public class TalosLoginApp extends JFrame {
 
         // Create main panel with gradient background
         JPanel mainPanel = new JPanel() {
+            private final RenderCache background = new RenderCache(TalosLoginApp::paintBackground, true);
+
             @Override
             protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-
-                // Create gradient background
-                GradientPaint gradient = new GradientPaint(0, 0, LIGHT_GRAY,
-                                                          getWidth(), getHeight(),
-                                                          new Color(195, 207, 226));
-                g2d.setPaint(gradient);
-                g2d.fillRect(0, 0, getWidth(), getHeight());
-
-                // Add subtle grid pattern
-                g2d.setColor(new Color(255, 255, 255, 25));
-                g2d.setStroke(new BasicStroke(0.5f));
-                for (int i = 0; i < getWidth(); i += 20) {
-                    g2d.drawLine(i, 0, i, getHeight());
-                }
-                for (int i = 0; i < getHeight(); i += 20) {
-                    g2d.drawLine(0, i, getWidth(), i);
-                }
+                background.paint(g, this, getWidth(), getHeight(), null);
             }
         };
         mainPanel.setLayout(new BorderLayout());
@@ -272,30 +256,15 @@ public class TalosLoginApp extends JFrame {
 
     private JButton createPrimaryButton(String text, ActionListener action) {
         JButton button = new JButton(text) {
+            private final RenderCache normal = new RenderCache(
+                (g, w, h) -> paintPrimaryButton(g, w, h, PRIMARY_GREEN, getText(), getFont()), false);
+            private final RenderCache hover = new RenderCache(
+                (g, w, h) -> paintPrimaryButton(g, w, h, HOVER_GREEN, getText(), getFont()), false);
+
             @Override
             protected void paintComponent(Graphics g) {
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                if (getModel().isPressed()) {
-                    g2d.setColor(HOVER_GREEN);
-                } else if (getModel().isRollover()) {
-                    g2d.setColor(HOVER_GREEN);
-                } else {
-                    g2d.setColor(PRIMARY_GREEN);
-                }
-
-                g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 8, 8);
-
-                // Draw text
-                g2d.setColor(Color.WHITE);
-                g2d.setFont(getFont());
-                FontMetrics fm = g2d.getFontMetrics();
-                int textWidth = fm.stringWidth(getText());
-                int textHeight = fm.getHeight();
-                int x = (getWidth() - textWidth) / 2;
-                int y = (getHeight() - textHeight) / 2 + fm.getAscent();
-                g2d.drawString(getText(), x, y);
+                RenderCache state = getModel().isPressed() || getModel().isRollover() ? hover : normal;
+                state.paint(g, this, getWidth(), getHeight(), List.of(getText(), getFont()));
             }
         };
 
@@ -317,40 +286,15 @@ public class TalosLoginApp extends JFrame {
 
     private JButton createSecondaryButton(String text, ActionListener action) {
         JButton button = new JButton(text) {
+            private final RenderCache normal = new RenderCache(
+                (g, w, h) -> paintSecondaryButton(g, w, h, false, getText(), getFont()), false);
+            private final RenderCache hover = new RenderCache(
+                (g, w, h) -> paintSecondaryButton(g, w, h, true, getText(), getFont()), false);
+
             @Override
             protected void paintComponent(Graphics g) {
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                // Draw border
-                if (getModel().isPressed()) {
-                    g2d.setColor(HOVER_GREEN);
-                    g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 8, 8);
-                } else if (getModel().isRollover()) {
-                    g2d.setColor(HOVER_GREEN);
-                    g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 8, 8);
-                } else {
-                    g2d.setColor(Color.WHITE);
-                    g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 8, 8);
-                    g2d.setColor(PRIMARY_GREEN);
-                    g2d.setStroke(new BasicStroke(2));
-                    g2d.drawRoundRect(1, 1, getWidth()-3, getHeight()-3, 8, 8);
-                }
-
-                // Draw text
-                if (getModel().isPressed() || getModel().isRollover()) {
-                    g2d.setColor(Color.WHITE);
-                } else {
-                    g2d.setColor(PRIMARY_GREEN);
-                }
-
-                g2d.setFont(getFont());
-                FontMetrics fm = g2d.getFontMetrics();
-                int textWidth = fm.stringWidth(getText());
-                int textHeight = fm.getHeight();
-                int x = (getWidth() - textWidth) / 2;
-                int y = (getHeight() - textHeight) / 2 + fm.getAscent();
-                g2d.drawString(getText(), x, y);
+                RenderCache state = getModel().isPressed() || getModel().isRollover() ? hover : normal;
+                state.paint(g, this, getWidth(), getHeight(), List.of(getText(), getFont()));
             }
         };
 
@@ -408,26 +352,31 @@ public class TalosLoginApp extends JFrame {
             return;
         }
 
-        // Simulate login process
         loginButton.setText("Signing In...");
         loginButton.setEnabled(false);
 
-        SwingUtilities.invokeLater(() -> {
-            try {
-                Thread.sleep(1000); // Simulate network delay
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt();
-            }
-
-            SwingUtilities.invokeLater(() -> {
-                loginButton.setText("Sign In");
-                loginButton.setEnabled(true);
+        // The request runs off the Event Dispatch Thread; the window stays responsive.
+        TalosApiClient.onEdt(TalosApiClient.shared().login(username, password.toCharArray()), (response, error) -> {
+            loginButton.setText("Sign In");
+            loginButton.setEnabled(true);
 
+            if (error != null) {
+                JOptionPane.showMessageDialog(this,
+                    "Could not reach the Talos server. Please check your connection and try again.",
+                    "Connection Problem",
+                    JOptionPane.ERROR_MESSAGE);
+            } else if (response.isSuccess()) {
+                passwordField.setText("");
                 JOptionPane.showMessageDialog(this,
                     "Login successful! Welcome to Talos HVAC.",
                     "Success",
                     JOptionPane.INFORMATION_MESSAGE);
-            });
+            } else {
+                JOptionPane.showMessageDialog(this,
+                    response.message(),
+                    "Login Failed",
+                    JOptionPane.WARNING_MESSAGE);
+            }
         });
     }
 
@@ -463,6 +412,63 @@ public class TalosLoginApp extends JFrame {
         new DemoRequestDialog(this).setVisible(true);
     }
 
+    // Painters for the cached surfaces; each runs once per size, state and text.
+
+    private static final Color GRADIENT_END = new Color(195, 207, 226);
+    private static final Color GRID_COLOR = new Color(255, 255, 255, 25);
+    private static final BasicStroke GRID_STROKE = new BasicStroke(0.5f);
+    private static final BasicStroke OUTLINE_STROKE = new BasicStroke(2);
+
+    static void paintBackground(Graphics2D g2d, int width, int height) {
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+
+        // Create gradient background
+        g2d.setPaint(new GradientPaint(0, 0, LIGHT_GRAY, width, height, GRADIENT_END));
+        g2d.fillRect(0, 0, width, height);
+
+        // Add subtle grid pattern
+        g2d.setColor(GRID_COLOR);
+        g2d.setStroke(GRID_STROKE);
+        for (int i = 0; i < width; i += 20) {
+            g2d.drawLine(i, 0, i, height);
+        }
+        for (int i = 0; i < height; i += 20) {
+            g2d.drawLine(0, i, width, i);
+        }
+    }
+
+    static void paintPrimaryButton(Graphics2D g2d, int width, int height, Color fill, String text, Font font) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setColor(fill);
+        g2d.fillRoundRect(0, 0, width, height, 8, 8);
+        drawCenteredText(g2d, width, height, text, font, Color.WHITE);
+    }
+
+    static void paintSecondaryButton(Graphics2D g2d, int width, int height, boolean highlighted,
+                                     String text, Font font) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        if (highlighted) {
+            g2d.setColor(HOVER_GREEN);
+            g2d.fillRoundRect(0, 0, width, height, 8, 8);
+        } else {
+            g2d.setColor(Color.WHITE);
+            g2d.fillRoundRect(0, 0, width, height, 8, 8);
+            g2d.setColor(PRIMARY_GREEN);
+            g2d.setStroke(OUTLINE_STROKE);
+            g2d.drawRoundRect(1, 1, width - 3, height - 3, 8, 8);
+        }
+        drawCenteredText(g2d, width, height, text, font, highlighted ? Color.WHITE : PRIMARY_GREEN);
+    }
+
+    static void drawCenteredText(Graphics2D g2d, int width, int height, String text, Font font, Color color) {
+        g2d.setColor(color);
+        g2d.setFont(font);
+        FontMetrics fm = g2d.getFontMetrics();
+        int x = (width - fm.stringWidth(text)) / 2;
+        int y = (height - fm.getHeight()) / 2 + fm.getAscent();
+        g2d.drawString(text, x, y);
+    }
+
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
             new TalosLoginApp().setVisible(true);
@@ -0,0 +1,14 @@
+-- Progress of the Java backend's checkpointed rescore runs (RescoreJob). Hibernate only
+-- validates the schema under the postgres profile, so this must be applied before it starts.
+CREATE TABLE IF NOT EXISTS rescore_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    last_pipeline_id BIGINT NOT NULL,
+    total_rows BIGINT NOT NULL,
+    processed_rows BIGINT NOT NULL,
+    changed_rows BIGINT NOT NULL,
+    error_message VARCHAR(1000),
+    started_at TIMESTAMPTZ NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL,
+    finished_at TIMESTAMPTZ
+);
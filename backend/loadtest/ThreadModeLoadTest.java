@@ -0,0 +1,135 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load test for /api/health, /api/demo-request and
+ * /api/loadtest/blocking (a JPA read plus a simulated outbound call; start the
+ * backend with --talos.loadtest.enabled=true). Only the blocking route holds its
+ * request thread long enough for the thread mode to matter.
+ *
+ * Each concurrency level runs that many clients, each sending requests back to
+ * back for the configured duration. Prints p50/p99 latency per level, the 503s
+ * (the demo request queue shedding load, which is expected once it fills) apart
+ * from real errors, and the highest level that completed without errors or
+ * timeouts, which is the "max concurrent requests" figure compared between
+ * thread modes.
+ *
+ * Usage: java ThreadModeLoadTest.java [baseUrl] [seconds] [levels]
+ *        java ThreadModeLoadTest.java http://localhost:8080 15 50,200,800,2000
+ */
+public class ThreadModeLoadTest {
+
+    private static final String DEMO_BODY =
+            "{\"firstName\":\"Load\",\"lastName\":\"Test\",\"email\":\"load.test@example.com\","
+            + "\"company\":\"Talos HVAC\",\"companySize\":\"11-50\"}";
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+        int[] levels = Arrays.stream((args.length > 2 ? args[2] : "50,200,800,2000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(8))
+                .build();
+
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/api/health"))
+                .timeout(Duration.ofSeconds(10)).GET().build();
+        HttpRequest demo = HttpRequest.newBuilder(URI.create(baseUrl + "/api/demo-request"))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(DEMO_BODY)).build();
+        HttpRequest blocking = HttpRequest.newBuilder(URI.create(baseUrl + "/api/loadtest/blocking"))
+                .timeout(Duration.ofSeconds(10)).GET().build();
+
+        for (HttpRequest request : List.of(health, demo, blocking)) {
+            int maxClean = 0;
+            System.out.printf("%n%s %s%n", request.method(), request.uri().getPath());
+            System.out.printf("%8s %10s %10s %10s %8s %8s%n", "clients", "req/s", "p50 ms", "p99 ms", "503s", "errors");
+            for (int level : levels) {
+                Result result = run(client, request, level, seconds);
+                System.out.printf("%8d %10.0f %10.2f %10.2f %8d %8d%n", level, result.count / (double) seconds,
+                        result.percentile(0.50), result.percentile(0.99), result.unavailable, result.errors);
+                if (result.errors == 0) {
+                    maxClean = level;
+                }
+            }
+            System.out.printf("max concurrent clients without errors: %d%n", maxClean);
+        }
+        System.exit(0);
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int clients, int seconds)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<long[]> perClient = new ArrayList<>(clients);
+        AtomicInteger unavailable = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(clients);
+        ExecutorService drivers = Executors.newCachedThreadPool();
+
+        for (int i = 0; i < clients; i++) {
+            long[] samples = new long[1 << 16];
+            perClient.add(samples);
+            drivers.execute(() -> {
+                int n = 1;
+                try {
+                    while (System.nanoTime() < deadline && n < samples.length) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 503) {
+                                unavailable.incrementAndGet();
+                            } else if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        samples[n++] = System.nanoTime() - start;
+                    }
+                } finally {
+                    samples[0] = n - 1;
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        drivers.shutdown();
+
+        int total = 0;
+        for (long[] samples : perClient) {
+            total += (int) samples[0];
+        }
+        long[] all = new long[total];
+        int pos = 0;
+        for (long[] samples : perClient) {
+            int n = (int) samples[0];
+            System.arraycopy(samples, 1, all, pos, n);
+            pos += n;
+        }
+        Arrays.sort(all);
+        return new Result(all, total, unavailable.get(), errors.get());
+    }
+
+    private record Result(long[] sortedNanos, int count, int unavailable, int errors) {
+        double percentile(double p) {
+            if (count == 0) {
+                return 0;
+            }
+            int index = Math.min(count - 1, (int) Math.ceil(p * count) - 1);
+            return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
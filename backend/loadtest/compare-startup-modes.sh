@@ -0,0 +1,75 @@
+#!/bin/bash
+# Starts the backend in each fast-start mode and reports how long it takes until
+# /api/health answers, and the process RSS at that point:
+#
+#   jar           java -jar, as deployed today
+#   lazy          jar + fast-start profile (lazy beans, deferred JPA bootstrap)
+#   cds+lazy      CDS archive (mvn -Pcds) + fast-start
+#   aot+lazy      Spring AOT (mvn -Paot) + fast-start
+#   aot+cds+lazy  both (mvn -Paot,cds) + fast-start
+#   native        GraalVM native image (mvn -Pnative native:compile); only with NATIVE=1
+#
+# Each mode runs RUNS times (default 5); the median time and RSS are reported.
+#
+# Usage: ./loadtest/compare-startup-modes.sh [runs]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS="${1:-5}"
+PORT=18080
+JAR=target/talos-backend-0.0.1-SNAPSHOT-exec.jar
+CDS=(-XX:SharedArchiveFile=target/cds/talos-backend.jsa @target/cds/classpath.args
+     com.talos.backend.TalosBackendApplication)
+RESULTS=target/startup-modes.txt
+
+now_ms() { date +%s%3N; }
+
+# Prints "<ms to first healthy response> <RSS in MB>" for one start of the given command.
+start_once() {
+    local start pid ms rss
+    start=$(now_ms)
+    "$@" --server.port=$PORT > target/startup-run.log 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:$PORT/api/health" > /dev/null 2>&1; do
+        if ! kill -0 $pid 2>/dev/null; then
+            echo "startup failed, see target/startup-run.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    ms=$(( $(now_ms) - start ))
+    rss=$(awk '/VmRSS/ { printf "%.0f", $2 / 1024 }' /proc/$pid/status)
+    kill $pid
+    wait $pid 2>/dev/null || true
+    echo "$ms $rss"
+}
+
+median() { sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'; }
+
+run_mode() {
+    local label="$1"; shift
+    local samples=()
+    for _ in $(seq "$RUNS"); do
+        samples+=("$(start_once "$@")")
+    done
+    printf '%-14s %10s %8s\n' "$label" \
+        "$(printf '%s\n' "${samples[@]}" | cut -d' ' -f1 | median)" \
+        "$(printf '%s\n' "${samples[@]}" | cut -d' ' -f2 | median)" | tee -a "$RESULTS"
+}
+
+mkdir -p target
+printf '%-14s %10s %8s\n' mode "ready ms" "RSS MB" | tee "$RESULTS"
+
+mvn -B -q -Pcds package -DskipTests > /dev/null
+run_mode jar java -jar "$JAR"
+run_mode lazy java -jar "$JAR" --spring.profiles.active=fast-start
+run_mode cds+lazy java "${CDS[@]}" --spring.profiles.active=fast-start
+
+mvn -B -q -Paot,cds package -DskipTests > /dev/null
+run_mode aot+lazy java -Dspring.aot.enabled=true -jar "$JAR" --spring.profiles.active=fast-start
+run_mode aot+cds+lazy java -Dspring.aot.enabled=true "${CDS[@]}" --spring.profiles.active=fast-start
+
+if [ "${NATIVE:-0}" = 1 ]; then
+    mvn -B -q -Pnative native:compile -DskipTests > /dev/null
+    run_mode native target/talos-backend --spring.profiles.active=fast-start
+fi
@@ -0,0 +1,33 @@
+#!/bin/bash
+# Builds the backend twice (platform threads on Java 17, virtual threads on
+# Java 21) and runs ThreadModeLoadTest against each build in turn.
+#
+# Usage: ./loadtest/compare-thread-modes.sh [seconds] [levels]
+# JAVA21_HOME must point at a Java 21 JDK for the virtual-thread run.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+SECONDS_PER_LEVEL="${1:-15}"
+LEVELS="${2:-50,200,800,2000}"
+PORT=18080
+JAR=target/talos-backend-0.0.1-SNAPSHOT-exec.jar
+JAVA21="${JAVA21_HOME:-$JAVA_HOME}/bin/java"
+
+run_mode() {
+    local label="$1" java="$2"; shift 2
+    echo "=== $label ==="
+    "$java" -jar "$JAR" --server.port=$PORT --talos.loadtest.enabled=true "$@" > "target/loadtest-$label.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" EXIT
+    until curl -sf "http://localhost:$PORT/api/health" > /dev/null; do sleep 1; done
+    "$java" loadtest/ThreadModeLoadTest.java "http://localhost:$PORT" "$SECONDS_PER_LEVEL" "$LEVELS" \
+        | tee "target/loadtest-$label.txt"
+    kill $pid
+    wait $pid 2>/dev/null || true
+}
+
+mvn -B -q package -DskipTests
+run_mode platform java --talos.threads.virtual.enabled=false
+
+JAVA_HOME="${JAVA21_HOME:-$JAVA_HOME}" mvn -B -q -Pvirtual-threads package -DskipTests
+run_mode virtual "$JAVA21" --talos.threads.virtual.enabled=true
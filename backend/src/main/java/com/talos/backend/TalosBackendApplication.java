@@ -2,12 +2,18 @@ package com.talos.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
 public class TalosBackendApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(TalosBackendApplication.class, args);
+		ConfigurableApplicationContext context = SpringApplication.run(TalosBackendApplication.class, args);
+		if (context.getEnvironment().getProperty("talos.startup.training-run", Boolean.class, false)) {
+			// CDS training run (mvn -Pcds package): startup has loaded every class it needs,
+			// so exit and let the JVM write them to the archive.
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package com.talos.backend.analysis;
+
+/**
+ * Queue priority of a model call. Declaration order is dispatch order.
+ */
+public enum AnalysisPriority {
+    /** A recruiter or applicant is waiting on the result (uploads, public apply). */
+    INTERACTIVE,
+    /** Admin re-analysis sweeps and other background work. */
+    BACKGROUND
+}
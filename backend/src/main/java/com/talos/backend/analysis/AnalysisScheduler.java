@@ -0,0 +1,259 @@
+package com.talos.backend.analysis;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single entry point for model calls. Calls wait in a bounded priority queue
+ * (interactive work ahead of background sweeps, FIFO within a priority), run on
+ * at most {@code max-concurrent} workers, and each attempt first takes a token
+ * from a shared {@link TokenBucket}. Retryable failures back off with full
+ * jitter, and a 429 pauses the whole bucket for the provider's retry-after.
+ *
+ * <p>Workers are platform threads unless an {@code analysisThreadFactory} bean is
+ * present; the Java 21 {@code virtual-threads} build supplies a virtual one.
+ */
+@Service
+public class AnalysisScheduler implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisScheduler.class);
+
+    private final PriorityBlockingQueue<Task<?>> queue = new PriorityBlockingQueue<>();
+    private final Semaphore capacity;
+    private final TokenBucket rateLimiter;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger active = new AtomicInteger();
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder attemptNanos = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    private volatile boolean running = true;
+
+    public AnalysisScheduler(@Value("${talos.analysis.requests-per-second:0.8}") double requestsPerSecond,
+                             @Value("${talos.analysis.burst:4}") int burst,
+                             @Value("${talos.analysis.max-concurrent:4}") int maxConcurrent,
+                             @Value("${talos.analysis.queue-capacity:500}") int queueCapacity,
+                             @Value("${talos.analysis.max-attempts:4}") int maxAttempts,
+                             @Value("${talos.analysis.base-backoff-ms:1000}") long baseBackoffMs,
+                             @Value("${talos.analysis.max-backoff-ms:30000}") long maxBackoffMs,
+                             @Qualifier("analysisThreadFactory") ObjectProvider<ThreadFactory> threadFactory) {
+        this.capacity = new Semaphore(queueCapacity);
+        this.rateLimiter = new TokenBucket(requestsPerSecond, burst);
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+
+        ThreadFactory factory = threadFactory.getIfAvailable(() -> new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "analysis-worker-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        for (int i = 0; i < maxConcurrent; i++) {
+            Thread worker = factory.newThread(this::workLoop);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Queues a model call.
+     *
+     * @return a future completed with the call's result, or exceptionally with the
+     *         last failure once retries are exhausted
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public <T> CompletableFuture<T> submit(AnalysisPriority priority, Callable<T> call) {
+        if (!running || !capacity.tryAcquire()) {
+            rejections.increment();
+            throw new RejectedExecutionException("Analysis queue is full");
+        }
+        Task<T> task = new Task<>(priority, sequence.incrementAndGet(), call);
+        queue.add(task);
+        return task.result;
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    public int activeCount() {
+        return active.get();
+    }
+
+    private void workLoop() {
+        while (running) {
+            Task<?> task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            capacity.release();
+            waits.increment();
+            waitNanos.add(System.nanoTime() - task.enqueuedAt);
+            active.incrementAndGet();
+            try {
+                execute(task);
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+    }
+
+    private <T> void execute(Task<T> task) {
+        for (int attempt = 1; ; attempt++) {
+            long started = 0;
+            try {
+                rateLimiter.acquire();
+                started = System.nanoTime();
+                T value = task.call.call();
+                recordAttempt(started);
+                task.result.complete(value);
+                return;
+            } catch (InterruptedException e) {
+                task.result.completeExceptionally(e);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ModelCallException e) {
+                recordAttempt(started);
+                if (!e.isRetryable() || attempt >= maxAttempts) {
+                    failures.increment();
+                    task.result.completeExceptionally(e);
+                    return;
+                }
+                retries.increment();
+                long delayMs = backoffMs(attempt);
+                if (e.getRetryAfter() != null) {
+                    delayMs = Math.max(delayMs, e.getRetryAfter().toMillis());
+                }
+                if (e.getStatus() == 429) {
+                    rateLimiter.pause(TimeUnit.MILLISECONDS.toNanos(delayMs));
+                }
+                log.warn("Model call failed, retrying (attempt {}/{}, status {}, retry in {} ms)",
+                        attempt, maxAttempts, e.getStatus(), delayMs);
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException ie) {
+                    task.result.completeExceptionally(e);
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } catch (Exception e) {
+                recordAttempt(started);
+                failures.increment();
+                task.result.completeExceptionally(e);
+                return;
+            }
+        }
+    }
+
+    private void recordAttempt(long started) {
+        if (started != 0) {
+            attempts.increment();
+            attemptNanos.add(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Full jitter: uniform in [0, min(max, base * 2^(attempt-1))].
+     */
+    private long backoffMs(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("talos.analysis.queue.depth", queue, PriorityBlockingQueue::size)
+                .description("Model calls waiting for a worker")
+                .register(registry);
+        Gauge.builder("talos.analysis.active", active, AtomicInteger::get)
+                .description("Model calls currently running, including rate-limit and backoff waits")
+                .register(registry);
+        // Count and total are separate adders, so a scrape can see them one call apart.
+        FunctionTimer.builder("talos.analysis.queue.wait", waits, LongAdder::sum,
+                        w -> waitNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Time from submit until a worker picks the call up")
+                .register(registry);
+        FunctionTimer.builder("talos.analysis.attempts", attempts, LongAdder::sum,
+                        a -> attemptNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Individual model requests, excluding rate-limit waits")
+                .register(registry);
+        FunctionCounter.builder("talos.analysis.retries", retries, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("talos.analysis.failures", failures, LongAdder::sum)
+                .description("Calls that failed after their last attempt")
+                .register(registry);
+        FunctionCounter.builder("talos.analysis.rejected", rejections, LongAdder::sum)
+                .description("Submissions refused because the queue was full")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        Task<?> task;
+        while ((task = queue.poll()) != null) {
+            task.result.completeExceptionally(new RejectedExecutionException("Analysis scheduler shut down"));
+        }
+    }
+
+    private static final class Task<T> implements Comparable<Task<?>> {
+        final AnalysisPriority priority;
+        final long sequence;
+        final Callable<T> call;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final long enqueuedAt = System.nanoTime();
+
+        Task(AnalysisPriority priority, long sequence, Callable<T> call) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.call = call;
+        }
+
+        @Override
+        public int compareTo(Task<?> other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
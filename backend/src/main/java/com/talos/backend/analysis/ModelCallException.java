@@ -0,0 +1,44 @@
+package com.talos.backend.analysis;
+
+import java.time.Duration;
+
+/**
+ * A model API call that failed. {@code status} is the HTTP status, or 0 when the
+ * request never got a response (connect failure, timeout).
+ */
+public class ModelCallException extends RuntimeException {
+
+    private final int status;
+    private final Duration retryAfter;
+
+    public ModelCallException(int status, String message, Duration retryAfter) {
+        super(message);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+
+    public ModelCallException(String message, Throwable cause) {
+        super(message, cause);
+        this.status = 0;
+        this.retryAfter = null;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Server-requested delay from the {@code retry-after} header, or null.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Same rule as {@code retryWithBackoff} in resumeAnalyzer.js: network errors,
+     * 429 and 5xx are retried, other statuses are not.
+     */
+    public boolean isRetryable() {
+        return status == 0 || status == 429 || status >= 500;
+    }
+}
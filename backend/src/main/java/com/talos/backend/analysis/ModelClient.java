@@ -0,0 +1,157 @@
+package com.talos.backend.analysis;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Minimal blocking client for the Anthropic Messages API. Meant to be called from
+ * {@link AnalysisScheduler} workers, which own retries and rate limiting; this
+ * class makes exactly one HTTP request per call.
+ */
+@Component
+public class ModelClient {
+
+    private static final String API_VERSION = "2023-06-01";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final URI messagesUri;
+    private final String apiKey;
+    private final String model;
+    private final Duration requestTimeout;
+
+    public ModelClient(ObjectMapper objectMapper,
+                       @Value("${talos.analysis.model.base-url:https://api.anthropic.com}") String baseUrl,
+                       @Value("${talos.analysis.model.api-key:}") String apiKey,
+                       @Value("${talos.analysis.model.name:claude-sonnet-4-6}") String model,
+                       @Value("${talos.analysis.model.timeout-seconds:120}") long timeoutSeconds) {
+        this.objectMapper = objectMapper;
+        this.messagesUri = URI.create(baseUrl.replaceAll("/+$", "") + "/v1/messages");
+        this.apiKey = apiKey;
+        this.model = model;
+        this.requestTimeout = Duration.ofSeconds(timeoutSeconds);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Sends a single-turn user prompt and returns the text of the first content block.
+     *
+     * @throws ModelCallException on a non-2xx response or a transport failure
+     */
+    public String createMessage(String prompt, int maxTokens) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("model", model);
+        body.put("max_tokens", maxTokens);
+        body.put("temperature", 0);
+        ObjectNode message = body.putArray("messages").addObject();
+        message.put("role", "user");
+        message.put("content", prompt);
+        try {
+            return send(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Sends a single-turn user prompt made of a static {@code prefix} followed by the
+     * per-call {@code request} text. The prefix goes out as its own content block with
+     * an ephemeral {@code cache_control} breakpoint, so repeated calls with the same
+     * prefix are billed and processed as prompt-cache reads. The prefix bytes are
+     * copied into the body as-is rather than re-encoded on every call.
+     *
+     * @throws ModelCallException on a non-2xx response or a transport failure
+     */
+    public String createMessage(PromptPrefix prefix, String request, int maxTokens) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(prefix.length() + 3 * request.length() + 512);
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(body)) {
+            json.writeStartObject();
+            json.writeStringField("model", model);
+            json.writeNumberField("max_tokens", maxTokens);
+            json.writeNumberField("temperature", 0);
+            json.writeArrayFieldStart("messages");
+            json.writeStartObject();
+            json.writeStringField("role", "user");
+            json.writeArrayFieldStart("content");
+
+            json.writeStartObject();
+            json.writeStringField("type", "text");
+            json.writeFieldName("text");
+            json.writeUTF8String(prefix.utf8(), 0, prefix.length());
+            json.writeObjectFieldStart("cache_control");
+            json.writeStringField("type", "ephemeral");
+            json.writeEndObject();
+            json.writeEndObject();
+
+            json.writeStartObject();
+            json.writeStringField("type", "text");
+            json.writeStringField("text", request);
+            json.writeEndObject();
+
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return send(body.toByteArray());
+    }
+
+    private String send(byte[] body) {
+        HttpResponse<byte[]> response;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(messagesUri)
+                    .timeout(requestTimeout)
+                    .header("content-type", "application/json")
+                    .header("x-api-key", apiKey)
+                    .header("anthropic-version", API_VERSION)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new ModelCallException("Model request failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModelCallException("Model request interrupted", e);
+        }
+
+        if (response.statusCode() / 100 != 2) {
+            Duration retryAfter = response.headers().firstValue("retry-after")
+                    .map(ModelClient::parseRetryAfter)
+                    .orElse(null);
+            throw new ModelCallException(response.statusCode(),
+                    "Model request returned HTTP " + response.statusCode(), retryAfter);
+        }
+
+        try {
+            JsonNode json = objectMapper.readTree(response.body());
+            return json.path("content").path(0).path("text").asText();
+        } catch (IOException e) {
+            throw new ModelCallException("Unreadable model response: " + e.getMessage(), e);
+        }
+    }
+
+    private static Duration parseRetryAfter(String value) {
+        try {
+            return Duration.ofMillis((long) (Double.parseDouble(value.trim()) * 1000));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
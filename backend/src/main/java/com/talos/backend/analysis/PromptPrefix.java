@@ -0,0 +1,42 @@
+package com.talos.backend.analysis;
+
+import com.talos.backend.cache.ContentHash;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Static leading part of a prompt, held as UTF-8 bytes. {@link ModelClient} writes
+ * these bytes straight into the request body and marks them for provider prompt
+ * caching, so the prefix must be byte-identical on every call that should hit the
+ * cache. Instances are immutable.
+ */
+public final class PromptPrefix {
+
+    private final byte[] utf8;
+    private final String sha256;
+
+    public PromptPrefix(String text) {
+        this.utf8 = text.getBytes(StandardCharsets.UTF_8);
+        this.sha256 = ContentHash.sha256Hex(utf8);
+    }
+
+    /**
+     * Length in UTF-8 bytes.
+     */
+    public int length() {
+        return utf8.length;
+    }
+
+    public String sha256() {
+        return sha256;
+    }
+
+    byte[] utf8() {
+        return utf8;
+    }
+
+    @Override
+    public String toString() {
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
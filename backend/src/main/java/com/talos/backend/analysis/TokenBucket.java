@@ -0,0 +1,74 @@
+package com.talos.backend.analysis;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token-bucket rate limiter shared by all analysis workers. Refills continuously
+ * at {@code permitsPerSecond} up to {@code burst} tokens.
+ */
+public class TokenBucket {
+
+    private final double permitsPerNano;
+    private final double burst;
+
+    private double tokens;
+    private long lastRefill;
+    private long blockedUntil;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond and burst must be positive");
+        }
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.tokens = burst;
+        this.lastRefill = System.nanoTime();
+        this.blockedUntil = lastRefill;
+    }
+
+    /**
+     * Blocks until a token is available and takes it.
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = tryAcquire()) > 0) {
+            LockSupport.parkNanos(this, waitNanos);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Takes a token if one is available. Returns 0 on success, otherwise the
+     * nanoseconds until the next token is expected.
+     */
+    public synchronized long tryAcquire() {
+        long now = System.nanoTime();
+        if (now - blockedUntil < 0) {
+            return blockedUntil - now;
+        }
+        tokens = Math.min(burst, tokens + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / permitsPerNano);
+    }
+
+    /**
+     * Empties the bucket and hands out nothing for {@code nanos}. Called when the
+     * provider answers 429 so every worker backs off together instead of each
+     * discovering the limit on its own.
+     */
+    public synchronized void pause(long nanos) {
+        long now = System.nanoTime();
+        tokens = 0;
+        lastRefill = now + nanos;
+        if (now + nanos - blockedUntil > 0) {
+            blockedUntil = now + nanos;
+        }
+    }
+}
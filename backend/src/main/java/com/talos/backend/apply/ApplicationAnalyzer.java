@@ -0,0 +1,16 @@
+package com.talos.backend.apply;
+
+/**
+ * Receives each public application once its candidate row and resume file are stored.
+ * Called on the ingestion thread, so an implementation should only hand the work on,
+ * e.g. to the {@link com.talos.backend.analysis.AnalysisScheduler}. The
+ * {@link NodeApplicationAnalyzer} hands it to the Node backend's resume analyzer.
+ *
+ * <p>Without an implementation bean the candidate stays {@code pending}, unscored on its
+ * pipeline entry, until something analyzes it.
+ */
+@FunctionalInterface
+public interface ApplicationAnalyzer {
+
+    void analyze(long candidateId, PublicApplication application);
+}
@@ -0,0 +1,532 @@
+package com.talos.backend.apply;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.talos.backend.storage.ResumeStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Ingestion stage for public job applications ({@code POST /api/apply}).
+ *
+ * <p>A request thread never touches the database in the common case: it checks the
+ * idempotency key, asks the {@link DuplicateFilter} whether the email already applied
+ * for the job, moves the multipart upload (already on disk) into the spool directory
+ * and offers the application to a bounded queue. A full queue is refused with 503 so
+ * a traffic spike degrades into fast retries rather than piled-up connections.
+ *
+ * <p>One ingestion thread drains the queue in batches: it inserts the batch's
+ * candidate rows and their {@code candidate_pipeline} entries (see
+ * {@link ApplyQueries#insertPipelineEntry}) in one transaction, moves each resume into the {@link ResumeStore}
+ * and hands the application to the {@link ApplicationAnalyzer}, if there is one. If the
+ * batch transaction fails, each application is retried in a transaction of its own so
+ * one bad row does not take the rest down with it. On startup it first seeds the
+ * duplicate filter with the window's applications; until then every duplicate check
+ * queries the database.
+ *
+ * <p>The filter only knows this instance's applications, so with more than one
+ * instance behind the load balancer a Bloom miss proves nothing. Set
+ * {@code talos.apply.single-instance=false} there: the filter is then never seeded and
+ * every check that the recent-submission map does not settle queries the database.
+ *
+ * <p>Applications are answered 202 before they are stored, so the spool is what makes
+ * that answer good: each one is spooled as its resume plus a {@code .properties} file of
+ * its form fields, and both are deleted only once the resume is in the store. Whatever
+ * is still spooled at startup (a failed insert, a failed resume store, a queue not
+ * drained before shutdown) is replayed once the duplicate filter is seeded.
+ *
+ * <p>A request with an {@code Idempotency-Key} is answered once; a retry with the same
+ * key gets the first answer back for {@code idempotency-ttl-hours}, and waits for it if
+ * the first is still in flight. Reusing a key for a different application is refused.
+ *
+ * <p>Disabled unless {@code talos.apply.enabled=true}, since it needs the Node
+ * backend's schema; the Node {@code /api/apply} route serves applications until then.
+ */
+@Service
+@ConditionalOnProperty(name = "talos.apply.enabled", havingValue = "true")
+public class ApplyIngestion implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplyIngestion.class);
+
+    private static final String METADATA_SUFFIX = ".properties";
+    private static final String PARTIAL_SUFFIX = ".tmp";
+
+    public enum Status {
+        ACCEPTED, DUPLICATE, BUSY, KEY_REUSED
+    }
+
+    /**
+     * The answer to one submit; {@code applicationId} is set when it was accepted.
+     */
+    public record Receipt(Status status, String applicationId) {
+    }
+
+    private record Keyed(String fingerprint, CompletableFuture<Receipt> receipt) {
+    }
+
+    private final ApplyQueries queries;
+    private final ResumeStore resumeStore;
+    private final ObjectProvider<ApplicationAnalyzer> analyzer;
+    private final TransactionTemplate transactionTemplate;
+    private final DuplicateFilter duplicates;
+    private final Cache<String, Keyed> idempotency;
+    private final BlockingQueue<PublicApplication> queue;
+    private final Path spoolDir;
+    private final Duration window;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long replayWaitMs;
+    private final boolean singleInstance;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder duplicate = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder persisted = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running = true;
+    private volatile List<PublicApplication> recovered = List.of();
+    private Thread ingestThread;
+
+    public ApplyIngestion(ApplyQueries queries, ResumeStore resumeStore, ObjectProvider<ApplicationAnalyzer> analyzer,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${talos.apply.spool-dir:${java.io.tmpdir}/talos-apply}") Path spoolDir,
+                          @Value("${talos.apply.queue-capacity:2000}") int queueCapacity,
+                          @Value("${talos.apply.batch-size:50}") int batchSize,
+                          @Value("${talos.apply.flush-interval-ms:200}") long flushIntervalMs,
+                          @Value("${talos.apply.duplicate-window-hours:24}") long windowHours,
+                          @Value("${talos.apply.recent-ttl-minutes:15}") long recentTtlMinutes,
+                          @Value("${talos.apply.bloom.expected-insertions:200000}") long expectedInsertions,
+                          @Value("${talos.apply.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+                          @Value("${talos.apply.idempotency-ttl-hours:24}") long idempotencyTtlHours,
+                          @Value("${talos.apply.idempotency-max-keys:100000}") long idempotencyMaxKeys,
+                          @Value("${talos.apply.replay-wait-ms:10000}") long replayWaitMs,
+                          @Value("${talos.apply.single-instance:true}") boolean singleInstance) throws IOException {
+        this.queries = queries;
+        this.resumeStore = resumeStore;
+        this.analyzer = analyzer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.window = Duration.ofHours(windowHours);
+        this.duplicates = new DuplicateFilter(queries::hasRecentApplication, window,
+                Duration.ofMinutes(recentTtlMinutes), expectedInsertions, falsePositiveRate, Ticker.systemTicker());
+        this.idempotency = Caffeine.newBuilder()
+                .maximumSize(idempotencyMaxKeys)
+                .expireAfterWrite(Duration.ofHours(idempotencyTtlHours))
+                .build();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.spoolDir = spoolDir;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.replayWaitMs = replayWaitMs;
+        this.singleInstance = singleInstance;
+        Files.createDirectories(spoolDir);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        recovered = recoverSpool();
+        ingestThread = new Thread(this::ingestLoop, "apply-ingest");
+        ingestThread.setDaemon(true);
+        ingestThread.start();
+    }
+
+    /**
+     * Admits one application. {@code idempotencyKey} may be null. The caller has
+     * validated the fields; {@code email} is normalized to lower case.
+     */
+    public Receipt submit(String idempotencyKey, String name, String email, String phone, Long jobId,
+                          String jobTitle, MultipartFile resume) throws IOException {
+        if (idempotencyKey == null) {
+            return admit(name, email, phone, jobId, jobTitle, resume);
+        }
+        Keyed mine = new Keyed(email + '\n' + jobId, new CompletableFuture<>());
+        Keyed first = idempotency.asMap().putIfAbsent(idempotencyKey, mine);
+        if (first != null) {
+            return replay(first, mine.fingerprint());
+        }
+        try {
+            Receipt receipt = admit(name, email, phone, jobId, jobTitle, resume);
+            if (receipt.status() == Status.BUSY) {
+                // Nothing was taken, so a retry with this key must be able to try again.
+                idempotency.asMap().remove(idempotencyKey, mine);
+            }
+            mine.receipt().complete(receipt);
+            return receipt;
+        } catch (IOException | RuntimeException e) {
+            idempotency.asMap().remove(idempotencyKey, mine);
+            mine.receipt().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Receipt replay(Keyed first, String fingerprint) {
+        if (!first.fingerprint().equals(fingerprint)) {
+            return new Receipt(Status.KEY_REUSED, null);
+        }
+        replayed.increment();
+        try {
+            return first.receipt().get(replayWaitMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            return new Receipt(Status.BUSY, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Receipt(Status.BUSY, null);
+        }
+    }
+
+    private Receipt admit(String name, String email, String phone, Long jobId, String jobTitle,
+                          MultipartFile resume) throws IOException {
+        if (jobId != null && duplicates.claim(email, jobId) == DuplicateFilter.Verdict.DUPLICATE) {
+            duplicate.increment();
+            return new Receipt(Status.DUPLICATE, null);
+        }
+        String id = UUID.randomUUID().toString();
+        PublicApplication application = new PublicApplication(id, name, email, phone, jobId, jobTitle,
+                resume.getOriginalFilename() != null ? resume.getOriginalFilename() : "resume",
+                resume.getContentType(), spoolDir.resolve(id), Instant.now());
+        try {
+            // Multipart uploads are already on disk, so this is normally a rename.
+            resume.transferTo(application.resume());
+            writeMetadata(application);
+        } catch (IOException | RuntimeException e) {
+            deleteSpooled(application);
+            release(jobId, email);
+            throw e;
+        }
+        if (!running || !queue.offer(application)) {
+            deleteSpooled(application);
+            release(jobId, email);
+            rejected.increment();
+            return new Receipt(Status.BUSY, null);
+        }
+        accepted.increment();
+        return new Receipt(Status.ACCEPTED, id);
+    }
+
+    private void release(Long jobId, String email) {
+        if (jobId != null) {
+            duplicates.release(email, jobId);
+        }
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    private void ingestLoop() {
+        if (singleInstance) {
+            seedDuplicateFilter();
+        }
+        replaySpool();
+        List<PublicApplication> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PublicApplication first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                ingest(batch);
+            } catch (InterruptedException e) {
+                // Shutdown requested; fall through and drain what is left.
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void seedDuplicateFilter() {
+        try {
+            long started = System.nanoTime();
+            long[] count = {0};
+            queries.recentApplications(Instant.now().minus(window), (email, jobId) -> {
+                duplicates.seed(email, jobId);
+                count[0]++;
+            });
+            duplicates.markSeeded();
+            log.info("Seeded apply duplicate filter with {} applications in {} ms", count[0],
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (RuntimeException e) {
+            log.warn("Could not seed the apply duplicate filter; duplicate checks will query the database", e);
+        }
+    }
+
+    private void replaySpool() {
+        List<PublicApplication> spooled = recovered;
+        recovered = List.of();
+        if (spooled.isEmpty()) {
+            return;
+        }
+        log.info("Replaying {} spooled public applications", spooled.size());
+        ApplicationAnalyzer next = analyzer.getIfAvailable();
+        List<PublicApplication> unstored = new ArrayList<>();
+        for (PublicApplication application : spooled) {
+            try {
+                Long candidateId = queries.storedCandidate(application);
+                if (candidateId == null) {
+                    unstored.add(application);
+                } else if (resumeStore.find(candidateId).isPresent()) {
+                    // Stored, but the spool was not cleaned up before the restart.
+                    deleteSpooled(application);
+                } else {
+                    queries.markPending(candidateId);
+                    store(candidateId, application, next);
+                }
+            } catch (RuntimeException e) {
+                log.error("Could not replay spooled application {}; it stays spooled", application.id(), e);
+            }
+        }
+        for (int from = 0; from < unstored.size(); from += batchSize) {
+            ingest(unstored.subList(from, Math.min(from + batchSize, unstored.size())));
+        }
+    }
+
+    private void ingest(List<PublicApplication> batch) {
+        long[] candidateIds = new long[batch.size()];
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < batch.size(); i++) {
+                    candidateIds[i] = insert(batch.get(i));
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to insert {} public applications together; retrying one at a time", batch.size(), e);
+            for (int i = 0; i < batch.size(); i++) {
+                candidateIds[i] = insertAlone(batch.get(i));
+            }
+        }
+        ApplicationAnalyzer next = analyzer.getIfAvailable();
+        for (int i = 0; i < batch.size(); i++) {
+            if (candidateIds[i] >= 0) {
+                store(candidateIds[i], batch.get(i), next);
+            }
+        }
+    }
+
+    private long insert(PublicApplication application) {
+        long candidateId = queries.insertCandidate(application);
+        if (queries.insertPipelineEntry(candidateId, application) == null) {
+            log.warn("No job {} and no General Talent Pool job; candidate {} is not in any pipeline",
+                    application.jobId(), candidateId);
+        }
+        return candidateId;
+    }
+
+    // Returns -1 if the application could not be inserted; it stays spooled for the next startup.
+    private long insertAlone(PublicApplication application) {
+        try {
+            return transactionTemplate.execute(status -> insert(application));
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("Failed to insert public application {}; it stays spooled", application.id(), e);
+            release(application.jobId(), application.email());
+            return -1;
+        }
+    }
+
+    // On failure the candidate is marked as errored and the application stays spooled, so the next
+    // startup's replay can store the resume.
+    private void store(long candidateId, PublicApplication application, ApplicationAnalyzer next) {
+        try (InputStream in = Files.newInputStream(application.resume())) {
+            resumeStore.put(candidateId, application.filename(), application.contentType(), in);
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            log.error("Failed to store resume for application {} (candidate {}); it stays spooled",
+                    application.id(), candidateId, e);
+            try {
+                queries.markError(candidateId);
+            } catch (RuntimeException markFailed) {
+                log.warn("Could not mark candidate {} as errored", candidateId, markFailed);
+            }
+            return;
+        }
+        persisted.increment();
+        deleteSpooled(application);
+        if (next != null) {
+            try {
+                next.analyze(candidateId, application);
+            } catch (RuntimeException e) {
+                log.error("Analyzer rejected candidate {}", candidateId, e);
+            }
+        }
+    }
+
+    /**
+     * Loads the applications an earlier run admitted but did not store. Runs before
+     * any request is admitted, so every spool file belongs to an earlier run.
+     */
+    private List<PublicApplication> recoverSpool() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(spoolDir)) {
+            files = listing.filter(Files::isRegularFile).toList();
+        }
+        List<PublicApplication> found = new ArrayList<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(PARTIAL_SUFFIX)
+                    || name.endsWith(METADATA_SUFFIX) && !Files.exists(spoolDir.resolve(stem(name)))) {
+                Files.deleteIfExists(file);
+            } else if (!name.endsWith(METADATA_SUFFIX)) {
+                Path metadata = metadataPath(file);
+                if (!Files.exists(metadata)) {
+                    // The request failed before the application was admitted.
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                try {
+                    PublicApplication application = readMetadata(file, metadata);
+                    found.add(application);
+                    if (application.jobId() != null) {
+                        duplicates.hold(application.email(), application.jobId());
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Could not read spooled application {}; leaving it in place", name, e);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static String stem(String metadataName) {
+        return metadataName.substring(0, metadataName.length() - METADATA_SUFFIX.length());
+    }
+
+    private static Path metadataPath(Path resume) {
+        return resume.resolveSibling(resume.getFileName() + METADATA_SUFFIX);
+    }
+
+    // Written after the resume, through a rename: an application is admitted once its metadata exists.
+    private void writeMetadata(PublicApplication application) throws IOException {
+        Properties fields = new Properties();
+        fields.setProperty("name", application.name());
+        fields.setProperty("email", application.email());
+        setIfPresent(fields, "phone", application.phone());
+        setIfPresent(fields, "jobId", application.jobId() != null ? application.jobId().toString() : null);
+        setIfPresent(fields, "jobTitle", application.jobTitle());
+        fields.setProperty("filename", application.filename());
+        setIfPresent(fields, "contentType", application.contentType());
+        fields.setProperty("receivedAt", application.receivedAt().toString());
+        Path metadata = metadataPath(application.resume());
+        Path partial = metadata.resolveSibling(metadata.getFileName() + PARTIAL_SUFFIX);
+        try (Writer out = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+            fields.store(out, null);
+        }
+        Files.move(partial, metadata, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void setIfPresent(Properties fields, String key, String value) {
+        if (value != null) {
+            fields.setProperty(key, value);
+        }
+    }
+
+    private static PublicApplication readMetadata(Path resume, Path metadata) throws IOException {
+        Properties fields = new Properties();
+        try (Reader in = Files.newBufferedReader(metadata, StandardCharsets.UTF_8)) {
+            fields.load(in);
+        }
+        String jobId = fields.getProperty("jobId");
+        return new PublicApplication(resume.getFileName().toString(), fields.getProperty("name"),
+                fields.getProperty("email"), fields.getProperty("phone"), jobId != null ? Long.valueOf(jobId) : null,
+                fields.getProperty("jobTitle"), fields.getProperty("filename"), fields.getProperty("contentType"),
+                resume, Instant.parse(fields.getProperty("receivedAt")));
+    }
+
+    // The metadata goes first: without it, a leftover resume is cleaned up at the next startup.
+    private void deleteSpooled(PublicApplication application) {
+        try {
+            Files.deleteIfExists(metadataPath(application.resume()));
+            Files.deleteIfExists(application.resume());
+        } catch (IOException e) {
+            log.warn("Could not delete spooled application {}", application.id(), e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("talos.apply.queue.depth", queue, BlockingQueue::size)
+                .description("Public applications accepted but not yet stored")
+                .register(registry);
+        Gauge.builder("talos.apply.queue.remaining", queue, BlockingQueue::remainingCapacity)
+                .description("Free slots before public applications are refused with 503")
+                .register(registry);
+        FunctionCounter.builder("talos.apply.submissions", accepted, LongAdder::sum)
+                .tag("result", "accepted")
+                .register(registry);
+        FunctionCounter.builder("talos.apply.submissions", duplicate, LongAdder::sum)
+                .tag("result", "duplicate")
+                .register(registry);
+        FunctionCounter.builder("talos.apply.submissions", rejected, LongAdder::sum)
+                .tag("result", "rejected")
+                .description("Public applications refused because the queue was full")
+                .register(registry);
+        FunctionCounter.builder("talos.apply.submissions", replayed, LongAdder::sum)
+                .tag("result", "replayed")
+                .description("Retries answered from the idempotency-key cache")
+                .register(registry);
+        FunctionCounter.builder("talos.apply.ingested", persisted, LongAdder::sum)
+                .tag("result", "stored")
+                .register(registry);
+        FunctionCounter.builder("talos.apply.ingested", failed, LongAdder::sum)
+                .tag("result", "failed")
+                .register(registry);
+        FunctionCounter.builder("talos.apply.duplicate.checks", duplicates, DuplicateFilter::bloomMisses)
+                .tag("answered_by", "bloom")
+                .description("Duplicate checks settled by a Bloom filter miss")
+                .register(registry);
+        FunctionCounter.builder("talos.apply.duplicate.checks", duplicates, DuplicateFilter::recentHits)
+                .tag("answered_by", "recent")
+                .description("Duplicate checks settled by the recent-submission map")
+                .register(registry);
+        FunctionCounter.builder("talos.apply.duplicate.checks", duplicates, DuplicateFilter::lookups)
+                .tag("answered_by", "database")
+                .description("Duplicate checks that had to query the database")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        ingestThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+}
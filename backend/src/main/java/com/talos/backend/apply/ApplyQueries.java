@@ -0,0 +1,178 @@
+package com.talos.backend.apply;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Public-apply reads and writes against the Node backend's schema.
+ */
+@Component
+public class ApplyQueries {
+
+    // The Node route's hasRecentApplication check.
+    private static final String RECENT_SQL = """
+            SELECT 1
+            FROM candidates c
+            JOIN candidate_pipeline cp ON c.id = cp.candidate_id
+            WHERE c.applicant_email = ? AND cp.job_id = ? AND c.upload_date > ?
+            LIMIT 1
+            """;
+
+    private static final String RECENT_PAIRS_SQL = """
+            SELECT c.applicant_email, cp.job_id
+            FROM candidates c
+            JOIN candidate_pipeline cp ON c.id = cp.candidate_id
+            WHERE c.upload_date > ? AND c.applicant_email IS NOT NULL
+            """;
+
+    private static final String INSERT_CANDIDATE_SQL = """
+            INSERT INTO candidates (batch_id, filename, file_path, status, applicant_email, full_name)
+            VALUES (NULL, ?, NULL, 'pending', ?, ?)
+            """;
+
+    // What the Node route's candidatePipelineService.addToJob writes once the analysis is in, minus the
+    // scores: an analyzer fills tier, tier_score and star_rating later through the same upsert.
+    private static final String INSERT_PIPELINE_SQL = """
+            INSERT INTO candidate_pipeline (candidate_id, job_id, pipeline_status, vehicle_status, ai_summary,
+                                            internal_notes, tags)
+            SELECT ?, id, 'new', 'unknown', 'Applied via public link. Pending analysis.', ?, '["public-application"]'
+            FROM jobs
+            WHERE id = ? AND deleted_at IS NULL
+            """;
+
+    // The Node route's addToGeneralTalentPool target: the admin's "General Talent Pool" job.
+    private static final String GENERAL_POOL_SQL = """
+            SELECT id FROM jobs
+            WHERE user_id = 1 AND title = 'General Talent Pool' AND deleted_at IS NULL
+            ORDER BY id
+            LIMIT 1
+            """;
+
+    // A spooled application may have been stored just before a restart. Its row carries no application id,
+    // so match the applicant and file; the row is stamped after the application was received.
+    private static final String STORED_SQL = """
+            SELECT id FROM candidates
+            WHERE applicant_email = ? AND full_name = ? AND filename = ? AND upload_date >= ?
+            ORDER BY id
+            LIMIT 1
+            """;
+
+    // Applications still waiting for analysis; ApplyIngestion inserts them without a batch.
+    private static final String PENDING_SQL = """
+            SELECT id FROM candidates
+            WHERE status = 'pending' AND batch_id IS NULL AND upload_date > ?
+            ORDER BY id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ApplyQueries(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean hasRecentApplication(String email, long jobId, Instant since) {
+        return !jdbcTemplate.queryForList(RECENT_SQL, Integer.class, email, jobId, Timestamp.from(since)).isEmpty();
+    }
+
+    /**
+     * Streams every (email, job) pair that applied after {@code since}.
+     */
+    public void recentApplications(Instant since, BiConsumer<String, Long> consumer) {
+        RowCallbackHandler handler = rs -> consumer.accept(rs.getString(1), rs.getLong(2));
+        jdbcTemplate.query(RECENT_PAIRS_SQL, handler, Timestamp.from(since));
+    }
+
+    /**
+     * Inserts a {@code pending} candidate row for the application and returns its id.
+     */
+    public long insertCandidate(PublicApplication application) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_CANDIDATE_SQL, new String[]{"id"});
+            statement.setString(1, application.filename());
+            statement.setString(2, application.email());
+            statement.setString(3, application.name());
+            return statement;
+        }, keys);
+        return Objects.requireNonNull(keys.getKey(), "no generated candidate id").longValue();
+    }
+
+    /**
+     * Adds the candidate to the pipeline of the job applied for or, as the Node route
+     * does when there is none (or it was deleted), to the General Talent Pool. The form's
+     * contact details go into the entry's internal notes.
+     *
+     * @return the job the candidate was added to, or null if there is no General
+     *         Talent Pool job to fall back to
+     */
+    public Long insertPipelineEntry(long candidateId, PublicApplication application) {
+        StringBuilder notes = new StringBuilder("Source: Public Apply Page\nContact: ")
+                .append(application.name())
+                .append(" | Email: ").append(application.email())
+                .append(" | Phone: ").append(application.phone());
+        if (application.jobTitle() != null) {
+            notes.append(" | Applied for: ").append(application.jobTitle());
+        }
+        if (application.jobId() != null
+                && jdbcTemplate.update(INSERT_PIPELINE_SQL, candidateId, notes.toString(), application.jobId()) > 0) {
+            return application.jobId();
+        }
+        List<Long> pool = jdbcTemplate.queryForList(GENERAL_POOL_SQL, Long.class);
+        if (pool.isEmpty()) {
+            return null;
+        }
+        jdbcTemplate.update(INSERT_PIPELINE_SQL, candidateId, notes.toString(), pool.get(0));
+        return pool.get(0);
+    }
+
+    /**
+     * The candidate row already stored for a spooled application, or null if it was
+     * never stored.
+     */
+    public Long storedCandidate(PublicApplication application) {
+        List<Long> ids = jdbcTemplate.queryForList(STORED_SQL, Long.class, application.email(), application.name(),
+                application.filename(), Timestamp.from(application.receivedAt()));
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    /**
+     * The candidate's {@code file_path}: for a public application, the S3 key of its
+     * resume once it has been handed to Node; null before that.
+     */
+    public String filePath(long candidateId) {
+        return jdbcTemplate.queryForObject("SELECT file_path FROM candidates WHERE id = ?", String.class, candidateId);
+    }
+
+    public void setFilePath(long candidateId, String filePath) {
+        jdbcTemplate.update("UPDATE candidates SET file_path = ? WHERE id = ?", filePath, candidateId);
+    }
+
+    /**
+     * Candidates from public applications received after {@code since} that are still
+     * waiting for their analysis.
+     */
+    public List<Long> pendingCandidates(Instant since) {
+        return jdbcTemplate.queryForList(PENDING_SQL, Long.class, Timestamp.from(since));
+    }
+
+    public void markError(long candidateId) {
+        jdbcTemplate.update("UPDATE candidates SET status = 'error' WHERE id = ?", candidateId);
+    }
+
+    /**
+     * Clears an earlier {@link #markError} once the candidate's resume is stored after all.
+     */
+    public void markPending(long candidateId) {
+        jdbcTemplate.update("UPDATE candidates SET status = 'pending' WHERE id = ? AND status = 'error'", candidateId);
+    }
+}
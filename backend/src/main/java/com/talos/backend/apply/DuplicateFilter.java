@@ -0,0 +1,183 @@
+package com.talos.backend.apply;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detects repeat applications: the same email for the same job within the duplicate
+ * window (24 hours in the Node route), usually without querying the database.
+ *
+ * <p>A pair is first claimed in a short-TTL map, so a double submit or a retry is
+ * refused from memory and two concurrent submits cannot both pass. A pair the Bloom
+ * filters have never seen cannot have applied within the window and is accepted
+ * outright. Only a Bloom hit that the map has forgotten, a false positive or an older
+ * application, falls back to the database check, as does everything until the filters
+ * have been {@link #seed seeded} from the database. The filters only see what this
+ * process claims or seeds, so they are sound for a single instance only; with several,
+ * leave the filter unseeded and every such check goes to the database.
+ *
+ * <p>Bloom filters cannot forget, so there are two generations: keys go into the
+ * current one, both are checked, and every window the previous one is dropped and the
+ * current one takes its place. A key is therefore remembered for between one and two
+ * windows.
+ */
+public class DuplicateFilter {
+
+    public enum Verdict {
+        NEW, DUPLICATE
+    }
+
+    @FunctionalInterface
+    public interface Lookup {
+        boolean hasRecentApplication(String email, long jobId, Instant since);
+    }
+
+    private final Lookup lookup;
+    private final Duration window;
+    private final long windowNanos;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Ticker ticker;
+    private final Cache<String, Boolean> recent;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private volatile long currentStartedNanos;
+    private volatile boolean seeded;
+
+    private final LongAdder bloomMisses = new LongAdder();
+    private final LongAdder recentHits = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder lookupHits = new LongAdder();
+
+    public DuplicateFilter(Lookup lookup, Duration window, Duration recentTtl,
+                           long expectedInsertions, double falsePositiveRate, Ticker ticker) {
+        this.lookup = lookup;
+        this.window = window;
+        this.windowNanos = window.toNanos();
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.ticker = ticker;
+        this.recent = Caffeine.newBuilder()
+                .expireAfterWrite(recentTtl)
+                .ticker(ticker)
+                .build();
+        this.current = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.previous = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.currentStartedNanos = ticker.read();
+    }
+
+    /**
+     * Claims the pair for a new application, or reports that it already applied. A
+     * claimed pair stays claimed until the recent-map TTL passes or it is
+     * {@link #release released}.
+     */
+    public Verdict claim(String email, long jobId) {
+        String key = key(email, jobId);
+        if (recent.asMap().putIfAbsent(key, Boolean.TRUE) != null) {
+            recentHits.increment();
+            return Verdict.DUPLICATE;
+        }
+        rotateIfDue();
+        if (seeded && !current.mightContain(key) && !previous.mightContain(key)) {
+            bloomMisses.increment();
+            current.put(key);
+            return Verdict.NEW;
+        }
+        lookups.increment();
+        boolean found;
+        try {
+            found = lookup.hasRecentApplication(normalize(email), jobId, Instant.now().minus(window));
+        } catch (RuntimeException e) {
+            release(email, jobId);
+            throw e;
+        }
+        if (found) {
+            // Keep the claim: a repeat within the TTL is then refused from memory.
+            lookupHits.increment();
+            return Verdict.DUPLICATE;
+        }
+        current.put(key);
+        return Verdict.NEW;
+    }
+
+    /**
+     * Gives a claim back, for an application that could not be taken after all. The
+     * Bloom bit stays set, which only costs the pair's next submit a database check.
+     */
+    public void release(String email, long jobId) {
+        recent.invalidate(key(email, jobId));
+    }
+
+    /**
+     * Claims a pair without checking it, for an application that was already taken
+     * but is not in the database yet (one replayed from the spool).
+     */
+    public void hold(String email, long jobId) {
+        String key = key(email, jobId);
+        recent.put(key, Boolean.TRUE);
+        current.put(key);
+    }
+
+    /**
+     * Adds a pair known to have applied within the window.
+     */
+    public void seed(String email, long jobId) {
+        current.put(key(email, jobId));
+    }
+
+    /**
+     * Starts trusting Bloom misses; call once every pair from the window has been seeded.
+     */
+    public void markSeeded() {
+        seeded = true;
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    public long bloomMisses() {
+        return bloomMisses.sum();
+    }
+
+    public long recentHits() {
+        return recentHits.sum();
+    }
+
+    public long lookups() {
+        return lookups.sum();
+    }
+
+    public long lookupHits() {
+        return lookupHits.sum();
+    }
+
+    private void rotateIfDue() {
+        if (ticker.read() - currentStartedNanos < windowNanos) {
+            return;
+        }
+        synchronized (this) {
+            long now = ticker.read();
+            if (now - currentStartedNanos >= windowNanos) {
+                previous = current;
+                current = new BloomFilter(expectedInsertions, falsePositiveRate);
+                currentStartedNanos = now;
+            }
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String key(String email, long jobId) {
+        return normalize(email) + '\n' + jobId;
+    }
+}
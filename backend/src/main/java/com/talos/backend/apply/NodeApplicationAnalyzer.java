@@ -0,0 +1,187 @@
+package com.talos.backend.apply;
+
+import com.talos.backend.analysis.AnalysisPriority;
+import com.talos.backend.analysis.AnalysisScheduler;
+import com.talos.backend.analysis.ModelCallException;
+import com.talos.backend.auth.AuthenticatedUser;
+import com.talos.backend.auth.JwtSigner;
+import com.talos.backend.storage.ResumeStore;
+import com.talos.backend.storage.StoredResume;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hands public applications to the Node backend for analysis, which is where the
+ * resume analyzer lives.
+ *
+ * <p>Through the {@link AnalysisScheduler}, so the hand-offs share its rate limit and
+ * retries: the resume is copied from the {@link ResumeStore} to Node's S3 bucket under
+ * a key of the form Node's own apply route uses, the key is written to the candidate's
+ * {@code file_path}, and Node's {@code POST /api/admin/reanalyze-candidate/:id} is
+ * called with a short-lived admin token. Node then downloads the resume, writes the
+ * {@code analyses} row, scores the pipeline entry and marks the candidate
+ * {@code completed}, exactly as for an application it took itself. With the key in
+ * {@code file_path}, Node's resume downloads work for these candidates too.
+ *
+ * <p>A hand-off that fails after its retries leaves the candidate {@code pending}; at
+ * startup every application from the last {@code talos.apply.analysis.recover-hours}
+ * that is still pending and whose resume is in the store is handed off again.
+ */
+@Component
+@ConditionalOnProperty(name = "talos.apply.enabled", havingValue = "true")
+public class NodeApplicationAnalyzer implements ApplicationAnalyzer {
+
+    private static final Logger log = LoggerFactory.getLogger(NodeApplicationAnalyzer.class);
+
+    // Node's config/s3.js PREFIX.
+    private static final String KEY_PREFIX = "resumes/";
+    private static final Duration TOKEN_TTL = Duration.ofMinutes(5);
+
+    private final ApplyQueries queries;
+    private final ResumeStore resumeStore;
+    private final AnalysisScheduler scheduler;
+    private final S3Client s3;
+    private final JwtSigner signer;
+    private final String bucket;
+    private final URI nodeUri;
+    private final AuthenticatedUser serviceUser;
+    private final Duration recoverWindow;
+    private final HttpClient httpClient;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public NodeApplicationAnalyzer(ApplyQueries queries, ResumeStore resumeStore, AnalysisScheduler scheduler,
+                                   S3Client s3, JwtSigner signer,
+                                   @Value("${talos.apply.s3.bucket:elasticbeanstalk-us-east-1-387904338435}") String bucket,
+                                   @Value("${talos.apply.node-url:http://localhost:8081}") String nodeUrl,
+                                   @Value("${talos.apply.analysis.service-user-id:1}") long serviceUserId,
+                                   @Value("${talos.apply.analysis.recover-hours:72}") long recoverHours) {
+        this.queries = queries;
+        this.resumeStore = resumeStore;
+        this.scheduler = scheduler;
+        this.s3 = s3;
+        this.signer = signer;
+        this.bucket = bucket;
+        this.nodeUri = URI.create(nodeUrl.replaceAll("/+$", "") + "/api/admin/reanalyze-candidate/");
+        this.serviceUser = new AuthenticatedUser(serviceUserId, "talos-backend@service", "admin");
+        this.recoverWindow = Duration.ofHours(recoverHours);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @PostConstruct
+    void recoverPending() {
+        List<Long> pending;
+        try {
+            pending = queries.pendingCandidates(Instant.now().minus(recoverWindow));
+        } catch (RuntimeException e) {
+            log.warn("Could not list public applications awaiting analysis", e);
+            return;
+        }
+        int handedOff = 0;
+        for (long candidateId : pending) {
+            if (resumeStore.find(candidateId).isPresent()) {
+                handOff(candidateId, AnalysisPriority.BACKGROUND);
+                handedOff++;
+            }
+        }
+        if (handedOff > 0) {
+            log.info("Handing {} pending public applications to Node for analysis", handedOff);
+        }
+    }
+
+    @Override
+    public void analyze(long candidateId, PublicApplication application) {
+        handOff(candidateId, AnalysisPriority.INTERACTIVE);
+    }
+
+    private void handOff(long candidateId, AnalysisPriority priority) {
+        if (!inFlight.add(candidateId)) {
+            return;
+        }
+        try {
+            scheduler.submit(priority, () -> {
+                requestAnalysis(candidateId);
+                return null;
+            }).whenComplete((ignored, failure) -> {
+                inFlight.remove(candidateId);
+                if (failure != null) {
+                    log.error("Could not hand candidate {} to Node for analysis; it stays pending until the"
+                            + " next startup", candidateId, failure);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(candidateId);
+            log.warn("Analysis queue full; candidate {} stays pending until the next startup", candidateId);
+        }
+    }
+
+    void requestAnalysis(long candidateId) throws IOException {
+        if (queries.filePath(candidateId) == null) {
+            queries.setFilePath(candidateId, upload(candidateId));
+        }
+        HttpResponse<Void> response;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(nodeUri.resolve(Long.toString(candidateId)))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Authorization", "Bearer " + signer.sign(serviceUser, TOKEN_TTL))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            throw new ModelCallException("Node analysis request failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModelCallException("Node analysis request interrupted", e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new ModelCallException(response.statusCode(),
+                    "Node analysis request returned HTTP " + response.statusCode(), null);
+        }
+    }
+
+    // Resumes are capped at 5 MB, so the copy is buffered whole.
+    private String upload(long candidateId) throws IOException {
+        StoredResume resume = resumeStore.find(candidateId)
+                .orElseThrow(() -> new IOException("No stored resume for candidate " + candidateId));
+        ByteArrayOutputStream content = new ByteArrayOutputStream((int) resume.length());
+        resumeStore.transferTo(resume, 0, resume.length(), content);
+        String key = KEY_PREFIX + "application-" + System.currentTimeMillis() + "-"
+                + ThreadLocalRandom.current().nextInt(1_000_000_000) + extension(resume.filename());
+        s3.putObject(PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(resume.contentType())
+                        .build(),
+                RequestBody.fromBytes(content.toByteArray()));
+        return key;
+    }
+
+    // As Node's uploadResume: the original file's extension, .pdf if it has none.
+    private static String extension(String filename) {
+        int dot = filename != null ? filename.lastIndexOf('.') : -1;
+        return dot >= 0 ? filename.substring(dot).toLowerCase(Locale.ROOT) : ".pdf";
+    }
+}
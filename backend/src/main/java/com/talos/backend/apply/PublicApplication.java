@@ -0,0 +1,15 @@
+package com.talos.backend.apply;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * An accepted public application waiting in {@link ApplyIngestion}'s queue.
+ *
+ * @param id     the id returned to the applicant
+ * @param jobId  the job applied for, or null for the general talent pool
+ * @param resume the spooled upload; deleted, with its metadata file, once it is in the resume store
+ */
+public record PublicApplication(String id, String name, String email, String phone, Long jobId, String jobTitle,
+                                String filename, String contentType, Path resume, Instant receivedAt) {
+}
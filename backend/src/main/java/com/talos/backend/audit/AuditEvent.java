@@ -0,0 +1,23 @@
+package com.talos.backend.audit;
+
+/**
+ * One {@code audit_log} row, as the Node {@code auditService.log} writes it: the
+ * values are JSON text or null.
+ */
+public record AuditEvent(Long userId, String action, String entityType, Long entityId,
+                         String oldValue, String newValue, String metadata) {
+
+    /**
+     * The {@code status_change} row the Node pipeline routes write for each moved
+     * entry.
+     */
+    public static AuditEvent statusChange(Long userId, long pipelineId, String from, String to) {
+        return new AuditEvent(userId, "status_change", "candidate_pipeline", pipelineId,
+                statusJson(from), statusJson(to), null);
+    }
+
+    private static String statusJson(String status) {
+        // Statuses are plain words; the Node code writes JSON.stringify({status}).
+        return status == null ? "{\"status\":null}" : "{\"status\":\"" + status + "\"}";
+    }
+}
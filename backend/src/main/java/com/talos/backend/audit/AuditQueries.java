@@ -0,0 +1,71 @@
+package com.talos.backend.audit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Multi-row inserts into the Node backend's {@code audit_log}. Rows without metadata
+ * leave the {@code metadata} column out, so they do not depend on its {@code JSONB}
+ * type.
+ */
+@Component
+public class AuditQueries {
+
+    // Bind parameters per statement, well under the PostgreSQL limit of 65535.
+    static final int MAX_PARAMETERS_PER_STATEMENT = 7000;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO audit_log (user_id, action, entity_type, entity_id, old_value, new_value)
+            VALUES %s
+            """;
+
+    private static final String INSERT_WITH_METADATA_SQL = """
+            INSERT INTO audit_log (user_id, action, entity_type, entity_id, old_value, new_value, metadata)
+            VALUES %s
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditQueries(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Writes {@code events} with as few statements as the parameter limit allows.
+     */
+    public void insert(List<AuditEvent> events) {
+        List<AuditEvent> plain = new ArrayList<>(events.size());
+        List<AuditEvent> withMetadata = new ArrayList<>();
+        for (AuditEvent event : events) {
+            (event.metadata() == null ? plain : withMetadata).add(event);
+        }
+        insert(plain, INSERT_SQL, "(?, ?, ?, ?, ?, ?)", false);
+        insert(withMetadata, INSERT_WITH_METADATA_SQL, "(?, ?, ?, ?, ?, ?, CAST(? AS JSONB))", true);
+    }
+
+    private void insert(List<AuditEvent> events, String sql, String row, boolean metadata) {
+        int columns = metadata ? 7 : 6;
+        int rowsPerStatement = MAX_PARAMETERS_PER_STATEMENT / columns;
+        for (int from = 0; from < events.size(); from += rowsPerStatement) {
+            List<AuditEvent> chunk = events.subList(from, Math.min(events.size(), from + rowsPerStatement));
+            List<Object> args = new ArrayList<>(chunk.size() * columns);
+            for (AuditEvent event : chunk) {
+                args.add(event.userId());
+                args.add(event.action());
+                args.add(event.entityType());
+                args.add(event.entityId());
+                args.add(event.oldValue());
+                args.add(event.newValue());
+                if (metadata) {
+                    args.add(event.metadata());
+                }
+            }
+            jdbcTemplate.update(sql.formatted(String.join(",", Collections.nCopies(chunk.size(), row))),
+                    args.toArray());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.talos.backend.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded many-producer, single-consumer ring of audit events. The slots are
+ * allocated once; publishing claims a slot with one compare-and-set on the tail and
+ * never takes a lock, so request threads do not contend with each other or with the
+ * writer.
+ *
+ * <p>Each slot carries a sequence number. A slot is free for position {@code p} when
+ * its sequence is {@code p}, holds a published event when it is {@code p + 1}, and is
+ * handed back for the next lap as {@code p + capacity}.
+ */
+final class AuditRing {
+
+    private final int mask;
+    private final AuditEvent[] events;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // Written by the consumer only.
+    private volatile long head;
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    AuditRing(int capacity) {
+        int size = Math.max(2, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+        this.mask = size - 1;
+        this.events = new AuditEvent[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Publishes {@code event} without blocking.
+     *
+     * @return the event's position, or -1 when the ring is full
+     */
+    long offer(AuditEvent event) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    events[index] = event;
+                    sequences.set(index, position + 1);
+                    return position;
+                }
+            } else if (sequence < position) {
+                // The slot still holds the event from the previous lap.
+                return -1;
+            }
+            // Another producer took this position; try the next one.
+        }
+    }
+
+    /**
+     * Moves up to {@code max} published events, in order, into {@code batch}. Only the
+     * consumer thread may call this.
+     *
+     * @return the number of events moved
+     */
+    int drainTo(List<AuditEvent> batch, int max) {
+        long position = head;
+        int count = 0;
+        while (count < max) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                // Empty, or claimed by a producer that has not finished publishing.
+                break;
+            }
+            batch.add(events[index]);
+            events[index] = null;
+            sequences.lazySet(index, position + mask + 1);
+            position++;
+            count++;
+        }
+        head = position;
+        return count;
+    }
+
+    /**
+     * Position of the next event the consumer will take; every earlier event has been
+     * drained.
+     */
+    long head() {
+        return head;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
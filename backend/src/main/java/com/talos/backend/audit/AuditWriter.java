@@ -0,0 +1,272 @@
+package com.talos.backend.audit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind audit trail. Request threads publish events into an {@link AuditRing}
+ * and return; a single writer thread drains up to {@code batch-size} events at a time
+ * and writes them with multi-row inserts, so a bulk status change of hundreds of
+ * entries costs one or two statements instead of an insert per row inside the
+ * request.
+ *
+ * <p>{@code talos.audit.durability} picks what {@link #log} waits for:
+ * <ul>
+ *   <li>{@code async}: nothing. Events are written within {@code flush-interval-ms},
+ *       or as soon as a full batch is waiting. Events still in the ring are lost if the
+ *       process dies.</li>
+ *   <li>{@code sync}: the insert that holds the event, up to {@code sync-timeout-ms}.
+ *       Callers that arrive while a batch is being written share the next one (group
+ *       commit).</li>
+ * </ul>
+ *
+ * <p>When the ring is full a publisher retries for up to {@code overflow-wait-ms} and
+ * then writes its events on its own thread, so an audit row is never dropped for lack
+ * of room. As in the Node auditService, a failed write is logged and never fails the
+ * audited operation.
+ */
+@Service
+public class AuditWriter implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditWriter.class);
+
+    public enum Durability {
+        ASYNC, SYNC
+    }
+
+    private final AuditQueries queries;
+    private final AuditRing ring;
+    private final Durability durability;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long overflowWaitNanos;
+    private final long syncTimeoutMs;
+
+    // Every event before this position has been written (or has failed).
+    private volatile long flushed;
+    private final Object flushedMonitor = new Object();
+    private volatile boolean writerParked;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder direct = new LongAdder();
+    private final LongAdder syncTimeouts = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+
+    private volatile boolean running = true;
+    private Thread writerThread;
+
+    public AuditWriter(AuditQueries queries,
+                       @Value("${talos.audit.ring-capacity:8192}") int ringCapacity,
+                       @Value("${talos.audit.batch-size:500}") int batchSize,
+                       @Value("${talos.audit.flush-interval-ms:100}") long flushIntervalMs,
+                       @Value("${talos.audit.durability:async}") String durability,
+                       @Value("${talos.audit.overflow-wait-ms:50}") long overflowWaitMs,
+                       @Value("${talos.audit.sync-timeout-ms:2000}") long syncTimeoutMs) {
+        this.queries = queries;
+        this.ring = new AuditRing(ringCapacity);
+        this.durability = Durability.valueOf(durability.trim().toUpperCase(Locale.ROOT));
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.overflowWaitNanos = TimeUnit.MILLISECONDS.toNanos(overflowWaitMs);
+        this.syncTimeoutMs = syncTimeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        writerThread = new Thread(this::drainLoop, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Records one audited change; the arguments are those of the Node
+     * {@code auditService.log}, with the values already serialized to JSON.
+     */
+    public void log(Long userId, String action, String entityType, Long entityId,
+                    String oldValue, String newValue, String metadata) {
+        logAll(List.of(new AuditEvent(userId, action, entityType, entityId, oldValue, newValue, metadata)));
+    }
+
+    /**
+     * Records the events of one operation. In {@code sync} mode this returns once all
+     * of them are written.
+     */
+    public void logAll(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        long last = -1;
+        List<AuditEvent> overflow = null;
+        for (int i = 0; i < events.size(); i++) {
+            long position = running ? publish(events.get(i)) : -1;
+            if (position < 0) {
+                overflow = events.subList(i, events.size());
+                break;
+            }
+            last = position;
+        }
+        if (last >= 0) {
+            if (durability == Durability.SYNC || ring.size() >= batchSize) {
+                wakeWriter();
+            }
+            if (durability == Durability.SYNC) {
+                awaitFlushed(last);
+            }
+        }
+        if (overflow != null) {
+            direct.add(overflow.size());
+            write(overflow);
+        }
+    }
+
+    public int queueDepth() {
+        return ring.size();
+    }
+
+    private long publish(AuditEvent event) {
+        long position = ring.offer(event);
+        if (position >= 0 || overflowWaitNanos <= 0) {
+            return position;
+        }
+        // Backpressure: give the writer a moment to make room before writing inline.
+        wakeWriter();
+        long deadline = System.nanoTime() + overflowWaitNanos;
+        while (position < 0 && running && System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            position = ring.offer(event);
+        }
+        return position;
+    }
+
+    private void wakeWriter() {
+        if (writerParked) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    private void awaitFlushed(long position) {
+        long deadline = System.currentTimeMillis() + syncTimeoutMs;
+        synchronized (flushedMonitor) {
+            while (flushed <= position) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    syncTimeouts.increment();
+                    log.debug("Audit event {} not yet written after {} ms", position, syncTimeoutMs);
+                    return;
+                }
+                try {
+                    flushedMonitor.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || !ring.isEmpty()) {
+            if (ring.drainTo(batch, batchSize) == 0) {
+                writerParked = true;
+                // Re-check after announcing the park, or a publisher could miss it.
+                if (running && ring.isEmpty()) {
+                    LockSupport.parkNanos(this, flushIntervalNanos);
+                } else if (!running) {
+                    // A producer mid-publish; let it finish.
+                    Thread.onSpinWait();
+                }
+                writerParked = false;
+                continue;
+            }
+            if (durability == Durability.ASYNC && batch.size() < batchSize && running) {
+                // Let a partial batch fill up for one interval before writing it.
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize && running && System.nanoTime() - deadline < 0) {
+                    if (ring.drainTo(batch, batchSize - batch.size()) == 0) {
+                        writerParked = true;
+                        if (ring.isEmpty()) {
+                            LockSupport.parkNanos(this, deadline - System.nanoTime());
+                        }
+                        writerParked = false;
+                    }
+                }
+                // Events published while parked at the deadline, or before a stop, join this batch.
+                ring.drainTo(batch, batchSize - batch.size());
+            }
+            long started = System.nanoTime();
+            write(batch);
+            flushes.increment();
+            flushNanos.add(System.nanoTime() - started);
+            batch.clear();
+            flushed = ring.head();
+            if (durability == Durability.SYNC) {
+                synchronized (flushedMonitor) {
+                    flushedMonitor.notifyAll();
+                }
+            }
+        }
+    }
+
+    private void write(List<AuditEvent> events) {
+        try {
+            queries.insert(events);
+            written.add(events.size());
+            log.debug("Wrote {} audit_log rows", events.size());
+        } catch (RuntimeException e) {
+            failed.add(events.size());
+            log.error("Audit log error (non-fatal) for {} events", events.size(), e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("talos.audit.ring.depth", ring, AuditRing::size)
+                .description("Audit events published but not yet written")
+                .register(registry);
+        Gauge.builder("talos.audit.ring.capacity", ring, AuditRing::capacity)
+                .register(registry);
+        FunctionCounter.builder("talos.audit.events", written, LongAdder::sum)
+                .tag("result", "written")
+                .register(registry);
+        FunctionCounter.builder("talos.audit.events", failed, LongAdder::sum)
+                .tag("result", "failed")
+                .description("Audit events lost because their insert failed")
+                .register(registry);
+        FunctionCounter.builder("talos.audit.events", direct, LongAdder::sum)
+                .tag("result", "direct")
+                .description("Audit events written on the request thread because the ring was full")
+                .register(registry);
+        FunctionCounter.builder("talos.audit.sync.timeouts", syncTimeouts, LongAdder::sum)
+                .description("Sync-mode callers that stopped waiting before their events were written")
+                .register(registry);
+        FunctionTimer.builder("talos.audit.flush", flushes, LongAdder::sum, f -> flushNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Batched audit_log inserts by the writer thread")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+}
@@ -0,0 +1,42 @@
+package com.talos.backend.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Which routes need a Node-issued access token. Everything else (the public apply
+ * form, demo requests, the job feed and health) stays open, as in Node. The actuator
+ * is not on this listener at all; it has its own management port.
+ */
+@Configuration(proxyBeanMethods = false)
+public class AuthConfig implements WebMvcConfigurer {
+
+    @Bean
+    FilterRegistrationBean<AuthFilter> userAuthFilter(JwtVerifier verifier, ObjectMapper objectMapper) {
+        FilterRegistrationBean<AuthFilter> registration =
+                new FilterRegistrationBean<>(new AuthFilter(verifier, objectMapper, false));
+        registration.setName("userAuthFilter");
+        registration.addUrlPatterns("/api/pipeline/*", "/api/resumes/*", "/api/search/*");
+        return registration;
+    }
+
+    @Bean
+    FilterRegistrationBean<AuthFilter> adminAuthFilter(JwtVerifier verifier, ObjectMapper objectMapper) {
+        FilterRegistrationBean<AuthFilter> registration =
+                new FilterRegistrationBean<>(new AuthFilter(verifier, objectMapper, true));
+        registration.setName("adminAuthFilter");
+        registration.addUrlPatterns("/api/admin/*");
+        return registration;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new AuthenticatedUserResolver());
+    }
+}
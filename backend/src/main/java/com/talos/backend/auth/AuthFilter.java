@@ -0,0 +1,72 @@
+package com.talos.backend.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Port of the Node {@code authenticateToken} (and, for admin routes,
+ * {@code requireAdmin}) middleware: requires {@code Authorization: Bearer <token>},
+ * answers 401/403 with the same bodies as Node, and stores the
+ * {@link AuthenticatedUser} in the request for the controllers.
+ */
+public class AuthFilter extends OncePerRequestFilter {
+
+    private final JwtVerifier verifier;
+    private final ObjectMapper objectMapper;
+    private final boolean adminOnly;
+
+    public AuthFilter(JwtVerifier verifier, ObjectMapper objectMapper, boolean adminOnly) {
+        this.verifier = verifier;
+        this.objectMapper = objectMapper;
+        this.adminOnly = adminOnly;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // CORS preflights carry no credentials.
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        String token = header != null && header.startsWith("Bearer ") ? header.substring(7).trim() : null;
+        if (token == null || token.isEmpty()) {
+            reject(response, HttpStatus.UNAUTHORIZED, "Access token required");
+            return;
+        }
+        Optional<AuthenticatedUser> user = verifier.verify(token);
+        if (user.isEmpty()) {
+            reject(response, HttpStatus.UNAUTHORIZED, "Invalid or expired token");
+            return;
+        }
+        if (adminOnly && !user.get().isAdmin()) {
+            reject(response, HttpStatus.FORBIDDEN, "Admin access required");
+            return;
+        }
+        request.setAttribute(AuthenticatedUser.ATTRIBUTE, user.get());
+        chain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "error");
+        body.put("message", message);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
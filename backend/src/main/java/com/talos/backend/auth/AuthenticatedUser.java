@@ -0,0 +1,23 @@
+package com.talos.backend.auth;
+
+/**
+ * The user a request was made by, taken from the Node-issued JWT ({@code userId},
+ * {@code email}, {@code role}).
+ */
+public record AuthenticatedUser(long userId, String email, String role) {
+
+    /** Request attribute the {@link AuthFilter} stores the user under. */
+    public static final String ATTRIBUTE = AuthenticatedUser.class.getName();
+
+    public boolean isAdmin() {
+        return "admin".equals(role);
+    }
+
+    /**
+     * The job owner to restrict queries to: null for an admin, who sees every owner's
+     * data, otherwise the user's own id. Same rule as the Node routes.
+     */
+    public Long ownerFilter() {
+        return isAdmin() ? null : userId;
+    }
+}
@@ -0,0 +1,32 @@
+package com.talos.backend.auth;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Whether a user may see a candidate: admins see everyone, other users the
+ * candidates who applied to one of their jobs.
+ */
+@Component
+public class CandidateAccess {
+
+    private static final String OWNS_SQL = """
+            SELECT EXISTS (
+                SELECT 1 FROM candidate_pipeline cp
+                JOIN jobs j ON j.id = cp.job_id
+                WHERE cp.candidate_id = ? AND j.user_id = ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CandidateAccess(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean allows(AuthenticatedUser user, long candidateId) {
+        if (user.isAdmin()) {
+            return true;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(OWNS_SQL, Boolean.class, candidateId, user.userId()));
+    }
+}
@@ -0,0 +1,65 @@
+package com.talos.backend.auth;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Issues short-lived tokens in the Node backend's format, for this backend's own
+ * calls to Node routes: HS256 JWTs signed with {@code JWT_SECRET}, carrying
+ * {@code userId}, {@code email} and {@code role}, as {@code jwt.sign} does at login.
+ */
+@Component
+public class JwtSigner {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final String HEADER = BASE64_URL.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final SecretKeySpec key;
+    private final ObjectMapper objectMapper;
+
+    public JwtSigner(@Value("${talos.auth.jwt-secret:}") String secret, ObjectMapper objectMapper) {
+        this.key = secret == null || secret.isBlank()
+                ? null
+                : new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * A token for {@code user} that expires after {@code ttl}.
+     *
+     * @throws IllegalStateException if no secret is configured
+     */
+    public String sign(AuthenticatedUser user, Duration ttl) {
+        if (key == null) {
+            throw new IllegalStateException("talos.auth.jwt-secret is not set");
+        }
+        long now = Instant.now().getEpochSecond();
+        ObjectNode claims = objectMapper.createObjectNode();
+        claims.put("userId", user.userId());
+        claims.put("email", user.email());
+        claims.put("role", user.role());
+        claims.put("iat", now);
+        claims.put("exp", now + ttl.toSeconds());
+        try {
+            String signingInput = HEADER + '.' + BASE64_URL.encodeToString(objectMapper.writeValueAsBytes(claims));
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return signingInput + '.'
+                    + BASE64_URL.encodeToString(mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII)));
+        } catch (JsonProcessingException | GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
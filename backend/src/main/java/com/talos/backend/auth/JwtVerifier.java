@@ -0,0 +1,89 @@
+package com.talos.backend.auth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Verifies the access tokens the Node backend issues at login: HS256 JWTs signed
+ * with {@code JWT_SECRET}, carrying {@code userId}, {@code email} and {@code role}.
+ * Both backends must be given the same secret.
+ *
+ * <p>Without a secret every token is rejected, so the protected routes answer 401
+ * rather than running unauthenticated.
+ */
+@Component
+public class JwtVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtVerifier.class);
+
+    private static final Base64.Decoder BASE64_URL = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final ObjectMapper objectMapper;
+
+    public JwtVerifier(@Value("${talos.auth.jwt-secret:}") String secret, ObjectMapper objectMapper) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("talos.auth.jwt-secret is not set; every authenticated route will answer 401");
+            this.key = null;
+        } else {
+            this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        }
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * The user a token was issued to, or empty if the token is malformed, not signed
+     * with our secret, or expired.
+     */
+    public Optional<AuthenticatedUser> verify(String token) {
+        if (key == null || token == null) {
+            return Optional.empty();
+        }
+        int firstDot = token.indexOf('.');
+        int secondDot = token.indexOf('.', firstDot + 1);
+        if (firstDot < 0 || secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            return Optional.empty();
+        }
+        try {
+            JsonNode header = objectMapper.readTree(BASE64_URL.decode(token.substring(0, firstDot)));
+            if (!"HS256".equals(header.path("alg").asText())) {
+                return Optional.empty();
+            }
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            byte[] expected = mac.doFinal(token.substring(0, secondDot).getBytes(StandardCharsets.US_ASCII));
+            if (!MessageDigest.isEqual(expected, BASE64_URL.decode(token.substring(secondDot + 1)))) {
+                return Optional.empty();
+            }
+
+            JsonNode claims = objectMapper.readTree(BASE64_URL.decode(token.substring(firstDot + 1, secondDot)));
+            long now = System.currentTimeMillis() / 1000;
+            if (!claims.path("exp").isNumber() || claims.get("exp").asLong() <= now) {
+                return Optional.empty();
+            }
+            if (claims.path("nbf").isNumber() && claims.get("nbf").asLong() > now) {
+                return Optional.empty();
+            }
+            if (!claims.path("userId").canConvertToLong()) {
+                return Optional.empty();
+            }
+            return Optional.of(new AuthenticatedUser(claims.get("userId").asLong(),
+                    claims.path("email").asText(null), claims.path("role").asText(null)));
+        } catch (IllegalArgumentException | IOException | GeneralSecurityException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.talos.backend.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed cache for extracted resume text.
+ *
+ * <p>Entries are keyed by the SHA-256 of the file bytes, so the same resume uploaded
+ * twice is only extracted once. A size-bounded Caffeine (W-TinyLFU) tier sits in front of
+ * an on-disk store that survives restarts. The disk tier is bounded too: once it holds
+ * more than {@code talos.cache.disk-max-bytes}, the least recently used entries are
+ * deleted until it is back under 90% of that. Concurrent lookups of one key load it
+ * once; the others wait for that result. The memory tier holds one future per key,
+ * and the caller that created it runs the load on its own thread, outside Caffeine's
+ * locks, so a slow extraction or model call never blocks lookups of other keys.
+ */
+@Service
+public class ResumeAnalysisCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumeAnalysisCache.class);
+
+    private final AsyncCache<String, String> memory;
+    private final Path textDir;
+    private final long diskMaxBytes;
+    private final AtomicLong diskBytes = new AtomicLong();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder diskMisses = new LongAdder();
+    private final LongAdder computations = new LongAdder();
+    private final LongAdder diskEvictions = new LongAdder();
+
+    public ResumeAnalysisCache(@Value("${talos.cache.dir:${java.io.tmpdir}/talos-cache}") Path cacheDir,
+                               @Value("${talos.cache.memory-max-bytes:67108864}") long memoryMaxBytes,
+                               @Value("${talos.cache.disk-max-bytes:1073741824}") long diskMaxBytes) {
+        this.textDir = cacheDir.resolve("text");
+        this.diskMaxBytes = diskMaxBytes;
+        this.diskBytes.set(entries().stream().mapToLong(Entry::size).sum());
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(memoryMaxBytes)
+                .weigher((String key, String value) -> 2 * (key.length() + value.length()))
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Extracted text for the file with the given content hash, running
+     * {@code extractor} only if neither tier has it.
+     */
+    public String extractedText(String contentHash, Supplier<String> extractor) {
+        return load("text:" + contentHash, shard(textDir, contentHash, ".txt"), extractor);
+    }
+
+    /**
+     * Extracted text for the file with the given content hash if either tier has it.
+     * Never extracts, and does not promote a disk hit into memory, so bulk readers
+     * such as the search index do not evict the working set.
+     */
+    public Optional<String> cachedText(String contentHash) {
+        CompletableFuture<String> cached = memory.getIfPresent("text:" + contentHash);
+        if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+            return Optional.ofNullable(cached.join());
+        }
+        try {
+            return Optional.of(Files.readString(shard(textDir, contentHash, ".txt")));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private String load(String key, Path file, Supplier<String> compute) {
+        CompletableFuture<String> created = new CompletableFuture<>();
+        // Only the insertion of the future happens under the cache's lock.
+        CompletableFuture<String> future = memory.get(key, (k, executor) -> created);
+        if (future == created) {
+            try {
+                created.complete(loadOrCompute(file, compute));
+            } catch (RuntimeException | Error e) {
+                // Failures are not cached; the waiters see the exception, the next caller retries.
+                created.completeExceptionally(e);
+                memory.asMap().remove(key, created);
+                throw e;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private String loadOrCompute(Path file, Supplier<String> compute) {
+        try {
+            String cached = Files.readString(file);
+            diskHits.increment();
+            touch(file);
+            return cached;
+        } catch (NoSuchFileException e) {
+            diskMisses.increment();
+        } catch (IOException e) {
+            diskMisses.increment();
+            log.warn("Unreadable cache entry {}, recomputing", file, e);
+        }
+
+        String value = compute.get();
+        computations.increment();
+        if (value != null) {
+            store(file, value);
+        }
+        return value;
+    }
+
+    private void store(Path file, String value) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.writeString(temp, value);
+            long size = Files.size(temp);
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (diskBytes.addAndGet(size) > diskMaxBytes) {
+                trim();
+            }
+        } catch (IOException e) {
+            // The value is still returned and kept in memory; only persistence is lost.
+            log.warn("Could not write cache entry {}", file, e);
+        }
+    }
+
+    /** Marks a disk entry as recently used, which is what {@link #trim()} evicts by. */
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Only makes the entry look older to the next trim.
+        }
+    }
+
+    /**
+     * Deletes the least recently used disk entries until the tier is under 90% of its
+     * cap. Runs on the storing thread; if another thread is already trimming, returns
+     * at once and leaves it to that one. The total is recounted from the files, so
+     * entries written by another instance sharing the directory are accounted for.
+     */
+    void trim() {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<Entry> entries = entries();
+            long total = entries.stream().mapToLong(Entry::size).sum();
+            long target = diskMaxBytes - diskMaxBytes / 10;
+            entries.sort(Comparator.comparing(Entry::lastUsed));
+            for (Entry entry : entries) {
+                if (total <= target) {
+                    break;
+                }
+                try {
+                    if (Files.deleteIfExists(entry.file())) {
+                        diskEvictions.increment();
+                    }
+                    total -= entry.size();
+                } catch (IOException e) {
+                    log.warn("Could not evict cache entry {}", entry.file(), e);
+                }
+            }
+            diskBytes.set(total);
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    private List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.isDirectory(textDir)) {
+            return entries;
+        }
+        try (Stream<Path> files = Files.walk(textDir)) {
+            files.filter(file -> file.getFileName().toString().endsWith(".txt")).forEach(file -> {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    entries.add(new Entry(file, attributes.size(), attributes.lastModifiedTime()));
+                } catch (IOException e) {
+                    // Deleted since the walk listed it.
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not list cache directory {}", textDir, e);
+        }
+        return entries;
+    }
+
+    private record Entry(Path file, long size, FileTime lastUsed) {
+    }
+
+    private static Path shard(Path dir, String hex, String suffix) {
+        return dir.resolve(hex.substring(0, 2)).resolve(hex + suffix);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, memory.synchronous(), "resume.analysis", Tags.of("tier", "memory"));
+        FunctionCounter.builder("talos.resume.cache.disk", diskHits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Resume cache lookups answered from the on-disk store")
+                .register(registry);
+        FunctionCounter.builder("talos.resume.cache.disk", diskMisses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Resume cache lookups missing from both tiers")
+                .register(registry);
+        FunctionCounter.builder("talos.resume.cache.computations", computations, LongAdder::sum)
+                .description("Text extractions actually run after a cache miss")
+                .register(registry);
+        FunctionCounter.builder("talos.resume.cache.disk.evictions", diskEvictions, LongAdder::sum)
+                .description("On-disk entries deleted to keep the tier under talos.cache.disk-max-bytes")
+                .register(registry);
+        Gauge.builder("talos.resume.cache.disk.bytes", diskBytes, AtomicLong::get)
+                .description("Bytes held by the on-disk tier")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
@@ -0,0 +1,59 @@
+package com.talos.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+/**
+ * Sizes the Hikari pool for the {@code postgres} profile instead of a fixed
+ * {@code maximum-pool-size}.
+ *
+ * <p>PostgreSQL throughput peaks at about {@code cores * 2 + effective spindles} active
+ * connections on the server; more only adds contention, so requests beyond that should
+ * wait in the pool, where {@code hikaricp.connections.acquire} measures the wait. The
+ * pool is never larger than {@code talos.db.expected-concurrency}, the number of
+ * threads expected to use the database at once, plus {@code talos.db.pool.reserved}
+ * connections for the single-threaded background writers and syncs so they never queue
+ * behind requests. {@code talos.db.pool.size} overrides the calculation. The pool is
+ * fixed-size: {@code minimum-idle} equals the maximum.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("postgres")
+public class PostgresPoolConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresPoolConfig.class);
+
+    @Bean
+    static BeanPostProcessor hikariPoolSizer(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    int size = environment.getProperty("talos.db.pool.size", Integer.class, 0);
+                    if (size <= 0) {
+                        int cores = environment.getProperty("talos.db.server-cores", Integer.class, 0);
+                        size = poolSize(cores > 0 ? cores : Runtime.getRuntime().availableProcessors(),
+                                environment.getProperty("talos.db.effective-spindles", Integer.class, 1),
+                                environment.getProperty("talos.db.expected-concurrency", Integer.class, 32),
+                                environment.getProperty("talos.db.pool.reserved", Integer.class, 3));
+                    }
+                    // The pool starts on first use, so this applies before any connection opens.
+                    dataSource.setMaximumPoolSize(size);
+                    dataSource.setMinimumIdle(size);
+                    log.info("Hikari pool {} sized to {} connections", dataSource.getPoolName(), size);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static int poolSize(int serverCores, int effectiveSpindles, int expectedConcurrency, int reserved) {
+        int active = Math.min(serverCores * 2 + effectiveSpindles, expectedConcurrency);
+        return Math.max(2, active + reserved);
+    }
+}
@@ -0,0 +1,23 @@
+package com.talos.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+/**
+ * S3 client for the Node backend's resume bucket, which public-apply resumes are
+ * copied to for analysis. Credentials come from the default AWS provider chain,
+ * as they do for Node's SDK client.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "talos.apply.enabled", havingValue = "true")
+public class ResumeBucketConfig {
+
+    @Bean(destroyMethod = "close")
+    S3Client resumeBucketClient(@Value("${talos.apply.s3.region:us-east-1}") String region) {
+        return S3Client.builder().region(Region.of(region)).build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.talos.backend.config;
+
+import com.talos.backend.apply.ApplyIngestion;
+import com.talos.backend.audit.AuditWriter;
+import com.talos.backend.digest.DailyDigestJob;
+import com.talos.backend.feed.JobFeedSync;
+import com.talos.backend.messaging.CommunicationStatusWriter;
+import com.talos.backend.search.SearchIndexSync;
+import com.talos.backend.service.DemoRequestWriter;
+import com.talos.backend.talentpool.TalentPoolSync;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Keeps the fast-start modes (see {@code application-fast-start.properties} and the
+ * {@code cds}, {@code aot} and {@code native} Maven profiles) behaving like a normal
+ * start.
+ *
+ * <p>With {@code spring.main.lazy-initialization=true} a bean is only created when
+ * something first asks for it. The background writers and syncs are kept eager, or
+ * they would start (and seed their state) late or never. Every other bean, the JPA
+ * repositories and model clients included, is created on first use.
+ *
+ * <p>A native image only contains the classpath resources it was told about; the
+ * rubric templates and the matching vocabulary are read at runtime, so they are
+ * registered here.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(StartupConfig.ResourceHints.class)
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBackgroundTasks() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DemoRequestWriter.class, ApplyIngestion.class, CommunicationStatusWriter.class,
+                TalentPoolSync.class, JobFeedSync.class, SearchIndexSync.class, AuditWriter.class,
+                DailyDigestJob.class);
+    }
+
+    static class ResourceHints implements RuntimeHintsRegistrar {
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources()
+                    .registerPattern("rubrics/*")
+                    .registerPattern("matching/*");
+        }
+    }
+}
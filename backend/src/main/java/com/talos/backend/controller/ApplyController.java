@@ -0,0 +1,124 @@
+package com.talos.backend.controller;
+
+import com.talos.backend.apply.ApplyIngestion;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Public job applications, validated like the Node {@code applyRoutes.js} route and
+ * queued by {@link ApplyIngestion}. Clients should send an {@code Idempotency-Key}
+ * header so a retried submit is answered with the first submit's result. Mapped only
+ * with {@code talos.apply.enabled=true}, like {@link ApplyIngestion}.
+ */
+@RestController
+@ConditionalOnProperty(name = "talos.apply.enabled", havingValue = "true")
+@RequestMapping("/api/apply")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ApplyController {
+
+    private static final Set<String> ALLOWED_MIME_TYPES = Set.of(
+            "application/pdf",
+            "application/msword",
+            "application/vnd.openxmlformats-officedocument.wordprocessingml.document");
+    private static final Pattern EMAIL = Pattern.compile("^[^\\s@]+@[^\\s@]+\\.[^\\s@]+$");
+    private static final Pattern PHONE = Pattern.compile("^[+]?[\\d\\s().\\-]{7,}$");
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    private final ApplyIngestion ingestion;
+
+    public ApplyController(ApplyIngestion ingestion) {
+        this.ingestion = ingestion;
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, Object>> apply(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestParam(value = "resume", required = false) MultipartFile resume,
+            @RequestParam(value = "name", required = false) String name,
+            @RequestParam(value = "email", required = false) String email,
+            @RequestParam(value = "phone", required = false) String phone,
+            @RequestParam(value = "jobId", required = false) String jobId,
+            @RequestParam(value = "jobTitle", required = false) String jobTitle) throws IOException {
+        if (resume == null || resume.isEmpty()) {
+            return error(HttpStatus.BAD_REQUEST, "No resume file uploaded");
+        }
+        if (!ALLOWED_MIME_TYPES.contains(resume.getContentType())) {
+            return error(HttpStatus.BAD_REQUEST, "Invalid file type. Please upload a PDF or Word document (.docx).");
+        }
+        String cleanName = trim(name, 255);
+        if (cleanName == null) {
+            return error(HttpStatus.BAD_REQUEST, "Please provide your name");
+        }
+        String cleanEmail = email != null ? email.trim().toLowerCase(Locale.ROOT) : "";
+        if (cleanEmail.length() > 255 || !EMAIL.matcher(cleanEmail).matches()) {
+            return error(HttpStatus.BAD_REQUEST, "Please provide a valid email address");
+        }
+        String cleanPhone = phone != null ? phone.trim() : "";
+        if (cleanPhone.length() > 50 || !PHONE.matcher(cleanPhone).matches()) {
+            return error(HttpStatus.BAD_REQUEST, "Please provide a valid phone number");
+        }
+        String key = trim(idempotencyKey, Integer.MAX_VALUE);
+        if (key != null && key.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            return error(HttpStatus.BAD_REQUEST, "Idempotency-Key must be at most 255 characters");
+        }
+
+        ApplyIngestion.Receipt receipt = ingestion.submit(key, cleanName, cleanEmail, cleanPhone,
+                positiveLong(jobId), trim(jobTitle, 255), resume);
+        return switch (receipt.status()) {
+            case ACCEPTED -> {
+                Map<String, Object> response = new LinkedHashMap<>();
+                response.put("status", "success");
+                response.put("message", "Application submitted successfully! We will review your resume shortly.");
+                response.put("data", Map.of("applicationId", receipt.applicationId()));
+                yield ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+            }
+            case DUPLICATE -> error(HttpStatus.CONFLICT, "You've already applied for this position.");
+            case KEY_REUSED -> error(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "This Idempotency-Key was already used for a different application");
+            case BUSY -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(errorBody("We're receiving a lot of applications right now, please try again shortly"));
+        };
+    }
+
+    private static String trim(String value, int maxLength) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.length() > maxLength ? trimmed.substring(0, maxLength) : trimmed;
+    }
+
+    // As the Node sanitize.positiveInt: anything else means no job (general talent pool).
+    private static Long positiveLong(String value) {
+        try {
+            long parsed = Long.parseLong(value != null ? value.trim() : "");
+            return parsed > 0 ? parsed : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(errorBody(message));
+    }
+
+    private static Map<String, Object> errorBody(String message) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "error");
+        response.put("message", message);
+        return response;
+    }
+}
@@ -0,0 +1,14 @@
+package com.talos.backend.controller;
+
+import java.util.List;
+
+/**
+ * JSON body of {@code POST /api/pipeline/bulk-message}. Field names match the Node route.
+ */
+public record BulkMessageForm(
+        List<Long> candidatePipelineIds,
+        String messageType,
+        String jobTitle,
+        String jobLocation,
+        String schedulingLink) {
+}
@@ -0,0 +1,128 @@
+package com.talos.backend.controller;
+
+import com.talos.backend.auth.AuthenticatedUser;
+import com.talos.backend.messaging.BulkMessagingService;
+import com.talos.backend.messaging.MessageType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk messaging and bulk status changes on {@code candidate_pipeline}, with the
+ * request and response bodies of the Node routes. A user may only act on entries of
+ * their own jobs; admins may act on any.
+ */
+@RestController
+@RequestMapping("/api/pipeline")
+@CrossOrigin(origins = "http://localhost:3000")
+public class BulkPipelineController {
+
+    private final BulkMessagingService messaging;
+    private final int maxRecipients;
+
+    public BulkPipelineController(BulkMessagingService messaging,
+                                  @Value("${talos.messaging.max-recipients:1000}") int maxRecipients) {
+        this.messaging = messaging;
+        this.maxRecipients = maxRecipients;
+    }
+
+    @PostMapping("/bulk-message")
+    public ResponseEntity<Map<String, Object>> bulkMessage(AuthenticatedUser user,
+                                                           @RequestBody BulkMessageForm form) {
+        ResponseEntity<Map<String, Object>> invalid = validateIds(form.candidatePipelineIds());
+        if (invalid != null) {
+            return invalid;
+        }
+        MessageType type = MessageType.fromValue(form.messageType()).orElse(null);
+        if (type == null) {
+            return error(HttpStatus.BAD_REQUEST, "messageType must be one of email, sms, rejection_email");
+        }
+
+        BulkMessagingService.MessageResult result = messaging.send(form.candidatePipelineIds(), type,
+                form.jobTitle(), form.jobLocation(), form.schedulingLink(), user);
+        if (result.status() == BulkMessagingService.Status.FORBIDDEN) {
+            return error(HttpStatus.FORBIDDEN, "Access denied");
+        }
+        if (result.status() == BulkMessagingService.Status.BUSY) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(errorBody("Too many messages are already queued, please try again shortly"));
+        }
+
+        List<Map<String, Object>> results = result.deliveries().stream().map(delivery -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("pipelineId", delivery.pipelineId());
+            entry.put("success", delivery.success());
+            entry.put("deliveryStatus", delivery.status());
+            if (delivery.success()) {
+                entry.put("message", result.message().content());
+            } else {
+                entry.put("error", delivery.error());
+            }
+            return entry;
+        }).toList();
+        long successful = result.deliveries().stream().filter(BulkMessagingService.Delivery::success).count();
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("totalProcessed", results.size());
+        data.put("successful", successful);
+        data.put("failed", results.size() - successful);
+        data.put("results", results);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "success");
+        response.put("data", data);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/bulk-update")
+    public ResponseEntity<Map<String, Object>> bulkUpdate(AuthenticatedUser user,
+                                                          @RequestBody BulkUpdateForm form) {
+        ResponseEntity<Map<String, Object>> invalid = validateIds(form.candidatePipelineIds());
+        if (invalid != null) {
+            return invalid;
+        }
+
+        BulkMessagingService.UpdateResult result = messaging.updateStatus(form.candidatePipelineIds(),
+                form.status(), user);
+        return switch (result.status()) {
+            case FORBIDDEN -> error(HttpStatus.FORBIDDEN, result.error());
+            case INVALID_TRANSITION, BUSY -> error(HttpStatus.BAD_REQUEST, result.error());
+            case OK -> {
+                Map<String, Object> data = new LinkedHashMap<>();
+                data.put("updated", result.pipelines().size());
+                data.put("pipelines", result.pipelines());
+                Map<String, Object> response = new LinkedHashMap<>();
+                response.put("status", "success");
+                response.put("data", data);
+                yield ResponseEntity.ok(response);
+            }
+        };
+    }
+
+    private ResponseEntity<Map<String, Object>> validateIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.contains(null)) {
+            return error(HttpStatus.BAD_REQUEST, "candidatePipelineIds must be a non-empty array");
+        }
+        if (ids.size() > maxRecipients) {
+            return error(HttpStatus.BAD_REQUEST, "At most " + maxRecipients + " candidatePipelineIds per request");
+        }
+        return null;
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(errorBody(message));
+    }
+
+    private static Map<String, Object> errorBody(String message) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "error");
+        response.put("message", message);
+        return response;
+    }
+}
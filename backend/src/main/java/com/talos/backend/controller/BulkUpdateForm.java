@@ -0,0 +1,9 @@
+package com.talos.backend.controller;
+
+import java.util.List;
+
+/**
+ * JSON body of {@code POST /api/pipeline/bulk-update}. Field names match the Node route.
+ */
+public record BulkUpdateForm(List<Long> candidatePipelineIds, String status) {
+}
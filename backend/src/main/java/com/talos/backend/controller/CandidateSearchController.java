@@ -0,0 +1,58 @@
+package com.talos.backend.controller;
+
+import com.talos.backend.auth.AuthenticatedUser;
+import com.talos.backend.search.CandidateSearchService;
+import com.talos.backend.search.SearchQuery;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Full-text search over resumes and analyses. {@code q} takes words, which rank
+ * results, and quoted phrases, which every result must contain:
+ * {@code q="EPA 608 Universal" refrigerant}. Results are restricted to candidates
+ * on the authenticated user's jobs unless that user is an admin.
+ */
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "http://localhost:3000")
+public class CandidateSearchController {
+
+    private final CandidateSearchService searchService;
+
+    public CandidateSearchController(CandidateSearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @GetMapping("/candidates")
+    public ResponseEntity<Map<String, Object>> searchCandidates(
+            AuthenticatedUser user,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        SearchQuery query = SearchQuery.parse(q);
+        if (query.isEmpty()) {
+            response.put("status", "error");
+            response.put("message", "Search text is required");
+            return ResponseEntity.badRequest().body(response);
+        }
+        if (!searchService.isReady()) {
+            response.put("status", "error");
+            response.put("message", "Search index is still loading");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+
+        int size = limit != null ? Math.min(100, Math.max(1, limit)) : 20;
+        List<Map<String, Object>> candidates = searchService.search(query, user, size);
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("count", candidates.size());
+        data.put("candidates", candidates);
+        response.put("status", "success");
+        response.put("data", data);
+        return ResponseEntity.ok(response);
+    }
+}
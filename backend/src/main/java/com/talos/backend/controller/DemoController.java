@@ -1,6 +1,11 @@
 package com.talos.backend.controller;
 
+import com.talos.backend.service.DemoRequestWriter;
+import jakarta.validation.Valid;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import java.util.Map;
 import java.util.HashMap;
@@ -10,19 +15,43 @@ import java.util.HashMap;
 @CrossOrigin(origins = "http://localhost:3000")
 public class DemoController {
 
+    private final DemoRequestWriter demoRequestWriter;
+    private final HealthEndpoint healthEndpoint;
+
+    public DemoController(DemoRequestWriter demoRequestWriter, HealthEndpoint healthEndpoint) {
+        this.demoRequestWriter = demoRequestWriter;
+        this.healthEndpoint = healthEndpoint;
+    }
+
     @PostMapping("/demo-request")
-    public ResponseEntity<Map<String, String>> submitDemoRequest(@RequestBody Map<String, Object> demoRequest) {
+    public ResponseEntity<Map<String, String>> submitDemoRequest(@Valid @RequestBody DemoRequestForm demoRequest) {
         Map<String, String> response = new HashMap<>();
+        if (!demoRequestWriter.enqueue(demoRequest.toEntity())) {
+            response.put("message", "Demo request service is busy, please try again shortly");
+            response.put("status", "error");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
         response.put("message", "Demo request submitted successfully");
         response.put("status", "success");
-        return ResponseEntity.ok(response);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
     }
 
+    /**
+     * Load-balancer health check, backed by the actuator health indicators
+     * (database, disk space, demo request writer). The actuator's own
+     * {@code /actuator/health} is only on the management port.
+     */
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> healthCheck() {
+        Status status = healthEndpoint.health().getStatus();
         Map<String, String> response = new HashMap<>();
-        response.put("status", "healthy");
         response.put("service", "Talos Backend");
+        if (!Status.UP.equals(status)) {
+            response.put("status", "unhealthy");
+            response.put("health", status.getCode());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+        response.put("status", "healthy");
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package com.talos.backend.controller;
+
+import com.talos.backend.model.DemoRequest;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import java.time.Instant;
+
+/**
+ * JSON body of {@code POST /api/demo-request}. Field names match the Node backend
+ * and the React landing page.
+ */
+public record DemoRequestForm(
+        @Size(max = 100) String firstName,
+        @Size(max = 100) String lastName,
+        @NotBlank @Email @Size(max = 255) String email,
+        @Size(max = 255) String company,
+        @Size(max = 50) String phone,
+        @Size(max = 50) String companySize,
+        String currentChallenges) {
+
+    public DemoRequest toEntity() {
+        DemoRequest entity = new DemoRequest();
+        entity.setFirstName(firstName);
+        entity.setLastName(lastName);
+        entity.setEmail(email);
+        entity.setCompany(company);
+        entity.setPhone(phone);
+        entity.setCompanySize(companySize);
+        entity.setCurrentChallenges(currentChallenges);
+        entity.setCreatedAt(Instant.now());
+        return entity;
+    }
+}
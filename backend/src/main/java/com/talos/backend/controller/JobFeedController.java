@@ -0,0 +1,159 @@
+package com.talos.backend.controller;
+
+import com.talos.backend.feed.JobFeedService;
+import com.talos.backend.feed.JobFeedSnapshot;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The public XML job feed for Indeed, Jooble and other aggregators, at the Node route's
+ * path. A held snapshot is served with an ETag, {@code If-None-Match} and single byte
+ * ranges (conditional on {@code If-Range}), gzipped when the client accepts it.
+ * Otherwise the feed is streamed from the database on every request.
+ */
+@RestController
+@RequestMapping("/api/jobs")
+@CrossOrigin(origins = "http://localhost:3000")
+public class JobFeedController {
+
+    private static final Logger log = LoggerFactory.getLogger(JobFeedController.class);
+    private static final String XML = "application/xml";
+
+    private final JobFeedService jobFeedService;
+    private final String cacheControl;
+
+    public JobFeedController(JobFeedService jobFeedService,
+                             @Value("${talos.job-feed.max-age-seconds:300}") long maxAgeSeconds) {
+        this.jobFeedService = jobFeedService;
+        this.cacheControl = "public, max-age=" + maxAgeSeconds;
+    }
+
+    @GetMapping("/feed.xml")
+    public void getFeed(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        JobFeedSnapshot snapshot = jobFeedService.snapshot();
+        if (snapshot == null) {
+            stream(request, response, gzip);
+            return;
+        }
+
+        String etag = "\"" + snapshot.etag() + (gzip ? "-gzip" : "") + "\"";
+        byte[] body = gzip ? snapshot.gzip() : snapshot.xml();
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, snapshot.builtAt().toEpochMilli());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        int start = 0;
+        int end = body.length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && body.length > 0 && (ifRange == null || ifRange.equals(etag))) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // Multiple ranges are legal to ignore; the whole feed is sent instead.
+                if (ranges.size() == 1) {
+                    start = (int) ranges.get(0).getRangeStart(body.length);
+                    end = (int) ranges.get(0).getRangeEnd(body.length);
+                    if (start >= body.length || end < start) {
+                        throw new IllegalArgumentException("Range not satisfiable: " + rangeHeader);
+                    }
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + body.length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + body.length);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+        }
+
+        response.setContentType(XML);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(end - start + 1);
+        if (!"HEAD".equals(request.getMethod())) {
+            response.getOutputStream().write(body, start, end - start + 1);
+        }
+    }
+
+    private void stream(HttpServletRequest request, HttpServletResponse response, boolean gzip) throws IOException {
+        response.setContentType(XML);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        try {
+            OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), 8192) : response.getOutputStream();
+            int jobs = jobFeedService.stream(out);
+            out.close();
+            log.info("Job feed streamed: {} jobs", jobs);
+        } catch (RuntimeException e) {
+            log.error("Error generating job feed: {}", e.getMessage());
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.reset();
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            response.setContentType(XML);
+            response.getOutputStream().write("<?xml version=\"1.0\" encoding=\"UTF-8\"?><error>Failed to generate feed</error>"
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Whether an {@code If-None-Match} list names {@code etag}, comparing weakly as the
+     * header requires.
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.trim().split("\\s*;\\s*");
+            if (parts[0].equals("gzip") || parts[0].equals("x-gzip")) {
+                for (int i = 1; i < parts.length; i++) {
+                    if (parts[i].matches("q=0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,43 @@
+package com.talos.backend.controller;
+
+import com.talos.backend.repository.DemoRequestRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A request that spends its time blocked, the way most real routes do, for
+ * loadtest/ThreadModeLoadTest: a JPA read followed by a wait standing in for an
+ * outbound call's latency. /api/health and /api/demo-request return without
+ * blocking, so on their own they cannot show what virtual threads change.
+ * Only registered when talos.loadtest.enabled=true.
+ */
+@RestController
+@RequestMapping("/api/loadtest")
+@CrossOrigin(origins = "http://localhost:3000")
+@ConditionalOnProperty(name = "talos.loadtest.enabled", havingValue = "true")
+public class LoadTestController {
+
+    private final DemoRequestRepository demoRequestRepository;
+    private final long downstreamLatencyMs;
+
+    public LoadTestController(DemoRequestRepository demoRequestRepository,
+                              @Value("${talos.loadtest.downstream-latency-ms:50}") long downstreamLatencyMs) {
+        this.demoRequestRepository = demoRequestRepository;
+        this.downstreamLatencyMs = downstreamLatencyMs;
+    }
+
+    @GetMapping("/blocking")
+    public ResponseEntity<Map<String, Object>> blocking() throws InterruptedException {
+        long demoRequests = demoRequestRepository.count();
+        Thread.sleep(downstreamLatencyMs);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "success");
+        response.put("data", Map.of("demoRequests", demoRequests));
+        return ResponseEntity.ok(response);
+    }
+}
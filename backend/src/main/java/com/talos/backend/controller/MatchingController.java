@@ -0,0 +1,119 @@
+package com.talos.backend.controller;
+
+import com.talos.backend.auth.AuthenticatedUser;
+import com.talos.backend.auth.CandidateAccess;
+import com.talos.backend.matching.BestFitService;
+import com.talos.backend.matching.JobProfile;
+import com.talos.backend.matching.MatchingEngine;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Candidate-to-job matching from precomputed feature vectors. The job-matches response
+ * has the Node route's fields plus the matched and missing skills behind each score.
+ * Both routes answer 403 for a candidate who is not on one of the user's jobs, unless
+ * the user is an admin.
+ */
+@RestController
+@RequestMapping("/api/pipeline/candidate/{candidateId}")
+@CrossOrigin(origins = "http://localhost:3000")
+public class MatchingController {
+
+    private final MatchingEngine matchingEngine;
+    private final BestFitService bestFitService;
+    private final CandidateAccess candidateAccess;
+
+    public MatchingController(MatchingEngine matchingEngine, BestFitService bestFitService,
+                              CandidateAccess candidateAccess) {
+        this.matchingEngine = matchingEngine;
+        this.bestFitService = bestFitService;
+        this.candidateAccess = candidateAccess;
+    }
+
+    @GetMapping("/job-matches")
+    public ResponseEntity<Map<String, Object>> getJobMatches(
+            @PathVariable long candidateId,
+            @RequestParam(defaultValue = "" + Integer.MAX_VALUE) int limit,
+            AuthenticatedUser user) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (candidateId <= 0 || limit <= 0) {
+            return error(response, HttpStatus.BAD_REQUEST, "Invalid candidate ID or limit");
+        }
+        if (!candidateAccess.allows(user, candidateId)) {
+            return error(response, HttpStatus.FORBIDDEN, "Access denied");
+        }
+        return matchingEngine.matchJobs(candidateId, limit)
+                .map(matches -> {
+                    List<Map<String, Object>> rows = new ArrayList<>(matches.size());
+                    matches.forEach(match -> rows.add(toRow(match)));
+                    response.put("status", "success");
+                    response.put("data", Map.of("matches", rows));
+                    return ResponseEntity.ok(response);
+                })
+                .orElseGet(() -> error(response, HttpStatus.NOT_FOUND, "Candidate not found"));
+    }
+
+    @GetMapping("/best-fit")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> getBestFit(@PathVariable long candidateId,
+                                                                           AuthenticatedUser user) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (!candidateAccess.allows(user, candidateId)) {
+            return CompletableFuture.completedFuture(error(response, HttpStatus.FORBIDDEN, "Access denied"));
+        }
+        try {
+            return bestFitService.bestFit(candidateId)
+                    .map(future -> future.handle((bestFit, failure) -> {
+                        if (failure == null) {
+                            response.put("status", "success");
+                            response.put("data", bestFit);
+                            return ResponseEntity.ok(response);
+                        }
+                        Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                        if (cause instanceof RejectedExecutionException) {
+                            return busy(response);
+                        }
+                        return error(response, HttpStatus.INTERNAL_SERVER_ERROR, "Failed to find best-fit position");
+                    }))
+                    .orElseGet(() -> CompletableFuture.completedFuture(
+                            error(response, HttpStatus.NOT_FOUND, "Candidate not found")));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(busy(response));
+        }
+    }
+
+    private static Map<String, Object> toRow(MatchingEngine.JobMatch match) {
+        JobProfile job = match.job();
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("job_id", job.id());
+        row.put("job_title", job.title());
+        row.put("job_location", job.location());
+        row.put("position_type", job.positionType());
+        row.put("required_years_experience", job.requiredYears());
+        row.put("match_score", match.matchScore());
+        row.put("tier", match.tier());
+        row.put("years_experience_diff", match.yearsDiff());
+        row.put("vehicle_required", job.vehicleRequired());
+        row.put("matched_skills", match.matchedSkills());
+        row.put("missing_skills", match.missingSkills());
+        return row;
+    }
+
+    private static ResponseEntity<Map<String, Object>> busy(Map<String, Object> response) {
+        return error(response, HttpStatus.SERVICE_UNAVAILABLE, "Analysis queue is full, try again shortly");
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(Map<String, Object> response, HttpStatus status,
+                                                             String message) {
+        response.put("status", "error");
+        response.put("message", message);
+        return ResponseEntity.status(status).body(response);
+    }
+}
@@ -0,0 +1,83 @@
+package com.talos.backend.controller;
+
+import com.talos.backend.model.RescoreJob;
+import com.talos.backend.service.RescoreService;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import java.util.Map;
+import java.util.LinkedHashMap;
+
+@RestController
+@RequestMapping("/api/admin/rescore")
+@CrossOrigin(origins = "http://localhost:3000")
+public class RescoreController {
+
+    private final RescoreService rescoreService;
+
+    public RescoreController(RescoreService rescoreService) {
+        this.rescoreService = rescoreService;
+    }
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> startRescore() {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toResponse(rescoreService.start()));
+        } catch (IllegalStateException e) {
+            return conflict(e);
+        }
+    }
+
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<Map<String, Object>> resumeRescore(@PathVariable long jobId) {
+        try {
+            return rescoreService.resume(jobId)
+                    .map(job -> ResponseEntity.status(HttpStatus.ACCEPTED).body(toResponse(job)))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return conflict(e);
+        }
+    }
+
+    @PostMapping("/{jobId}/cancel")
+    public ResponseEntity<Map<String, Object>> cancelRescore(@PathVariable long jobId) {
+        if (!rescoreService.cancel(jobId)) {
+            return conflict(new IllegalStateException("Rescore job " + jobId + " is not running"));
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("jobId", jobId);
+        response.put("status", "cancelling");
+        return ResponseEntity.accepted().body(response);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<Map<String, Object>> getRescore(@PathVariable long jobId) {
+        return rescoreService.find(jobId)
+                .map(job -> ResponseEntity.ok(toResponse(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private static Map<String, Object> toResponse(RescoreJob job) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("jobId", job.getId());
+        response.put("status", job.getStatus().name().toLowerCase());
+        response.put("total", job.getTotalRows());
+        response.put("processed", job.getProcessedRows());
+        response.put("changed", job.getChangedRows());
+        response.put("lastPipelineId", job.getLastPipelineId());
+        response.put("startedAt", job.getStartedAt());
+        response.put("updatedAt", job.getUpdatedAt());
+        response.put("finishedAt", job.getFinishedAt());
+        if (job.getErrorMessage() != null) {
+            response.put("message", job.getErrorMessage());
+        }
+        return response;
+    }
+
+    private static ResponseEntity<Map<String, Object>> conflict(IllegalStateException e) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "error");
+        response.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+}
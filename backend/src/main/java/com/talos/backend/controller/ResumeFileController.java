@@ -0,0 +1,185 @@
+package com.talos.backend.controller;
+
+import com.talos.backend.auth.AuthenticatedUser;
+import com.talos.backend.auth.CandidateAccess;
+import com.talos.backend.storage.ResumeStore;
+import com.talos.backend.storage.StoredResume;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Upload and download of resume files held in {@link ResumeStore}. Downloads honour
+ * single byte ranges and ETags, and are sent with Tomcat's sendfile when the
+ * connector supports it so file bytes never pass through the JVM heap. Every route
+ * needs an access token, and a user only reaches the resumes of candidates who
+ * applied to one of their jobs.
+ */
+@RestController
+@RequestMapping("/api/resumes")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ResumeFileController {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final Set<String> ALLOWED_MIME_TYPES = Set.of(
+            "application/pdf",
+            "application/msword",
+            "application/vnd.openxmlformats-officedocument.wordprocessingml.document");
+    private static final Set<String> ALLOWED_EXTENSIONS = Set.of(".pdf", ".doc", ".docx");
+
+    private final ResumeStore resumeStore;
+    private final CandidateAccess candidateAccess;
+
+    public ResumeFileController(ResumeStore resumeStore, CandidateAccess candidateAccess) {
+        this.resumeStore = resumeStore;
+        this.candidateAccess = candidateAccess;
+    }
+
+    @PutMapping(value = "/file/{candidateId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, Object>> uploadResume(@PathVariable long candidateId,
+                                                            @RequestParam("resume") MultipartFile file,
+                                                            AuthenticatedUser user) throws IOException {
+        if (!candidateAccess.allows(user, candidateId)) {
+            return error(HttpStatus.FORBIDDEN, "Access denied");
+        }
+        String filename = file.getOriginalFilename() != null ? file.getOriginalFilename() : "resume";
+        String extension = filename.contains(".")
+                ? filename.substring(filename.lastIndexOf('.')).toLowerCase(Locale.ROOT) : "";
+        if (!ALLOWED_MIME_TYPES.contains(file.getContentType()) || !ALLOWED_EXTENSIONS.contains(extension)) {
+            return error(HttpStatus.BAD_REQUEST, "Only PDF and DOC/DOCX files are allowed");
+        }
+
+        StoredResume stored;
+        try (InputStream in = file.getInputStream()) {
+            stored = resumeStore.put(candidateId, filename, file.getContentType(), in);
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("candidateId", candidateId);
+        response.put("size", stored.length());
+        response.put("sha256", stored.sha256());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Returns null once the file has been written to {@code response} directly.
+     */
+    @GetMapping("/file/{candidateId}")
+    public ResponseEntity<Map<String, Object>> getResumeFile(@PathVariable long candidateId,
+                                                             AuthenticatedUser user,
+                                                             HttpServletRequest request,
+                                                             HttpServletResponse response) throws IOException {
+        if (!candidateAccess.allows(user, candidateId)) {
+            return error(HttpStatus.FORBIDDEN, "Access denied");
+        }
+        Optional<StoredResume> resume = resumeStore.find(candidateId);
+        if (resume.isEmpty()) {
+            return error(HttpStatus.NOT_FOUND, "Resume not found");
+        }
+        return serve(resume.get(), request, response);
+    }
+
+    /**
+     * Browser-renderable preview. PDFs are served as-is; DOCX-to-HTML conversion is
+     * still handled by the Node backend.
+     */
+    @GetMapping("/preview/{candidateId}")
+    public ResponseEntity<Map<String, Object>> previewResume(@PathVariable long candidateId,
+                                                             AuthenticatedUser user,
+                                                             HttpServletRequest request,
+                                                             HttpServletResponse response) throws IOException {
+        if (!candidateAccess.allows(user, candidateId)) {
+            return error(HttpStatus.FORBIDDEN, "Access denied");
+        }
+        Optional<StoredResume> resume = resumeStore.find(candidateId);
+        if (resume.isEmpty()) {
+            return error(HttpStatus.NOT_FOUND, "Resume not found");
+        }
+        if (!MediaType.APPLICATION_PDF_VALUE.equals(resume.get().contentType())) {
+            return error(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Preview not supported for this file type");
+        }
+        return serve(resume.get(), request, response);
+    }
+
+    private ResponseEntity<Map<String, Object>> serve(StoredResume resume, HttpServletRequest request,
+                                                      HttpServletResponse response) throws IOException {
+        String etag = "\"" + resume.sha256() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return null;
+        }
+
+        long total = resume.length();
+        long start = 0;
+        long end = total - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && total > 0 && (ifRange == null || ifRange.equals(etag))) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // Multiple ranges are legal to ignore; the full file is sent instead.
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(total);
+                    end = ranges.get(0).getRangeEnd(total);
+                    if (start >= total || end < start) {
+                        throw new IllegalArgumentException("Range not satisfiable: " + rangeHeader);
+                    }
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + total);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + total);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return null;
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentType(resume.contentType() != null ? resume.contentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(resume.filename() != null ? resume.filename().replaceAll("[\\r\\n\"]", "") : "resume")
+                .build().toString());
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod()) || length <= 0) {
+            return null;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, resumeStore.segmentPath(resume).toRealPath().toString());
+            request.setAttribute(SENDFILE_START, resume.offset() + start);
+            request.setAttribute(SENDFILE_END, resume.offset() + end + 1);
+        } else {
+            resumeStore.transferTo(resume, start, length, response.getOutputStream());
+        }
+        return null;
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "error");
+        response.put("message", message);
+        return ResponseEntity.status(status).body(response);
+    }
+}
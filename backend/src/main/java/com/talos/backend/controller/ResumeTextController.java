@@ -0,0 +1,141 @@
+package com.talos.backend.controller;
+
+import com.talos.backend.auth.AuthenticatedUser;
+import com.talos.backend.auth.CandidateAccess;
+import com.talos.backend.extraction.ExtractedText;
+import com.talos.backend.extraction.ExtractionException;
+import com.talos.backend.extraction.TextExtractionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Resume text extraction. {@code POST /extract} takes up to ten files, like the Node
+ * {@code upload-batch} route, and reads them in parallel; each file gets its own
+ * result with its extraction time, so one bad file does not fail the batch.
+ */
+@RestController
+@RequestMapping("/api/resumes")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ResumeTextController {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumeTextController.class);
+
+    private static final int MAX_FILES = 10;
+
+    private final TextExtractionService extractionService;
+    private final CandidateAccess candidateAccess;
+
+    public ResumeTextController(TextExtractionService extractionService, CandidateAccess candidateAccess) {
+        this.extractionService = extractionService;
+        this.candidateAccess = candidateAccess;
+    }
+
+    @PostMapping(value = "/extract", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, Object>> extractText(
+            @RequestParam(value = "resumes", required = false) List<MultipartFile> files) throws IOException {
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (files == null || files.isEmpty()) {
+            return error(response, HttpStatus.BAD_REQUEST, "No resume files uploaded");
+        }
+        if (files.size() > MAX_FILES) {
+            return error(response, HttpStatus.BAD_REQUEST, "At most " + MAX_FILES + " files can be uploaded at once");
+        }
+
+        List<Path> copies = new ArrayList<>(files.size());
+        try {
+            List<CompletableFuture<ExtractedText>> pending = new ArrayList<>(files.size());
+            for (MultipartFile file : files) {
+                Path copy = Files.createTempFile("talos-extract-", ".upload");
+                copies.add(copy);
+                file.transferTo(copy);
+                pending.add(extractionService.submit(copy, file.getOriginalFilename()));
+            }
+            List<Map<String, Object>> results = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("filename", files.get(i).getOriginalFilename());
+                try {
+                    put(result, pending.get(i).join());
+                } catch (CompletionException e) {
+                    ExtractionException failure = (ExtractionException) e.getCause();
+                    result.put("status", "error");
+                    result.put("code", failure.reason().name());
+                    result.put("message", failure.getMessage());
+                }
+                results.add(result);
+            }
+            response.put("status", "success");
+            response.put("data", results);
+            return ResponseEntity.ok(response);
+        } finally {
+            for (Path copy : copies) {
+                try {
+                    Files.deleteIfExists(copy);
+                } catch (IOException e) {
+                    log.warn("Could not delete {}", copy, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Text of a candidate's stored resume; extracted once, then served from the cache.
+     * Only for candidates on the user's jobs, unless the user is an admin.
+     */
+    @GetMapping("/text/{candidateId}")
+    public ResponseEntity<Map<String, Object>> getResumeText(@PathVariable long candidateId, AuthenticatedUser user) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (!candidateAccess.allows(user, candidateId)) {
+            return error(response, HttpStatus.FORBIDDEN, "Access denied");
+        }
+        try {
+            Optional<ExtractedText> text = extractionService.storedText(candidateId);
+            if (text.isEmpty()) {
+                return error(response, HttpStatus.NOT_FOUND, "Resume not found");
+            }
+            Map<String, Object> data = new LinkedHashMap<>();
+            put(data, text.get());
+            response.put("status", "success");
+            response.put("data", data);
+            return ResponseEntity.ok(response);
+        } catch (ExtractionException e) {
+            HttpStatus status = switch (e.reason()) {
+                case BUSY, TIMED_OUT -> HttpStatus.SERVICE_UNAVAILABLE;
+                default -> HttpStatus.UNPROCESSABLE_ENTITY;
+            };
+            response.put("code", e.reason().name());
+            return error(response, status, e.getMessage());
+        }
+    }
+
+    private static void put(Map<String, Object> result, ExtractedText text) {
+        result.put("status", "success");
+        result.put("text", text.text());
+        result.put("pages", text.pages());
+        result.put("truncated", text.truncated());
+        result.put("elapsed_ms", text.elapsedMs());
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(Map<String, Object> response, HttpStatus status,
+                                                             String message) {
+        response.put("status", "error");
+        response.put("message", message);
+        return ResponseEntity.status(status).body(response);
+    }
+}
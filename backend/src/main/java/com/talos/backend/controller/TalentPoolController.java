@@ -0,0 +1,192 @@
+package com.talos.backend.controller;
+
+import com.talos.backend.auth.AuthenticatedUser;
+import com.talos.backend.talentpool.TalentPoolQuery;
+import com.talos.backend.talentpool.TalentPoolService;
+import com.talos.backend.talentpool.TalentPoolStream;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Talent-pool listing and dashboard statistics served from the in-memory index. Accepts the same query
+ * parameters as the Node route; like Node, the pool is restricted to the authenticated
+ * user's jobs unless that user is an admin. {@code /stream} pushes changes to a filtered listing as
+ * server-sent events; see {@link TalentPoolStream}.
+ */
+@RestController
+@RequestMapping("/api/pipeline/talent-pool")
+@CrossOrigin(origins = "http://localhost:3000")
+public class TalentPoolController {
+
+    private static final List<String> TIERS = List.of("green", "yellow", "red");
+    private static final List<String> STATUSES = List.of("new", "approved", "contacted", "backup", "rejected");
+    private static final Map<String, TalentPoolQuery.SortField> SORT_FIELDS = Map.of(
+            "score", TalentPoolQuery.SortField.SCORE,
+            "date", TalentPoolQuery.SortField.DATE,
+            "name", TalentPoolQuery.SortField.NAME,
+            "position", TalentPoolQuery.SortField.POSITION);
+
+    private final TalentPoolService talentPoolService;
+    private final TalentPoolStream talentPoolStream;
+
+    public TalentPoolController(TalentPoolService talentPoolService, TalentPoolStream talentPoolStream) {
+        this.talentPoolService = talentPoolService;
+        this.talentPoolStream = talentPoolStream;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getTalentPool(
+            AuthenticatedUser user,
+            @RequestParam(required = false) String tier,
+            @RequestParam(required = false) Long jobId,
+            @RequestParam(required = false) String position,
+            @RequestParam(required = false) String minScore,
+            @RequestParam(required = false) String maxScore,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String sortOrder,
+            @RequestParam(required = false) String page,
+            @RequestParam(required = false) String limit,
+            @RequestParam(required = false) String minExperience,
+            @RequestParam(required = false) String hasCertifications,
+            @RequestParam(required = false) String city) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (!talentPoolService.isReady()) {
+            return notReady(response);
+        }
+
+        int pageNumber = Math.max(1, parseInt(page, 1));
+        int pageSize = Math.min(100, Math.max(1, parseInt(limit, 50)));
+
+        TalentPoolQuery query = filter(user.ownerFilter(), tier, jobId, position, minScore, maxScore, status,
+                minExperience, hasCertifications, city)
+                .sortBy(SORT_FIELDS.getOrDefault(sortBy, TalentPoolQuery.SortField.SCORE), "asc".equals(sortOrder))
+                .page(pageNumber, pageSize)
+                .build();
+        TalentPoolService.Page result = talentPoolService.find(query);
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("page", pageNumber);
+        data.put("limit", pageSize);
+        data.put("count", result.candidates().size());
+        data.put("total", result.total());
+        data.put("candidates", result.candidates());
+        response.put("status", "success");
+        response.put("data", data);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Streams changes to the listing selected by the same filters as {@link #getTalentPool}.
+     * The client loads its page first, then applies {@code upsert} and {@code remove}
+     * events, and refetches on {@code resync}. The stream is scoped to the authenticated
+     * user's jobs like the listing, so the client must send its access token in the
+     * {@code Authorization} header (a plain {@code EventSource} cannot).
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<Object> streamTalentPool(
+            AuthenticatedUser user,
+            @RequestParam(required = false) String tier,
+            @RequestParam(required = false) Long jobId,
+            @RequestParam(required = false) String position,
+            @RequestParam(required = false) String minScore,
+            @RequestParam(required = false) String maxScore,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String minExperience,
+            @RequestParam(required = false) String hasCertifications,
+            @RequestParam(required = false) String city) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (!talentPoolService.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(notReady(response).getBody());
+        }
+        SseEmitter emitter = talentPoolStream.subscribe(filter(user.ownerFilter(), tier, jobId, position, minScore, maxScore,
+                status, minExperience, hasCertifications, city).build());
+        if (emitter == null) {
+            response.put("status", "error");
+            response.put("message", "Too many open talent pool streams");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getTalentPoolStats(
+            AuthenticatedUser user,
+            @RequestParam(required = false) String status) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (!talentPoolService.isReady()) {
+            return notReady(response);
+        }
+        response.put("status", "success");
+        response.put("data", talentPoolService.stats(user.ownerFilter(), enumValue(status, STATUSES)));
+        return ResponseEntity.ok(response);
+    }
+
+    private static ResponseEntity<Map<String, Object>> notReady(Map<String, Object> response) {
+        response.put("status", "error");
+        response.put("message", "Talent pool index is still loading");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
+    private static TalentPoolQuery.Builder filter(Long userId, String tier, Long jobId, String position,
+                                                  String minScore, String maxScore, String status,
+                                                  String minExperience, String hasCertifications, String city) {
+        // Like the Node route, an absent score bound defaults to 0..100 and an invalid one is ignored.
+        Double min = minScore != null ? nonNegative(minScore) : Double.valueOf(0);
+        Double max = maxScore != null ? nonNegative(maxScore) : Double.valueOf(100);
+        return new TalentPoolQuery.Builder()
+                .userId(userId)
+                .tier(enumValue(tier, TIERS))
+                .jobId(jobId)
+                .position(trim(position))
+                .minScore(min != null ? (int) Math.ceil(Math.min(min, 100)) : null)
+                .maxScore(max != null ? (int) Math.floor(Math.min(max, 100)) : null)
+                .status(enumValue(status, STATUSES))
+                .minExperience(minExperience != null ? nonNegative(minExperience) : null)
+                .hasCertifications("true".equals(hasCertifications))
+                .city(trim(city));
+    }
+
+    private static String enumValue(String value, List<String> allowed) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        return allowed.contains(normalized) ? normalized : null;
+    }
+
+    private static String trim(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.length() > 100 ? trimmed.substring(0, 100) : trimmed;
+    }
+
+    private static Double nonNegative(String value) {
+        try {
+            double number = Double.parseDouble(value.trim());
+            return number >= 0 ? number : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * {@code parseInt(value) || fallback}: zero falls back too.
+     */
+    private static int parseInt(String value, int fallback) {
+        try {
+            int parsed = value != null ? Integer.parseInt(value.trim()) : 0;
+            return parsed != 0 ? parsed : fallback;
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.talos.backend.digest;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@link DailyDigestService} on {@code talos.digest.cron} in {@code talos.digest.zone}
+ * (by default 22:00 UTC, the Node cron's 6 PM Eastern).
+ *
+ * <p>Disabled unless {@code talos.digest.enabled=true}. The Node backend's cron sends
+ * the same emails, so it has to be turned off when this is turned on. When the work is
+ * split with {@code shard-count}, every instance runs on the same schedule with its own
+ * {@code shard-index}.
+ */
+@Component
+@ConditionalOnProperty(name = "talos.digest.enabled", havingValue = "true")
+public class DailyDigestJob {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyDigestJob.class);
+
+    private final DailyDigestService digests;
+    private final CronExpression cron;
+    private final ZoneId zone;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "daily-digest");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DailyDigestJob(DailyDigestService digests,
+                          @Value("${talos.digest.cron:0 0 22 * * *}") String cron,
+                          @Value("${talos.digest.zone:UTC}") String zone) {
+        this.digests = digests;
+        this.cron = CronExpression.parse(cron);
+        this.zone = ZoneId.of(zone);
+    }
+
+    @PostConstruct
+    void start() {
+        scheduleNext();
+    }
+
+    private void scheduleNext() {
+        ZonedDateTime now = ZonedDateTime.now(zone);
+        ZonedDateTime next = cron.next(now);
+        if (next == null) {
+            log.warn("Daily digest cron {} never fires again", cron);
+            return;
+        }
+        scheduler.schedule(this::run, Duration.between(now, next).toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Daily digest scheduled for {}", next);
+    }
+
+    void run() {
+        try {
+            DailyDigestService.Summary summary = digests.run();
+            log.info("Daily digest: {} owners, {} applications, {} sent, {} failed, {} skipped in {} ms",
+                    summary.owners(), summary.applications(), summary.sent(), summary.failed(), summary.skipped(),
+                    summary.elapsedMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException e) {
+            log.error("Daily digest: error", e);
+        }
+        scheduleNext();
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+}
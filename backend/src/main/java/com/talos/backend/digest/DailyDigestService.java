@@ -0,0 +1,281 @@
+package com.talos.backend.digest;
+
+import com.talos.backend.analysis.TokenBucket;
+import com.talos.backend.messaging.MessageChannel;
+import com.talos.backend.messaging.MessageSender;
+import com.talos.backend.messaging.Recipient;
+import com.talos.backend.messaging.RenderedMessage;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The daily recap each job owner gets of the applications received in the last
+ * {@code window-hours}, as the Node digestService sends it.
+ *
+ * <p>The Node job loads the whole day's applications, groups them in memory and then
+ * sends one email after another. Here the rows are read through a database cursor,
+ * ordered by owner and then in display order, so each owner's digest is rendered row
+ * by row as it arrives and is handed off the moment the next owner's rows begin.
+ * Finished digests go to a pool of {@code senders} workers behind a rate limiter;
+ * at most {@code queue-capacity} of them wait, and when that many are pending the
+ * cursor stops reading until one is sent. Memory therefore depends on the queue and
+ * the per-digest row cap, not on how many applications came in.
+ *
+ * <p>With {@code shard-count} above 1, a run only covers owners whose id modulo
+ * {@code shard-count} equals {@code shard-index}, so several instances can split the
+ * owners between them.
+ */
+@Service
+public class DailyDigestService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyDigestService.class);
+
+    // Display order: by tier, then score, as the Node digest lists them.
+    private static final String DIGEST_SQL = """
+            SELECT u.id AS owner_id, u.email AS owner_email, j.title AS job_title,
+                   cp.tier, cp.tier_score, c.applicant_email
+            FROM candidate_pipeline cp
+            JOIN jobs j ON cp.job_id = j.id
+            JOIN users u ON j.user_id = u.id
+            JOIN candidates c ON cp.candidate_id = c.id
+            WHERE cp.created_at >= ?%s
+            ORDER BY u.id,
+                     CASE cp.tier WHEN 'green' THEN 0 WHEN 'yellow' THEN 1 WHEN 'red' THEN 2 ELSE 3 END,
+                     cp.tier_score DESC
+            """;
+
+    private static final String SHARD_CLAUSE = " AND MOD(u.id, ?) = ?";
+
+    /**
+     * Totals of one run. {@code skipped} digests had no owner email; {@code failed}
+     * ones were refused by the mail provider or never sent.
+     */
+    public record Summary(int owners, int applications, int sent, int failed, int skipped, long elapsedMs) {
+    }
+
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnly;
+    private final MessageSender sender;
+    private final TokenBucket rateLimiter;
+    private final ThreadPoolExecutor pool;
+    private final Semaphore pending;
+    private final int maxPending;
+    private final Duration window;
+    private final String frontendUrl;
+    private final int maxRows;
+    private final int shardCount;
+    private final int shardIndex;
+
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+
+    public DailyDigestService(DataSource dataSource,
+                              PlatformTransactionManager transactionManager,
+                              List<MessageSender> senders,
+                              @Value("${talos.digest.fetch-size:500}") int fetchSize,
+                              @Value("${talos.digest.window-hours:24}") long windowHours,
+                              @Value("${talos.digest.frontend-url:https://gotalos.io}") String frontendUrl,
+                              @Value("${talos.digest.max-rows-per-digest:200}") int maxRows,
+                              @Value("${talos.digest.senders:4}") int senderThreads,
+                              @Value("${talos.digest.queue-capacity:50}") int queueCapacity,
+                              @Value("${talos.digest.requests-per-second:2.5}") double requestsPerSecond,
+                              @Value("${talos.digest.burst:5}") int burst,
+                              @Value("${talos.digest.shard-count:1}") int shardCount,
+                              @Value("${talos.digest.shard-index:0}") int shardIndex) {
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("talos.digest.shard-index must be in [0, shard-count)");
+        }
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(fetchSize);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.sender = senders.stream().filter(s -> s.channel() == MessageChannel.EMAIL).findFirst().orElse(null);
+        this.rateLimiter = new TokenBucket(requestsPerSecond, burst);
+        this.window = Duration.ofHours(windowHours);
+        this.frontendUrl = frontendUrl.replaceAll("/+$", "");
+        this.maxRows = maxRows;
+        this.shardCount = shardCount;
+        this.shardIndex = shardIndex;
+
+        // Running plus waiting digests; the cursor blocks on this when the senders fall behind.
+        this.maxPending = senderThreads + queueCapacity;
+        this.pending = new Semaphore(maxPending);
+        AtomicInteger count = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxPending), r -> {
+            Thread thread = new Thread(r, "digest-sender-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Builds and sends this shard's digests, returning once every digest has been sent
+     * or has failed.
+     */
+    public synchronized Summary run() throws InterruptedException {
+        long started = System.nanoTime();
+        Run run = new Run();
+        Timestamp since = Timestamp.from(Instant.now().minus(window));
+        Object[] args = shardCount > 1 ? new Object[]{since, shardCount, shardIndex} : new Object[]{since};
+        try {
+            // PostgreSQL only honours the fetch size inside a transaction.
+            readOnly.executeWithoutResult(status -> cursorTemplate.query(
+                    DIGEST_SQL.formatted(shardCount > 1 ? SHARD_CLAUSE : ""), (RowCallbackHandler) rs -> {
+                long ownerId = rs.getLong("owner_id");
+                if (run.current == null || run.current.ownerId() != ownerId) {
+                    run.finish();
+                    run.current = new DigestBuilder(ownerId, rs.getString("owner_email"), maxRows);
+                }
+                run.current.add(rs.getString("tier"), rs.getObject("tier_score", Integer.class),
+                        rs.getString("applicant_email"), rs.getString("job_title"));
+                run.applications++;
+                rows.increment();
+            }, args));
+            run.finish();
+        } catch (Interrupted e) {
+            throw (InterruptedException) e.getCause();
+        } finally {
+            // Wait for the digests already handed off, whatever happened to the cursor.
+            pending.acquire(maxPending);
+            pending.release(maxPending);
+        }
+        long elapsed = System.nanoTime() - started;
+        runs.increment();
+        runNanos.add(elapsed);
+        return new Summary(run.owners, run.applications, run.sent.get(), run.failed.get(), run.skipped,
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    private final class Run {
+
+        private DigestBuilder current;
+        private int owners;
+        private int applications;
+        private int skipped;
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        void finish() {
+            if (current == null) {
+                return;
+            }
+            owners++;
+            DigestBuilder builder = current;
+            current = null;
+            if (builder.email() == null || builder.email().isBlank()) {
+                skipped++;
+                DailyDigestService.this.skipped.increment();
+                return;
+            }
+            OwnerDigest digest = builder.build(frontendUrl);
+            try {
+                pending.acquire();
+            } catch (InterruptedException e) {
+                throw new Interrupted(e);
+            }
+            try {
+                pool.execute(() -> {
+                    try {
+                        send(digest);
+                        sent.incrementAndGet();
+                        DailyDigestService.this.sent.increment();
+                    } catch (Exception e) {
+                        if (e instanceof InterruptedException) {
+                            Thread.currentThread().interrupt();
+                        }
+                        fail(digest, e);
+                    } finally {
+                        pending.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down.
+                pending.release();
+                fail(digest, e);
+            }
+        }
+
+        private void fail(OwnerDigest digest, Exception e) {
+            failed.incrementAndGet();
+            DailyDigestService.this.failed.increment();
+            log.warn("Daily digest email to owner {} failed: {}", digest.ownerId(), e.toString());
+        }
+    }
+
+    private void send(OwnerDigest digest) throws Exception {
+        if (sender == null) {
+            throw new IllegalStateException("No email sender is configured");
+        }
+        rateLimiter.acquire();
+        // The owner stands in as the recipient; there is no pipeline entry behind it.
+        sender.send(new Recipient(0, null, digest.email()),
+                new RenderedMessage(digest.html(), digest.subject(), digest.html()));
+        log.debug("Daily digest sent to owner {} ({} applications)", digest.ownerId(), digest.applications());
+    }
+
+    // Carries an interrupt out of the row callback, which cannot throw it.
+    private static final class Interrupted extends RuntimeException {
+        Interrupted(InterruptedException cause) {
+            super(cause);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("talos.digest.pending", pending, p -> maxPending - p.availablePermits())
+                .description("Digests built but not yet sent")
+                .register(registry);
+        FunctionCounter.builder("talos.digest.rows", rows, LongAdder::sum)
+                .description("Application rows read from the digest cursor")
+                .register(registry);
+        FunctionCounter.builder("talos.digest.emails", sent, LongAdder::sum)
+                .tag("result", "sent")
+                .register(registry);
+        FunctionCounter.builder("talos.digest.emails", failed, LongAdder::sum)
+                .tag("result", "failed")
+                .register(registry);
+        FunctionCounter.builder("talos.digest.emails", skipped, LongAdder::sum)
+                .tag("result", "skipped")
+                .description("Digests not sent because the owner has no email address")
+                .register(registry);
+        FunctionTimer.builder("talos.digest.run", runs, LongAdder::sum, r -> runNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Complete digest runs, sends included")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,106 @@
+package com.talos.backend.digest;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.Map;
+
+/**
+ * Builds one owner's digest from rows that arrive already in display order (green,
+ * then yellow, then red, each by score), so each row is rendered as it comes and
+ * nothing but the table so far is kept. At most {@code maxRows} rows are rendered;
+ * the rest are summed up in a closing row.
+ *
+ * <p>The markup and subject are the Node digestService's. Applications without a
+ * tier count towards the total but, as there, get no row.
+ */
+final class DigestBuilder {
+
+    private static final Map<String, String> TIER_EMOJI = Map.of(
+            "green", "🟢", "yellow", "🟡", "red", "🔴");
+
+    private final long ownerId;
+    private final String email;
+    private final int maxRows;
+    private final StringBuilder rows = new StringBuilder();
+
+    private int applications;
+    private int green;
+    private int yellow;
+    private int red;
+    private int rendered;
+    private int omitted;
+
+    DigestBuilder(long ownerId, String email, int maxRows) {
+        this.ownerId = ownerId;
+        this.email = email;
+        this.maxRows = maxRows;
+    }
+
+    long ownerId() {
+        return ownerId;
+    }
+
+    String email() {
+        return email;
+    }
+
+    void add(String tier, Integer score, String candidateEmail, String jobTitle) {
+        applications++;
+        String emoji = tier == null ? null : TIER_EMOJI.get(tier);
+        if (emoji == null) {
+            return;
+        }
+        switch (tier) {
+            case "green" -> green++;
+            case "yellow" -> yellow++;
+            default -> red++;
+        }
+        if (rendered == maxRows) {
+            omitted++;
+            return;
+        }
+        rendered++;
+        rows.append("<tr>\n")
+                .append("  <td style=\"padding:6px 12px;\">").append(emoji).append(' ').append(score).append("/100</td>\n")
+                .append("  <td style=\"padding:6px 12px;\">")
+                .append(candidateEmail == null || candidateEmail.isEmpty() ? "—" : HtmlUtils.htmlEscape(candidateEmail))
+                .append("</td>\n")
+                .append("  <td style=\"padding:6px 12px;\">").append(HtmlUtils.htmlEscape(String.valueOf(jobTitle)))
+                .append("</td>\n")
+                .append("</tr>");
+    }
+
+    OwnerDigest build(String frontendUrl) {
+        String plural = applications != 1 ? "s" : "";
+        if (omitted > 0) {
+            rows.append("<tr>\n  <td colspan=\"3\" style=\"padding:6px 12px;\">…and ").append(omitted)
+                    .append(" more</td>\n</tr>");
+        }
+        String html = """
+
+                <h2 style="font-family:sans-serif;">Your daily Talos summary</h2>
+                <p style="font-family:sans-serif;">Here's a recap of the <strong>%d application%s</strong> received in the last 24 hours.</p>
+
+                <table style="border-collapse:collapse;font-family:sans-serif;font-size:14px;width:100%%;">
+                  <thead>
+                    <tr style="background:#f3f4f6;">
+                      <th style="padding:8px 12px;text-align:left;">Score</th>
+                      <th style="padding:8px 12px;text-align:left;">Applicant</th>
+                      <th style="padding:8px 12px;text-align:left;">Position</th>
+                    </tr>
+                  </thead>
+                  <tbody>
+                    %s
+                  </tbody>
+                </table>
+
+                <br>
+                <p style="font-family:sans-serif;">
+                  <a href="%s/jobs-management">View full pipeline →</a>
+                </p>""".formatted(applications, plural, rows, frontendUrl);
+        String subject = "Talos daily recap — %d new applicant%s (%d %s %d %s %d %s)".formatted(
+                applications, plural, green, TIER_EMOJI.get("green"), yellow, TIER_EMOJI.get("yellow"),
+                red, TIER_EMOJI.get("red"));
+        return new OwnerDigest(ownerId, email, applications, subject, html);
+    }
+}
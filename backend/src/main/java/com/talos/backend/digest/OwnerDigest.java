@@ -0,0 +1,7 @@
+package com.talos.backend.digest;
+
+/**
+ * One job owner's finished daily recap, ready to send; {@code html} is the email body.
+ */
+public record OwnerDigest(long ownerId, String email, int applications, String subject, String html) {
+}
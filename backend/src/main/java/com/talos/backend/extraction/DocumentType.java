@@ -0,0 +1,37 @@
+package com.talos.backend.extraction;
+
+import java.util.Locale;
+
+/**
+ * Resume formats text can be extracted from. Like the Node {@code extractResumeText},
+ * the type comes from the file extension; legacy {@code .doc} files are not readable.
+ */
+public enum DocumentType {
+    PDF("This PDF appears to be a scanned image and contains no extractable text. "
+            + "Please upload a text-based PDF or Word document."),
+    DOCX("This Word document appears to be empty or contains no extractable text.");
+
+    private final String emptyMessage;
+
+    DocumentType(String emptyMessage) {
+        this.emptyMessage = emptyMessage;
+    }
+
+    String emptyMessage() {
+        return emptyMessage;
+    }
+
+    /**
+     * The type of {@code filename}, or null when it is not supported.
+     */
+    public static DocumentType fromFilename(String filename) {
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".pdf")) {
+            return PDF;
+        }
+        if (name.endsWith(".docx")) {
+            return DOCX;
+        }
+        return null;
+    }
+}
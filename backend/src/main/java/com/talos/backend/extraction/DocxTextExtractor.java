@@ -0,0 +1,119 @@
+package com.talos.backend.extraction;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Word text streamed out of {@code word/document.xml} with StAX, in the shape of
+ * mammoth's {@code extractRawText}: paragraphs end with a blank line, tabs and
+ * breaks are kept. Reading stops at {@code maxUncompressedBytes} inflated bytes, so a
+ * zip bomb costs no more than a large honest file.
+ */
+final class DocxTextExtractor {
+
+    private static final String BODY = "word/document.xml";
+    private static final String WORDPROCESSING_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final int DEADLINE_CHECK_EVENTS = 4096;
+
+    private static final XMLInputFactory XML = XMLInputFactory.newFactory();
+
+    static {
+        XML.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private DocxTextExtractor() {
+    }
+
+    static void extract(Path file, long maxUncompressedBytes, TextSink sink) throws IOException, ExtractionException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            ZipEntry body = zip.getEntry(BODY);
+            if (body == null) {
+                throw new ExtractionException(ExtractionException.Reason.UNREADABLE, "Not a Word document");
+            }
+            try (InputStream in = new Bounded(zip.getInputStream(body), maxUncompressedBytes)) {
+                read(XML.createXMLStreamReader(in), sink);
+            } catch (XMLStreamException e) {
+                if (e.getNestedException() instanceof TooLarge) {
+                    throw new ExtractionException(ExtractionException.Reason.TOO_LARGE, "The Word document is too large");
+                }
+                throw new ExtractionException(ExtractionException.Reason.UNREADABLE, "The Word document is damaged", e);
+            } catch (TooLarge e) {
+                throw new ExtractionException(ExtractionException.Reason.TOO_LARGE, "The Word document is too large");
+            }
+        }
+    }
+
+    private static void read(XMLStreamReader xml, TextSink sink) throws XMLStreamException, ExtractionException {
+        boolean inText = false;
+        int events = 0;
+        try {
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (++events % DEADLINE_CHECK_EVENTS == 0) {
+                    sink.checkDeadline();
+                }
+                if (event == XMLStreamConstants.START_ELEMENT && WORDPROCESSING_NS.equals(xml.getNamespaceURI())) {
+                    switch (xml.getLocalName()) {
+                        case "t" -> inText = true;
+                        case "tab" -> sink.append("\t");
+                        case "br", "cr" -> sink.append("\n");
+                        default -> {
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && WORDPROCESSING_NS.equals(xml.getNamespaceURI())) {
+                    if (xml.getLocalName().equals("t")) {
+                        inText = false;
+                    } else if (xml.getLocalName().equals("p")) {
+                        sink.append("\n\n");
+                    }
+                } else if (inText && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                    sink.append(xml.getText());
+                }
+            }
+        } catch (TextSink.Full e) {
+            // Character limit reached; keep what was read.
+        } finally {
+            xml.close();
+        }
+    }
+
+    private static final class TooLarge extends IOException {
+    }
+
+    private static final class Bounded extends FilterInputStream {
+
+        private long remaining;
+
+        Bounded(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0 && --remaining < 0) {
+                throw new TooLarge();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0 && (remaining -= n) < 0) {
+                throw new TooLarge();
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.talos.backend.extraction;
+
+/**
+ * Text extracted from one resume.
+ *
+ * @param pages     pages read; 0 for Word documents, which have no fixed pages
+ * @param truncated the page or character limit cut the text short
+ * @param elapsedMs time spent extracting, excluding any wait for a worker
+ */
+public record ExtractedText(String text, int pages, boolean truncated, long elapsedMs) {
+}
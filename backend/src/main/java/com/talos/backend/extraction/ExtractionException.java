@@ -0,0 +1,28 @@
+package com.talos.backend.extraction;
+
+/**
+ * A resume whose text could not be extracted. {@link Reason#name()} is the error
+ * code returned to clients; {@code EMPTY_RESUME} matches the Node backend's.
+ */
+public class ExtractionException extends Exception {
+
+    public enum Reason {
+        UNSUPPORTED_TYPE, TOO_LARGE, EMPTY_RESUME, TIMED_OUT, UNREADABLE, BUSY
+    }
+
+    private final Reason reason;
+
+    public ExtractionException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public ExtractionException(Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    public Reason reason() {
+        return reason;
+    }
+}
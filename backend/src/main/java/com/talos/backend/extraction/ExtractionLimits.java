@@ -0,0 +1,10 @@
+package com.talos.backend.extraction;
+
+/**
+ * Bounds on the work one document may cause. A file over {@code maxBytes} is
+ * refused; text stops after {@code maxPages} pages or {@code maxChars} characters;
+ * a Word document may not inflate past {@code maxUncompressedBytes}; and extraction
+ * gives up once {@code timeoutMs} have passed.
+ */
+record ExtractionLimits(long maxBytes, int maxPages, int maxChars, long maxUncompressedBytes, long timeoutMs) {
+}
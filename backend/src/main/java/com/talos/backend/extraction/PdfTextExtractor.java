@@ -0,0 +1,77 @@
+package com.talos.backend.extraction;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * PDF text through PDFBox, one page at a time. The file is read through a buffered
+ * random-access window and decoded streams are cached in temp files rather than on
+ * the heap; the per-document resource cache is disabled so fonts and images are not
+ * kept once their page is done. The deadline is checked before every page.
+ */
+final class PdfTextExtractor {
+
+    private PdfTextExtractor() {
+    }
+
+    /**
+     * @return the number of pages read
+     */
+    static int extract(Path file, int maxPages, TextSink sink) throws IOException, ExtractionException {
+        try (PDDocument document = Loader.loadPDF(file.toFile(), IOUtils.createTempFileOnlyStreamCache())) {
+            document.setResourceCache(null);
+            int pages = Math.min(document.getNumberOfPages(), maxPages);
+            if (document.getNumberOfPages() > maxPages) {
+                sink.markTruncated();
+            }
+            PageStripper stripper = new PageStripper(sink);
+            stripper.setEndPage(pages);
+            try {
+                stripper.writeText(document, sink);
+            } catch (TextSink.Full e) {
+                // Character limit reached; keep what was read.
+            } catch (DeadlineIOException e) {
+                throw e.cause;
+            }
+            return stripper.pagesStarted;
+        }
+    }
+
+    private static final class PageStripper extends PDFTextStripper {
+
+        private final TextSink sink;
+        int pagesStarted;
+
+        PageStripper(TextSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        protected void startPage(PDPage page) throws IOException {
+            try {
+                sink.checkDeadline();
+            } catch (ExtractionException e) {
+                throw new DeadlineIOException(e);
+            }
+            pagesStarted++;
+            super.startPage(page);
+        }
+    }
+
+    // Carries the timeout out through PDFBox, which only declares IOException.
+    private static final class DeadlineIOException extends IOException {
+
+        final ExtractionException cause;
+
+        DeadlineIOException(ExtractionException cause) {
+            super(cause.getMessage());
+            this.cause = cause;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.talos.backend.extraction;
+
+import com.talos.backend.cache.ResumeAnalysisCache;
+import com.talos.backend.storage.ResumeStore;
+import com.talos.backend.storage.StoredResume;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.pdmodel.encryption.InvalidPasswordException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resume text extraction on a pool of {@code talos.extraction.threads} workers, so the
+ * files of a batch upload are read in parallel instead of one after another.
+ *
+ * <p>Every document is bounded by {@link ExtractionLimits}: files over
+ * {@code max-bytes} are refused before they are opened, text stops after
+ * {@code max-pages} pages or {@code max-chars} characters, and a document still
+ * running after {@code timeout-seconds} is abandoned (PDFs are checked between
+ * pages). Work waits in a bounded queue; when it is full the document is refused
+ * with {@code BUSY} rather than queued behind a backlog.
+ *
+ * <p>Each result reports its own extraction time, and the per-type totals are
+ * exported as {@code talos.extraction.duration}. Text of stored resumes is kept in
+ * {@link ResumeAnalysisCache}, so the search index reads each one only once.
+ */
+@Service
+public class TextExtractionService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TextExtractionService.class);
+
+    // Node's EMPTY_RESUME threshold.
+    private static final int MIN_TEXT_CHARS = 50;
+
+    private final ResumeStore resumeStore;
+    private final ResumeAnalysisCache cache;
+    private final ExtractionLimits limits;
+    private final ThreadPoolExecutor workers;
+
+    private final Map<DocumentType, LongAdder> extractions = new EnumMap<>(DocumentType.class);
+    private final Map<DocumentType, LongAdder> extractionNanos = new EnumMap<>(DocumentType.class);
+    private final Map<ExtractionException.Reason, LongAdder> failures = new EnumMap<>(ExtractionException.Reason.class);
+    private final LongAdder truncated = new LongAdder();
+
+    public TextExtractionService(ResumeStore resumeStore,
+                                 ResumeAnalysisCache cache,
+                                 @Value("${talos.extraction.threads:0}") int threads,
+                                 @Value("${talos.extraction.queue-capacity:100}") int queueCapacity,
+                                 @Value("${talos.extraction.max-bytes:5242880}") long maxBytes,
+                                 @Value("${talos.extraction.max-pages:30}") int maxPages,
+                                 @Value("${talos.extraction.max-chars:200000}") int maxChars,
+                                 @Value("${talos.extraction.max-uncompressed-bytes:52428800}") long maxUncompressedBytes,
+                                 @Value("${talos.extraction.timeout-seconds:20}") long timeoutSeconds) {
+        this.resumeStore = resumeStore;
+        this.cache = cache;
+        this.limits = new ExtractionLimits(maxBytes, maxPages, maxChars, maxUncompressedBytes,
+                TimeUnit.SECONDS.toMillis(timeoutSeconds));
+        // Parsing is CPU-bound: by default one worker per core.
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread thread = new Thread(r, "text-extraction-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (DocumentType type : DocumentType.values()) {
+            extractions.put(type, new LongAdder());
+            extractionNanos.put(type, new LongAdder());
+        }
+        for (ExtractionException.Reason reason : ExtractionException.Reason.values()) {
+            failures.put(reason, new LongAdder());
+        }
+    }
+
+    /**
+     * Extracts {@code file} on a worker. The future fails with an
+     * {@link ExtractionException}; it completes within twice the timeout even if a
+     * single page hangs the worker.
+     *
+     * @param filename the original name, which decides the document type
+     */
+    public CompletableFuture<ExtractedText> submit(Path file, String filename) {
+        CompletableFuture<ExtractedText> result = new CompletableFuture<>();
+        try {
+            workers.execute(() -> {
+                try {
+                    result.complete(extract(file, filename));
+                } catch (ExtractionException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            failures.get(ExtractionException.Reason.BUSY).increment();
+            result.completeExceptionally(new ExtractionException(ExtractionException.Reason.BUSY,
+                    "Too many documents are being read; try again shortly"));
+            return result;
+        }
+        return result.orTimeout(2 * limits.timeoutMs(), TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(e -> {
+                    ExtractionException failure = unwrap(e);
+                    if (!(e instanceof ExtractionException || e.getCause() instanceof ExtractionException)) {
+                        failures.get(failure.reason()).increment();
+                    }
+                    return CompletableFuture.failedFuture(failure);
+                });
+    }
+
+    /**
+     * Text of the candidate's stored resume, from the cache or extracted now. Text
+     * from the cache reports no pages and no extraction time.
+     *
+     * @return empty when the candidate has no stored resume
+     */
+    public Optional<ExtractedText> storedText(long candidateId) throws ExtractionException {
+        Optional<StoredResume> stored = resumeStore.find(candidateId);
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+        StoredResume resume = stored.get();
+        Optional<String> cached = cache.cachedText(resume.sha256());
+        if (cached.isPresent()) {
+            return Optional.of(new ExtractedText(cached.get(), 0, false, 0));
+        }
+
+        Path copy = null;
+        try {
+            // PDFBox needs random access to the file alone, not a range of a segment.
+            copy = Files.createTempFile("talos-extract-", suffix(resume.filename()));
+            try (OutputStream out = Files.newOutputStream(copy)) {
+                resumeStore.transferTo(resume, 0, resume.length(), out);
+            }
+            ExtractedText text = submit(copy, resume.filename()).get();
+            cache.extractedText(resume.sha256(), text::text);
+            return Optional.of(text);
+        } catch (IOException e) {
+            throw new ExtractionException(ExtractionException.Reason.UNREADABLE, "Could not read the stored resume", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExtractionException(ExtractionException.Reason.TIMED_OUT, "Interrupted while extracting", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } finally {
+            if (copy != null) {
+                try {
+                    Files.deleteIfExists(copy);
+                } catch (IOException e) {
+                    log.warn("Could not delete {}", copy, e);
+                }
+            }
+        }
+    }
+
+    private ExtractedText extract(Path file, String filename) throws ExtractionException {
+        DocumentType type = DocumentType.fromFilename(filename);
+        long started = System.nanoTime();
+        try {
+            if (type == null) {
+                throw new ExtractionException(ExtractionException.Reason.UNSUPPORTED_TYPE,
+                        "Unsupported file type. Please upload a PDF or Word document (.docx).");
+            }
+            long size = Files.size(file);
+            if (size > limits.maxBytes()) {
+                throw new ExtractionException(ExtractionException.Reason.TOO_LARGE,
+                        "File is larger than " + limits.maxBytes() / (1024 * 1024) + "MB");
+            }
+            TextSink sink = new TextSink(limits.maxChars(), started + TimeUnit.MILLISECONDS.toNanos(limits.timeoutMs()));
+            int pages = 0;
+            try {
+                if (type == DocumentType.PDF) {
+                    pages = PdfTextExtractor.extract(file, limits.maxPages(), sink);
+                } else {
+                    DocxTextExtractor.extract(file, limits.maxUncompressedBytes(), sink);
+                }
+            } catch (InvalidPasswordException e) {
+                throw new ExtractionException(ExtractionException.Reason.UNREADABLE, "The PDF is password protected", e);
+            } catch (IOException e) {
+                throw new ExtractionException(ExtractionException.Reason.UNREADABLE,
+                        "The file is damaged or not a " + type.name() + " document", e);
+            }
+            String text = sink.text();
+            if (text.strip().length() < MIN_TEXT_CHARS) {
+                throw new ExtractionException(ExtractionException.Reason.EMPTY_RESUME, type.emptyMessage());
+            }
+            long elapsed = System.nanoTime() - started;
+            extractions.get(type).increment();
+            extractionNanos.get(type).add(elapsed);
+            if (sink.truncated()) {
+                truncated.increment();
+            }
+            log.debug("Extracted {} characters from {} ({} pages) in {} ms", text.length(), filename, pages,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed));
+            return new ExtractedText(text, pages, sink.truncated(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        } catch (ExtractionException e) {
+            failures.get(e.reason()).increment();
+            log.debug("Could not extract {} after {} ms: {}", filename,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), e.getMessage());
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            failures.get(ExtractionException.Reason.UNREADABLE).increment();
+            log.warn("Text extraction failed for {}", filename, e);
+            throw new ExtractionException(ExtractionException.Reason.UNREADABLE, "The file could not be read", e);
+        }
+    }
+
+    private static ExtractionException unwrap(Throwable e) {
+        Throwable cause = e instanceof CompletionException || e instanceof ExecutionException ? e.getCause() : e;
+        if (cause instanceof ExtractionException extraction) {
+            return extraction;
+        }
+        if (cause instanceof TimeoutException) {
+            return new ExtractionException(ExtractionException.Reason.TIMED_OUT,
+                    "Text extraction took too long; the file may be damaged");
+        }
+        return new ExtractionException(ExtractionException.Reason.UNREADABLE, "The file could not be read", cause);
+    }
+
+    private static String suffix(String filename) {
+        int dot = filename == null ? -1 : filename.lastIndexOf('.');
+        return dot >= 0 ? filename.substring(dot).toLowerCase(Locale.ROOT) : "";
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("talos.extraction.queue.depth", workers, w -> w.getQueue().size())
+                .description("Documents waiting for an extraction worker")
+                .register(registry);
+        Gauge.builder("talos.extraction.active", workers, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+        for (DocumentType type : DocumentType.values()) {
+            LongAdder nanos = extractionNanos.get(type);
+            FunctionTimer.builder("talos.extraction.duration", extractions.get(type), LongAdder::sum,
+                            e -> nanos.sum(), TimeUnit.NANOSECONDS)
+                    .tag("type", type.name().toLowerCase(Locale.ROOT))
+                    .description("Successful extractions, excluding the wait for a worker")
+                    .register(registry);
+        }
+        failures.forEach((reason, count) -> FunctionCounter.builder("talos.extraction.failures", count, LongAdder::sum)
+                .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                .register(registry));
+        FunctionCounter.builder("talos.extraction.truncated", truncated, LongAdder::sum)
+                .description("Documents cut short by the page or character limit")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,88 @@
+package com.talos.backend.extraction;
+
+import java.io.Writer;
+
+/**
+ * Collects extracted text up to a character limit and carries the document's
+ * deadline, so extractors can stop early either way.
+ */
+final class TextSink extends Writer {
+
+    /**
+     * Thrown through the extractor to stop it once the limit is reached.
+     */
+    static final class Full extends RuntimeException {
+        Full() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final StringBuilder text = new StringBuilder();
+    private final int maxChars;
+    private final long deadlineNanos;
+    private boolean truncated;
+
+    TextSink(int maxChars, long deadlineNanos) {
+        this.maxChars = maxChars;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) {
+        append(chars, offset, length);
+    }
+
+    @Override
+    public Writer append(CharSequence chars) {
+        return append(chars, 0, chars.length());
+    }
+
+    @Override
+    public Writer append(CharSequence chars, int start, int end) {
+        int room = maxChars - text.length();
+        if (end - start > room) {
+            text.append(chars, start, start + room);
+            truncated = true;
+            throw new Full();
+        }
+        text.append(chars, start, end);
+        return this;
+    }
+
+    private void append(char[] chars, int offset, int length) {
+        int room = maxChars - text.length();
+        if (length > room) {
+            text.append(chars, offset, room);
+            truncated = true;
+            throw new Full();
+        }
+        text.append(chars, offset, length);
+    }
+
+    void checkDeadline() throws ExtractionException {
+        if (System.nanoTime() - deadlineNanos > 0) {
+            throw new ExtractionException(ExtractionException.Reason.TIMED_OUT,
+                    "Text extraction took too long; the file may be damaged");
+        }
+    }
+
+    void markTruncated() {
+        truncated = true;
+    }
+
+    boolean truncated() {
+        return truncated;
+    }
+
+    String text() {
+        return text.toString();
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
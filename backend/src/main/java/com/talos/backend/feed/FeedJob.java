@@ -0,0 +1,60 @@
+package com.talos.backend.feed;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * One job as the aggregator feed shows it. Amounts and dates are kept as the database
+ * renders them, as the Node feed does.
+ *
+ * @param description   the job description, or the generated one when there is none
+ * @param city          the city, or the free-text location when there is none
+ * @param payMin        pay range minimum, falling back to the legacy salary column
+ * @param validThrough  {@code YYYY-MM-DD}, or null
+ */
+public record FeedJob(long id,
+                      String title,
+                      String companyName,
+                      String description,
+                      String city,
+                      String zipCode,
+                      String jobType,
+                      String payMin,
+                      String payMax,
+                      String payType,
+                      Instant createdAt,
+                      String validThrough) {
+
+    /**
+     * The columns {@link #from} reads, in order.
+     */
+    static final String COLUMNS = """
+            id, title, company_name, description, ai_generated_description, city, location, zip_code,
+            job_type, pay_range_min, salary_min, pay_range_max, salary_max, pay_type, created_at,
+            CAST(valid_through AS VARCHAR)""";
+
+    static final int COLUMN_COUNT = 16;
+
+    static FeedJob from(ResultSet rs) throws SQLException {
+        Timestamp created = rs.getTimestamp(15);
+        return new FeedJob(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getString(3),
+                either(rs.getString(4), rs.getString(5)),
+                either(rs.getString(6), rs.getString(7)),
+                rs.getString(8),
+                rs.getString(9),
+                either(rs.getString(10), rs.getString(11)),
+                either(rs.getString(12), rs.getString(13)),
+                rs.getString(14),
+                created != null ? created.toInstant() : null,
+                rs.getString(16));
+    }
+
+    private static String either(String value, String fallback) {
+        return value != null && !value.isEmpty() ? value : fallback;
+    }
+}
@@ -0,0 +1,225 @@
+package com.talos.backend.feed;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The public job feed for aggregators.
+ *
+ * <p>When {@link JobFeedSync} runs, the feed is served from a {@link JobFeedSnapshot}:
+ * each listed job is serialized once into a fragment, and a changed job only
+ * re-serializes its own fragment before the snapshot is re-joined and re-compressed.
+ * A snapshot is only replaced when some fragment's bytes actually changed, so its ETag
+ * stays put across polls and rebuilds that find nothing new. Without a snapshot the
+ * feed is streamed from a database cursor straight into the response.
+ */
+@Service
+public class JobFeedService implements MeterBinder {
+
+    static final String LISTED = "status = 'active' AND deleted_at IS NULL "
+            + "AND (valid_through IS NULL OR valid_through >= CURRENT_DATE)";
+
+    private static final String FEED_SQL = "SELECT " + FeedJob.COLUMNS + " FROM jobs WHERE " + LISTED
+            + " ORDER BY created_at DESC, id DESC";
+
+    private static final String CHANGED_SQL = "SELECT " + FeedJob.COLUMNS + ", " + LISTED
+            + " FROM jobs WHERE updated_at >= ?";
+
+    // created_at DESC puts NULLs first in PostgreSQL; ties go to the newer id.
+    private static final Comparator<FeedKey> FEED_ORDER = Comparator
+            .comparing(FeedKey::createdAt, Comparator.nullsFirst(Comparator.<Instant>reverseOrder()))
+            .thenComparing(FeedKey::id, Comparator.reverseOrder());
+
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnly;
+    private final String baseUrl;
+    private final LongAdder builds = new LongAdder();
+    private final LongAdder streamed = new LongAdder();
+
+    // Mutated only by the sync thread under this object's monitor.
+    private final TreeMap<FeedKey, byte[]> fragments = new TreeMap<>(FEED_ORDER);
+    private final Map<Long, FeedKey> keys = new HashMap<>();
+
+    private volatile JobFeedSnapshot snapshot;
+
+    public JobFeedService(DataSource dataSource,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${talos.job-feed.base-url:https://gotalos.io}") String baseUrl,
+                          @Value("${talos.job-feed.fetch-size:500}") int fetchSize) {
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(fetchSize);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.baseUrl = baseUrl.replaceAll("/+$", "");
+    }
+
+    /**
+     * The current snapshot, or null when the feed is not being kept in memory.
+     */
+    public JobFeedSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Writes the whole feed to {@code out}, reading jobs through a cursor so neither the
+     * rows nor the document are ever held in memory.
+     *
+     * @return the number of jobs written
+     */
+    public int stream(OutputStream out) throws IOException {
+        try {
+            XMLStreamWriter writer = JobFeedXml.writer(out);
+            JobFeedXml.writeHeader(writer, baseUrl, Instant.now());
+            int[] count = {0};
+            // PostgreSQL only honours the fetch size inside a transaction.
+            readOnly.executeWithoutResult(status -> cursorTemplate.query(FEED_SQL, (RowCallbackHandler) rs -> {
+                try {
+                    JobFeedXml.writeJob(writer, FeedJob.from(rs), baseUrl);
+                    count[0]++;
+                } catch (XMLStreamException e) {
+                    throw new FeedWriteException(e);
+                }
+            }));
+            JobFeedXml.writeFooter(writer);
+            writer.close();
+            streamed.increment();
+            return count[0];
+        } catch (XMLStreamException e) {
+            throw failure(e);
+        } catch (FeedWriteException e) {
+            throw failure(e.getCause());
+        }
+    }
+
+    /**
+     * Replaces every fragment from a full scan of the listed jobs.
+     */
+    synchronized void rebuild() {
+        TreeMap<FeedKey, byte[]> scanned = new TreeMap<>(FEED_ORDER);
+        readOnly.executeWithoutResult(status -> cursorTemplate.query(FEED_SQL, (RowCallbackHandler) rs -> {
+            FeedJob job = FeedJob.from(rs);
+            scanned.put(new FeedKey(job.createdAt(), job.id()), JobFeedSnapshot.fragment(job, baseUrl));
+        }));
+        boolean changed = snapshot == null || !sameFragments(scanned);
+        fragments.clear();
+        fragments.putAll(scanned);
+        keys.clear();
+        scanned.keySet().forEach(key -> keys.put(key.id(), key));
+        if (changed) {
+            publish();
+        }
+    }
+
+    /**
+     * Applies the jobs updated since {@code since}: listed ones are re-serialized, the
+     * rest dropped.
+     *
+     * @return whether the feed changed
+     */
+    synchronized boolean refresh(Timestamp since) {
+        boolean[] changed = {false};
+        cursorTemplate.query(CHANGED_SQL, (RowCallbackHandler) rs -> {
+            FeedJob job = FeedJob.from(rs);
+            FeedKey old = keys.remove(job.id());
+            byte[] previous = old != null ? fragments.remove(old) : null;
+            if (rs.getBoolean(FeedJob.COLUMN_COUNT + 1)) {
+                FeedKey key = new FeedKey(job.createdAt(), job.id());
+                byte[] fragment = JobFeedSnapshot.fragment(job, baseUrl);
+                fragments.put(key, fragment);
+                keys.put(job.id(), key);
+                changed[0] |= previous == null || !key.equals(old) || !Arrays.equals(previous, fragment);
+            } else {
+                changed[0] |= previous != null;
+            }
+        }, since);
+        if (changed[0] || snapshot == null) {
+            publish();
+        }
+        return changed[0];
+    }
+
+    private boolean sameFragments(TreeMap<FeedKey, byte[]> scanned) {
+        if (scanned.size() != fragments.size()) {
+            return false;
+        }
+        for (Map.Entry<FeedKey, byte[]> entry : scanned.entrySet()) {
+            if (!Arrays.equals(entry.getValue(), fragments.get(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void publish() {
+        snapshot = JobFeedSnapshot.assemble(List.copyOf(fragments.values()), baseUrl, Instant.now());
+        builds.increment();
+    }
+
+    /**
+     * The I/O failure behind a writer exception, e.g. a client hanging up; anything else
+     * is thrown as a bug.
+     */
+    private static IOException failure(Throwable e) {
+        if (e.getCause() instanceof IOException io) {
+            return io;
+        }
+        throw new IllegalStateException("Could not write job feed", e);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("talos.job.feed.jobs", this, s -> s.snapshot != null ? s.snapshot.jobCount() : 0)
+                .description("Jobs in the cached feed snapshot")
+                .register(registry);
+        Gauge.builder("talos.job.feed.bytes", this, s -> s.snapshot != null ? s.snapshot.xml().length : 0)
+                .tag("encoding", "identity")
+                .description("Size of the cached feed snapshot")
+                .register(registry);
+        Gauge.builder("talos.job.feed.bytes", this, s -> s.snapshot != null ? s.snapshot.gzip().length : 0)
+                .tag("encoding", "gzip")
+                .description("Size of the cached feed snapshot")
+                .register(registry);
+        FunctionCounter.builder("talos.job.feed.builds", builds, LongAdder::sum)
+                .description("Feed snapshots published after a job change")
+                .register(registry);
+        FunctionCounter.builder("talos.job.feed.streamed", streamed, LongAdder::sum)
+                .description("Feeds streamed from the database because no snapshot was held")
+                .register(registry);
+    }
+
+    private record FeedKey(Instant createdAt, long id) {
+    }
+
+    /**
+     * Carries a writer failure out of a row callback.
+     */
+    private static final class FeedWriteException extends RuntimeException {
+        FeedWriteException(XMLStreamException cause) {
+            super(cause);
+        }
+    }
+}
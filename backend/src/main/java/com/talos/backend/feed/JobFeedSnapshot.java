@@ -0,0 +1,76 @@
+package com.talos.backend.feed;
+
+import com.talos.backend.cache.ContentHash;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A complete serialized feed, held both as plain XML and gzip so neither is produced per
+ * request.
+ *
+ * @param etag    hash of the XML, without quotes; the gzip body's entity tag adds a
+ *                {@code -gzip} suffix since its bytes differ
+ * @param builtAt when the content last changed, which is also the feed's {@code lastBuildDate}
+ */
+public record JobFeedSnapshot(byte[] xml, byte[] gzip, String etag, Instant builtAt, int jobCount) {
+
+    /**
+     * Joins a header, pre-serialized job fragments in feed order and the footer.
+     */
+    static JobFeedSnapshot assemble(Collection<byte[]> fragments, String baseUrl, Instant builtAt) {
+        ByteArrayOutputStream xml = new ByteArrayOutputStream(fragments.size() * 1024 + 512);
+        try {
+            XMLStreamWriter writer = JobFeedXml.writer(xml);
+            JobFeedXml.writeHeader(writer, baseUrl, builtAt);
+            writer.flush();
+            for (byte[] fragment : fragments) {
+                xml.write(fragment);
+            }
+            xml.write(JobFeedXml.FOOTER);
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Could not write feed header", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] bytes = xml.toByteArray();
+        return new JobFeedSnapshot(bytes, gzip(bytes), ContentHash.sha256Hex(bytes).substring(0, 32), builtAt,
+                fragments.size());
+    }
+
+    /**
+     * One job's bytes as they appear inside the feed.
+     */
+    static byte[] fragment(FeedJob job, String baseUrl) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        try {
+            XMLStreamWriter writer = JobFeedXml.writer(out);
+            JobFeedXml.writeJob(writer, job, baseUrl);
+            writer.flush();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Could not write feed job " + job.id(), e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 64 * 1024) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,105 @@
+package com.talos.backend.feed;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps {@link JobFeedService}'s snapshot in step with the {@code jobs} table.
+ *
+ * <p>Every {@code talos.job-feed.sync.refresh-ms} it re-serializes the jobs whose
+ * {@code updated_at} moved, looking back {@code overlap-ms} past a watermark read from
+ * the database clock, as {@code TalentPoolSync} does. Jobs leave the feed without an
+ * update when their {@code valid_through} date passes, so the feed is also rebuilt
+ * from scratch every {@code rebuild-minutes}.
+ *
+ * <p>Disabled unless {@code talos.job-feed.sync.enabled=true}, since it needs the Node
+ * backend's schema; the feed is then streamed from the database per request.
+ */
+@Component
+@ConditionalOnProperty(name = "talos.job-feed.sync.enabled", havingValue = "true")
+public class JobFeedSync {
+
+    private static final Logger log = LoggerFactory.getLogger(JobFeedSync.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobFeedService feed;
+    private final long refreshMs;
+    private final long rebuildMinutes;
+    private final long overlapMs;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "job-feed-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Timestamp watermark;
+
+    public JobFeedSync(JdbcTemplate jdbcTemplate,
+                       JobFeedService feed,
+                       @Value("${talos.job-feed.sync.refresh-ms:5000}") long refreshMs,
+                       @Value("${talos.job-feed.sync.rebuild-minutes:15}") long rebuildMinutes,
+                       @Value("${talos.job-feed.sync.overlap-ms:30000}") long overlapMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.feed = feed;
+        this.refreshMs = refreshMs;
+        this.rebuildMinutes = rebuildMinutes;
+        this.overlapMs = overlapMs;
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.execute(this::rebuild);
+        scheduler.scheduleWithFixedDelay(this::refresh, refreshMs, refreshMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::rebuild, rebuildMinutes, rebuildMinutes, TimeUnit.MINUTES);
+    }
+
+    void rebuild() {
+        try {
+            long started = System.nanoTime();
+            Timestamp now = databaseNow();
+            feed.rebuild();
+            watermark = now;
+            JobFeedSnapshot snapshot = feed.snapshot();
+            log.info("Job feed rebuilt: {} jobs, {} bytes ({} gzipped) in {} ms", snapshot.jobCount(),
+                    snapshot.xml().length, snapshot.gzip().length,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (RuntimeException e) {
+            log.error("Job feed rebuild failed", e);
+        }
+    }
+
+    void refresh() {
+        if (watermark == null) {
+            return;
+        }
+        try {
+            Timestamp now = databaseNow();
+            if (feed.refresh(new Timestamp(watermark.getTime() - overlapMs))) {
+                log.debug("Job feed snapshot republished as {}", feed.snapshot().etag());
+            }
+            watermark = now;
+        } catch (RuntimeException e) {
+            log.warn("Job feed refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private Timestamp databaseNow() {
+        return jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", Timestamp.class);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,154 @@
+package com.talos.backend.feed;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the Indeed/Jooble {@code <source>} feed with StAX, element for element as the
+ * Node {@code /feed.xml} route does. The header, each job and the footer are written
+ * separately so a feed can be streamed from a cursor or assembled from cached job
+ * fragments with identical bytes.
+ */
+final class JobFeedXml {
+
+    static final byte[] FOOTER = "</source>".getBytes(StandardCharsets.UTF_8);
+
+    private static final XMLOutputFactory FACTORY = XMLOutputFactory.newFactory();
+    private static final Map<String, String> JOB_TYPES = Map.of(
+            "full-time", "full-time",
+            "full_time", "full-time",
+            "fulltime", "full-time",
+            "part-time", "part-time",
+            "part_time", "part-time",
+            "parttime", "part-time",
+            "contract", "contract",
+            "temporary", "temporary",
+            "internship", "internship");
+
+    private JobFeedXml() {
+    }
+
+    static XMLStreamWriter writer(OutputStream out) throws XMLStreamException {
+        return FACTORY.createXMLStreamWriter(out, "UTF-8");
+    }
+
+    /**
+     * The XML declaration and everything up to the first job, leaving {@code <source>} open.
+     */
+    static void writeHeader(XMLStreamWriter writer, String baseUrl, Instant lastBuildDate) throws XMLStreamException {
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.writeCharacters("\n");
+        writer.writeStartElement("source");
+        element(writer, "  ", "publisher", "Talos ATS");
+        element(writer, "  ", "publisherurl", baseUrl);
+        element(writer, "  ", "lastBuildDate", DateTimeFormatter.ISO_INSTANT.format(lastBuildDate));
+        writer.writeCharacters("\n");
+    }
+
+    static void writeJob(XMLStreamWriter writer, FeedJob job, String baseUrl) throws XMLStreamException {
+        writer.writeCharacters("  ");
+        writer.writeStartElement("job");
+        element(writer, "    ", "title", job.title());
+        element(writer, "    ", "date", date(job.createdAt()));
+        element(writer, "    ", "referencenumber", Long.toString(job.id()));
+        element(writer, "    ", "url", baseUrl + "/jobs/" + job.id());
+        element(writer, "    ", "company", job.companyName() != null && !job.companyName().isEmpty()
+                ? job.companyName() : "Company");
+        element(writer, "    ", "city", job.city());
+        element(writer, "    ", "postalcode", job.zipCode());
+        writer.writeCharacters("\n    ");
+        writer.writeStartElement("description");
+        cdata(writer, job.description());
+        writer.writeEndElement();
+        element(writer, "    ", "salary", salary(job));
+        element(writer, "    ", "jobtype", jobType(job.jobType()));
+        if (job.validThrough() != null) {
+            element(writer, "    ", "validthrough", job.validThrough());
+        }
+        writer.writeCharacters("\n  ");
+        writer.writeEndElement();
+        writer.writeCharacters("\n");
+    }
+
+    /**
+     * Closes {@code <source>}; the same bytes as {@link #FOOTER}.
+     */
+    static void writeFooter(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeEndElement();
+        writer.writeEndDocument();
+    }
+
+    static String salary(FeedJob job) {
+        String min = job.payMin();
+        String max = job.payMax();
+        if (min == null && max == null) {
+            return "";
+        }
+        String suffix = "salary".equals(job.payType()) ? "/year" : "/hour";
+        if (min != null && max != null) {
+            return "$" + min + "-" + max + suffix;
+        }
+        return min != null ? "$" + min + "+" + suffix : "Up to $" + max + suffix;
+    }
+
+    static String jobType(String jobType) {
+        return jobType != null ? JOB_TYPES.getOrDefault(jobType.toLowerCase(Locale.ROOT), "full-time") : "full-time";
+    }
+
+    private static String date(Instant instant) {
+        return instant != null ? DateTimeFormatter.ISO_LOCAL_DATE.format(instant.atOffset(ZoneOffset.UTC)) : "";
+    }
+
+    private static void element(XMLStreamWriter writer, String indent, String name, String text)
+            throws XMLStreamException {
+        writer.writeCharacters("\n" + indent);
+        writer.writeStartElement(name);
+        writer.writeCharacters(legal(text != null ? text : ""));
+        writer.writeEndElement();
+    }
+
+    /**
+     * Writes text as CDATA, splitting it wherever it contains {@code ]]>}.
+     */
+    private static void cdata(XMLStreamWriter writer, String text) throws XMLStreamException {
+        String legal = legal(text != null ? text : "");
+        int from = 0;
+        for (int end = legal.indexOf("]]>"); end >= 0; end = legal.indexOf("]]>", from)) {
+            writer.writeCData(legal.substring(from, end + 2));
+            from = end + 2;
+        }
+        writer.writeCData(legal.substring(from));
+    }
+
+    /**
+     * Drops characters XML 1.0 cannot carry, such as control characters pasted into a
+     * job description.
+     */
+    private static String legal(String text) {
+        StringBuilder out = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean ok = c == '\t' || c == '\n' || c == '\r' || c >= 0x20 && c <= 0xD7FF
+                    || c >= 0xE000 && c <= 0xFFFD
+                    || Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1));
+            if (Character.isLowSurrogate(c)) {
+                ok = i > 0 && Character.isHighSurrogate(text.charAt(i - 1));
+            }
+            if (!ok && out == null) {
+                out = new StringBuilder(text.length()).append(text, 0, i);
+            } else if (ok && out != null) {
+                out.append(c);
+            }
+        }
+        return out != null ? out.toString() : text;
+    }
+}
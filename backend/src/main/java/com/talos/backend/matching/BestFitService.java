@@ -0,0 +1,158 @@
+package com.talos.backend.matching;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.talos.backend.analysis.AnalysisPriority;
+import com.talos.backend.analysis.AnalysisScheduler;
+import com.talos.backend.analysis.ModelClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Picks a candidate's best-fit position. The {@link MatchingEngine} ranks every position
+ * from the candidate's features; only the top {@code rerank-k} go to the model, and only
+ * when the ranking is close enough that the model could change it.
+ *
+ * <p>The prompt is the Node {@code recommendBestFitPosition} prompt restricted to the
+ * shortlist, describing the candidate by their stored analysis instead of re-extracted
+ * resume text.
+ */
+@Service
+public class BestFitService {
+
+    private static final Logger log = LoggerFactory.getLogger(BestFitService.class);
+    private static final Pattern JSON_OBJECT = Pattern.compile("\\{[\\s\\S]*\\}");
+
+    private final MatchingEngine engine;
+    private final MatchingQueries queries;
+    private final AnalysisScheduler scheduler;
+    private final ModelClient modelClient;
+    private final ObjectMapper objectMapper;
+    private final int rerankK;
+    private final int rerankMargin;
+    private final boolean modelConfigured;
+
+    public BestFitService(MatchingEngine engine,
+                          MatchingQueries queries,
+                          AnalysisScheduler scheduler,
+                          ModelClient modelClient,
+                          ObjectMapper objectMapper,
+                          @Value("${talos.matching.rerank-k:3}") int rerankK,
+                          @Value("${talos.matching.rerank-margin:15}") int rerankMargin,
+                          @Value("${talos.analysis.model.api-key:}") String apiKey) {
+        this.engine = engine;
+        this.queries = queries;
+        this.scheduler = scheduler;
+        this.modelClient = modelClient;
+        this.objectMapper = objectMapper;
+        this.rerankK = rerankK;
+        this.rerankMargin = rerankMargin;
+        this.modelConfigured = !apiKey.isBlank();
+    }
+
+    /**
+     * The candidate's best fit, or empty when there is no such candidate. The future
+     * fails with {@link java.util.concurrent.RejectedExecutionException} when the model
+     * queue is full.
+     */
+    public Optional<CompletableFuture<BestFit>> bestFit(long candidateId) {
+        return queries.candidate(candidateId).map(profile -> {
+            CandidateFeatures features = CandidateFeatures.of(profile, engine.vocabulary());
+            List<MatchingEngine.PositionScore> shortlist = engine.rankPositions(features, rerankK);
+            MatchingEngine.PositionScore top = shortlist.get(0);
+            String runnerUp = shortlist.size() > 1 ? shortlist.get(1).title() : null;
+            BestFit byFeatures = new BestFit(top.title(), "Closest match on experience and skills.",
+                    runnerUp, shortlist, false);
+            if (!modelConfigured || shortlist.size() < 2 || top.score() - shortlist.get(1).score() >= rerankMargin) {
+                return CompletableFuture.completedFuture(byFeatures);
+            }
+            String prompt = prompt(profile, shortlist);
+            return scheduler.submit(AnalysisPriority.INTERACTIVE, () -> modelClient.createMessage(prompt, 300))
+                    .thenApply(text -> parse(text, shortlist, byFeatures));
+        });
+    }
+
+    private String prompt(CandidateProfile profile, List<MatchingEngine.PositionScore> shortlist) {
+        String positions = shortlist.stream()
+                .map(p -> "- " + p.title() + ": " + engine.vocabulary().position(p.title()).description())
+                .collect(Collectors.joining("\n"));
+        return """
+                You are an expert recruiter. Based on the candidate profile below, identify which ONE of the following job positions this candidate is the STRONGEST fit for, based on their actual work history, skills, and experience.
+
+                Positions:
+                %s
+
+                Candidate:
+                Years of experience: %s
+                Technical skills: %s
+                Certifications: %s
+                Relevant experience: %s
+                Summary: %s
+
+                Respond with ONLY a JSON object in this EXACT format (the "bestFitPosition" and "runnerUpPosition" values must be copied exactly, character-for-character, from the position titles listed above):
+                {
+                  "bestFitPosition": "<best-fit position title>",
+                  "reasoning": "<1-2 sentence explanation of why this position is the best match based on their profile>",
+                  "runnerUpPosition": "<second-best position title, or null>"
+                }""".formatted(positions,
+                profile.yearsOfExperience() != null ? profile.yearsOfExperience() : "unknown",
+                String.join("; ", profile.technicalSkills()),
+                String.join("; ", profile.certifications()),
+                String.join("; ", profile.relevantExperience()),
+                profile.summary() != null ? profile.summary() : "");
+    }
+
+    private BestFit parse(String text, List<MatchingEngine.PositionScore> shortlist, BestFit fallback) {
+        Matcher matcher = JSON_OBJECT.matcher(text);
+        if (!matcher.find()) {
+            log.warn("Best-fit re-rank returned no JSON; keeping the feature ranking");
+            return fallback;
+        }
+        try {
+            JsonNode result = objectMapper.readTree(matcher.group());
+            // Only titles from the shortlist are accepted, as Node only accepts canonical ones.
+            String best = shortlisted(result.path("bestFitPosition").asText(null), shortlist);
+            if (best == null) {
+                return fallback;
+            }
+            String runnerUp = shortlisted(result.path("runnerUpPosition").asText(null), shortlist);
+            return new BestFit(best, result.path("reasoning").asText(""),
+                    runnerUp != null && !runnerUp.equals(best) ? runnerUp : null, shortlist, true);
+        } catch (JsonProcessingException e) {
+            log.warn("Best-fit re-rank returned invalid JSON; keeping the feature ranking");
+            return fallback;
+        }
+    }
+
+    private static String shortlisted(String title, List<MatchingEngine.PositionScore> shortlist) {
+        if (title == null) {
+            return null;
+        }
+        return shortlist.stream()
+                .map(MatchingEngine.PositionScore::title)
+                .filter(t -> t.equalsIgnoreCase(title.trim()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * @param shortlist the positions considered, with their feature scores
+     * @param reranked  whether the model chose among the shortlist
+     */
+    public record BestFit(String bestFitPosition,
+                          String reasoning,
+                          String runnerUpPosition,
+                          List<MatchingEngine.PositionScore> shortlist,
+                          boolean reranked) {
+    }
+}
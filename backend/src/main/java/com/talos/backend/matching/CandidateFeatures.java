@@ -0,0 +1,76 @@
+package com.talos.backend.matching;
+
+import com.talos.backend.scoring.VehicleStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A candidate reduced to the few primitives the matching loop reads.
+ *
+ * @param overallScore the stored analysis score, 0 when there is none
+ * @param skills       {@link SkillVocabulary} bit mask
+ * @param cityCode     {@link #cityCode} of the candidate's city, 0 when unknown
+ * @param zip3         first three digits of the candidate's ZIP code, -1 when unknown
+ * @param vehicle      {@link VehicleStatus#ordinal()}
+ */
+public record CandidateFeatures(long candidateId,
+                                int overallScore,
+                                float years,
+                                int certifications,
+                                long skills,
+                                int cityCode,
+                                int zip3,
+                                byte vehicle) {
+
+    public static CandidateFeatures of(CandidateProfile profile, SkillVocabulary vocabulary) {
+        List<String> texts = new ArrayList<>();
+        texts.addAll(profile.technicalSkills());
+        texts.addAll(profile.certifications());
+        texts.addAll(profile.relevantExperience());
+        return new CandidateFeatures(
+                profile.candidateId(),
+                profile.overallScore() != null ? profile.overallScore() : 0,
+                profile.yearsOfExperience() != null ? profile.yearsOfExperience().floatValue() : 0f,
+                profile.certifications().size(),
+                vocabulary.skillsIn(texts),
+                cityCode(profile.city()),
+                zip3(profile.zipCode()),
+                (byte) profile.vehicleStatus().ordinal());
+    }
+
+    /**
+     * A non-zero code for a city name, equal for names that differ only in case or
+     * surrounding space; 0 for no city.
+     */
+    static int cityCode(String city) {
+        if (city == null || city.isBlank()) {
+            return 0;
+        }
+        int hash = city.trim().toLowerCase(Locale.ROOT).hashCode();
+        return hash != 0 ? hash : 1;
+    }
+
+    /**
+     * The three-digit ZIP prefix (sectional center), or -1.
+     */
+    static int zip3(String zipCode) {
+        if (zipCode == null) {
+            return -1;
+        }
+        String trimmed = zipCode.trim();
+        if (trimmed.length() < 3) {
+            return -1;
+        }
+        int prefix = 0;
+        for (int i = 0; i < 3; i++) {
+            char c = trimmed.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            prefix = prefix * 10 + (c - '0');
+        }
+        return prefix;
+    }
+}
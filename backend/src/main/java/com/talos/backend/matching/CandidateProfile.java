@@ -0,0 +1,22 @@
+package com.talos.backend.matching;
+
+import com.talos.backend.scoring.VehicleStatus;
+
+import java.util.List;
+
+/**
+ * What the database knows about a candidate that matching reads: their stored analysis,
+ * and the location and vehicle status from their most recent application. Nullable
+ * fields mirror nullable columns.
+ */
+public record CandidateProfile(long candidateId,
+                               Integer overallScore,
+                               Double yearsOfExperience,
+                               List<String> technicalSkills,
+                               List<String> certifications,
+                               List<String> relevantExperience,
+                               String summary,
+                               String city,
+                               String zipCode,
+                               VehicleStatus vehicleStatus) {
+}
@@ -0,0 +1,223 @@
+package com.talos.backend.matching;
+
+import com.talos.backend.scoring.ScoringEngine;
+import com.talos.backend.scoring.VehicleStatus;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Requirements of a set of jobs (or best-fit positions) laid out as parallel primitive
+ * arrays, so scoring a candidate against all of them is one pass of straight-line
+ * arithmetic over contiguous memory with no per-job objects or calls.
+ *
+ * <p>The match score extends the Node {@code evaluateCandidateAcrossAllJobs} formula.
+ * It starts from the candidate's overall analysis score and adds:
+ * <ul>
+ *   <li>+5 when the candidate meets the required years, -10 below half of them;</li>
+ *   <li>-10 to +10 for the share of the job's skills the candidate has, or 0 for a job
+ *       with no known skills;</li>
+ *   <li>+5 for the same city or three-digit ZIP prefix;</li>
+ *   <li>the {@link ScoringEngine#adjustScoreForVehicle} adjustment when the job needs a
+ *       vehicle.</li>
+ * </ul>
+ * The result is clamped to 0-100.
+ */
+public final class JobMatrix {
+
+    private final int size;
+    private final long[] ids;
+    private final String[] titles;
+    private final JobProfile[] jobs;
+    private final float[] requiredYears;
+    private final float[] halfRequiredYears;
+    private final long[] skills;
+    private final float[] skillWeights;
+    private final float[] skillOffsets;
+    private final int[] cityCodes;
+    private final int[] zip3s;
+    private final float[] vehicleRequired;
+
+    private JobMatrix(int size) {
+        this.size = size;
+        ids = new long[size];
+        titles = new String[size];
+        jobs = new JobProfile[size];
+        requiredYears = new float[size];
+        halfRequiredYears = new float[size];
+        skills = new long[size];
+        skillWeights = new float[size];
+        skillOffsets = new float[size];
+        cityCodes = new int[size];
+        zip3s = new int[size];
+        vehicleRequired = new float[size];
+    }
+
+    /**
+     * Jobs in the given order. A job's skills are its position's skills plus any named in
+     * its qualifications.
+     */
+    public static JobMatrix ofJobs(List<JobProfile> jobs, SkillVocabulary vocabulary) {
+        JobMatrix matrix = new JobMatrix(jobs.size());
+        for (int j = 0; j < jobs.size(); j++) {
+            JobProfile job = jobs.get(j);
+            SkillVocabulary.Position position = vocabulary.position(job.positionType());
+            long mask = (position != null ? position.skills() : 0)
+                    | vocabulary.skillsIn(job.qualifications() != null ? List.of(job.qualifications()) : List.of());
+            matrix.set(j, job.id(), job.title(), job.requiredYears() != null ? job.requiredYears().floatValue() : 0f,
+                    mask, CandidateFeatures.cityCode(job.city()), CandidateFeatures.zip3(job.zipCode()),
+                    job.vehicleRequired());
+            matrix.jobs[j] = job;
+        }
+        return matrix;
+    }
+
+    /**
+     * The vocabulary's best-fit positions, with no location or vehicle requirement.
+     */
+    public static JobMatrix ofPositions(SkillVocabulary vocabulary) {
+        List<SkillVocabulary.Position> positions = vocabulary.positions();
+        JobMatrix matrix = new JobMatrix(positions.size());
+        for (int j = 0; j < positions.size(); j++) {
+            SkillVocabulary.Position position = positions.get(j);
+            matrix.set(j, j, position.title(), position.requiredYears(), position.skills(), 0, -1, false);
+        }
+        return matrix;
+    }
+
+    private void set(int j, long id, String title, float years, long mask, int cityCode, int zip3, boolean vehicle) {
+        ids[j] = id;
+        titles[j] = title;
+        requiredYears[j] = years;
+        halfRequiredYears[j] = years * 0.5f;
+        skills[j] = mask;
+        int count = Long.bitCount(mask);
+        skillWeights[j] = count > 0 ? 20f / count : 0f;
+        skillOffsets[j] = count > 0 ? -10f : 0f;
+        // Unknown job locations must not match unknown candidate ones: score() turns a
+        // candidate's city code 0 into MIN_VALUE, and candidates' unknown ZIP is -1.
+        cityCodes[j] = cityCode;
+        zip3s[j] = zip3 >= 0 ? zip3 : -2;
+        vehicleRequired[j] = vehicle ? 1f : 0f;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long id(int j) {
+        return ids[j];
+    }
+
+    public String title(int j) {
+        return titles[j];
+    }
+
+    /**
+     * The job row at {@code j}; null for a matrix of positions.
+     */
+    public JobProfile job(int j) {
+        return jobs[j];
+    }
+
+    public float requiredYears(int j) {
+        return requiredYears[j];
+    }
+
+    public long skills(int j) {
+        return skills[j];
+    }
+
+    /**
+     * Writes the candidate's match score for every job into {@code out[0..size())}.
+     */
+    public void score(CandidateFeatures candidate, float[] out) {
+        final float base = candidate.overallScore();
+        final float years = candidate.years();
+        final long has = candidate.skills();
+        final int city = candidate.cityCode() != 0 ? candidate.cityCode() : Integer.MIN_VALUE;
+        final int zip3 = candidate.zip3();
+        final float vehicle = vehicleAdjustment(candidate.vehicle());
+        for (int j = 0; j < size; j++) {
+            float experience = years >= requiredYears[j] ? 5f : years < halfRequiredYears[j] ? -10f : 0f;
+            float skillFit = Long.bitCount(has & skills[j]) * skillWeights[j] + skillOffsets[j];
+            float location = city == cityCodes[j] | zip3 == zip3s[j] ? 5f : 0f;
+            float score = base + experience + skillFit + location + vehicle * vehicleRequired[j];
+            out[j] = Math.min(100f, Math.max(0f, score));
+        }
+    }
+
+    /**
+     * Indexes of the {@code k} highest of {@code scores[0..n)}, best first; equal scores
+     * keep index order.
+     */
+    public static int[] top(float[] scores, int n, int k) {
+        int[] heap = new int[Math.min(k, n)];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            if (size < heap.length) {
+                heap[size] = i;
+                siftUp(heap, size++, scores);
+            } else if (size > 0 && worse(heap[0], i, scores)) {
+                heap[0] = i;
+                siftDown(heap, size, scores);
+            }
+        }
+        Integer[] ordered = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            ordered[i] = heap[i];
+        }
+        Arrays.sort(ordered, (a, b) -> worse(a, b, scores) ? 1 : worse(b, a, scores) ? -1 : 0);
+        return Arrays.stream(ordered).mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * True when index {@code a} ranks below index {@code b}.
+     */
+    private static boolean worse(int a, int b, float[] scores) {
+        return scores[a] < scores[b] || scores[a] == scores[b] && a > b;
+    }
+
+    // Min-heap on rank: the root is the worst index kept.
+    private static void siftUp(int[] heap, int i, float[] scores) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!worse(heap[i], heap[parent], scores)) {
+                return;
+            }
+            int t = heap[i];
+            heap[i] = heap[parent];
+            heap[parent] = t;
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        int i = 0;
+        while (true) {
+            int worst = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && worse(heap[left], heap[worst], scores)) {
+                worst = left;
+            }
+            if (right < size && worse(heap[right], heap[worst], scores)) {
+                worst = right;
+            }
+            if (worst == i) {
+                return;
+            }
+            int t = heap[i];
+            heap[i] = heap[worst];
+            heap[worst] = t;
+            i = worst;
+        }
+    }
+
+    private static float vehicleAdjustment(byte vehicle) {
+        if (vehicle == VehicleStatus.HAS_VEHICLE.ordinal()) {
+            return 5f;
+        }
+        return vehicle == VehicleStatus.NO_VEHICLE.ordinal() ? -10f : 0f;
+    }
+}
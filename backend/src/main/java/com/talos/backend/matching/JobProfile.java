@@ -0,0 +1,18 @@
+package com.talos.backend.matching;
+
+/**
+ * The {@code jobs} columns matching reads.
+ *
+ * @param qualifications the job's free-text certification and other qualification
+ *                       requirements, searched for skill keywords
+ */
+public record JobProfile(long id,
+                         String title,
+                         String location,
+                         String positionType,
+                         Double requiredYears,
+                         boolean vehicleRequired,
+                         String city,
+                         String zipCode,
+                         String qualifications) {
+}
@@ -0,0 +1,169 @@
+package com.talos.backend.matching;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.talos.backend.scoring.ScoringEngine;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scores candidates against every active job, and against the best-fit positions,
+ * without calling the model.
+ *
+ * <p>Each candidate is reduced once to {@link CandidateFeatures} and cached; the active
+ * jobs are held as a {@link JobMatrix} reloaded at most every {@code jobs-refresh-ms}.
+ * A match is then one primitive loop over the matrix followed by a top-k selection, so
+ * hundreds of jobs take well under a millisecond. Features are cached for
+ * {@code candidate-ttl-minutes}, which bounds how stale a match can be after the
+ * candidate is re-analyzed; {@link #invalidate} drops one early.
+ */
+@Service
+public class MatchingEngine implements MeterBinder {
+
+    private final MatchingQueries queries;
+    private final SkillVocabulary vocabulary = SkillVocabulary.load();
+    private final JobMatrix positions = JobMatrix.ofPositions(vocabulary);
+    private final Cache<Long, CandidateFeatures> features;
+    private final long jobsRefreshNanos;
+    private final LongAdder matches = new LongAdder();
+    private final LongAdder matchNanos = new LongAdder();
+
+    private volatile JobMatrix jobs;
+    private volatile long jobsLoadedAt;
+
+    public MatchingEngine(MatchingQueries queries,
+                          @Value("${talos.matching.max-candidates:100000}") long maxCandidates,
+                          @Value("${talos.matching.candidate-ttl-minutes:10}") long candidateTtlMinutes,
+                          @Value("${talos.matching.jobs-refresh-ms:30000}") long jobsRefreshMs) {
+        this.queries = queries;
+        this.features = Caffeine.newBuilder()
+                .maximumSize(maxCandidates)
+                .expireAfterWrite(Duration.ofMinutes(candidateTtlMinutes))
+                .build();
+        this.jobsRefreshNanos = TimeUnit.MILLISECONDS.toNanos(jobsRefreshMs);
+    }
+
+    public SkillVocabulary vocabulary() {
+        return vocabulary;
+    }
+
+    /**
+     * The candidate's features, or empty when there is no such candidate.
+     */
+    public Optional<CandidateFeatures> features(long candidateId) {
+        CandidateFeatures cached = features.getIfPresent(candidateId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<CandidateFeatures> loaded = queries.candidate(candidateId)
+                .map(profile -> CandidateFeatures.of(profile, vocabulary));
+        loaded.ifPresent(f -> features.put(candidateId, f));
+        return loaded;
+    }
+
+    /**
+     * The candidate's {@code limit} best active jobs, best first, or empty when there is
+     * no such candidate.
+     */
+    public Optional<List<JobMatch>> matchJobs(long candidateId, int limit) {
+        return features(candidateId).map(candidate -> {
+            long started = System.nanoTime();
+            JobMatrix matrix = activeJobs();
+            float[] scores = new float[matrix.size()];
+            matrix.score(candidate, scores);
+            int[] best = JobMatrix.top(scores, matrix.size(), limit);
+            // As in Node, the tier is the candidate's own, not the job-adjusted score's.
+            String tier = ScoringEngine.calculateTier(candidate.overallScore()).code();
+            List<JobMatch> out = new ArrayList<>(best.length);
+            for (int j : best) {
+                long required = matrix.skills(j);
+                out.add(new JobMatch(matrix.job(j), Math.round(scores[j]),
+                        tier,
+                        candidate.years() - matrix.requiredYears(j),
+                        vocabulary.names(required & candidate.skills()),
+                        vocabulary.names(required & ~candidate.skills())));
+            }
+            matches.increment();
+            matchNanos.add(System.nanoTime() - started);
+            return out;
+        });
+    }
+
+    /**
+     * The candidate's {@code k} best-fit positions by feature score, best first.
+     */
+    public List<PositionScore> rankPositions(CandidateFeatures candidate, int k) {
+        float[] scores = new float[positions.size()];
+        positions.score(candidate, scores);
+        List<PositionScore> out = new ArrayList<>(k);
+        for (int j : JobMatrix.top(scores, positions.size(), k)) {
+            out.add(new PositionScore(positions.title(j), Math.round(scores[j])));
+        }
+        return out;
+    }
+
+    /**
+     * Forgets a candidate's cached features, e.g. after a new analysis.
+     */
+    public void invalidate(long candidateId) {
+        features.invalidate(candidateId);
+    }
+
+    private JobMatrix activeJobs() {
+        JobMatrix matrix = jobs;
+        if (matrix == null || System.nanoTime() - jobsLoadedAt > jobsRefreshNanos) {
+            synchronized (this) {
+                matrix = jobs;
+                if (matrix == null || System.nanoTime() - jobsLoadedAt > jobsRefreshNanos) {
+                    matrix = JobMatrix.ofJobs(queries.activeJobs(), vocabulary);
+                    jobsLoadedAt = System.nanoTime();
+                    jobs = matrix;
+                }
+            }
+        }
+        return matrix;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("talos.matching.jobs", this, e -> e.jobs != null ? e.jobs.size() : 0)
+                .description("Active jobs in the matching matrix")
+                .register(registry);
+        Gauge.builder("talos.matching.candidates", features, Cache::estimatedSize)
+                .description("Candidates with cached feature vectors")
+                .register(registry);
+        FunctionTimer.builder("talos.matching.match", matches, LongAdder::sum,
+                        m -> matchNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Scoring one candidate against every active job")
+                .register(registry);
+    }
+
+    /**
+     * One job's match for a candidate.
+     *
+     * @param yearsDiff      candidate years minus the job's required years
+     * @param matchedSkills  the job's skills the candidate has
+     * @param missingSkills  the job's skills the candidate lacks
+     */
+    public record JobMatch(JobProfile job,
+                           int matchScore,
+                           String tier,
+                           float yearsDiff,
+                           List<String> matchedSkills,
+                           List<String> missingSkills) {
+    }
+
+    public record PositionScore(String title, int score) {
+    }
+}
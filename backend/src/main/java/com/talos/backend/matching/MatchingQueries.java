@@ -0,0 +1,124 @@
+package com.talos.backend.matching;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.talos.backend.scoring.VehicleStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Loads candidates and active jobs for matching from the Node backend's schema.
+ */
+@Component
+public class MatchingQueries {
+
+    private static final String CANDIDATE_SQL = """
+            SELECT c.id, a.overall_score, a.years_of_experience, a.technical_skills_found,
+                   a.certifications_found, a.relevant_experience, a.summary
+            FROM candidates c
+            LEFT JOIN analyses a ON a.candidate_id = c.id
+            WHERE c.id = ?
+            """;
+
+    private static final String LATEST_APPLICATION_SQL = """
+            SELECT j.city, j.zip_code, cp.vehicle_status
+            FROM candidate_pipeline cp
+            JOIN jobs j ON j.id = cp.job_id
+            WHERE cp.candidate_id = ?
+            ORDER BY cp.id DESC
+            LIMIT 1
+            """;
+
+    private static final String ACTIVE_JOBS_SQL = """
+            SELECT id, title, location, position_type, required_years_experience, vehicle_required,
+                   city, zip_code, qualifications_certifications, qualifications_other
+            FROM jobs
+            WHERE status = 'active' AND deleted_at IS NULL
+            ORDER BY title
+            """;
+
+    private static final TypeReference<List<Object>> LIST = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public MatchingQueries(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public Optional<CandidateProfile> candidate(long candidateId) {
+        List<String[]> application = jdbcTemplate.query(LATEST_APPLICATION_SQL,
+                (rs, i) -> new String[]{rs.getString(1), rs.getString(2), rs.getString(3)}, candidateId);
+        String[] latest = application.isEmpty() ? new String[3] : application.get(0);
+        List<CandidateProfile> rows = jdbcTemplate.query(CANDIDATE_SQL, (rs, i) -> new CandidateProfile(
+                rs.getLong(1),
+                rs.getObject(2) != null ? rs.getInt(2) : null,
+                rs.getObject(3) != null ? rs.getDouble(3) : null,
+                texts(rs, 4),
+                texts(rs, 5),
+                texts(rs, 6),
+                rs.getString(7),
+                latest[0],
+                latest[1],
+                VehicleStatus.fromCode(latest[2])), candidateId);
+        return rows.stream().findFirst();
+    }
+
+    public List<JobProfile> activeJobs() {
+        return jdbcTemplate.query(ACTIVE_JOBS_SQL, (rs, i) -> {
+            String certifications = rs.getString(9);
+            String other = rs.getString(10);
+            return new JobProfile(
+                    rs.getLong(1),
+                    rs.getString(2),
+                    rs.getString(3),
+                    rs.getString(4),
+                    rs.getObject(5) != null ? rs.getDouble(5) : null,
+                    rs.getBoolean(6),
+                    rs.getString(7),
+                    rs.getString(8),
+                    certifications == null ? other : other == null ? certifications : certifications + "\n" + other);
+        });
+    }
+
+    /**
+     * A list column, stored either as a SQL array or as JSON text depending on which
+     * schema created the table.
+     */
+    private List<String> texts(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        List<String> out = new ArrayList<>();
+        if (value instanceof Array array) {
+            for (Object element : (Object[]) array.getArray()) {
+                if (element != null) {
+                    out.add(element.toString());
+                }
+            }
+        } else if (value instanceof String text && !text.isBlank()) {
+            if (text.startsWith("[")) {
+                try {
+                    for (Object element : objectMapper.readValue(text, LIST)) {
+                        if (element != null) {
+                            out.add(element.toString());
+                        }
+                    }
+                    return out;
+                } catch (JsonProcessingException e) {
+                    // Not JSON after all; treat it as plain text.
+                }
+            }
+            out.add(text);
+        }
+        return out;
+    }
+}
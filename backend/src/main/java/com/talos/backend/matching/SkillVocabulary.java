@@ -0,0 +1,158 @@
+package com.talos.backend.matching;
+
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * The skills and best-fit positions the matching engine knows, loaded from
+ * {@code classpath:matching/skills.properties} and {@code matching/positions.properties}.
+ *
+ * <p>Each skill is one bit of a {@code long}, assigned in skill-name order. Text has a
+ * skill when one of the skill's keywords occurs at the start of a word, so
+ * {@code diagnos} matches "Diagnostics" but {@code nate} does not match "coordinate".
+ */
+public final class SkillVocabulary {
+
+    private static final String SKILLS = "matching/skills.properties";
+    private static final String POSITIONS = "matching/positions.properties";
+
+    private final List<String> names;
+    private final List<String[]> keywords;
+    private final List<Position> positions;
+
+    SkillVocabulary(Map<String, String> skills, Map<String, String> positionProperties) {
+        Map<String, String> sorted = new TreeMap<>(skills);
+        if (sorted.size() > Long.SIZE) {
+            throw new IllegalStateException("At most " + Long.SIZE + " skills, got " + sorted.size());
+        }
+        this.names = List.copyOf(sorted.keySet());
+        List<String[]> parsed = new ArrayList<>();
+        sorted.values().forEach(list -> parsed.add(split(list.toLowerCase(Locale.ROOT))));
+        this.keywords = List.copyOf(parsed);
+
+        Map<String, Map<String, String>> byTitle = new TreeMap<>();
+        positionProperties.forEach((key, value) -> {
+            int dot = key.lastIndexOf('.');
+            if (dot <= 0) {
+                throw new IllegalStateException("Bad position property " + key);
+            }
+            byTitle.computeIfAbsent(key.substring(0, dot), t -> new TreeMap<>()).put(key.substring(dot + 1), value.trim());
+        });
+        List<Position> loaded = new ArrayList<>();
+        byTitle.forEach((title, fields) -> {
+            long mask = 0;
+            for (String skill : split(fields.getOrDefault("skills", ""))) {
+                int bit = names.indexOf(skill);
+                if (bit < 0) {
+                    throw new IllegalStateException("Position " + title + " lists unknown skill " + skill);
+                }
+                mask |= 1L << bit;
+            }
+            loaded.add(new Position(title, fields.getOrDefault("description", ""),
+                    Float.parseFloat(fields.getOrDefault("years", "0")), mask));
+        });
+        this.positions = List.copyOf(loaded);
+    }
+
+    /**
+     * Loads the vocabulary shipped on the classpath.
+     */
+    public static SkillVocabulary load() {
+        return new SkillVocabulary(read(SKILLS), read(POSITIONS));
+    }
+
+    public List<Position> positions() {
+        return positions;
+    }
+
+    /**
+     * The position with this title, ignoring case, or null.
+     */
+    public Position position(String title) {
+        for (Position position : positions) {
+            if (position.title().equalsIgnoreCase(title)) {
+                return position;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Bit mask of the skills mentioned anywhere in {@code texts}.
+     */
+    public long skillsIn(Collection<String> texts) {
+        long mask = 0;
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            String lower = text.toLowerCase(Locale.ROOT);
+            for (int bit = 0; bit < keywords.size(); bit++) {
+                if ((mask & 1L << bit) == 0 && mentions(lower, keywords.get(bit))) {
+                    mask |= 1L << bit;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Names of the skills in {@code mask}, in bit order.
+     */
+    public List<String> names(long mask) {
+        List<String> out = new ArrayList<>(Long.bitCount(mask));
+        for (long m = mask; m != 0; m &= m - 1) {
+            out.add(names.get(Long.numberOfTrailingZeros(m)));
+        }
+        return out;
+    }
+
+    private static boolean mentions(String text, String[] keywords) {
+        for (String keyword : keywords) {
+            for (int at = text.indexOf(keyword); at >= 0; at = text.indexOf(keyword, at + 1)) {
+                if (at == 0 || !Character.isLetterOrDigit(text.charAt(at - 1))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String[] split(String list) {
+        return list.isBlank() ? new String[0] : list.trim().split("\\s*,\\s*");
+    }
+
+    private static Map<String, String> read(String resource) {
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(new ClassPathResource(resource).getInputStream(),
+                StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + resource, e);
+        }
+        Map<String, String> map = new TreeMap<>();
+        properties.stringPropertyNames().forEach(name -> map.put(name, properties.getProperty(name)));
+        return map;
+    }
+
+    /**
+     * A best-fit position.
+     *
+     * @param requiredYears experience a typical opening asks for
+     * @param skills        bit mask of the skills the position values
+     */
+    public record Position(String title, String description, float requiredYears, long skills) {
+    }
+}
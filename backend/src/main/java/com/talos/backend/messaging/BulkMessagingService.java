@@ -0,0 +1,313 @@
+package com.talos.backend.messaging;
+
+import com.talos.backend.analysis.TokenBucket;
+import com.talos.backend.audit.AuditEvent;
+import com.talos.backend.audit.AuditWriter;
+import com.talos.backend.auth.AuthenticatedUser;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulk messaging and bulk status changes for {@code candidate_pipeline}
+ * ({@code POST /api/pipeline/bulk-message} and {@code /bulk-update}).
+ *
+ * <p>The Node routes handle a bulk request one candidate at a time: a model call, a
+ * communication_log insert, a pipeline update and a status update per candidate. Here
+ * a bulk message is rendered once, and the log rows and pipeline updates for all
+ * recipients are written with a few set-based statements in one transaction before
+ * anything is sent. The audit rows go to the {@link AuditWriter}.
+ *
+ * <p>Sends then fan out over a bounded pool of {@code max-concurrent} workers, each
+ * taking a token from its channel's rate limiter first so the provider's quota is
+ * respected however many requests are in flight. Workers are platform threads unless
+ * a {@code messagingThreadFactory} bean is present; the Java 21 virtual-threads build
+ * supplies a virtual one. Each outcome goes to the {@link CommunicationStatusWriter},
+ * which coalesces them into batched updates. The response waits up to
+ * {@code response-wait-ms} for the sends; any still running are reported as
+ * {@code sending} and finish in the background.
+ */
+@Service
+public class BulkMessagingService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkMessagingService.class);
+
+    public enum Status {
+        OK, FORBIDDEN, INVALID_TRANSITION, BUSY
+    }
+
+    /**
+     * The outcome for one pipeline entry; {@code status} is {@code sent}, {@code failed}
+     * or {@code sending}.
+     */
+    public record Delivery(long pipelineId, boolean success, String status, String error) {
+    }
+
+    /**
+     * The answer to a bulk message; {@code message} and {@code deliveries} are set when
+     * {@code status} is {@code OK}.
+     */
+    public record MessageResult(Status status, RenderedMessage message, List<Delivery> deliveries) {
+    }
+
+    /**
+     * The answer to a bulk status update; {@code pipelines} holds the updated rows when
+     * {@code status} is {@code OK}, {@code error} the reason otherwise.
+     */
+    public record UpdateResult(Status status, String error, List<Map<String, Object>> pipelines) {
+    }
+
+    private final MessagingQueries queries;
+    private final MessageRenderer renderer;
+    private final CommunicationStatusWriter statusWriter;
+    private final AuditWriter auditWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<MessageChannel, MessageSender> senders = new EnumMap<>(MessageChannel.class);
+    private final Map<MessageChannel, TokenBucket> rateLimiters = new EnumMap<>(MessageChannel.class);
+    private final ThreadPoolExecutor pool;
+    private final long responseWaitMs;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder unsent = new LongAdder();
+
+    public BulkMessagingService(MessagingQueries queries,
+                                MessageRenderer renderer,
+                                CommunicationStatusWriter statusWriter,
+                                AuditWriter auditWriter,
+                                PlatformTransactionManager transactionManager,
+                                List<MessageSender> senders,
+                                @Value("${talos.messaging.email.requests-per-second:2.5}") double emailPerSecond,
+                                @Value("${talos.messaging.email.burst:5}") int emailBurst,
+                                @Value("${talos.messaging.sms.requests-per-second:10}") double smsPerSecond,
+                                @Value("${talos.messaging.sms.burst:10}") int smsBurst,
+                                @Value("${talos.messaging.max-concurrent:16}") int maxConcurrent,
+                                @Value("${talos.messaging.queue-capacity:5000}") int queueCapacity,
+                                @Value("${talos.messaging.response-wait-ms:20000}") long responseWaitMs,
+                                @Qualifier("messagingThreadFactory") ObjectProvider<ThreadFactory> threadFactory) {
+        this.queries = queries;
+        this.renderer = renderer;
+        this.statusWriter = statusWriter;
+        this.auditWriter = auditWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (MessageSender sender : senders) {
+            this.senders.put(sender.channel(), sender);
+        }
+        rateLimiters.put(MessageChannel.EMAIL, new TokenBucket(emailPerSecond, emailBurst));
+        rateLimiters.put(MessageChannel.SMS, new TokenBucket(smsPerSecond, smsBurst));
+        this.responseWaitMs = responseWaitMs;
+
+        ThreadFactory factory = threadFactory.getIfAvailable(() -> new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "message-sender-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.pool = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), factory);
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Sends one message to every pipeline entry in {@code pipelineIds}, which must all
+     * be on {@code user}'s jobs unless {@code user} is an admin.
+     */
+    public MessageResult send(List<Long> pipelineIds, MessageType type, String jobTitle, String jobLocation,
+                              String schedulingLink, AuthenticatedUser user) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(pipelineIds));
+        Map<Long, MessagingQueries.Target> targets = queries.targets(ids);
+        if (!owns(ids, targets, user)) {
+            return new MessageResult(Status.FORBIDDEN, null, null);
+        }
+        List<Long> found = ids.stream().filter(targets::containsKey).toList();
+        if (senders.containsKey(type.channel()) && pool.getQueue().remainingCapacity() < found.size()) {
+            return new MessageResult(Status.BUSY, null, null);
+        }
+
+        RenderedMessage message = renderer.render(type, jobTitle, jobLocation, schedulingLink);
+        Map<Long, Long> logIds = transactionTemplate.execute(tx -> {
+            Map<Long, Long> inserted = queries.insertPendingLogs(found, type, message.content(), schedulingLink);
+            queries.markContacted(found, type, message.content(), type.pipelineStatus());
+            return inserted;
+        });
+        auditWriter.logAll(found.stream()
+                .filter(id -> !type.pipelineStatus().equals(targets.get(id).status()))
+                .map(id -> AuditEvent.statusChange(user.userId(), id, targets.get(id).status(), type.pipelineStatus()))
+                .toList());
+
+        List<CompletableFuture<Delivery>> deliveries = new ArrayList<>(ids.size());
+        for (long id : ids) {
+            MessagingQueries.Target target = targets.get(id);
+            deliveries.add(target == null
+                    ? CompletableFuture.completedFuture(new Delivery(id, false, "failed", "Pipeline entry not found"))
+                    : dispatch(target.recipient(), logIds.get(id), type.channel(), message));
+        }
+        await(deliveries);
+
+        List<Delivery> results = new ArrayList<>(deliveries.size());
+        for (int i = 0; i < ids.size(); i++) {
+            results.add(deliveries.get(i).getNow(new Delivery(ids.get(i), true, "sending", null)));
+        }
+        return new MessageResult(Status.OK, message, results);
+    }
+
+    /**
+     * Moves every pipeline entry in {@code pipelineIds} to {@code status} with one
+     * update, after checking each move against {@link PipelineTransitions}. Like the
+     * Node bulkUpdateStatus, one invalid move rejects the whole request. Ownership is
+     * checked as for {@link #send}.
+     */
+    public UpdateResult updateStatus(List<Long> pipelineIds, String status, AuthenticatedUser user) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(pipelineIds));
+        Map<Long, MessagingQueries.Target> targets = queries.targets(ids);
+        if (!owns(ids, targets, user)) {
+            return new UpdateResult(Status.FORBIDDEN, "Access denied", null);
+        }
+        List<String> invalid = new ArrayList<>();
+        for (long id : ids) {
+            MessagingQueries.Target target = targets.get(id);
+            if (target != null && !PipelineTransitions.allows(target.status(), status)) {
+                invalid.add("id " + id + ": '" + target.status() + "' -> '" + status + "'");
+            }
+        }
+        if (!invalid.isEmpty()) {
+            return new UpdateResult(Status.INVALID_TRANSITION,
+                    "Invalid status transitions: " + String.join("; ", invalid), null);
+        }
+
+        List<Map<String, Object>> rows = transactionTemplate.execute(tx -> {
+            queries.updatePipelineStatus(ids, status);
+            return queries.pipelines(ids);
+        });
+        auditWriter.logAll(ids.stream()
+                .filter(targets::containsKey)
+                .map(id -> AuditEvent.statusChange(user.userId(), id, targets.get(id).status(), status))
+                .toList());
+        return new UpdateResult(Status.OK, null, rows);
+    }
+
+    private static boolean owns(List<Long> ids, Map<Long, MessagingQueries.Target> targets, AuthenticatedUser user) {
+        if (user.isAdmin()) {
+            return true;
+        }
+        for (long id : ids) {
+            MessagingQueries.Target target = targets.get(id);
+            if (target == null || target.ownerId() == null || target.ownerId() != user.userId()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CompletableFuture<Delivery> dispatch(Recipient recipient, long logId, MessageChannel channel,
+                                                 RenderedMessage message) {
+        MessageSender sender = senders.get(channel);
+        if (sender == null) {
+            unsent.increment();
+            statusWriter.record(logId, "sent");
+            return CompletableFuture.completedFuture(new Delivery(recipient.pipelineId(), true, "sent", null));
+        }
+        CompletableFuture<Delivery> delivery = new CompletableFuture<>();
+        try {
+            pool.execute(() -> delivery.complete(deliver(sender, recipient, logId, channel, message)));
+        } catch (RejectedExecutionException e) {
+            delivery.complete(failed(recipient, logId, "The send queue is full"));
+        }
+        return delivery;
+    }
+
+    private Delivery deliver(MessageSender sender, Recipient recipient, long logId, MessageChannel channel,
+                             RenderedMessage message) {
+        try {
+            rateLimiters.get(channel).acquire();
+            sender.send(recipient, message);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failed(recipient, logId, "Interrupted before sending");
+        } catch (Exception e) {
+            log.warn("Failed to send {} to pipeline entry {}: {}", channel, recipient.pipelineId(), e.toString());
+            return failed(recipient, logId, e.getMessage());
+        }
+        sent.increment();
+        statusWriter.record(logId, "sent");
+        return new Delivery(recipient.pipelineId(), true, "sent", null);
+    }
+
+    private Delivery failed(Recipient recipient, long logId, String error) {
+        failed.increment();
+        statusWriter.record(logId, "failed");
+        return new Delivery(recipient.pipelineId(), false, "failed", error);
+    }
+
+    private void await(List<CompletableFuture<Delivery>> deliveries) {
+        try {
+            CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new))
+                    .get(responseWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Reported per delivery as still sending.
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("talos.messaging.sends.queued", pool, p -> p.getQueue().size())
+                .description("Messages waiting for a send worker")
+                .register(registry);
+        Gauge.builder("talos.messaging.sends.active", pool, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+        FunctionCounter.builder("talos.messaging.sends", sent, LongAdder::sum)
+                .tag("result", "sent")
+                .register(registry);
+        FunctionCounter.builder("talos.messaging.sends", failed, LongAdder::sum)
+                .tag("result", "failed")
+                .register(registry);
+        FunctionCounter.builder("talos.messaging.sends", unsent, LongAdder::sum)
+                .tag("result", "no_sender")
+                .description("Messages logged as sent on a channel with no configured sender (SMS, as in Node)")
+                .register(registry);
+        FunctionCounter.builder("talos.messaging.renders", renderer, MessageRenderer::generatedCount)
+                .tag("source", "model")
+                .register(registry);
+        FunctionCounter.builder("talos.messaging.renders", renderer, MessageRenderer::fallbackCount)
+                .tag("source", "fallback")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,148 @@
+package com.talos.backend.messaging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind queue for the {@code sent}/{@code failed} outcome of each message.
+ * Send workers only enqueue; a single writer thread drains up to {@code batchSize}
+ * outcomes and writes them in one transaction with one {@code UPDATE ... WHERE id IN}
+ * per status, so a bulk send of hundreds of messages costs a handful of statements
+ * instead of one round trip per message.
+ */
+@Service
+public class CommunicationStatusWriter implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(CommunicationStatusWriter.class);
+
+    private record Outcome(long logId, String status) {
+    }
+
+    private final MessagingQueries queries;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Outcome> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    private final LongAdder persisted = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder direct = new LongAdder();
+
+    private volatile boolean running = true;
+    private Thread writerThread;
+
+    public CommunicationStatusWriter(MessagingQueries queries,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${talos.messaging.status.queue-capacity:10000}") int queueCapacity,
+                                     @Value("${talos.messaging.status.batch-size:500}") int batchSize,
+                                     @Value("${talos.messaging.status.flush-interval-ms:200}") long flushIntervalMs) {
+        this.queries = queries;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    @PostConstruct
+    void start() {
+        writerThread = new Thread(this::drainLoop, "communication-status-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Records the outcome of one message. When the queue is full (or the writer is
+     * stopping) the row is updated on the calling thread instead, so an outcome is
+     * never dropped.
+     */
+    public void record(long logId, String status) {
+        Outcome outcome = new Outcome(logId, status);
+        if (running && queue.offer(outcome)) {
+            return;
+        }
+        direct.increment();
+        flush(List.of(outcome));
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    private void drainLoop() {
+        List<Outcome> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Outcome first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                // Shutdown requested; fall through and drain what is left.
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Outcome> batch) {
+        Map<String, List<Long>> byStatus = new LinkedHashMap<>();
+        for (Outcome outcome : batch) {
+            byStatus.computeIfAbsent(outcome.status(), s -> new ArrayList<>()).add(outcome.logId());
+        }
+        try {
+            transactionTemplate.executeWithoutResult(tx -> byStatus.forEach(queries::updateLogStatus));
+            persisted.add(batch.size());
+            log.debug("Updated the status of {} communication_log rows", batch.size());
+        } catch (RuntimeException e) {
+            failed.add(batch.size());
+            log.error("Failed to update the status of {} communication_log rows", batch.size(), e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("talos.messaging.status.queue.depth", queue, BlockingQueue::size)
+                .description("Message outcomes not yet written to communication_log")
+                .register(registry);
+        FunctionCounter.builder("talos.messaging.status.writes", persisted, LongAdder::sum)
+                .tag("result", "persisted")
+                .register(registry);
+        FunctionCounter.builder("talos.messaging.status.writes", failed, LongAdder::sum)
+                .tag("result", "failed")
+                .description("Message outcomes lost because their batch failed to write; the rows stay pending")
+                .register(registry);
+        FunctionCounter.builder("talos.messaging.status.writes", direct, LongAdder::sum)
+                .tag("result", "direct")
+                .description("Message outcomes written on the send thread because the queue was full")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+}
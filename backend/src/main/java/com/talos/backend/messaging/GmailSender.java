@@ -0,0 +1,163 @@
+package com.talos.backend.messaging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sends email through the Gmail API with the OAuth token the Node {@code gmailService}
+ * stores in {@code system_settings}. The access token is cached in memory and
+ * refreshed with the stored refresh token when it is about to expire; like the Node
+ * client, a refreshed token is not written back.
+ */
+@Component
+public class GmailSender implements MessageSender {
+
+    private static final String SETTINGS_KEY = "google_oauth_token";
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(60);
+
+    private record AccessToken(String value, Instant expiresAt) {
+        boolean usable(Instant now) {
+            return value != null && now.isBefore(expiresAt.minus(EXPIRY_MARGIN));
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final URI sendUri;
+    private final URI tokenUri;
+    private final String clientId;
+    private final String clientSecret;
+    private final Duration requestTimeout;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile AccessToken token;
+
+    public GmailSender(JdbcTemplate jdbcTemplate,
+                       ObjectMapper objectMapper,
+                       @Value("${talos.messaging.gmail.base-url:https://gmail.googleapis.com}") String baseUrl,
+                       @Value("${talos.messaging.gmail.token-url:https://oauth2.googleapis.com/token}") String tokenUrl,
+                       @Value("${talos.messaging.gmail.client-id:}") String clientId,
+                       @Value("${talos.messaging.gmail.client-secret:}") String clientSecret,
+                       @Value("${talos.messaging.gmail.timeout-seconds:30}") long timeoutSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.sendUri = URI.create(baseUrl.replaceAll("/+$", "") + "/gmail/v1/users/me/messages/send");
+        this.tokenUri = URI.create(tokenUrl);
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.requestTimeout = Duration.ofSeconds(timeoutSeconds);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @Override
+    public MessageChannel channel() {
+        return MessageChannel.EMAIL;
+    }
+
+    @Override
+    public void send(Recipient recipient, RenderedMessage message) throws IOException, InterruptedException {
+        if (recipient.email() == null) {
+            throw new IllegalArgumentException("No email address on file");
+        }
+        byte[] body = objectMapper.writeValueAsBytes(
+                Map.of("raw", Base64.getUrlEncoder().withoutPadding().encodeToString(mime(recipient, message))));
+        HttpRequest request = HttpRequest.newBuilder(sendUri)
+                .timeout(requestTimeout)
+                .header("authorization", "Bearer " + accessToken())
+                .header("content-type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 401) {
+            token = null;
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Gmail send failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    // The same message the Node sendEmail builds: an HTML part with an encoded-word subject.
+    private static byte[] mime(Recipient recipient, RenderedMessage message) {
+        String subject = "=?utf-8?B?" + Base64.getEncoder()
+                .encodeToString(message.subject().getBytes(StandardCharsets.UTF_8)) + "?=";
+        return String.join("\n", List.of(
+                "To: " + recipient.email(),
+                "Content-Type: text/html; charset=utf-8",
+                "MIME-Version: 1.0",
+                "Subject: " + subject,
+                "",
+                message.body())).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String accessToken() throws IOException, InterruptedException {
+        AccessToken current = token;
+        if (current != null && current.usable(Instant.now())) {
+            return current.value();
+        }
+        // A lock rather than synchronized: a refresh must not pin a virtual send thread's carrier.
+        refreshLock.lock();
+        try {
+            if (token == null || !token.usable(Instant.now())) {
+                token = loadOrRefresh();
+            }
+            return token.value();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private AccessToken loadOrRefresh() throws IOException, InterruptedException {
+        List<String> values = jdbcTemplate.queryForList(
+                "SELECT value FROM system_settings WHERE key = ?", String.class, SETTINGS_KEY);
+        if (values.isEmpty() || values.get(0) == null) {
+            throw new IllegalStateException("Gmail is not connected");
+        }
+        JsonNode stored = objectMapper.readTree(values.get(0));
+        AccessToken storedToken = new AccessToken(stored.path("access_token").asText(null),
+                Instant.ofEpochMilli(stored.path("expiry_date").asLong(0)));
+        if (storedToken.usable(Instant.now())) {
+            return storedToken;
+        }
+        String refreshToken = stored.path("refresh_token").asText(null);
+        if (refreshToken == null || clientId.isBlank() || clientSecret.isBlank()) {
+            throw new IllegalStateException("The Gmail access token has expired and cannot be refreshed");
+        }
+        String form = "grant_type=refresh_token"
+                + "&refresh_token=" + URLEncoder.encode(refreshToken, StandardCharsets.UTF_8)
+                + "&client_id=" + URLEncoder.encode(clientId, StandardCharsets.UTF_8)
+                + "&client_secret=" + URLEncoder.encode(clientSecret, StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder(tokenUri)
+                .timeout(requestTimeout)
+                .header("content-type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Gmail token refresh failed with HTTP " + response.statusCode());
+        }
+        JsonNode refreshed = objectMapper.readTree(response.body());
+        return new AccessToken(refreshed.path("access_token").asText(null),
+                Instant.now().plusSeconds(refreshed.path("expires_in").asLong(0)));
+    }
+}
@@ -0,0 +1,10 @@
+package com.talos.backend.messaging;
+
+/**
+ * Delivery channel of a message; each has its own {@link MessageSender} and provider
+ * rate limit.
+ */
+public enum MessageChannel {
+    EMAIL,
+    SMS
+}
@@ -0,0 +1,167 @@
+package com.talos.backend.messaging;
+
+import com.talos.backend.analysis.AnalysisPriority;
+import com.talos.backend.analysis.AnalysisScheduler;
+import com.talos.backend.analysis.ModelClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes the text of a bulk message with the prompts of the Node
+ * {@code generateOutreachSMS}, {@code generateOutreachEmail} and
+ * {@code generateRejectionEmail} helpers. The Node route made one model call per
+ * recipient for text that never named the recipient; here it is one call per bulk
+ * send. When the model is unavailable or slow the Node fallback templates are used.
+ */
+@Component
+public class MessageRenderer {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageRenderer.class);
+
+    private final AnalysisScheduler scheduler;
+    private final ModelClient modelClient;
+    private final long timeoutMs;
+
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public MessageRenderer(AnalysisScheduler scheduler,
+                           ModelClient modelClient,
+                           @Value("${talos.messaging.render-timeout-ms:20000}") long timeoutMs) {
+        this.scheduler = scheduler;
+        this.modelClient = modelClient;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public RenderedMessage render(MessageType type, String jobTitle, String jobLocation, String schedulingLink) {
+        String defaultSubject = "Regarding your application for " + jobTitle;
+        String prompt = prompt(type, jobTitle, jobLocation, schedulingLink);
+        try {
+            String text = scheduler.submit(AnalysisPriority.INTERACTIVE,
+                            () -> modelClient.createMessage(prompt, maxTokens(type)))
+                    .get(timeoutMs, TimeUnit.MILLISECONDS)
+                    .trim();
+            if (!text.isEmpty()) {
+                generated.increment();
+                return RenderedMessage.of(text, defaultSubject);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException | RejectedExecutionException e) {
+            log.warn("Generating {} text failed, using the fallback template: {}", type.value(), e.toString());
+        }
+        fallbacks.increment();
+        return RenderedMessage.of(fallback(type, jobTitle, jobLocation, schedulingLink), defaultSubject);
+    }
+
+    public long generatedCount() {
+        return generated.sum();
+    }
+
+    public long fallbackCount() {
+        return fallbacks.sum();
+    }
+
+    private static int maxTokens(MessageType type) {
+        return switch (type) {
+            case SMS -> 150;
+            case EMAIL -> 500;
+            case REJECTION_EMAIL -> 400;
+        };
+    }
+
+    private static String prompt(MessageType type, String jobTitle, String jobLocation, String schedulingLink) {
+        String link = schedulingLink != null ? schedulingLink : "[Scheduling link]";
+        return switch (type) {
+            case SMS -> """
+                    Generate a professional, concise SMS text message for HVAC job outreach.
+
+                    Job Details:
+                    - Position: %s
+                    - Location: %s
+                    - Scheduling Link: %s
+
+                    Requirements:
+                    - Keep it under 160 characters if possible (max 200)
+                    - Friendly and professional tone
+                    - Reference the job title and location
+                    - Include the scheduling link
+                    - Brief and to-the-point
+
+                    Generate the SMS text:""".formatted(jobTitle, jobLocation, link);
+            case EMAIL -> """
+                    Generate a professional email for HVAC job outreach.
+
+                    Job Details:
+                    - Position: %s
+                    - Location: %s
+                    - Scheduling Link: %s
+
+                    Requirements:
+                    - Professional subject line
+                    - Warm, friendly opening
+                    - Brief description of the opportunity
+                    - Include scheduling link
+                    - Professional closing
+                    - Keep it concise (3-4 paragraphs max)
+
+                    Generate the complete email:""".formatted(jobTitle, jobLocation, link);
+            case REJECTION_EMAIL -> """
+                    Generate a professional, respectful rejection email for an HVAC job application.
+
+                    Job: %s
+
+                    Requirements:
+                    - Polite and respectful tone
+                    - Thank them for their application
+                    - Brief and professional
+                    - Encourage them to apply for future positions
+                    - No false hope
+                    - Keep it concise (2-3 paragraphs)
+
+                    Generate the email:""".formatted(jobTitle);
+        };
+    }
+
+    static String fallback(MessageType type, String jobTitle, String jobLocation, String schedulingLink) {
+        return switch (type) {
+            case SMS -> "Hi! We found your resume for our %s position in %s. Interested? Schedule an interview: %s"
+                    .formatted(jobTitle, jobLocation, schedulingLink != null ? schedulingLink : "[link]");
+            case EMAIL -> """
+                    Subject: Opportunity: %s - %s
+
+                    Dear Candidate,
+
+                    We came across your resume and believe you could be a great fit for our %s position in %s.
+
+                    We'd love to discuss this opportunity with you. Please use the following link to schedule an interview at your convenience: %s
+
+                    Looking forward to speaking with you soon!
+
+                    Best regards,
+                    The Hiring Team""".formatted(jobTitle, jobLocation, jobTitle, jobLocation,
+                    schedulingLink != null ? schedulingLink : "[Scheduling link]");
+            case REJECTION_EMAIL -> """
+                    Subject: Update on Your Application for %s
+
+                    Dear Candidate,
+
+                    Thank you for your interest in the %s position and for taking the time to submit your application.
+
+                    After careful consideration, we have decided to move forward with other candidates whose qualifications more closely match our current needs. We appreciate your interest in joining our team and encourage you to apply for future opportunities that align with your skills and experience.
+
+                    We wish you the best in your job search.
+
+                    Best regards,
+                    The Hiring Team""".formatted(jobTitle, jobTitle);
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.talos.backend.messaging;
+
+/**
+ * Delivers messages on one {@link MessageChannel}. Called concurrently from the
+ * bulk-messaging send pool, after the channel's rate limiter has let the call through.
+ * A channel with no sender bean is logged as sent without a delivery, which is how the
+ * Node backend treats SMS.
+ */
+public interface MessageSender {
+
+    MessageChannel channel();
+
+    /**
+     * Sends one message, blocking until the provider has accepted it.
+     *
+     * @throws Exception if the provider refused the message or could not be reached
+     */
+    void send(Recipient recipient, RenderedMessage message) throws Exception;
+}
@@ -0,0 +1,48 @@
+package com.talos.backend.messaging;
+
+import java.util.Optional;
+
+/**
+ * The {@code messageType} values of {@code POST /api/pipeline/bulk-message}, with the
+ * channel they go out on and the pipeline status a recipient is moved to.
+ */
+public enum MessageType {
+    EMAIL("email", MessageChannel.EMAIL, "contacted"),
+    SMS("sms", MessageChannel.SMS, "contacted"),
+    REJECTION_EMAIL("rejection_email", MessageChannel.EMAIL, "rejected");
+
+    private final String value;
+    private final MessageChannel channel;
+    private final String pipelineStatus;
+
+    MessageType(String value, MessageChannel channel, String pipelineStatus) {
+        this.value = value;
+        this.channel = channel;
+        this.pipelineStatus = pipelineStatus;
+    }
+
+    /**
+     * The value stored in {@code communication_log.communication_type} and
+     * {@code candidate_pipeline.contacted_via}.
+     */
+    public String value() {
+        return value;
+    }
+
+    public MessageChannel channel() {
+        return channel;
+    }
+
+    public String pipelineStatus() {
+        return pipelineStatus;
+    }
+
+    public static Optional<MessageType> fromValue(String value) {
+        for (MessageType type : values()) {
+            if (type.value.equals(value)) {
+                return Optional.of(type);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,179 @@
+package com.talos.backend.messaging;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk messaging and bulk status reads and writes against the Node backend's schema.
+ * Every write covers a whole chunk of pipeline entries (or log rows) with one
+ * statement; id lists are split into chunks of {@link #MAX_IDS_PER_STATEMENT}.
+ */
+@Component
+public class MessagingQueries {
+
+    static final int MAX_IDS_PER_STATEMENT = 1000;
+
+    private static final String TARGETS_SQL = """
+            SELECT cp.id, cp.pipeline_status, c.full_name, c.applicant_email, j.user_id
+            FROM candidate_pipeline cp
+            JOIN candidates c ON c.id = cp.candidate_id
+            LEFT JOIN jobs j ON j.id = cp.job_id
+            WHERE cp.id IN (%s)
+            """;
+
+    // The rows the Node logCommunication inserts, one per pipeline entry, all in one statement.
+    private static final String INSERT_LOGS_SQL = """
+            INSERT INTO communication_log (candidate_pipeline_id, communication_type, message_content,
+                                           template_type, template_tone, is_nudge, scheduling_link, status)
+            SELECT id, ?, ?, NULL, NULL, FALSE, ?, 'pending'
+            FROM candidate_pipeline
+            WHERE id IN (%s)
+            """;
+
+    private static final String MARK_CONTACTED_SQL = """
+            UPDATE candidate_pipeline
+            SET contacted_via = ?,
+                contacted_at = CURRENT_TIMESTAMP,
+                last_message_sent = ?,
+                pipeline_status = ?
+            WHERE id IN (%s)
+            """;
+
+    private static final String UPDATE_STATUS_SQL = "UPDATE candidate_pipeline SET pipeline_status = ? WHERE id IN (%s)";
+
+    private static final String SELECT_PIPELINES_SQL = "SELECT * FROM candidate_pipeline WHERE id IN (%s) ORDER BY id";
+
+    private static final String UPDATE_LOG_STATUS_SQL = "UPDATE communication_log SET status = ? WHERE id IN (%s)";
+
+    /**
+     * A pipeline entry addressed by a bulk request; {@code ownerId} is the job's user.
+     */
+    public record Target(Recipient recipient, String status, Long ownerId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MessagingQueries(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The pipeline entries among {@code ids} that exist, keyed by id.
+     */
+    public Map<Long, Target> targets(List<Long> ids) {
+        Map<Long, Target> targets = new HashMap<>();
+        RowCallbackHandler handler = rs -> {
+            long id = rs.getLong(1);
+            long owner = rs.getLong(5);
+            targets.put(id, new Target(new Recipient(id, rs.getString(3), rs.getString(4)),
+                    rs.getString(2), rs.wasNull() ? null : owner));
+        };
+        for (List<Long> chunk : chunks(ids)) {
+            jdbcTemplate.query(TARGETS_SQL.formatted(placeholders(chunk.size())), handler, chunk.toArray());
+        }
+        return targets;
+    }
+
+    /**
+     * Inserts a {@code pending} communication_log row for each pipeline entry and
+     * returns the new row ids keyed by pipeline id.
+     */
+    public Map<Long, Long> insertPendingLogs(List<Long> pipelineIds, MessageType type, String content,
+                                             String schedulingLink) {
+        Map<Long, Long> logIds = new HashMap<>();
+        for (List<Long> chunk : chunks(pipelineIds)) {
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        INSERT_LOGS_SQL.formatted(placeholders(chunk.size())),
+                        new String[]{"id", "candidate_pipeline_id"});
+                statement.setString(1, type.value());
+                statement.setString(2, content);
+                statement.setString(3, schedulingLink);
+                for (int i = 0; i < chunk.size(); i++) {
+                    statement.setLong(i + 4, chunk.get(i));
+                }
+                return statement;
+            }, keys);
+            for (Map<String, Object> row : keys.getKeyList()) {
+                logIds.put(longValue(row, "candidate_pipeline_id"), longValue(row, "id"));
+            }
+        }
+        return logIds;
+    }
+
+    /**
+     * Records the message on the pipeline entries and moves them to {@code status}, as
+     * the Node logCommunication does for one entry.
+     */
+    public void markContacted(List<Long> pipelineIds, MessageType type, String content, String status) {
+        for (List<Long> chunk : chunks(pipelineIds)) {
+            List<Object> args = new ArrayList<>(chunk.size() + 3);
+            args.add(type.value());
+            args.add(content);
+            args.add(status);
+            args.addAll(chunk);
+            jdbcTemplate.update(MARK_CONTACTED_SQL.formatted(placeholders(chunk.size())), args.toArray());
+        }
+    }
+
+    public void updatePipelineStatus(List<Long> pipelineIds, String status) {
+        for (List<Long> chunk : chunks(pipelineIds)) {
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(status);
+            args.addAll(chunk);
+            jdbcTemplate.update(UPDATE_STATUS_SQL.formatted(placeholders(chunk.size())), args.toArray());
+        }
+    }
+
+    public List<Map<String, Object>> pipelines(List<Long> pipelineIds) {
+        List<Map<String, Object>> rows = new ArrayList<>(pipelineIds.size());
+        for (List<Long> chunk : chunks(pipelineIds)) {
+            rows.addAll(jdbcTemplate.queryForList(SELECT_PIPELINES_SQL.formatted(placeholders(chunk.size())),
+                    chunk.toArray()));
+        }
+        return rows;
+    }
+
+    public void updateLogStatus(String status, List<Long> logIds) {
+        for (List<Long> chunk : chunks(logIds)) {
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(status);
+            args.addAll(chunk);
+            jdbcTemplate.update(UPDATE_LOG_STATUS_SQL.formatted(placeholders(chunk.size())), args.toArray());
+        }
+    }
+
+    private static long longValue(Map<String, Object> row, String column) {
+        // Drivers differ in the case of the returned column names.
+        for (Map.Entry<String, Object> entry : row.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(column)) {
+                return ((Number) entry.getValue()).longValue();
+            }
+        }
+        throw new IllegalStateException("generated keys have no " + column + " column: " + row.keySet());
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>((ids.size() + MAX_IDS_PER_STATEMENT - 1) / MAX_IDS_PER_STATEMENT);
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_STATEMENT) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + MAX_IDS_PER_STATEMENT)));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+}
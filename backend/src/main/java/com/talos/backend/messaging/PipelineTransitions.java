@@ -0,0 +1,25 @@
+package com.talos.backend.messaging;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Node backend's {@code PIPELINE_TRANSITIONS} state machine. Moving a pipeline
+ * entry to the status it already has is always allowed and changes nothing.
+ */
+public final class PipelineTransitions {
+
+    private static final Map<String, List<String>> ALLOWED = Map.of(
+            "new", List.of("approved", "backup", "rejected"),
+            "approved", List.of("contacted", "backup", "rejected"),
+            "contacted", List.of("approved", "backup", "rejected"),
+            "backup", List.of("contacted", "approved", "rejected"),
+            "rejected", List.of());
+
+    private PipelineTransitions() {
+    }
+
+    public static boolean allows(String from, String to) {
+        return (from != null && from.equals(to)) || ALLOWED.getOrDefault(from, List.of()).contains(to);
+    }
+}
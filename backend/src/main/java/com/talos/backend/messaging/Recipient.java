@@ -0,0 +1,7 @@
+package com.talos.backend.messaging;
+
+/**
+ * One candidate of a bulk send; {@code email} is null when the candidate has none on file.
+ */
+public record Recipient(long pipelineId, String name, String email) {
+}
@@ -0,0 +1,21 @@
+package com.talos.backend.messaging;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A message rendered once for a whole bulk send. {@code content} is the full text as
+ * logged; for email a leading {@code Subject:} line is split off into {@code subject}.
+ */
+public record RenderedMessage(String content, String subject, String body) {
+
+    private static final Pattern SUBJECT_LINE = Pattern.compile("^\\**Subject:\\**\\s*(.+?)\\s*\\R+", Pattern.CASE_INSENSITIVE);
+
+    public static RenderedMessage of(String content, String defaultSubject) {
+        Matcher subject = SUBJECT_LINE.matcher(content);
+        if (subject.lookingAt()) {
+            return new RenderedMessage(content, subject.group(1), content.substring(subject.end()));
+        }
+        return new RenderedMessage(content, defaultSubject, content);
+    }
+}
@@ -0,0 +1,109 @@
+package com.talos.backend.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(name = "demo_requests")
+public class DemoRequest {
+
+    // The sequence behind the Node table's SERIAL id, one value per row so ids stay in step with
+    // Node's own inserts. Sequence ids (not IDENTITY) so Hibernate can still group inserts into JDBC batches.
+    // SERIAL is a 4-byte integer column; declared so schema validation accepts it.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "demo_requests_id_seq")
+    @SequenceGenerator(name = "demo_requests_id_seq", sequenceName = "demo_requests_id_seq", allocationSize = 1)
+    @Column(columnDefinition = "integer")
+    private Long id;
+
+    @Column(name = "first_name", length = 100)
+    private String firstName;
+
+    @Column(name = "last_name", length = 100)
+    private String lastName;
+
+    @Column(nullable = false)
+    private String email;
+
+    private String company;
+
+    @Column(length = 50)
+    private String phone;
+
+    @Column(name = "company_size", length = 50)
+    private String companySize;
+
+    @Column(name = "current_challenges", columnDefinition = "TEXT")
+    private String currentChallenges;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getCompany() {
+        return company;
+    }
+
+    public void setCompany(String company) {
+        this.company = company;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getCompanySize() {
+        return companySize;
+    }
+
+    public void setCompanySize(String companySize) {
+        this.companySize = companySize;
+    }
+
+    public String getCurrentChallenges() {
+        return currentChallenges;
+    }
+
+    public void setCurrentChallenges(String currentChallenges) {
+        this.currentChallenges = currentChallenges;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
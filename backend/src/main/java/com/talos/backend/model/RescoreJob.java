@@ -0,0 +1,124 @@
+package com.talos.backend.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Progress and keyset checkpoint of a bulk re-scoring run over {@code candidate_pipeline}.
+ * The checkpoint is committed together with each page of updates, so a run that
+ * was interrupted can resume after {@link #getLastPipelineId()} without redoing work.
+ */
+@Entity
+@Table(name = "rescore_jobs")
+public class RescoreJob {
+
+    public enum Status { RUNNING, COMPLETED, CANCELLED, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "last_pipeline_id", nullable = false)
+    private long lastPipelineId;
+
+    @Column(name = "total_rows", nullable = false)
+    private long totalRows;
+
+    @Column(name = "processed_rows", nullable = false)
+    private long processedRows;
+
+    @Column(name = "changed_rows", nullable = false)
+    private long changedRows;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public long getLastPipelineId() {
+        return lastPipelineId;
+    }
+
+    public void setLastPipelineId(long lastPipelineId) {
+        this.lastPipelineId = lastPipelineId;
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public long getProcessedRows() {
+        return processedRows;
+    }
+
+    public void setProcessedRows(long processedRows) {
+        this.processedRows = processedRows;
+    }
+
+    public long getChangedRows() {
+        return changedRows;
+    }
+
+    public void setChangedRows(long changedRows) {
+        this.changedRows = changedRows;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
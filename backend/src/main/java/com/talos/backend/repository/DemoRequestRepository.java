@@ -0,0 +1,7 @@
+package com.talos.backend.repository;
+
+import com.talos.backend.model.DemoRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface DemoRequestRepository extends JpaRepository<DemoRequest, Long> {
+}
@@ -0,0 +1,7 @@
+package com.talos.backend.repository;
+
+import com.talos.backend.model.RescoreJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RescoreJobRepository extends JpaRepository<RescoreJob, Long> {
+}
@@ -0,0 +1,124 @@
+package com.talos.backend.rubric;
+
+import com.talos.backend.analysis.PromptPrefix;
+import com.talos.backend.cache.ContentHash;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A rubric prompt rendered for one {@link RubricKey}, with the per-call slots left
+ * open. Everything before the first slot is the {@link #prefix()}: the same bytes on
+ * every call for this key, sent to the model as a cacheable block. The rest is a
+ * short list of literals and slots filled by {@link #request}.
+ */
+public final class CompiledRubric {
+
+    /**
+     * Per-call values spliced into a compiled rubric.
+     */
+    enum Slot {
+        JOB_LOCATION_LINE("jobLocationLine"),
+        RESUME_TEXT("resumeText");
+
+        private final String templateName;
+
+        Slot(String templateName) {
+            this.templateName = templateName;
+        }
+
+        String templateName() {
+            return templateName;
+        }
+    }
+
+    private final RubricKey key;
+    private final PromptPrefix prefix;
+    private final String[] literals;
+    private final Slot[] slots;
+    private final int literalChars;
+    private final String version;
+
+    private CompiledRubric(RubricKey key, String template, List<String> parts, List<Slot> slots) {
+        this.key = key;
+        this.prefix = new PromptPrefix(parts.get(0));
+        this.literals = parts.subList(1, parts.size()).toArray(String[]::new);
+        this.slots = slots.toArray(Slot[]::new);
+
+        int chars = 0;
+        StringBuilder fingerprint = new StringBuilder(template).append('\n').append(prefix.sha256());
+        for (int i = 0; i < this.slots.length; i++) {
+            fingerprint.append("\n{{@").append(this.slots[i].templateName()).append("}}\n").append(literals[i]);
+            chars += literals[i].length();
+        }
+        this.literalChars = chars;
+        this.version = ContentHash.sha256Hex(fingerprint.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public RubricKey key() {
+        return key;
+    }
+
+    /**
+     * Static leading part of the prompt, identical across calls for this key.
+     */
+    public PromptPrefix prefix() {
+        return prefix;
+    }
+
+    /**
+     * Hash of the template name and the full rendered rubric text. Suitable as the
+     * rubric part of a {@code ResumeAnalysisCache} key; it changes whenever the key or
+     * the template text does.
+     */
+    public String version() {
+        return version;
+    }
+
+    /**
+     * The per-call remainder of the prompt, following {@link #prefix()}.
+     *
+     * @param jobLocation the job's location, or null to omit the location line
+     */
+    public String request(String jobLocation, String resumeText) {
+        String locationLine = jobLocation != null ? "Job Location: " + jobLocation + "\n\n" : "";
+        StringBuilder out = new StringBuilder(literalChars + locationLine.length() + resumeText.length());
+        for (int i = 0; i < slots.length; i++) {
+            out.append(slots[i] == Slot.JOB_LOCATION_LINE ? locationLine : resumeText);
+            out.append(literals[i]);
+        }
+        return out.toString();
+    }
+
+    /**
+     * The whole prompt as one string, as the Node backend sends it.
+     */
+    public String prompt(String jobLocation, String resumeText) {
+        return prefix + request(jobLocation, resumeText);
+    }
+
+    /**
+     * Collects rendered text, splitting it at slots.
+     */
+    static final class Builder {
+        private final List<String> parts = new ArrayList<>();
+        private final List<Slot> slots = new ArrayList<>();
+        private final StringBuilder current = new StringBuilder(16 * 1024);
+
+        void append(String text) {
+            current.append(text);
+        }
+
+        void slot(Slot slot) {
+            parts.add(current.toString());
+            current.setLength(0);
+            slots.add(slot);
+        }
+
+        CompiledRubric build(RubricKey key, String template) {
+            parts.add(current.toString());
+            return new CompiledRubric(key, template, parts, slots);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.talos.backend.rubric;
+
+/**
+ * Everything besides the resume that a rubric prompt depends on.
+ */
+public record RubricKey(String position, double requiredYears, boolean flexibleOnTitle) {
+}
@@ -0,0 +1,125 @@
+package com.talos.backend.rubric;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Rubric prompts for position-specific resume analysis.
+ *
+ * <p>Templates live in {@code classpath:rubrics/*.txt} and are parsed once at
+ * startup; {@code rubrics/positions.properties} maps job positions to them. A
+ * template is rendered once per (position, required years, flexible on title) and
+ * the {@link CompiledRubric} is shared by every analysis with that key, so the
+ * multi-kilobyte rubric is neither rebuilt nor re-encoded per call, and its prefix is
+ * byte-identical each time for provider prompt caching.
+ *
+ * <p>A single trailing newline at the end of a template file is not part of the
+ * template, so files can end with one.
+ */
+@Service
+public class RubricRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(RubricRegistry.class);
+
+    private static final String TEMPLATES = "classpath:rubrics/*.txt";
+    private static final String POSITIONS = "classpath:rubrics/positions.properties";
+
+    private final Map<String, RubricTemplate> templates;
+    private final Map<String, String> positions;
+    private final Cache<RubricKey, CompiledRubric> compiled;
+
+    public RubricRegistry(@Value("${talos.rubrics.max-compiled:512}") long maxCompiled) throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        Map<String, RubricTemplate> loaded = new HashMap<>();
+        for (Resource resource : resolver.getResources(TEMPLATES)) {
+            String filename = resource.getFilename();
+            String name = filename.substring(0, filename.length() - ".txt".length());
+            String text = resource.getContentAsString(StandardCharsets.UTF_8);
+            if (text.endsWith("\n")) {
+                text = text.substring(0, text.length() - 1);
+            }
+            loaded.put(name, RubricTemplate.parse(name, text));
+        }
+        this.templates = Map.copyOf(loaded);
+
+        Properties mapping = new Properties();
+        try (Reader reader = new InputStreamReader(resolver.getResource(POSITIONS).getInputStream(),
+                StandardCharsets.UTF_8)) {
+            mapping.load(reader);
+        }
+        Map<String, String> byPosition = new HashMap<>();
+        for (String position : mapping.stringPropertyNames()) {
+            byPosition.put(position, mapping.getProperty(position).trim());
+        }
+        this.positions = Map.copyOf(byPosition);
+        validate();
+
+        this.compiled = Caffeine.newBuilder()
+                .maximumSize(maxCompiled)
+                .build();
+        log.info("Loaded {} rubric templates for {} positions", templates.size(), positions.size());
+    }
+
+    /**
+     * Positions that have a rubric template.
+     */
+    public Set<String> positions() {
+        return positions.keySet();
+    }
+
+    /**
+     * The compiled rubric for a position, or empty if the position has no template.
+     * Repeated calls with the same arguments return the same instance until it is
+     * evicted.
+     */
+    public Optional<CompiledRubric> find(String position, double requiredYears, boolean flexibleOnTitle) {
+        String template = positions.get(position);
+        if (template == null) {
+            return Optional.empty();
+        }
+        // Normalizes -0.0, which would otherwise be a different key from 0.
+        RubricKey key = new RubricKey(position, requiredYears + 0.0, flexibleOnTitle);
+        return Optional.of(compiled.get(key, k -> compile(template, k)));
+    }
+
+    private CompiledRubric compile(String template, RubricKey key) {
+        CompiledRubric.Builder out = new CompiledRubric.Builder();
+        templates.get(template).render(key, templates, out);
+        return out.build(key, template);
+    }
+
+    private void validate() {
+        for (RubricTemplate template : templates.values()) {
+            for (String include : template.includes()) {
+                if (!templates.containsKey(include)) {
+                    throw new IllegalStateException("Rubric " + template.name() + " includes missing template " + include);
+                }
+            }
+        }
+        positions.forEach((position, name) -> {
+            RubricTemplate template = templates.get(name);
+            if (template == null) {
+                throw new IllegalStateException("Position " + position + " maps to missing rubric " + name);
+            }
+            if (!template.hasSlot(CompiledRubric.Slot.RESUME_TEXT)) {
+                throw new IllegalStateException("Rubric " + name + " has no {{@resumeText}} slot");
+            }
+        });
+    }
+}
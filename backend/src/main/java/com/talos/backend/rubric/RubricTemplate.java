@@ -0,0 +1,238 @@
+package com.talos.backend.rubric;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A parsed rubric template. The syntax is a small Mustache subset:
+ * <ul>
+ *   <li>{@code {{requiredYears}}}, {@code {{requiredYearsHalf}}}, {@code {{requiredYears95}}}
+ *       and {@code {{flexibilityPenalty}}} substitute values from the {@link RubricKey};</li>
+ *   <li>{@code {{#flag}}...{{/flag}}} and {@code {{^flag}}...{{/flag}}} keep their body when
+ *       {@code flexibleOnTitle}, {@code zeroYears} or {@code includeCerts} is set or unset;</li>
+ *   <li>{@code {{> name}}} includes another template, optionally overriding
+ *       {@code includeCerts}: {@code {{> unified-scoring-matrix includeCerts=false}}};</li>
+ *   <li>{@code {{@jobLocationLine}}} and {@code {{@resumeText}}} are per-call slots, left
+ *       open when the template is compiled.</li>
+ * </ul>
+ * Numbers are formatted the way JavaScript template literals format them, so compiled
+ * prompts match the Node backend's character for character.
+ */
+final class RubricTemplate {
+
+    private static final Pattern TAG = Pattern.compile("\\{\\{(.*?)}}", Pattern.DOTALL);
+    private static final Set<String> VARIABLES =
+            Set.of("requiredYears", "requiredYearsHalf", "requiredYears95", "flexibilityPenalty");
+    private static final Set<String> FLAGS = Set.of("flexibleOnTitle", "zeroYears", "includeCerts");
+    private static final int MAX_INCLUDE_DEPTH = 8;
+
+    private final String name;
+    private final List<Node> nodes;
+
+    private RubricTemplate(String name, List<Node> nodes) {
+        this.name = name;
+        this.nodes = nodes;
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the template is malformed
+     */
+    static RubricTemplate parse(String name, String text) {
+        Deque<Section> open = new ArrayDeque<>();
+        List<Node> root = new ArrayList<>();
+        List<Node> current = root;
+        Matcher tag = TAG.matcher(text);
+        int last = 0;
+        while (tag.find()) {
+            if (tag.start() > last) {
+                current.add(new Text(text.substring(last, tag.start())));
+            }
+            last = tag.end();
+            String body = tag.group(1).trim();
+            char kind = body.isEmpty() ? ' ' : body.charAt(0);
+            String arg = body.substring(Math.min(1, body.length())).trim();
+            switch (kind) {
+                case '#', '^' -> {
+                    Section section = new Section(flag(name, arg), kind == '^', new ArrayList<>());
+                    current.add(section);
+                    open.push(section);
+                    current = section.children;
+                }
+                case '/' -> {
+                    if (open.isEmpty() || !open.peek().flag.equals(arg)) {
+                        throw new IllegalArgumentException(name + ": unexpected {{/" + arg + "}}");
+                    }
+                    open.pop();
+                    current = open.isEmpty() ? root : open.peek().children;
+                }
+                case '>' -> current.add(include(name, arg));
+                case '@' -> current.add(new SlotRef(slot(name, arg)));
+                default -> {
+                    if (!VARIABLES.contains(body)) {
+                        throw new IllegalArgumentException(name + ": unknown variable {{" + body + "}}");
+                    }
+                    current.add(new Variable(body));
+                }
+            }
+        }
+        if (!open.isEmpty()) {
+            throw new IllegalArgumentException(name + ": unclosed {{#" + open.peek().flag + "}}");
+        }
+        if (last < text.length()) {
+            current.add(new Text(text.substring(last)));
+        }
+        return new RubricTemplate(name, List.copyOf(root));
+    }
+
+    /**
+     * Names of the templates this one includes directly.
+     */
+    List<String> includes() {
+        List<String> names = new ArrayList<>();
+        collectIncludes(nodes, names);
+        return names;
+    }
+
+    boolean hasSlot(CompiledRubric.Slot slot) {
+        return hasSlot(nodes, slot);
+    }
+
+    /**
+     * Renders this template for {@code key}, resolving includes through {@code templates}.
+     */
+    void render(RubricKey key, Map<String, RubricTemplate> templates, CompiledRubric.Builder out) {
+        Map<String, Boolean> flags = new HashMap<>();
+        flags.put("flexibleOnTitle", key.flexibleOnTitle());
+        flags.put("zeroYears", key.requiredYears() == 0);
+        flags.put("includeCerts", true);
+        render(nodes, key, flags, templates, out, 0);
+    }
+
+    private void render(List<Node> nodes, RubricKey key, Map<String, Boolean> flags,
+                        Map<String, RubricTemplate> templates, CompiledRubric.Builder out, int depth) {
+        for (Node node : nodes) {
+            if (node instanceof Text text) {
+                out.append(text.value);
+            } else if (node instanceof Variable variable) {
+                out.append(value(variable.name, key));
+            } else if (node instanceof Section section) {
+                if (flags.get(section.flag) != section.inverted) {
+                    render(section.children, key, flags, templates, out, depth);
+                }
+            } else if (node instanceof Include include) {
+                RubricTemplate included = templates.get(include.template);
+                if (included == null) {
+                    throw new IllegalStateException(name + ": no template named " + include.template);
+                }
+                if (depth >= MAX_INCLUDE_DEPTH) {
+                    throw new IllegalStateException(name + ": includes nested deeper than " + MAX_INCLUDE_DEPTH);
+                }
+                Map<String, Boolean> scoped = new HashMap<>(flags);
+                scoped.putAll(include.flags);
+                included.render(included.nodes, key, scoped, templates, out, depth + 1);
+            } else if (node instanceof SlotRef ref) {
+                out.slot(ref.slot);
+            }
+        }
+    }
+
+    private static String value(String variable, RubricKey key) {
+        return switch (variable) {
+            case "requiredYears" -> jsNumber(key.requiredYears());
+            case "requiredYearsHalf" -> jsNumber(key.requiredYears() * 0.5);
+            case "requiredYears95" -> jsNumber(key.requiredYears() * 0.95);
+            case "flexibilityPenalty" -> key.flexibleOnTitle() ? "0" : "9";
+            default -> throw new IllegalStateException("Unknown variable " + variable);
+        };
+    }
+
+    /**
+     * {@code String(n)} in JavaScript for the magnitudes a rubric sees: shortest
+     * round-trip digits, no exponent, no trailing {@code .0}.
+     */
+    static String jsNumber(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return new BigDecimal(Double.toString(value)).toPlainString();
+    }
+
+    private static String flag(String template, String flag) {
+        if (!FLAGS.contains(flag)) {
+            throw new IllegalArgumentException(template + ": unknown flag " + flag);
+        }
+        return flag;
+    }
+
+    private static CompiledRubric.Slot slot(String template, String name) {
+        for (CompiledRubric.Slot slot : CompiledRubric.Slot.values()) {
+            if (slot.templateName().equals(name)) {
+                return slot;
+            }
+        }
+        throw new IllegalArgumentException(template + ": unknown slot {{@" + name + "}}");
+    }
+
+    private static Include include(String template, String arg) {
+        String[] words = arg.split("\\s+");
+        Map<String, Boolean> flags = new HashMap<>();
+        for (int i = 1; i < words.length; i++) {
+            String[] assignment = words[i].split("=", 2);
+            if (assignment.length != 2 || !("true".equals(assignment[1]) || "false".equals(assignment[1]))) {
+                throw new IllegalArgumentException(template + ": bad include argument " + words[i]);
+            }
+            flags.put(flag(template, assignment[0]), Boolean.parseBoolean(assignment[1]));
+        }
+        return new Include(words[0], Map.copyOf(flags));
+    }
+
+    private static void collectIncludes(List<Node> nodes, List<String> names) {
+        for (Node node : nodes) {
+            if (node instanceof Include include) {
+                names.add(include.template);
+            } else if (node instanceof Section section) {
+                collectIncludes(section.children, names);
+            }
+        }
+    }
+
+    private static boolean hasSlot(List<Node> nodes, CompiledRubric.Slot slot) {
+        for (Node node : nodes) {
+            if (node instanceof SlotRef ref && ref.slot == slot
+                    || node instanceof Section section && hasSlot(section.children, slot)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private sealed interface Node permits Text, Variable, Section, Include, SlotRef {
+    }
+
+    private record Text(String value) implements Node {
+    }
+
+    private record Variable(String name) implements Node {
+    }
+
+    private record Section(String flag, boolean inverted, List<Node> children) implements Node {
+    }
+
+    private record Include(String template, Map<String, Boolean> flags) implements Node {
+    }
+
+    private record SlotRef(CompiledRubric.Slot slot) implements Node {
+    }
+}
@@ -0,0 +1,206 @@
+package com.talos.backend.scoring;
+
+/**
+ * Candidate tier, star rating, vehicle adjustment and "Give Them a Chance" logic.
+ * Java port of {@code backend-node/services/scoringService.js}; results must stay
+ * identical to the Node implementation.
+ *
+ * <p>Everything here works on primitives and allocates nothing, so the bulk
+ * {@link #scoreAll} loop can re-score a whole page of pipeline rows in place.
+ */
+public final class ScoringEngine {
+
+    public static final int MAX_SCORE = 100;
+
+    private static final String[] TRANSFERABLE_KEYWORDS = {
+            "maintenance", "customer service", "promoted", "manager", "supervisor"
+    };
+
+    // Scores are whole numbers 0-100 in practice, so the bulk path uses lookup tables.
+    private static final byte[] TIER_BY_SCORE = new byte[MAX_SCORE + 1];
+    private static final double[] STAR_RATING_BY_SCORE = new double[MAX_SCORE + 1];
+
+    static {
+        for (int score = 0; score <= MAX_SCORE; score++) {
+            TIER_BY_SCORE[score] = (byte) calculateTier(score).ordinal();
+            STAR_RATING_BY_SCORE[score] = calculateStarRating(score);
+        }
+    }
+
+    private ScoringEngine() {
+    }
+
+    /**
+     * Tier for an overall score 0-100.
+     */
+    public static Tier calculateTier(double score) {
+        if (score >= 80) {
+            return Tier.GREEN;
+        }
+        if (score >= 50) {
+            return Tier.YELLOW;
+        }
+        return Tier.RED;
+    }
+
+    /**
+     * Star rating 0.0-5.0 for an overall score 0-100, rounded to one decimal.
+     */
+    public static double calculateStarRating(double score) {
+        double rating;
+        if (score >= 80) {
+            rating = 4.0 + (score - 80) / 20; // 4.0 to 5.0
+        } else if (score >= 50) {
+            rating = 2.0 + (score - 50) / 30 * 1.9; // 2.0 to 3.9
+        } else {
+            rating = score / 50 * 1.5; // 0 to 1.5
+        }
+        return Math.round(rating * 10) / 10.0;
+    }
+
+    /**
+     * Adjusts a score for the job's vehicle requirement, clamped to 0-100.
+     */
+    public static double adjustScoreForVehicle(double score, VehicleStatus vehicleStatus, boolean vehicleRequired) {
+        if (!vehicleRequired) {
+            return score;
+        }
+        double adjusted = score;
+        if (vehicleStatus == VehicleStatus.HAS_VEHICLE) {
+            adjusted = score + 5;
+        } else if (vehicleStatus == VehicleStatus.NO_VEHICLE) {
+            adjusted = score - 10;
+        }
+        return Math.min(MAX_SCORE, Math.max(0, adjusted));
+    }
+
+    /**
+     * "Give Them a Chance" (High Potential) flag for yellow/green candidates who may
+     * be undervalued by their overall score alone. Pass {@code Double.NaN} for any
+     * sub-score the analysis did not produce; NaN years count as zero.
+     *
+     * @param transferableBackground result of {@link #hasTransferableBackground} for
+     *                               the candidate summary
+     */
+    public static boolean determineGiveThemAChance(double score, double yearsOfExperience, double requiredYears,
+                                                   double certificationsScore, double technicalSkillsScore,
+                                                   double presentationScore, boolean transferableBackground) {
+        // Only apply to Green or Yellow tier candidates
+        if (score < 50) {
+            return false;
+        }
+
+        double yearsExp = Double.isNaN(yearsOfExperience) ? 0 : yearsOfExperience;
+        double reqYears = Double.isNaN(requiredYears) ? 0 : requiredYears;
+
+        // High upside despite limited experience
+        if (yearsExp < reqYears && yearsExp >= reqYears * 0.5
+                && (certificationsScore >= 80 || technicalSkillsScore >= 80)) {
+            return true;
+        }
+
+        // Overqualified but likely to perform well
+        if (yearsExp > reqYears * 2 && score >= 75) {
+            return true;
+        }
+
+        // Strong transferable background
+        return transferableBackground && presentationScore >= 70;
+    }
+
+    /**
+     * Convenience overload that scans the summary for transferable-background keywords.
+     */
+    public static boolean determineGiveThemAChance(double score, double yearsOfExperience, double requiredYears,
+                                                   double certificationsScore, double technicalSkillsScore,
+                                                   double presentationScore, CharSequence summary) {
+        return determineGiveThemAChance(score, yearsOfExperience, requiredYears, certificationsScore,
+                technicalSkillsScore, presentationScore, hasTransferableBackground(summary));
+    }
+
+    /**
+     * True if the summary mentions maintenance, customer service, a promotion, or a
+     * manager/supervisor role. Case-insensitive, without lower-casing a copy.
+     */
+    public static boolean hasTransferableBackground(CharSequence summary) {
+        if (summary == null) {
+            return false;
+        }
+        for (String keyword : TRANSFERABLE_KEYWORDS) {
+            if (containsIgnoreCase(summary, keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Scores {@code count} candidates in one pass. Writes {@link Tier#ordinal()} codes to
+     * {@code tiers}, the vehicle-adjusted score to {@code tierScores} and the star rating
+     * to {@code starRatings}, matching what the Node routes store in
+     * {@code candidate_pipeline.tier}, {@code tier_score} and {@code star_rating}.
+     *
+     * @param vehicleStatuses {@link VehicleStatus#ordinal()} per candidate, or null to skip
+     *                        the vehicle adjustment
+     * @param vehicleRequired per-candidate job vehicle requirement; ignored when
+     *                        {@code vehicleStatuses} is null
+     */
+    public static void scoreAll(int[] scores, byte[] vehicleStatuses, boolean[] vehicleRequired, int count,
+                                byte[] tiers, int[] tierScores, double[] starRatings) {
+        scoreRange(scores, vehicleStatuses, vehicleRequired, 0, count, tiers, tierScores, starRatings);
+    }
+
+    /**
+     * {@link #scoreAll} over the index range {@code [from, to)}, so a page can be split
+     * across worker threads that share the same arrays.
+     */
+    public static void scoreRange(int[] scores, byte[] vehicleStatuses, boolean[] vehicleRequired, int from, int to,
+                                  byte[] tiers, int[] tierScores, double[] starRatings) {
+        final int hasVehicle = VehicleStatus.HAS_VEHICLE.ordinal();
+        final int noVehicle = VehicleStatus.NO_VEHICLE.ordinal();
+        for (int i = from; i < to; i++) {
+            int score = scores[i];
+            if (score >= 0 && score <= MAX_SCORE) {
+                tiers[i] = TIER_BY_SCORE[score];
+                starRatings[i] = STAR_RATING_BY_SCORE[score];
+            } else {
+                tiers[i] = (byte) calculateTier(score).ordinal();
+                starRatings[i] = calculateStarRating(score);
+            }
+
+            int adjusted = score;
+            if (vehicleStatuses != null && vehicleRequired[i]) {
+                int status = vehicleStatuses[i];
+                if (status == hasVehicle) {
+                    adjusted = score + 5;
+                } else if (status == noVehicle) {
+                    adjusted = score - 10;
+                }
+                adjusted = Math.min(MAX_SCORE, Math.max(0, adjusted));
+            }
+            tierScores[i] = adjusted;
+        }
+    }
+
+    /**
+     * {@link #scoreAll(int[], byte[], boolean[], int, byte[], int[], double[])} without
+     * the vehicle adjustment, as used by the admin re-analysis sweeps.
+     */
+    public static void scoreAll(int[] scores, int count, byte[] tiers, int[] tierScores, double[] starRatings) {
+        scoreAll(scores, null, null, count, tiers, tierScores, starRatings);
+    }
+
+    private static boolean containsIgnoreCase(CharSequence text, String keyword) {
+        int last = text.length() - keyword.length();
+        outer:
+        for (int start = 0; start <= last; start++) {
+            for (int j = 0; j < keyword.length(); j++) {
+                if (Character.toLowerCase(text.charAt(start + j)) != keyword.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,30 @@
+package com.talos.backend.scoring;
+
+/**
+ * Candidate tier as stored in {@code candidate_pipeline.tier}.
+ */
+public enum Tier {
+    GREEN("green"),
+    YELLOW("yellow"),
+    RED("red");
+
+    private static final Tier[] VALUES = values();
+
+    private final String code;
+
+    Tier(String code) {
+        this.code = code;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    /**
+     * Inverse of {@link #ordinal()}, used to decode the {@code byte[]} output of
+     * {@link ScoringEngine#scoreAll}.
+     */
+    public static Tier fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
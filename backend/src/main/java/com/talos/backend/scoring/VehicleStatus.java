@@ -0,0 +1,33 @@
+package com.talos.backend.scoring;
+
+/**
+ * Candidate vehicle status as stored in {@code candidate_pipeline.vehicle_status}.
+ */
+public enum VehicleStatus {
+    HAS_VEHICLE("has_vehicle"),
+    NO_VEHICLE("no_vehicle"),
+    UNKNOWN("unknown");
+
+    private final String code;
+
+    VehicleStatus(String code) {
+        this.code = code;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    /**
+     * Parses a database value; anything unrecognised, including null, is {@link #UNKNOWN}.
+     */
+    public static VehicleStatus fromCode(String code) {
+        if (HAS_VEHICLE.code.equals(code)) {
+            return HAS_VEHICLE;
+        }
+        if (NO_VEHICLE.code.equals(code)) {
+            return NO_VEHICLE;
+        }
+        return UNKNOWN;
+    }
+}
@@ -0,0 +1,57 @@
+package com.talos.backend.search;
+
+import com.talos.backend.auth.AuthenticatedUser;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+/**
+ * Full-text candidate search: ranks with {@link SearchIndex} and loads the result
+ * columns for the hits.
+ */
+@Service
+public class CandidateSearchService {
+
+    private final SearchIndex index;
+    private final SearchQueries queries;
+
+    public CandidateSearchService(SearchIndex index, SearchQueries queries) {
+        this.index = index;
+        this.queries = queries;
+    }
+
+    public boolean isReady() {
+        return index.isReady();
+    }
+
+    /**
+     * The best {@code limit} matches, best first, each with its {@code score}. Only
+     * candidates who applied to one of {@code user}'s jobs are searched, unless
+     * {@code user} is an admin.
+     */
+    public List<Map<String, Object>> search(SearchQuery query, AuthenticatedUser user, int limit) {
+        LongPredicate allowed = null;
+        if (!user.isAdmin()) {
+            Set<Long> visible = queries.candidateIdsForUser(user.userId());
+            allowed = visible::contains;
+        }
+        List<SearchIndex.Hit> hits = index.search(query, limit, allowed);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Map<String, Object>> byId = queries.candidates(hits.stream().map(SearchIndex.Hit::candidateId).toList());
+        List<Map<String, Object>> results = new ArrayList<>(hits.size());
+        for (SearchIndex.Hit hit : hits) {
+            Map<String, Object> row = byId.get(hit.candidateId());
+            if (row != null) {
+                row.put("score", Math.round(hit.score() * 1000) / 1000.0);
+                results.add(row);
+            }
+        }
+        return results;
+    }
+}
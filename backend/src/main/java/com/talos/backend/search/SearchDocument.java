@@ -0,0 +1,11 @@
+package com.talos.backend.search;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What is indexed for one candidate. Each field holds a list of values (one per
+ * certification, strength, and so on); a phrase never matches across two values.
+ */
+public record SearchDocument(long candidateId, Map<SearchField, List<String>> fields) {
+}
@@ -0,0 +1,33 @@
+package com.talos.backend.search;
+
+/**
+ * The parts of a candidate that are searchable. Each field is indexed and scored
+ * separately; {@code weight} multiplies a field's BM25 score, so a certification
+ * named in the analysis outranks one mentioned once in passing in the resume.
+ */
+public enum SearchField {
+    RESUME('r', 1.0),
+    SUMMARY('s', 1.0),
+    STRENGTHS('g', 1.0),
+    SKILLS('k', 1.5),
+    CERTIFICATIONS('c', 2.0);
+
+    private final char code;
+    private final double weight;
+
+    SearchField(char code, double weight) {
+        this.code = code;
+        this.weight = weight;
+    }
+
+    public double weight() {
+        return weight;
+    }
+
+    /**
+     * The dictionary key of {@code token} in this field.
+     */
+    String term(String token) {
+        return code + token;
+    }
+}
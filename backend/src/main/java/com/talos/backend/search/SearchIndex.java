@@ -0,0 +1,542 @@
+package com.talos.backend.search;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Inverted index over candidates' resume text and analysis fields, ranked with BM25.
+ *
+ * <p>The index is a list of immutable {@link Segment}s with compressed postings. An
+ * update indexes the changed candidates into a new small segment and marks their old
+ * documents deleted; once there are more than {@code talos.search.max-segments}, the
+ * small segments are merged. Searches read a snapshot of the segment list and never
+ * wait for an update.
+ *
+ * <p>{@link #save} merges everything into one file under {@code talos.search.dir}
+ * and switches to a read-only memory mapping of it, so a restart maps the file
+ * instead of re-reading every analysis, and the postings live in the page cache
+ * rather than on the heap. Each save writes a new generation; older ones are deleted
+ * once nothing maps them.
+ */
+@Service
+public class SearchIndex implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndex.class);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final String FILE_PREFIX = "search-";
+    private static final String FILE_SUFFIX = ".idx";
+
+    public record Hit(long candidateId, double score) {
+    }
+
+    private record Snapshot(List<Segment> segments, List<BitSet> deleted, int liveDocs) {
+    }
+
+    private record DocRef(Segment segment, int doc) {
+    }
+
+    private final Path dir;
+    private final int maxSegments;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Guarded by writeLock.
+    private final Map<Long, DocRef> live = new HashMap<>();
+    private boolean dirty;
+    private long generation;
+
+    private volatile Snapshot snapshot = new Snapshot(List.of(), List.of(), 0);
+    private volatile boolean ready;
+
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder indexed = new LongAdder();
+    private final LongAdder merges = new LongAdder();
+
+    public SearchIndex(@Value("${talos.search.dir:${java.io.tmpdir}/talos-search}") Path dir,
+                       @Value("${talos.search.max-segments:8}") int maxSegments) {
+        this.dir = dir;
+        this.maxSegments = Math.max(2, maxSegments);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return snapshot.liveDocs();
+    }
+
+    /**
+     * Maps the newest saved index.
+     *
+     * @return the watermark it was saved with, or empty when there is no readable save
+     */
+    public OptionalLong load() {
+        writeLock.lock();
+        try {
+            long newest = savedGenerations().stream().mapToLong(Long::longValue).max().orElse(-1);
+            if (newest < 0) {
+                return OptionalLong.empty();
+            }
+            Segment segment = Segment.map(file(newest));
+            generation = newest;
+            live.clear();
+            register(segment);
+            publish(new ArrayList<>(List.of(segment)), new ArrayList<>(List.of(new BitSet())));
+            dirty = false;
+            ready = true;
+            log.info("Search index loaded from {}: {} candidates", file(newest), segment.docCount());
+            return OptionalLong.of(segment.watermark());
+        } catch (IOException e) {
+            log.warn("Could not load the saved search index from {}; it will be rebuilt", dir, e);
+            return OptionalLong.empty();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index with {@code documents}.
+     */
+    public void replaceAll(Collection<SearchDocument> documents) {
+        writeLock.lock();
+        try {
+            live.clear();
+            Segment segment = Segment.build(latest(documents).values());
+            register(segment);
+            publish(new ArrayList<>(List.of(segment)), new ArrayList<>(List.of(new BitSet())));
+            indexed.add(segment.docCount());
+            dirty = true;
+            ready = true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Re-indexes {@code documents}, replacing any earlier version of each candidate,
+     * and drops {@code removedIds}.
+     */
+    public void update(Collection<SearchDocument> documents, Collection<Long> removedIds) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            List<Segment> segments = new ArrayList<>(current.segments());
+            List<BitSet> deleted = new ArrayList<>(current.deleted());
+            boolean[] copied = new boolean[segments.size()];
+            Map<Long, SearchDocument> latest = latest(documents);
+
+            Set<Long> stale = new HashSet<>(latest.keySet());
+            stale.addAll(removedIds);
+            boolean changed = !latest.isEmpty();
+            for (Long candidateId : stale) {
+                DocRef ref = live.remove(candidateId);
+                if (ref == null) {
+                    continue;
+                }
+                int s = indexOf(segments, ref.segment());
+                if (!copied[s]) {
+                    // Copy on write: searches in flight keep the bit sets they started with.
+                    deleted.set(s, (BitSet) deleted.get(s).clone());
+                    copied[s] = true;
+                }
+                deleted.get(s).set(ref.doc());
+                changed = true;
+            }
+            if (!changed) {
+                return;
+            }
+            if (!latest.isEmpty()) {
+                Segment segment = Segment.build(latest.values());
+                register(segment);
+                segments.add(segment);
+                deleted.add(new BitSet());
+                indexed.add(segment.docCount());
+            }
+            for (int s = segments.size() - 1; s >= 0; s--) {
+                if (deleted.get(s).cardinality() == segments.get(s).docCount()) {
+                    segments.remove(s);
+                    deleted.remove(s);
+                }
+            }
+            if (segments.size() > maxSegments) {
+                mergeSmall(segments, deleted);
+            }
+            publish(segments, deleted);
+            dirty = true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public Set<Long> candidateIds() {
+        writeLock.lock();
+        try {
+            return new HashSet<>(live.keySet());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Merges the index into one segment, writes it as the next generation with
+     * {@code watermark} in its header, and maps it in place of the heap copy.
+     *
+     * @return false when nothing changed since the last save, or the write failed
+     */
+    public boolean save(long watermark) {
+        writeLock.lock();
+        try {
+            if (!dirty) {
+                return false;
+            }
+            Snapshot current = snapshot;
+            byte[] bytes = Segment.merge(current.segments(), current.deleted(), watermark);
+            long next = generation + 1;
+            Path target = file(next);
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, FILE_PREFIX, ".tmp");
+            Files.write(temp, bytes);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Segment mapped = Segment.map(target);
+            generation = next;
+            live.clear();
+            register(mapped);
+            publish(new ArrayList<>(List.of(mapped)), new ArrayList<>(List.of(new BitSet())));
+            dirty = false;
+            deleteOlderGenerations();
+            log.debug("Search index saved to {}: {} candidates, {} bytes", target, mapped.docCount(), bytes.length);
+            return true;
+        } catch (IOException e) {
+            log.error("Could not save the search index to {}", dir, e);
+            return false;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * The best {@code limit} candidates for {@code query}, best first.
+     *
+     * @param allowed which candidates may be returned, or null for all
+     */
+    public List<Hit> search(SearchQuery query, int limit, LongPredicate allowed) {
+        searches.increment();
+        Snapshot current = snapshot;
+        List<Segment> segments = current.segments();
+        if (query.isEmpty() || current.liveDocs() == 0 || limit <= 0) {
+            return List.of();
+        }
+        int n = current.liveDocs();
+        SearchField[] fields = SearchField.values();
+        double[] averageLength = new double[fields.length];
+        long docs = segments.stream().mapToLong(Segment::docCount).sum();
+        for (SearchField field : fields) {
+            long total = segments.stream().mapToLong(s -> s.totalLength(field)).sum();
+            averageLength[field.ordinal()] = Math.max(1.0, (double) total / docs);
+        }
+
+        double[][] scores = new double[segments.size()][];
+        for (String term : query.terms()) {
+            for (SearchField field : fields) {
+                String key = field.term(term);
+                int df = segments.stream().mapToInt(s -> s.docFreq(key)).sum();
+                if (df == 0) {
+                    continue;
+                }
+                double idf = idf(df, n);
+                for (int s = 0; s < segments.size(); s++) {
+                    Segment.Postings postings = segments.get(s).postings(key);
+                    if (postings == null) {
+                        continue;
+                    }
+                    BitSet deleted = current.deleted().get(s);
+                    while (postings.next()) {
+                        int doc = postings.doc();
+                        if (!deleted.get(doc)) {
+                            add(scores, s, segments.get(s), doc, field, idf, postings.freq(), averageLength);
+                        }
+                    }
+                }
+            }
+        }
+
+        int[][] phrasesMatched = new int[segments.size()][];
+        for (List<String> phrase : query.phrases()) {
+            BitSet[] matched = new BitSet[segments.size()];
+            for (SearchField field : fields) {
+                List<List<int[]>> matches = new ArrayList<>(segments.size());
+                int df = 0;
+                for (int s = 0; s < segments.size(); s++) {
+                    List<int[]> segmentMatches = phraseMatches(segments.get(s), current.deleted().get(s), field, phrase);
+                    matches.add(segmentMatches);
+                    df += segmentMatches.size();
+                }
+                if (df == 0) {
+                    continue;
+                }
+                double idf = idf(df, n);
+                for (int s = 0; s < segments.size(); s++) {
+                    for (int[] match : matches.get(s)) {
+                        add(scores, s, segments.get(s), match[0], field, idf, match[1], averageLength);
+                        if (matched[s] == null) {
+                            matched[s] = new BitSet();
+                        }
+                        matched[s].set(match[0]);
+                    }
+                }
+            }
+            for (int s = 0; s < segments.size(); s++) {
+                if (matched[s] == null) {
+                    continue;
+                }
+                if (phrasesMatched[s] == null) {
+                    phrasesMatched[s] = new int[segments.get(s).docCount()];
+                }
+                for (int doc = matched[s].nextSetBit(0); doc >= 0; doc = matched[s].nextSetBit(doc + 1)) {
+                    phrasesMatched[s][doc]++;
+                }
+            }
+        }
+
+        int required = query.phrases().size();
+        // Worst hit at the head: lowest score, then highest id.
+        PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::score)
+                .thenComparing(Comparator.comparingLong(Hit::candidateId).reversed()));
+        for (int s = 0; s < segments.size(); s++) {
+            if (scores[s] == null || (required > 0 && phrasesMatched[s] == null)) {
+                continue;
+            }
+            for (int doc = 0; doc < scores[s].length; doc++) {
+                if (scores[s][doc] <= 0 || (required > 0 && phrasesMatched[s][doc] < required)) {
+                    continue;
+                }
+                long candidateId = segments.get(s).candidateId(doc);
+                if (allowed != null && !allowed.test(candidateId)) {
+                    continue;
+                }
+                top.add(new Hit(candidateId, scores[s][doc]));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(top.comparator().reversed());
+        return hits;
+    }
+
+    private static double idf(int df, int n) {
+        // A deleted document still counts in its segment's document frequency until the next merge.
+        int clamped = Math.min(df, n);
+        return Math.log(1 + (n - clamped + 0.5) / (clamped + 0.5));
+    }
+
+    private static void add(double[][] scores, int s, Segment segment, int doc, SearchField field,
+                            double idf, int freq, double[] averageLength) {
+        if (scores[s] == null) {
+            scores[s] = new double[segment.docCount()];
+        }
+        double norm = 1 - B + B * segment.length(doc, field) / averageLength[field.ordinal()];
+        scores[s][doc] += field.weight() * idf * freq * (K1 + 1) / (freq + K1 * norm);
+    }
+
+    /**
+     * The live documents of {@code segment} that contain {@code phrase} in
+     * {@code field}, as {document, occurrences} pairs.
+     */
+    private static List<int[]> phraseMatches(Segment segment, BitSet deleted, SearchField field, List<String> phrase) {
+        List<int[]> matches = new ArrayList<>();
+        Segment.Postings[] cursors = new Segment.Postings[phrase.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = segment.postings(field.term(phrase.get(i)));
+            if (cursors[i] == null || !cursors[i].next()) {
+                return matches;
+            }
+        }
+        while (true) {
+            int target = 0;
+            for (Segment.Postings cursor : cursors) {
+                target = Math.max(target, cursor.doc());
+            }
+            boolean aligned = true;
+            for (Segment.Postings cursor : cursors) {
+                while (cursor.doc() < target) {
+                    if (!cursor.next()) {
+                        return matches;
+                    }
+                }
+                aligned &= cursor.doc() == target;
+            }
+            if (!aligned) {
+                continue;
+            }
+            if (!deleted.get(target)) {
+                int[][] positions = new int[cursors.length][];
+                for (int i = 0; i < cursors.length; i++) {
+                    positions[i] = cursors[i].positions();
+                }
+                int occurrences = 0;
+                for (int start : positions[0]) {
+                    boolean all = true;
+                    for (int i = 1; i < cursors.length && all; i++) {
+                        all = Arrays.binarySearch(positions[i], start + i) >= 0;
+                    }
+                    if (all) {
+                        occurrences++;
+                    }
+                }
+                if (occurrences > 0) {
+                    matches.add(new int[]{target, occurrences});
+                }
+            }
+            if (!cursors[0].next()) {
+                return matches;
+            }
+        }
+    }
+
+    private void mergeSmall(List<Segment> segments, List<BitSet> deleted) {
+        // Keep the largest segment out of the merge when it holds at least half the
+        // documents, so steady small updates do not rewrite the whole index.
+        int largest = 0;
+        long total = 0;
+        for (int s = 0; s < segments.size(); s++) {
+            int liveDocs = segments.get(s).docCount() - deleted.get(s).cardinality();
+            total += liveDocs;
+            if (liveDocs > segments.get(largest).docCount() - deleted.get(largest).cardinality()) {
+                largest = s;
+            }
+        }
+        int keep = 2L * (segments.get(largest).docCount() - deleted.get(largest).cardinality()) >= total ? largest : -1;
+        List<Segment> merging = new ArrayList<>();
+        List<BitSet> mergingDeleted = new ArrayList<>();
+        for (int s = segments.size() - 1; s >= 0; s--) {
+            if (s != keep) {
+                merging.add(0, segments.remove(s));
+                mergingDeleted.add(0, deleted.remove(s));
+            }
+        }
+        Segment merged = Segment.wrap(Segment.merge(merging, mergingDeleted, 0));
+        register(merged);
+        segments.add(merged);
+        deleted.add(new BitSet());
+        merges.increment();
+    }
+
+    private void register(Segment segment) {
+        for (int doc = 0; doc < segment.docCount(); doc++) {
+            live.put(segment.candidateId(doc), new DocRef(segment, doc));
+        }
+    }
+
+    private void publish(List<Segment> segments, List<BitSet> deleted) {
+        snapshot = new Snapshot(List.copyOf(segments), List.copyOf(deleted), live.size());
+    }
+
+    private static int indexOf(List<Segment> segments, Segment segment) {
+        for (int s = 0; s < segments.size(); s++) {
+            if (segments.get(s) == segment) {
+                return s;
+            }
+        }
+        throw new IllegalStateException("Document refers to a segment that is not in the index");
+    }
+
+    private static Map<Long, SearchDocument> latest(Collection<SearchDocument> documents) {
+        Map<Long, SearchDocument> latest = new LinkedHashMap<>();
+        for (SearchDocument document : documents) {
+            latest.put(document.candidateId(), document);
+        }
+        return latest;
+    }
+
+    private Path file(long generation) {
+        return dir.resolve(FILE_PREFIX + generation + FILE_SUFFIX);
+    }
+
+    private List<Long> savedGenerations() throws IOException {
+        List<Long> generations = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return generations;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    generations.add(Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    // Not ours.
+                }
+            }
+        }
+        return generations;
+    }
+
+    private void deleteOlderGenerations() throws IOException {
+        for (long old : savedGenerations()) {
+            if (old < generation) {
+                try {
+                    Files.deleteIfExists(file(old));
+                } catch (IOException e) {
+                    // Still mapped by a search in flight (Windows refuses); the next save retries.
+                    log.debug("Could not delete {} yet", file(old));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("talos.search.documents", this, SearchIndex::size)
+                .description("Candidates in the search index")
+                .register(registry);
+        Gauge.builder("talos.search.segments", this, index -> index.snapshot.segments().size())
+                .register(registry);
+        Gauge.builder("talos.search.bytes", this,
+                        index -> index.snapshot.segments().stream().mapToLong(Segment::byteSize).sum())
+                .description("Size of the search index segments, heap or mapped")
+                .register(registry);
+        FunctionCounter.builder("talos.search.queries", searches, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("talos.search.indexed", indexed, LongAdder::sum)
+                .description("Candidate documents indexed, re-indexing included")
+                .register(registry);
+        FunctionCounter.builder("talos.search.merges", merges, LongAdder::sum)
+                .register(registry);
+    }
+}
@@ -0,0 +1,172 @@
+package com.talos.backend.search;
+
+import com.talos.backend.extraction.ExtractedText;
+import com.talos.backend.extraction.ExtractionException;
+import com.talos.backend.extraction.TextExtractionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps {@link SearchIndex} in step with the {@code analyses} table.
+ *
+ * <p>On start it maps the saved index and catches up from the watermark saved with
+ * it; without a usable save it indexes every analysis. Every
+ * {@code talos.search.sync.refresh-ms} it re-indexes the analyses whose
+ * {@code updated_at} moved, looking back {@code overlap-ms} as
+ * {@code TalentPoolSync} does. Every {@code reconcile-minutes} it drops candidates
+ * whose analysis is gone (deleting a candidate cascades to the analysis without a
+ * trace) and saves the index if it changed. It is saved on shutdown too.
+ *
+ * <p>Resume text comes from {@link TextExtractionService}, so the candidate's stored
+ * file is extracted here when no earlier read cached its text. A candidate without a
+ * stored resume, or whose resume cannot be read, is searchable by analysis fields
+ * only.
+ *
+ * <p>Disabled unless {@code talos.search.sync.enabled=true}, since it needs the Node
+ * backend's schema.
+ */
+@Component
+@ConditionalOnProperty(name = "talos.search.sync.enabled", havingValue = "true")
+public class SearchIndexSync {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexSync.class);
+
+    private final SearchQueries queries;
+    private final SearchIndex index;
+    private final TextExtractionService textExtraction;
+    private final JdbcTemplate jdbcTemplate;
+    private final long refreshMs;
+    private final long reconcileMinutes;
+    private final long overlapMs;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "search-index-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Timestamp watermark;
+
+    public SearchIndexSync(SearchQueries queries,
+                           SearchIndex index,
+                           TextExtractionService textExtraction,
+                           JdbcTemplate jdbcTemplate,
+                           @Value("${talos.search.sync.refresh-ms:5000}") long refreshMs,
+                           @Value("${talos.search.sync.reconcile-minutes:15}") long reconcileMinutes,
+                           @Value("${talos.search.sync.overlap-ms:30000}") long overlapMs) {
+        this.queries = queries;
+        this.index = index;
+        this.textExtraction = textExtraction;
+        this.jdbcTemplate = jdbcTemplate;
+        this.refreshMs = refreshMs;
+        this.reconcileMinutes = reconcileMinutes;
+        this.overlapMs = overlapMs;
+    }
+
+    @PostConstruct
+    void start() {
+        // One thread runs every task, so a refresh never interleaves with a reconcile or save.
+        scheduler.execute(this::load);
+        scheduler.scheduleWithFixedDelay(this::refresh, refreshMs, refreshMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::reconcile, reconcileMinutes, reconcileMinutes, TimeUnit.MINUTES);
+    }
+
+    void load() {
+        OptionalLong saved = index.load();
+        if (saved.isPresent()) {
+            watermark = new Timestamp(saved.getAsLong());
+            refresh();
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            Timestamp now = databaseNow();
+            List<SearchDocument> documents = withResumeText(queries.documents(null));
+            index.replaceAll(documents);
+            watermark = now;
+            index.save(now.getTime());
+            log.info("Search index built: {} candidates in {} ms", documents.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (RuntimeException e) {
+            log.error("Search index build failed", e);
+        }
+    }
+
+    void refresh() {
+        if (watermark == null) {
+            return;
+        }
+        try {
+            Timestamp now = databaseNow();
+            List<SearchDocument> documents = queries.documents(new Timestamp(watermark.getTime() - overlapMs));
+            if (!documents.isEmpty()) {
+                index.update(withResumeText(documents), List.of());
+            }
+            watermark = now;
+        } catch (RuntimeException e) {
+            log.warn("Search index refresh failed: {}", e.getMessage());
+        }
+    }
+
+    void reconcile() {
+        if (watermark == null) {
+            // The first build failed; try it again.
+            load();
+            return;
+        }
+        try {
+            Set<Long> analyzed = queries.analyzedCandidateIds();
+            Set<Long> removed = index.candidateIds();
+            removed.removeAll(analyzed);
+            if (!removed.isEmpty()) {
+                index.update(List.of(), removed);
+                log.info("Dropped {} candidates without an analysis from the search index", removed.size());
+            }
+            index.save(watermark.getTime());
+        } catch (RuntimeException e) {
+            log.warn("Search index reconcile failed: {}", e.getMessage());
+        }
+    }
+
+    private List<SearchDocument> withResumeText(List<SearchDocument> documents) {
+        for (SearchDocument document : documents) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            try {
+                textExtraction.storedText(document.candidateId())
+                        .map(ExtractedText::text)
+                        .ifPresent(text -> document.fields().put(SearchField.RESUME, List.of(text)));
+            } catch (ExtractionException e) {
+                log.debug("Indexing candidate {} without resume text: {}", document.candidateId(), e.getMessage());
+            }
+        }
+        return documents;
+    }
+
+    private Timestamp databaseNow() {
+        return jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", Timestamp.class);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        if (watermark != null) {
+            index.save(watermark.getTime());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.talos.backend.search;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads what the search index needs from the Node backend's schema.
+ */
+@Component
+public class SearchQueries {
+
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
+    private static final String DOCUMENTS_SQL = """
+            SELECT a.candidate_id, a.summary, a.strengths, a.technical_skills_found, a.certifications_found
+            FROM analyses a
+            WHERE a.candidate_id IS NOT NULL
+            """;
+
+    private static final String CANDIDATES_SQL = """
+            SELECT c.id AS candidate_id, c.full_name, c.filename, c.upload_date,
+                   a.overall_score, a.years_of_experience, a.certifications_found, a.summary
+            FROM candidates c
+            LEFT JOIN analyses a ON a.candidate_id = c.id
+            WHERE c.id IN (%s)
+            """;
+
+    private static final String USER_CANDIDATES_SQL = """
+            SELECT DISTINCT cp.candidate_id
+            FROM candidate_pipeline cp
+            JOIN jobs j ON j.id = cp.job_id
+            WHERE j.user_id = ? AND j.deleted_at IS NULL
+            """;
+
+    private static final TypeReference<List<Object>> LIST = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public SearchQueries(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * The analysis fields of every candidate whose analysis changed since
+     * {@code since}, or of every candidate when it is null. Resume text is not
+     * included.
+     */
+    public List<SearchDocument> documents(Timestamp since) {
+        String sql = since == null ? DOCUMENTS_SQL : DOCUMENTS_SQL + " AND a.updated_at >= ?";
+        Object[] args = since == null ? new Object[0] : new Object[]{since};
+        return jdbcTemplate.query(sql, (rs, i) -> {
+            Map<SearchField, List<String>> fields = new EnumMap<>(SearchField.class);
+            String summary = rs.getString(2);
+            if (summary != null) {
+                fields.put(SearchField.SUMMARY, List.of(summary));
+            }
+            fields.put(SearchField.STRENGTHS, texts(rs, 3));
+            fields.put(SearchField.SKILLS, texts(rs, 4));
+            fields.put(SearchField.CERTIFICATIONS, texts(rs, 5));
+            return new SearchDocument(rs.getLong(1), fields);
+        }, args);
+    }
+
+    public Set<Long> analyzedCandidateIds() {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT candidate_id FROM analyses WHERE candidate_id IS NOT NULL", Long.class));
+    }
+
+    /**
+     * Candidates with a pipeline entry on one of the user's live jobs.
+     */
+    public Set<Long> candidateIdsForUser(long userId) {
+        return new HashSet<>(jdbcTemplate.queryForList(USER_CANDIDATES_SQL, Long.class, userId));
+    }
+
+    /**
+     * The result columns of the given candidates, by id. Candidates deleted since
+     * they were indexed are absent.
+     */
+    public Map<Long, Map<String, Object>> candidates(List<Long> ids) {
+        Map<Long, Map<String, Object>> byId = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_IDS_PER_QUERY));
+            String sql = CANDIDATES_SQL.formatted(String.join(",", Collections.nCopies(chunk.size(), "?")));
+            for (Map<String, Object> row : jdbcTemplate.queryForList(sql, chunk.toArray())) {
+                Object certifications = row.get("certifications_found");
+                if (certifications != null) {
+                    row.put("certifications_found", texts(certifications));
+                }
+                byId.put(((Number) row.get("candidate_id")).longValue(), row);
+            }
+        }
+        return byId;
+    }
+
+    private List<String> texts(ResultSet rs, int column) throws SQLException {
+        return texts(rs.getObject(column));
+    }
+
+    /**
+     * A list column, stored either as a SQL array or as JSON text depending on which
+     * schema created the table.
+     */
+    private List<String> texts(Object value) {
+        List<String> out = new ArrayList<>();
+        if (value instanceof Array array) {
+            try {
+                for (Object element : (Object[]) array.getArray()) {
+                    if (element != null) {
+                        out.add(element.toString());
+                    }
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not read array column", e);
+            }
+        } else if (value instanceof String text && !text.isBlank()) {
+            if (text.startsWith("[")) {
+                try {
+                    for (Object element : objectMapper.readValue(text, LIST)) {
+                        if (element != null) {
+                            out.add(element.toString());
+                        }
+                    }
+                    return out;
+                } catch (JsonProcessingException e) {
+                    // Not JSON after all; treat it as plain text.
+                }
+            }
+            out.add(text);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,40 @@
+package com.talos.backend.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A parsed search. Quoted text is a phrase every result must contain, in order and
+ * within one value of one field ({@code "EPA 608 Universal"}); other words are
+ * optional terms that rank results, and at least one must match when there are no
+ * phrases.
+ */
+public record SearchQuery(List<String> terms, List<List<String>> phrases) {
+
+    static final int MAX_CLAUSES = 32;
+
+    private static final Pattern CLAUSE = Pattern.compile("\"([^\"]*)\"?|(\\S+)");
+
+    public static SearchQuery parse(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        List<List<String>> phrases = new ArrayList<>();
+        Matcher matcher = CLAUSE.matcher(text == null ? "" : text);
+        while (matcher.find() && terms.size() + phrases.size() < MAX_CLAUSES) {
+            List<String> tokens = Tokenizer.tokens(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+            if (matcher.group(1) != null && !tokens.isEmpty() && !phrases.contains(tokens)) {
+                phrases.add(List.copyOf(tokens));
+            } else if (matcher.group(1) == null) {
+                terms.addAll(tokens);
+            }
+        }
+        return new SearchQuery(List.copyOf(terms), List.copyOf(phrases));
+    }
+
+    public boolean isEmpty() {
+        return terms.isEmpty() && phrases.isEmpty();
+    }
+}
@@ -0,0 +1,388 @@
+package com.talos.backend.search;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable part of the search index, held in one buffer: on the heap when built
+ * from documents or merged, memory-mapped when loaded from a saved file. Only the
+ * term dictionary is copied onto the heap; document ids, field lengths and postings
+ * are read from the buffer in place.
+ *
+ * <p>Layout, big-endian:
+ * <pre>
+ *   int magic, int version, long watermark, int docCount, int fieldCount, int termCount
+ *   long candidateId[docCount]
+ *   int length[docCount][fieldCount]                       tokens per field
+ *   termCount x (short utf8Length, utf8 term, int postingsOffset, int docFreq)
+ *   int postingsLength, postings
+ * </pre>
+ * A term's postings hold, for each document in order, varint(doc delta),
+ * varint(frequency) and that many varint position deltas.
+ */
+final class Segment {
+
+    static final int MAGIC = 0x54414C53;
+    static final int VERSION = 1;
+
+    // Positions skipped between two values of a field, so no phrase spans them.
+    private static final int VALUE_GAP = 1;
+
+    private final ByteBuffer buffer;
+    private final long watermark;
+    private final int docCount;
+    private final int fieldCount;
+    private final int idsStart;
+    private final int lengthsStart;
+    private final int postingsStart;
+    private final String[] terms;
+    private final int[] offsets;
+    private final int[] docFreqs;
+    private final long[] totalLengths;
+
+    private Segment(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        ByteBuffer in = buffer.duplicate();
+        if (in.remaining() < 28 || in.getInt() != MAGIC || in.getInt() != VERSION) {
+            throw new IOException("Not a search index segment, or written by another version");
+        }
+        watermark = in.getLong();
+        docCount = in.getInt();
+        fieldCount = in.getInt();
+        int termCount = in.getInt();
+        if (fieldCount != SearchField.values().length) {
+            throw new IOException("Search index segment has " + fieldCount + " fields, expected "
+                    + SearchField.values().length);
+        }
+        idsStart = in.position();
+        lengthsStart = idsStart + 8 * docCount;
+        in.position(lengthsStart + 4 * docCount * fieldCount);
+
+        terms = new String[termCount];
+        offsets = new int[termCount + 1];
+        docFreqs = new int[termCount];
+        for (int i = 0; i < termCount; i++) {
+            byte[] utf8 = new byte[in.getShort()];
+            in.get(utf8);
+            terms[i] = new String(utf8, StandardCharsets.UTF_8);
+            offsets[i] = in.getInt();
+            docFreqs[i] = in.getInt();
+        }
+        offsets[termCount] = in.getInt();
+        postingsStart = in.position();
+        if (postingsStart + offsets[termCount] > buffer.limit()) {
+            throw new IOException("Search index segment is truncated");
+        }
+
+        totalLengths = new long[fieldCount];
+        for (int doc = 0; doc < docCount; doc++) {
+            for (int field = 0; field < fieldCount; field++) {
+                totalLengths[field] += buffer.getInt(lengthsStart + 4 * (doc * fieldCount + field));
+            }
+        }
+    }
+
+    static Segment open(ByteBuffer buffer) throws IOException {
+        return new Segment(buffer);
+    }
+
+    /**
+     * Maps a saved segment read-only. The mapping outlives the channel, and the file
+     * must not be modified while it is in use.
+     */
+    static Segment map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return open(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    static Segment build(Collection<SearchDocument> documents) {
+        Builder builder = new Builder();
+        SearchField[] fields = SearchField.values();
+        for (SearchDocument document : documents) {
+            int[] lengths = new int[fields.length];
+            Map<String, IntList> positions = new LinkedHashMap<>();
+            for (SearchField field : fields) {
+                int position = 0;
+                for (String value : document.fields().getOrDefault(field, List.of())) {
+                    for (String token : Tokenizer.tokens(value)) {
+                        positions.computeIfAbsent(field.term(token), t -> new IntList()).add(position++);
+                        lengths[field.ordinal()]++;
+                    }
+                    position += VALUE_GAP;
+                }
+            }
+            int doc = builder.addDocument(document.candidateId(), lengths);
+            positions.forEach((term, list) -> builder.addPostings(term, doc, list.values, list.size));
+        }
+        return wrap(builder.toBytes(0));
+    }
+
+    /**
+     * Writes the live documents of {@code segments}, in order, into one segment.
+     *
+     * @param deleted per segment, the documents to drop
+     */
+    static byte[] merge(List<Segment> segments, List<BitSet> deleted, long watermark) {
+        Builder builder = new Builder();
+        int[][] docMaps = new int[segments.size()][];
+        for (int s = 0; s < segments.size(); s++) {
+            Segment segment = segments.get(s);
+            int[] docMap = new int[segment.docCount];
+            for (int doc = 0; doc < segment.docCount; doc++) {
+                docMap[doc] = deleted.get(s).get(doc) ? -1 : builder.addDocument(segment.candidateId(doc), segment.lengths(doc));
+            }
+            docMaps[s] = docMap;
+        }
+        // Segment by segment, so each term's postings are appended in document order.
+        for (int s = 0; s < segments.size(); s++) {
+            Segment segment = segments.get(s);
+            for (int t = 0; t < segment.terms.length; t++) {
+                Postings postings = segment.postings(t);
+                while (postings.next()) {
+                    int doc = docMaps[s][postings.doc()];
+                    if (doc >= 0) {
+                        int[] positions = postings.positions();
+                        builder.addPostings(segment.terms[t], doc, positions, positions.length);
+                    }
+                }
+            }
+        }
+        return builder.toBytes(watermark);
+    }
+
+    static Segment wrap(byte[] bytes) {
+        try {
+            return open(ByteBuffer.wrap(bytes));
+        } catch (IOException e) {
+            throw new IllegalStateException("Built an unreadable segment", e);
+        }
+    }
+
+    long watermark() {
+        return watermark;
+    }
+
+    int docCount() {
+        return docCount;
+    }
+
+    int byteSize() {
+        return buffer.capacity();
+    }
+
+    long candidateId(int doc) {
+        return buffer.getLong(idsStart + 8 * doc);
+    }
+
+    int length(int doc, SearchField field) {
+        return buffer.getInt(lengthsStart + 4 * (doc * fieldCount + field.ordinal()));
+    }
+
+    long totalLength(SearchField field) {
+        return totalLengths[field.ordinal()];
+    }
+
+    int docFreq(String term) {
+        int index = Arrays.binarySearch(terms, term);
+        return index >= 0 ? docFreqs[index] : 0;
+    }
+
+    /**
+     * The postings of {@code term}, or null when no document has it.
+     */
+    Postings postings(String term) {
+        int index = Arrays.binarySearch(terms, term);
+        return index >= 0 ? postings(index) : null;
+    }
+
+    private Postings postings(int index) {
+        return new Postings(buffer, postingsStart + offsets[index], postingsStart + offsets[index + 1]);
+    }
+
+    private int[] lengths(int doc) {
+        int[] lengths = new int[fieldCount];
+        for (int field = 0; field < fieldCount; field++) {
+            lengths[field] = buffer.getInt(lengthsStart + 4 * (doc * fieldCount + field));
+        }
+        return lengths;
+    }
+
+    /**
+     * Cursor over one term's postings. Positions not read before {@link #next()} are
+     * skipped.
+     */
+    static final class Postings {
+
+        private final ByteBuffer buffer;
+        private final int end;
+        private int position;
+        private int doc = -1;
+        private int freq;
+        private int unreadPositions;
+
+        Postings(ByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.position = start;
+            this.end = end;
+        }
+
+        boolean next() {
+            for (; unreadPositions > 0; unreadPositions--) {
+                readVarint();
+            }
+            if (position >= end) {
+                return false;
+            }
+            doc += readVarint();
+            freq = readVarint();
+            unreadPositions = freq;
+            return true;
+        }
+
+        int doc() {
+            return doc;
+        }
+
+        int freq() {
+            return freq;
+        }
+
+        int[] positions() {
+            int[] positions = new int[freq];
+            int current = 0;
+            for (int i = 0; i < freq; i++) {
+                current += readVarint();
+                positions[i] = current;
+            }
+            unreadPositions = 0;
+            return positions;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = buffer.get(position++);
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+    }
+
+    private static final class Builder {
+
+        private long[] ids = new long[64];
+        private int[] lengths = new int[64 * SearchField.values().length];
+        private int docCount;
+        private final TreeMap<String, PostingsWriter> postings = new TreeMap<>();
+
+        int addDocument(long candidateId, int[] fieldLengths) {
+            if (docCount == ids.length) {
+                ids = Arrays.copyOf(ids, docCount * 2);
+                lengths = Arrays.copyOf(lengths, lengths.length * 2);
+            }
+            ids[docCount] = candidateId;
+            System.arraycopy(fieldLengths, 0, lengths, docCount * fieldLengths.length, fieldLengths.length);
+            return docCount++;
+        }
+
+        void addPostings(String term, int doc, int[] positions, int count) {
+            postings.computeIfAbsent(term, t -> new PostingsWriter()).add(doc, positions, count);
+        }
+
+        byte[] toBytes(long watermark) {
+            int fieldCount = SearchField.values().length;
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(watermark);
+                out.writeInt(docCount);
+                out.writeInt(fieldCount);
+                out.writeInt(postings.size());
+                for (int doc = 0; doc < docCount; doc++) {
+                    out.writeLong(ids[doc]);
+                }
+                for (int i = 0; i < docCount * fieldCount; i++) {
+                    out.writeInt(lengths[i]);
+                }
+                int offset = 0;
+                for (Map.Entry<String, PostingsWriter> entry : postings.entrySet()) {
+                    byte[] utf8 = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                    out.writeShort(utf8.length);
+                    out.write(utf8);
+                    out.writeInt(offset);
+                    out.writeInt(entry.getValue().docFreq);
+                    offset += entry.getValue().size;
+                }
+                out.writeInt(offset);
+                for (PostingsWriter writer : postings.values()) {
+                    out.write(writer.bytes, 0, writer.size);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    private static final class PostingsWriter {
+
+        private byte[] bytes = new byte[16];
+        private int size;
+        private int lastDoc = -1;
+        private int docFreq;
+
+        void add(int doc, int[] positions, int count) {
+            writeVarint(doc - lastDoc);
+            writeVarint(count);
+            int last = 0;
+            for (int i = 0; i < count; i++) {
+                writeVarint(positions[i] - last);
+                last = positions[i];
+            }
+            lastDoc = doc;
+            docFreq++;
+        }
+
+        private void writeVarint(int value) {
+            if (size + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+    }
+
+    private static final class IntList {
+
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
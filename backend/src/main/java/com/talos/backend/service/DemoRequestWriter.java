@@ -0,0 +1,286 @@
+package com.talos.backend.service;
+
+import com.talos.backend.model.DemoRequest;
+import com.talos.backend.repository.DemoRequestRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Write-behind queue for demo requests. Request threads only enqueue; a single
+ * writer thread drains the queue and persists up to {@code batchSize} rows per
+ * transaction so Hibernate can send them as one JDBC batch.
+ *
+ * <p>Every queued request was already answered 202, so none is dropped: if a batch
+ * fails, its rows are retried one transaction each, and a row that still fails is
+ * written to {@code spool-dir} as a {@code .properties} file. The writer persists the
+ * spooled requests first thing at the next startup.
+ */
+@Service
+public class DemoRequestWriter implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(DemoRequestWriter.class);
+
+    private static final String SPOOL_SUFFIX = ".properties";
+    private static final String PARTIAL_SUFFIX = ".tmp";
+
+    private final DemoRequestRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<DemoRequest> queue;
+    private final Path spoolDir;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    private final LongAdder persisted = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder spooled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile boolean running = true;
+    private Thread writerThread;
+
+    public DemoRequestWriter(DemoRequestRepository repository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${talos.demo-requests.queue-capacity:10000}") int queueCapacity,
+                             @Value("${talos.demo-requests.batch-size:50}") int batchSize,
+                             @Value("${talos.demo-requests.flush-interval-ms:200}") long flushIntervalMs,
+                             @Value("${talos.demo-requests.spool-dir:${java.io.tmpdir}/talos-demo-requests}")
+                             Path spoolDir) throws IOException {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.spoolDir = spoolDir;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        Files.createDirectories(spoolDir);
+    }
+
+    @PostConstruct
+    void start() {
+        writerThread = new Thread(this::drainLoop, "demo-request-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues a request for persistence without blocking.
+     *
+     * @return false if the queue is full and the request was not accepted
+     */
+    public boolean enqueue(DemoRequest request) {
+        if (running && queue.offer(request)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    public int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    /**
+     * False once the writer thread has died; queued requests are then never persisted.
+     */
+    public boolean isWriterAlive() {
+        return writerThread != null && writerThread.isAlive();
+    }
+
+    private void drainLoop() {
+        replaySpool();
+        List<DemoRequest> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                DemoRequest first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                // Shutdown requested; fall through and drain what is left.
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<DemoRequest> batch) {
+        try {
+            // Copies, so a failed batch leaves no generated ids behind on the queued requests.
+            transactionTemplate.executeWithoutResult(status -> repository.saveAll(batch.stream()
+                    .map(DemoRequestWriter::copy)
+                    .toList()));
+            persisted.add(batch.size());
+            log.debug("Persisted {} demo requests", batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to persist batch of {} demo requests; retrying one at a time", batch.size(), e);
+            for (DemoRequest request : batch) {
+                if (!saveAlone(request)) {
+                    spool(request);
+                }
+            }
+        }
+    }
+
+    private boolean saveAlone(DemoRequest request) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.save(copy(request)));
+            persisted.increment();
+            return true;
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("Failed to persist demo request from {}", request.getEmail(), e);
+            return false;
+        }
+    }
+
+    private static DemoRequest copy(DemoRequest request) {
+        DemoRequest copy = new DemoRequest();
+        copy.setFirstName(request.getFirstName());
+        copy.setLastName(request.getLastName());
+        copy.setEmail(request.getEmail());
+        copy.setCompany(request.getCompany());
+        copy.setPhone(request.getPhone());
+        copy.setCompanySize(request.getCompanySize());
+        copy.setCurrentChallenges(request.getCurrentChallenges());
+        copy.setCreatedAt(request.getCreatedAt());
+        return copy;
+    }
+
+    // Written through a rename, so a spool file is either whole or absent.
+    private void spool(DemoRequest request) {
+        Properties fields = new Properties();
+        setIfPresent(fields, "firstName", request.getFirstName());
+        setIfPresent(fields, "lastName", request.getLastName());
+        setIfPresent(fields, "email", request.getEmail());
+        setIfPresent(fields, "company", request.getCompany());
+        setIfPresent(fields, "phone", request.getPhone());
+        setIfPresent(fields, "companySize", request.getCompanySize());
+        setIfPresent(fields, "currentChallenges", request.getCurrentChallenges());
+        setIfPresent(fields, "createdAt", request.getCreatedAt() != null ? request.getCreatedAt().toString() : null);
+        Path file = spoolDir.resolve(UUID.randomUUID() + SPOOL_SUFFIX);
+        Path partial = file.resolveSibling(file.getFileName() + PARTIAL_SUFFIX);
+        try {
+            try (Writer out = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+                fields.store(out, null);
+            }
+            Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE);
+            spooled.increment();
+        } catch (IOException e) {
+            log.error("Could not spool demo request from {}; it is lost", request.getEmail(), e);
+        }
+    }
+
+    private static void setIfPresent(Properties fields, String key, String value) {
+        if (value != null) {
+            fields.setProperty(key, value);
+        }
+    }
+
+    private static DemoRequest read(Path file) throws IOException {
+        Properties fields = new Properties();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            fields.load(in);
+        }
+        DemoRequest request = new DemoRequest();
+        request.setFirstName(fields.getProperty("firstName"));
+        request.setLastName(fields.getProperty("lastName"));
+        request.setEmail(fields.getProperty("email"));
+        request.setCompany(fields.getProperty("company"));
+        request.setPhone(fields.getProperty("phone"));
+        request.setCompanySize(fields.getProperty("companySize"));
+        request.setCurrentChallenges(fields.getProperty("currentChallenges"));
+        String createdAt = fields.getProperty("createdAt");
+        request.setCreatedAt(createdAt != null ? Instant.parse(createdAt) : Instant.now());
+        return request;
+    }
+
+    /**
+     * Persists the requests an earlier run spooled; one that still fails stays spooled.
+     */
+    private void replaySpool() {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(spoolDir)) {
+            files = listing.filter(Files::isRegularFile).toList();
+        } catch (IOException e) {
+            log.error("Could not read the demo request spool {}", spoolDir, e);
+            return;
+        }
+        for (Path file : files) {
+            try {
+                if (file.getFileName().toString().endsWith(PARTIAL_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                } else if (saveAlone(read(file))) {
+                    Files.deleteIfExists(file);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("Could not replay spooled demo request {}", file, e);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("talos.demo.requests.queue.depth", queue, BlockingQueue::size)
+                .description("Demo requests accepted but not yet persisted")
+                .register(registry);
+        Gauge.builder("talos.demo.requests.queue.remaining", queue, BlockingQueue::remainingCapacity)
+                .description("Free slots before demo requests are rejected with 503")
+                .register(registry);
+        FunctionCounter.builder("talos.demo.requests", persisted, LongAdder::sum)
+                .tag("result", "persisted")
+                .register(registry);
+        FunctionCounter.builder("talos.demo.requests", failed, LongAdder::sum)
+                .tag("result", "failed")
+                .description("Demo request writes that failed even on their own")
+                .register(registry);
+        FunctionCounter.builder("talos.demo.requests", spooled, LongAdder::sum)
+                .tag("result", "spooled")
+                .description("Demo requests written to the spool for the next startup to persist")
+                .register(registry);
+        FunctionCounter.builder("talos.demo.requests", rejected, LongAdder::sum)
+                .tag("result", "rejected")
+                .description("Demo requests refused because the queue was full")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+}
@@ -0,0 +1,29 @@
+package com.talos.backend.service;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the demo request writer DOWN if its thread has died, since requests
+ * would then be accepted with 202 and never persisted. A full queue is still UP:
+ * it is transient and already answered with 503 per request.
+ */
+@Component
+public class DemoRequestWriterHealthIndicator implements HealthIndicator {
+
+    private final DemoRequestWriter writer;
+
+    public DemoRequestWriterHealthIndicator(DemoRequestWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = writer.isWriterAlive() ? Health.up() : Health.down();
+        return health
+                .withDetail("queueDepth", writer.queueDepth())
+                .withDetail("remainingCapacity", writer.remainingCapacity())
+                .build();
+    }
+}
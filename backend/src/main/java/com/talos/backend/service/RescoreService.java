@@ -0,0 +1,425 @@
+package com.talos.backend.service;
+
+import com.talos.backend.model.RescoreJob;
+import com.talos.backend.repository.RescoreJobRepository;
+import com.talos.backend.scoring.ScoringEngine;
+import com.talos.backend.scoring.Tier;
+import com.talos.backend.scoring.VehicleStatus;
+import com.talos.backend.talentpool.TalentPoolIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Re-scores {@code candidate_pipeline} rows from their stored analysis score.
+ *
+ * <p>Rows are read in pages with a keyset cursor on {@code cp.id}, scored in place
+ * with {@link ScoringEngine#scoreRange} on a fork-join pool, and only rows whose
+ * tier, tier_score, star_rating or give_them_a_chance actually changed are written
+ * back in one JDBC batch per page. The cursor is saved in the same transaction as each page, so an
+ * interrupted run resumes exactly where it stopped. Heap use is bounded by the
+ * page size, not the table size.
+ *
+ * <p>Unlike the Node {@code reanalyze-*} admin routes this does not call the model
+ * again; it re-applies the scoring rules to the stored analysis. A score of 0 from a
+ * failed analysis stays 0, so those rows still need the Node
+ * {@code reanalyze-zero-scores} route.
+ */
+@Service
+public class RescoreService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RescoreService.class);
+
+    private static final String FROM_WHERE = """
+            FROM candidate_pipeline cp
+            JOIN analyses a ON a.candidate_id = cp.candidate_id
+            JOIN jobs j ON j.id = cp.job_id
+            WHERE j.deleted_at IS NULL AND a.overall_score IS NOT NULL
+            """;
+
+    private static final String PAGE_SQL = """
+            SELECT cp.id, a.overall_score, cp.vehicle_status, j.vehicle_required,
+                   cp.tier, cp.tier_score, cp.star_rating, cp.give_them_a_chance,
+                   a.years_of_experience, j.required_years_experience, a.certifications_score,
+                   a.technical_skills_score, a.presentation_score, a.summary
+            """ + FROM_WHERE + " AND cp.id > ? ORDER BY cp.id LIMIT ?";
+
+    private static final String UPDATE_SQL = """
+            UPDATE candidate_pipeline SET tier = ?, tier_score = ?, star_rating = ?, give_them_a_chance = ?,
+                   updated_at = CURRENT_TIMESTAMP
+            WHERE id = ?""";
+
+    // The Node routes default a job without a requirement to two years.
+    private static final double DEFAULT_REQUIRED_YEARS = 2;
+
+    private static final int SPLIT_THRESHOLD = 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RescoreJobRepository jobRepository;
+    private final TalentPoolIndex talentPoolIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageSize;
+    private final ForkJoinPool scoringPool;
+    private final ExecutorService driver = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "rescore-driver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicReference<Long> runningJobId = new AtomicReference<>();
+    private final AtomicBoolean cancelRequested = new AtomicBoolean();
+
+    private final LongAdder processedRows = new LongAdder();
+    private final LongAdder changedRows = new LongAdder();
+    private final LongAdder pageLoads = new LongAdder();
+    private final LongAdder pageLoadNanos = new LongAdder();
+    private final LongAdder pageCommits = new LongAdder();
+    private final LongAdder pageCommitNanos = new LongAdder();
+
+    public RescoreService(JdbcTemplate jdbcTemplate,
+                          RescoreJobRepository jobRepository,
+                          TalentPoolIndex talentPoolIndex,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${talos.rescore.page-size:2000}") int pageSize,
+                          @Value("${talos.rescore.parallelism:0}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobRepository = jobRepository;
+        this.talentPoolIndex = talentPoolIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pageSize = pageSize;
+        this.scoringPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Starts a new run in the background.
+     *
+     * @throws IllegalStateException if another run is in progress
+     */
+    public RescoreJob start() {
+        RescoreJob job = new RescoreJob();
+        job.setStatus(RescoreJob.Status.RUNNING);
+        job.setStartedAt(Instant.now());
+        job.setUpdatedAt(job.getStartedAt());
+        return launch(job);
+    }
+
+    /**
+     * Continues a cancelled or failed run from its saved cursor.
+     *
+     * @throws IllegalStateException if another run is in progress or the run already completed
+     */
+    public Optional<RescoreJob> resume(long jobId) {
+        return jobRepository.findById(jobId).map(job -> {
+            if (job.getStatus() == RescoreJob.Status.COMPLETED) {
+                throw new IllegalStateException("Rescore job " + jobId + " already completed");
+            }
+            job.setStatus(RescoreJob.Status.RUNNING);
+            job.setErrorMessage(null);
+            job.setFinishedAt(null);
+            job.setUpdatedAt(Instant.now());
+            return launch(job);
+        });
+    }
+
+    /**
+     * Asks the run to stop after its current page. Returns false if the job is not running.
+     */
+    public boolean cancel(long jobId) {
+        if (!Long.valueOf(jobId).equals(runningJobId.get())) {
+            return false;
+        }
+        cancelRequested.set(true);
+        return true;
+    }
+
+    public Optional<RescoreJob> find(long jobId) {
+        return jobRepository.findById(jobId);
+    }
+
+    private synchronized RescoreJob launch(RescoreJob job) {
+        if (runningJobId.get() != null) {
+            throw new IllegalStateException("Rescore job " + runningJobId.get() + " is already running");
+        }
+        if (job.getTotalRows() == 0) {
+            job.setTotalRows(countRows());
+        }
+        RescoreJob saved = jobRepository.save(job);
+        runningJobId.set(saved.getId());
+        cancelRequested.set(false);
+        driver.execute(() -> run(saved));
+        return saved;
+    }
+
+    private long countRows() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) " + FROM_WHERE, Long.class);
+        return count != null ? count : 0;
+    }
+
+    private void run(RescoreJob job) {
+        Page page = new Page(pageSize);
+        try {
+            while (!cancelRequested.get()) {
+                long started = System.nanoTime();
+                int count = page.load(jdbcTemplate, PAGE_SQL, job.getLastPipelineId());
+                pageLoads.increment();
+                pageLoadNanos.add(System.nanoTime() - started);
+                if (count == 0) {
+                    break;
+                }
+                scoringPool.invoke(new ScoreTask(page, 0, count));
+                started = System.nanoTime();
+                job = commitPage(job, page, count);
+                pageCommits.increment();
+                pageCommitNanos.add(System.nanoTime() - started);
+            }
+            finish(job, cancelRequested.get() ? RescoreJob.Status.CANCELLED : RescoreJob.Status.COMPLETED, null);
+        } catch (RuntimeException e) {
+            log.error("Rescore job {} failed after pipeline id {}", job.getId(), job.getLastPipelineId(), e);
+            finish(job, RescoreJob.Status.FAILED, e.getMessage());
+        } finally {
+            runningJobId.set(null);
+        }
+    }
+
+    private RescoreJob commitPage(RescoreJob job, Page page, int count) {
+        int[] changed = page.changedIndexes(count);
+        RescoreJob saved = transactionTemplate.execute(status -> {
+            if (changed.length > 0) {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        int row = changed[i];
+                        ps.setString(1, Tier.fromOrdinal(page.tiers[row]).code());
+                        ps.setInt(2, page.tierScores[row]);
+                        ps.setDouble(3, page.starRatings[row]);
+                        ps.setBoolean(4, page.chances[row]);
+                        ps.setLong(5, page.ids[row]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return changed.length;
+                    }
+                });
+            }
+            job.setLastPipelineId(page.ids[count - 1]);
+            job.setProcessedRows(job.getProcessedRows() + count);
+            job.setChangedRows(job.getChangedRows() + changed.length);
+            job.setUpdatedAt(Instant.now());
+            return jobRepository.save(job);
+        });
+        for (int row : changed) {
+            talentPoolIndex.updateScore(page.ids[row], Tier.fromOrdinal(page.tiers[row]), page.tierScores[row]);
+        }
+        processedRows.add(count);
+        changedRows.add(changed.length);
+        return saved;
+    }
+
+    private void finish(RescoreJob job, RescoreJob.Status status, String error) {
+        job.setStatus(status);
+        job.setErrorMessage(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+        job.setFinishedAt(Instant.now());
+        job.setUpdatedAt(job.getFinishedAt());
+        jobRepository.save(job);
+        log.info("Rescore job {} {}: {} processed, {} changed", job.getId(), status,
+                job.getProcessedRows(), job.getChangedRows());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("talos.rescore.running", runningJobId, id -> id.get() != null ? 1 : 0)
+                .description("1 while a re-scoring run is in progress")
+                .register(registry);
+        FunctionCounter.builder("talos.rescore.rows", processedRows, LongAdder::sum)
+                .tag("result", "processed")
+                .register(registry);
+        FunctionCounter.builder("talos.rescore.rows", changedRows, LongAdder::sum)
+                .tag("result", "changed")
+                .register(registry);
+        FunctionTimer.builder("talos.rescore.page", pageLoads, LongAdder::sum,
+                        p -> pageLoadNanos.sum(), TimeUnit.NANOSECONDS)
+                .tag("phase", "load")
+                .description("Keyset page query")
+                .register(registry);
+        FunctionTimer.builder("talos.rescore.page", pageCommits, LongAdder::sum,
+                        p -> pageCommitNanos.sum(), TimeUnit.NANOSECONDS)
+                .tag("phase", "commit")
+                .description("Batch update of changed rows plus the checkpoint")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        cancelRequested.set(true);
+        driver.shutdown();
+        scoringPool.shutdown();
+    }
+
+    /**
+     * Column buffers for one page, allocated once per run and reused for every page.
+     */
+    private static final class Page {
+        final long[] ids;
+        final int[] scores;
+        final byte[] vehicleStatuses;
+        final boolean[] vehicleRequired;
+        final byte[] oldTiers;
+        final int[] oldTierScores;
+        // star_rating at its stored precision (tenths), -1 for NULL
+        final int[] oldStarTenths;
+        final boolean[] oldChances;
+        final double[] yearsOfExperience;
+        final double[] requiredYears;
+        final double[] certificationsScores;
+        final double[] technicalSkillsScores;
+        final double[] presentationScores;
+        final boolean[] transferableBackgrounds;
+        final byte[] tiers;
+        final int[] tierScores;
+        final double[] starRatings;
+        final boolean[] chances;
+
+        Page(int size) {
+            ids = new long[size];
+            scores = new int[size];
+            vehicleStatuses = new byte[size];
+            vehicleRequired = new boolean[size];
+            oldTiers = new byte[size];
+            oldTierScores = new int[size];
+            oldStarTenths = new int[size];
+            oldChances = new boolean[size];
+            yearsOfExperience = new double[size];
+            requiredYears = new double[size];
+            certificationsScores = new double[size];
+            technicalSkillsScores = new double[size];
+            presentationScores = new double[size];
+            transferableBackgrounds = new boolean[size];
+            tiers = new byte[size];
+            tierScores = new int[size];
+            starRatings = new double[size];
+            chances = new boolean[size];
+        }
+
+        int load(JdbcTemplate jdbcTemplate, String sql, long afterId) {
+            int[] count = {0};
+            jdbcTemplate.query(sql, (ResultSet rs) -> {
+                int i = count[0]++;
+                ids[i] = rs.getLong(1);
+                scores[i] = rs.getInt(2);
+                vehicleStatuses[i] = (byte) VehicleStatus.fromCode(rs.getString(3)).ordinal();
+                vehicleRequired[i] = rs.getBoolean(4);
+                oldTiers[i] = tierOrdinal(rs.getString(5));
+                oldTierScores[i] = rs.getInt(6);
+                oldTierScores[i] = rs.wasNull() ? -1 : oldTierScores[i];
+                double starRating = rs.getDouble(7);
+                oldStarTenths[i] = rs.wasNull() ? -1 : tenths(starRating);
+                oldChances[i] = rs.getBoolean(8);
+                yearsOfExperience[i] = doubleOrNaN(rs, 9);
+                requiredYears[i] = doubleOrNaN(rs, 10);
+                // Node: required_years_experience || 2
+                if (Double.isNaN(requiredYears[i]) || requiredYears[i] == 0) {
+                    requiredYears[i] = DEFAULT_REQUIRED_YEARS;
+                }
+                certificationsScores[i] = doubleOrNaN(rs, 11);
+                technicalSkillsScores[i] = doubleOrNaN(rs, 12);
+                presentationScores[i] = doubleOrNaN(rs, 13);
+                transferableBackgrounds[i] = ScoringEngine.hasTransferableBackground(rs.getString(14));
+            }, afterId, ids.length);
+            return count[0];
+        }
+
+        int[] changedIndexes(int count) {
+            int[] changed = new int[count];
+            int n = 0;
+            for (int i = 0; i < count; i++) {
+                // star_rating is compared at the tenths it is stored with, so float noise
+                // in the column never counts as a change.
+                if (tiers[i] != oldTiers[i] || tierScores[i] != oldTierScores[i]
+                        || tenths(starRatings[i]) != oldStarTenths[i] || chances[i] != oldChances[i]) {
+                    changed[n++] = i;
+                }
+            }
+            return Arrays.copyOf(changed, n);
+        }
+
+        void scoreChances(int from, int to) {
+            for (int i = from; i < to; i++) {
+                chances[i] = ScoringEngine.determineGiveThemAChance(scores[i], yearsOfExperience[i], requiredYears[i],
+                        certificationsScores[i], technicalSkillsScores[i], presentationScores[i],
+                        transferableBackgrounds[i]);
+            }
+        }
+
+        private static int tenths(double rating) {
+            return (int) Math.round(rating * 10);
+        }
+
+        private static double doubleOrNaN(ResultSet rs, int column) throws SQLException {
+            double value = rs.getDouble(column);
+            return rs.wasNull() ? Double.NaN : value;
+        }
+
+        private static byte tierOrdinal(String code) {
+            if (code == null) {
+                return -1;
+            }
+            return switch (code) {
+                case "green" -> (byte) Tier.GREEN.ordinal();
+                case "yellow" -> (byte) Tier.YELLOW.ordinal();
+                case "red" -> (byte) Tier.RED.ordinal();
+                default -> -1;
+            };
+        }
+    }
+
+    private static final class ScoreTask extends RecursiveAction {
+        private final Page page;
+        private final int from;
+        private final int to;
+
+        ScoreTask(Page page, int from, int to) {
+            this.page = page;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                ScoringEngine.scoreRange(page.scores, page.vehicleStatuses, page.vehicleRequired, from, to,
+                        page.tiers, page.tierScores, page.starRatings);
+                page.scoreChances(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ScoreTask(page, from, mid), new ScoreTask(page, mid, to));
+        }
+    }
+}
@@ -0,0 +1,436 @@
+package com.talos.backend.storage;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resume file storage in append-only segment files.
+ *
+ * <p>Uploads are streamed onto the end of the active segment and recorded in an
+ * append-only index log ({@code index.log}) that is replayed into memory on
+ * startup. Segments roll over at {@code talos.resume-store.segment-bytes}. A
+ * re-upload for the same candidate appends a new copy and supersedes the old
+ * index entry; the old bytes stay in their segment until it is compacted.
+ *
+ * <p>Each rollover queues a compaction pass on a background thread. A sealed
+ * segment whose live bytes are under {@code talos.resume-store.compact-below} of
+ * its size has its live files copied onto the active segment and is then retired.
+ * Retired segments are deleted by the following pass rather than at once, so a
+ * download that looked up the old location just before the copy can finish. On
+ * startup, sealed segments with nothing live in them are deleted. Bytes held by
+ * superseded copies are exported as {@code talos.resume.store.reclaimable}.
+ *
+ * <p>Reads never copy a file through the heap: callers either hand the segment
+ * path and byte range to the servlet container's sendfile support, or use
+ * {@link #transferTo}, which is {@link FileChannel#transferTo} over the range.
+ */
+@Service
+public class ResumeStore implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumeStore.class);
+
+    private static final String INDEX_FILE = "index.log";
+
+    private final Path dir;
+    private final long segmentBytes;
+    private final double compactBelow;
+    private final Map<Long, StoredResume> index = new ConcurrentHashMap<>();
+    private final Map<Integer, FileChannel> readChannels = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> liveBytes = new ConcurrentHashMap<>();
+    private final Set<Integer> retired = ConcurrentHashMap.newKeySet();
+    private final AtomicLong segmentTotalBytes = new AtomicLong();
+    private final LongAdder compactedBytes = new LongAdder();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "resume-store-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Object writeLock = new Object();
+    private DataOutputStream indexLog;
+    private FileChannel indexChannel;
+    private FileChannel activeSegment;
+    private int activeSegmentId;
+
+    public ResumeStore(@Value("${talos.resume-store.dir:${java.io.tmpdir}/talos-resumes}") Path dir,
+                       @Value("${talos.resume-store.segment-bytes:268435456}") long segmentBytes,
+                       @Value("${talos.resume-store.compact-below:0.5}") double compactBelow) throws IOException {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.compactBelow = compactBelow;
+        Files.createDirectories(dir);
+        long validIndexBytes = replayIndex();
+
+        indexChannel = FileChannel.open(dir.resolve(INDEX_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        // Drop a record torn by a crash mid-write before appending after it.
+        indexChannel.truncate(validIndexBytes);
+        indexChannel.position(validIndexBytes);
+        indexLog = new DataOutputStream(Channels.newOutputStream(indexChannel));
+
+        activeSegmentId = Math.max(1, highestSegmentId());
+        activeSegment = openForAppend(activeSegmentId);
+        for (int segment : segmentIds()) {
+            long size = Files.size(segmentPath(segment));
+            if (segment != activeSegmentId && liveBytes.getOrDefault(segment, 0L) == 0) {
+                // Retired by a compaction that finished before the last shutdown.
+                Files.delete(segmentPath(segment));
+                log.info("Resume store deleted empty segment {}", segment);
+            } else {
+                segmentTotalBytes.addAndGet(size);
+            }
+        }
+    }
+
+    /**
+     * Streams an upload into the store and makes it the candidate's current file.
+     * The stream is read to the end but never buffered whole.
+     */
+    public StoredResume put(long candidateId, String filename, String contentType, InputStream content)
+            throws IOException {
+        MessageDigest digest = sha256();
+        synchronized (writeLock) {
+            if (activeSegment.size() >= segmentBytes) {
+                rollSegment();
+                compactor.execute(this::compactQuietly);
+            }
+            long offset = activeSegment.size();
+            long length = 0;
+            try (DigestInputStream in = new DigestInputStream(content, digest)) {
+                ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+                byte[] array = buffer.array();
+                int read;
+                while ((read = in.read(array)) != -1) {
+                    buffer.clear().limit(read);
+                    while (buffer.hasRemaining()) {
+                        activeSegment.write(buffer, offset + length + buffer.position());
+                    }
+                    length += read;
+                }
+            } finally {
+                // Counted even if the upload failed part way; those bytes are reclaimable.
+                segmentTotalBytes.addAndGet(activeSegment.size() - offset);
+            }
+            activeSegment.force(false);
+
+            StoredResume stored = new StoredResume(candidateId, activeSegmentId, offset, length,
+                    HexFormat.of().formatHex(digest.digest()), contentType, filename);
+            writeIndexRecord(stored);
+            account(stored, index.put(candidateId, stored));
+            return stored;
+        }
+    }
+
+    public Optional<StoredResume> find(long candidateId) {
+        return Optional.ofNullable(index.get(candidateId));
+    }
+
+    /**
+     * Path of the segment holding a stored file, for container sendfile.
+     */
+    public Path segmentPath(StoredResume resume) {
+        return segmentPath(resume.segment());
+    }
+
+    /**
+     * Copies {@code length} bytes starting {@code start} bytes into the stored file to
+     * {@code target} with {@link FileChannel#transferTo}.
+     */
+    public void transferTo(StoredResume resume, long start, long length, OutputStream target) throws IOException {
+        FileChannel segment = readChannel(resume.segment());
+        WritableByteChannel out = Channels.newChannel(target);
+        long position = resume.offset() + start;
+        long remaining = length;
+        while (remaining > 0) {
+            long sent = segment.transferTo(position, remaining, out);
+            if (sent <= 0) {
+                throw new EOFException("Segment " + resume.segment() + " ended before the stored file");
+            }
+            position += sent;
+            remaining -= sent;
+        }
+    }
+
+    /**
+     * Deletes the segments the previous pass retired, then copies the live files out
+     * of every sealed segment that is mostly superseded copies and retires it.
+     */
+    synchronized void compact() throws IOException {
+        for (int segment : List.copyOf(retired)) {
+            FileChannel channel = readChannels.remove(segment);
+            if (channel != null) {
+                channel.close();
+            }
+            Path path = segmentPath(segment);
+            segmentTotalBytes.addAndGet(-Files.size(path));
+            Files.delete(path);
+            liveBytes.remove(segment);
+            retired.remove(segment);
+            log.info("Resume store deleted retired segment {}", segment);
+        }
+
+        List<Integer> sparse = new ArrayList<>();
+        synchronized (writeLock) {
+            for (int segment : segmentIds()) {
+                long size = Files.size(segmentPath(segment));
+                if (segment != activeSegmentId && !retired.contains(segment)
+                        && liveBytes.getOrDefault(segment, 0L) < size * compactBelow) {
+                    sparse.add(segment);
+                }
+            }
+        }
+        for (int segment : sparse) {
+            long moved = 0;
+            for (StoredResume resume : List.copyOf(index.values())) {
+                if (resume.segment() == segment) {
+                    moved += move(resume);
+                }
+            }
+            if (liveBytes.getOrDefault(segment, 0L) == 0) {
+                retired.add(segment);
+            }
+            compactedBytes.add(moved);
+            log.info("Resume store compacted segment {}, moving {} live bytes", segment, moved);
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Resume store compaction failed; it is retried at the next rollover", e);
+        }
+    }
+
+    /**
+     * Copies a stored file onto the active segment and points the index at the copy,
+     * unless the candidate has uploaded a newer file since. Returns the bytes moved.
+     */
+    private long move(StoredResume resume) throws IOException {
+        synchronized (writeLock) {
+            if (index.get(resume.candidateId()) != resume) {
+                return 0;
+            }
+            if (activeSegment.size() >= segmentBytes) {
+                rollSegment();
+            }
+            long offset = activeSegment.size();
+            FileChannel source = readChannel(resume.segment());
+            activeSegment.position(offset);
+            long copied = 0;
+            while (copied < resume.length()) {
+                long sent = source.transferTo(resume.offset() + copied, resume.length() - copied, activeSegment);
+                if (sent <= 0) {
+                    throw new EOFException("Segment " + resume.segment() + " ended before the stored file");
+                }
+                copied += sent;
+            }
+            activeSegment.force(false);
+            segmentTotalBytes.addAndGet(copied);
+
+            StoredResume moved = new StoredResume(resume.candidateId(), activeSegmentId, offset, resume.length(),
+                    resume.sha256(), resume.contentType(), resume.filename());
+            writeIndexRecord(moved);
+            account(moved, index.put(resume.candidateId(), moved));
+            return copied;
+        }
+    }
+
+    private void account(StoredResume current, StoredResume superseded) {
+        liveBytes.merge(current.segment(), current.length(), Long::sum);
+        if (superseded != null) {
+            liveBytes.merge(superseded.segment(), -superseded.length(), Long::sum);
+        }
+    }
+
+    private FileChannel readChannel(int segment) {
+        return readChannels.computeIfAbsent(segment, id -> {
+            try {
+                return FileChannel.open(segmentPath(id), StandardOpenOption.READ);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void rollSegment() throws IOException {
+        activeSegment.close();
+        activeSegmentId++;
+        activeSegment = openForAppend(activeSegmentId);
+        log.info("Resume store rolled to segment {}", activeSegmentId);
+    }
+
+    private FileChannel openForAppend(int segment) throws IOException {
+        return FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+    }
+
+    private Path segmentPath(int segment) {
+        return dir.resolve(String.format("segment-%08d.dat", segment));
+    }
+
+    private int highestSegmentId() throws IOException {
+        return segmentIds().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    private List<Integer> segmentIds() throws IOException {
+        try (var files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("segment-") && name.endsWith(".dat"))
+                    .map(name -> Integer.parseInt(name.substring(8, name.length() - 4)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void writeIndexRecord(StoredResume stored) throws IOException {
+        indexLog.writeLong(stored.candidateId());
+        indexLog.writeInt(stored.segment());
+        indexLog.writeLong(stored.offset());
+        indexLog.writeLong(stored.length());
+        indexLog.writeUTF(stored.sha256());
+        indexLog.writeUTF(stored.contentType() != null ? stored.contentType() : "");
+        indexLog.writeUTF(stored.filename() != null ? stored.filename() : "");
+        indexLog.flush();
+        indexChannel.force(false);
+    }
+
+    /**
+     * Loads the index log into memory and returns the length of its intact prefix.
+     */
+    private long replayIndex() throws IOException {
+        Path file = dir.resolve(INDEX_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        long valid = 0;
+        CountingInputStream counting = new CountingInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        try (DataInputStream in = new DataInputStream(counting)) {
+            while (true) {
+                StoredResume stored = new StoredResume(in.readLong(), in.readInt(), in.readLong(), in.readLong(),
+                        in.readUTF(), emptyToNull(in.readUTF()), emptyToNull(in.readUTF()));
+                account(stored, index.put(stored.candidateId(), stored));
+                valid = counting.count;
+            }
+        } catch (EOFException e) {
+            // End of log, possibly a torn final record.
+        }
+        log.info("Resume store loaded {} entries from {}", index.size(), dir);
+        return valid;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("talos.resume.store.reclaimable", this, ResumeStore::reclaimableBytes)
+                .description("Bytes in resume store segments held by superseded copies")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("talos.resume.store.compacted", compactedBytes, LongAdder::sum)
+                .description("Live bytes copied out of sparse segments by compaction")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Bytes on disk that no index entry points at: superseded copies, torn writes and
+     * retired segments awaiting deletion.
+     */
+    long reclaimableBytes() {
+        return segmentTotalBytes.get() - liveBytes.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        // Not shutdownNow: interrupting a copy would close the active segment's channel.
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (writeLock) {
+            indexLog.close();
+            activeSegment.close();
+        }
+        for (FileChannel channel : readChannels.values()) {
+            channel.close();
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.talos.backend.storage;
+
+/**
+ * Location of a stored resume file: {@code length} bytes at {@code offset} in segment
+ * {@code segment}. {@code sha256} is the content hash, also used as the HTTP ETag.
+ */
+public record StoredResume(long candidateId, int segment, long offset, long length,
+                           String sha256, String contentType, String filename) {
+}
@@ -0,0 +1,7 @@
+package com.talos.backend.talentpool;
+
+/**
+ * The {@code jobs} columns talent-pool filters read.
+ */
+public record JobRow(long id, Long userId, String positionType, String city, String location, boolean deleted) {
+}
@@ -0,0 +1,62 @@
+package com.talos.backend.talentpool;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A change to one person's rows in the talent pool. Listings show one row per person,
+ * so changes are published per person.
+ *
+ * @param rows        all of the person's rows after the change
+ * @param previous    the rows that changed, as they were before; a row that is in
+ *                    {@code previous} but not in {@code rows} was deleted or moved to
+ *                    another person
+ * @param jobsApplied the person's row count, the listing's {@code jobs_applied}
+ */
+public record PersonChange(String personKey, List<RowState> rows, List<RowState> previous, int jobsApplied) {
+
+    /**
+     * What a listing filtered by {@code query} has to do about this change.
+     *
+     * @param show    the row now shown for the person, or null if none matches
+     * @param hideIds rows that may have been shown for the person and no longer are
+     */
+    public record Delta(RowState show, List<Long> hideIds) {
+    }
+
+    /**
+     * The row a listing filtered by {@code query} shows for this person, or null when
+     * none of the person's rows match.
+     */
+    public RowState best(TalentPoolQuery query) {
+        RowState best = null;
+        for (RowState row : rows) {
+            if (row.matches(query) && (best == null || row.betterThan(best))) {
+                best = row;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * The update for a listing filtered by {@code query}, or null when the person
+     * neither matched before nor matches now. Any row that matched, before or after,
+     * and is not the one shown now is hidden; the listing may never have shown it, so
+     * hiding it must be harmless.
+     */
+    public Delta delta(TalentPoolQuery query) {
+        RowState show = best(query);
+        List<Long> hide = new ArrayList<>();
+        for (RowState old : previous) {
+            if (old.matches(query) && (show == null || old.pipelineId() != show.pipelineId())) {
+                hide.add(old.pipelineId());
+            }
+        }
+        for (RowState row : rows) {
+            if (row != show && row.matches(query) && !hide.contains(row.pipelineId())) {
+                hide.add(row.pipelineId());
+            }
+        }
+        return show == null && hide.isEmpty() ? null : new Delta(show, hide);
+    }
+}
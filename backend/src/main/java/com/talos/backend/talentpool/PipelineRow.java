@@ -0,0 +1,21 @@
+package com.talos.backend.talentpool;
+
+import java.time.Instant;
+
+/**
+ * The columns of one {@code candidate_pipeline} row (joined to its candidate and
+ * analysis) that talent-pool filters and sorts read. Nullable fields mirror
+ * nullable columns.
+ */
+public record PipelineRow(long id,
+                          long candidateId,
+                          long jobId,
+                          String tier,
+                          Integer tierScore,
+                          String pipelineStatus,
+                          String filename,
+                          String personKey,
+                          Instant uploadDate,
+                          Double yearsOfExperience,
+                          boolean hasCertifications) {
+}
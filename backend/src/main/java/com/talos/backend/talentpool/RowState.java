@@ -0,0 +1,59 @@
+package com.talos.backend.talentpool;
+
+import java.util.Locale;
+
+/**
+ * What the talent-pool filters see of one pipeline row at one moment, as published
+ * to {@link TalentPoolIndex.ChangeListener}s. {@code city} and {@code location} are the
+ * job's, lower-cased; {@code visible} is false while the job is unknown or deleted.
+ */
+public record RowState(long pipelineId,
+                       String personKey,
+                       String tier,
+                       Integer tierScore,
+                       String status,
+                       long jobId,
+                       Long ownerId,
+                       String position,
+                       String city,
+                       String location,
+                       Double yearsOfExperience,
+                       boolean certified,
+                       boolean visible) {
+
+    /**
+     * Whether the row passes the filters of {@code query} (its sort and page are
+     * ignored), with the same semantics as {@link TalentPoolIndex#query}.
+     */
+    public boolean matches(TalentPoolQuery query) {
+        if (!visible
+                || query.tier() != null && !query.tier().equals(tier)
+                || query.status() != null && !query.status().equals(status)
+                || query.position() != null && !query.position().equals(position)
+                || query.userId() != null && !query.userId().equals(ownerId)
+                || query.jobId() != null && query.jobId() != jobId
+                || query.hasCertifications() && !certified) {
+            return false;
+        }
+        if (query.city() != null) {
+            String needle = query.city().toLowerCase(Locale.ROOT);
+            if (!(city != null && city.contains(needle) || location != null && location.contains(needle))) {
+                return false;
+            }
+        }
+        return (query.minScore() == null || tierScore != null && tierScore >= query.minScore())
+                && (query.maxScore() == null || tierScore != null && tierScore <= query.maxScore())
+                && (query.minExperience() == null
+                        || yearsOfExperience != null && yearsOfExperience >= query.minExperience());
+    }
+
+    /**
+     * The order that picks a person's row in a listing: highest score, a null score
+     * counting as highest, then lowest pipeline id.
+     */
+    boolean betterThan(RowState other) {
+        long score = tierScore != null ? tierScore : Long.MAX_VALUE;
+        long otherScore = other.tierScore != null ? other.tierScore : Long.MAX_VALUE;
+        return score > otherScore || score == otherScore && pipelineId < other.pipelineId;
+    }
+}
@@ -0,0 +1,877 @@
+package com.talos.backend.talentpool;
+
+import com.talos.backend.scoring.Tier;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of the talent pool, answering the filtered, sorted, paged
+ * listing without a database round trip.
+ *
+ * <p>Pipeline rows live in slots of primitive column arrays (score, tier, status,
+ * person, upload date, years of experience). Equality filters are bitmaps: one
+ * {@link BitSet} per tier, status, position, job owner and job, plus visibility
+ * (row present and its job not deleted) and has-certifications. A query ANDs the
+ * bitmaps it needs, range-checks the survivors against the columns, keeps the best
+ * row per person as the Node query's {@code DISTINCT ON} does, and selects the
+ * requested page with a bounded heap instead of sorting every match.
+ *
+ * <p>Rows and jobs are upserted one at a time as they change ({@link TalentPoolSync}
+ * polls {@code updated_at}, and in-process writers call {@link #updateScore}), and
+ * periodically replaced wholesale to pick up hard deletes. Reads share a read lock;
+ * updates take the write lock briefly. Each update also adjusts the
+ * {@link TalentPoolStats} of the people it touches.
+ *
+ * <p>A {@link ChangeListener} is told which people each update touched, with their
+ * rows' states before the lock is released; the states are only computed while the
+ * listener is listening. A rebuild is diffed against the index it replaces, so rows
+ * that were hard-deleted are reported too.
+ *
+ * <p>Ordering follows PostgreSQL: a null score, date, name or position sorts above
+ * every value. Ties are broken by pipeline id.
+ */
+@Service
+public class TalentPoolIndex implements MeterBinder {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Data data = new Data();
+    private volatile boolean ready;
+    private final LongAdder statsDrift = new LongAdder();
+    private volatile ChangeListener listener;
+
+    /**
+     * Receives the people each update touched. Called after the write lock is
+     * released, on the updating thread, so it must return quickly.
+     */
+    public interface ChangeListener {
+
+        /**
+         * False while nobody is subscribed; changes are then not computed at all.
+         */
+        boolean isListening();
+
+        void changed(List<PersonChange> changes);
+    }
+
+    public void setChangeListener(ChangeListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * True once the index has been loaded; until then queries would see an empty pool.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return data.live.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Dashboard counters, maintained with the index. Reading them takes no lock.
+     */
+    public TalentPoolStats stats() {
+        return data.stats;
+    }
+
+    /**
+     * Replaces the whole index. The new contents are built without holding the lock.
+     *
+     * @return how far the replaced statistics had drifted from the rebuilt ones; see
+     *         {@link TalentPoolStats#drift}
+     */
+    public long replaceAll(Collection<JobRow> jobs, Collection<PipelineRow> rows) {
+        return replaceAll(jobs, rows, List.of(), List.of());
+    }
+
+    /**
+     * Replaces the whole index, first bringing the replaced statistics up to the same
+     * moment as {@code jobs} and {@code rows}: {@code pendingJobs} and
+     * {@code pendingRows} are the changes since the last {@link #apply}, read in the
+     * same snapshot as the full lists. Changes that were merely not polled yet then do
+     * not count as drift; what remains is what incremental updates cannot see (hard
+     * deletes, candidate and analysis edits) or got wrong.
+     */
+    public long replaceAll(Collection<JobRow> jobs, Collection<PipelineRow> rows,
+                           Collection<JobRow> pendingJobs, Collection<PipelineRow> pendingRows) {
+        Data rebuilt = new Data();
+        jobs.forEach(rebuilt::putJob);
+        rows.forEach(rebuilt::putRow);
+        long drift = 0;
+        List<PersonChange> changes = List.of();
+        lock.writeLock().lock();
+        try {
+            if (ready && listening()) {
+                changes = Data.diff(data, rebuilt);
+            }
+            if (ready) {
+                // The replaced data is dropped below, so it can be caught up in place.
+                pendingJobs.forEach(data::putJob);
+                pendingRows.forEach(data::putRow);
+                drift = data.stats.drift(rebuilt.stats);
+            }
+            data = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        statsDrift.add(drift);
+        publish(changes);
+        return drift;
+    }
+
+    /**
+     * Applies changed jobs, then changed rows, as one update.
+     */
+    public void apply(Collection<JobRow> jobs, Collection<PipelineRow> rows) {
+        List<PersonChange> changes = List.of();
+        lock.writeLock().lock();
+        try {
+            Map<Long, RowState> before = listening() ? data.states(jobs, rows) : null;
+            jobs.forEach(data::putJob);
+            rows.forEach(data::putRow);
+            if (before != null) {
+                changes = data.changes(before);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        publish(changes);
+    }
+
+    public void remove(long pipelineId) {
+        List<PersonChange> changes = List.of();
+        lock.writeLock().lock();
+        try {
+            Map<Long, RowState> before = listening() ? data.states(pipelineId) : null;
+            data.removeRow(pipelineId);
+            if (before != null) {
+                changes = data.changes(before);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        publish(changes);
+    }
+
+    /**
+     * Records a re-scored row. Unknown ids are ignored; the next sync picks them up.
+     */
+    public void updateScore(long pipelineId, Tier tier, int tierScore) {
+        List<PersonChange> changes = List.of();
+        lock.writeLock().lock();
+        try {
+            Map<Long, RowState> before = listening() ? data.states(pipelineId) : null;
+            data.updateScore(pipelineId, tier, tierScore);
+            if (before != null) {
+                changes = data.changes(before);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        publish(changes);
+    }
+
+    private boolean listening() {
+        ChangeListener current = listener;
+        return current != null && current.isListening();
+    }
+
+    private void publish(List<PersonChange> changes) {
+        ChangeListener current = listener;
+        if (current != null && !changes.isEmpty()) {
+            current.changed(changes);
+        }
+    }
+
+    /**
+     * Runs a listing query.
+     */
+    public Result query(TalentPoolQuery query) {
+        lock.readLock().lock();
+        try {
+            return data.query(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("talos.talent.pool.rows", this, TalentPoolIndex::size)
+                .description("Pipeline rows held in the talent-pool index")
+                .register(registry);
+        FunctionCounter.builder("talos.talent.pool.stats.drift", statsDrift, LongAdder::sum)
+                .description("Counts the incremental statistics had drifted by when a full rebuild replaced them")
+                .register(registry);
+    }
+
+    /**
+     * One page of results, best first.
+     *
+     * @param pipelineIds the best pipeline row of each person on the page
+     * @param jobsApplied per person, the number of pipeline rows they have across all jobs
+     * @param total       number of distinct people matching the filters
+     */
+    public record Result(long[] pipelineIds, int[] jobsApplied, int total) {
+    }
+
+    /**
+     * Comparison of two slots; negative when the first belongs earlier in the page.
+     */
+    private interface SlotOrder {
+        int compare(int a, int b);
+    }
+
+    private record CandidatePosition(long candidateId, int position) {
+    }
+
+    private static final class Job {
+        final BitSet rows = new BitSet();
+        boolean known;
+        Long userId;
+        int position = -1;
+        String city;
+        String location;
+        boolean deleted;
+    }
+
+    private static final class Data {
+        private static final long NULL_RANK = Long.MAX_VALUE;
+
+        int capacity = 1024;
+        int slotCount;
+        long[] pipelineIds = new long[capacity];
+        long[] jobIds = new long[capacity];
+        long[] candidateIds = new long[capacity];
+        byte[] tiers = new byte[capacity];
+        long[] scoreRanks = new long[capacity];
+        int[] statuses = new int[capacity];
+        int[] persons = new int[capacity];
+        long[] uploadRanks = new long[capacity];
+        double[] years = new double[capacity];
+        String[] filenames = new String[capacity];
+
+        final BitSet live = new BitSet();
+        final BitSet visible = new BitSet();
+        final BitSet certified = new BitSet();
+        final BitSet[] tierRows = {new BitSet(), new BitSet(), new BitSet()};
+        final List<BitSet> statusRows = new ArrayList<>();
+        final List<BitSet> positionRows = new ArrayList<>();
+        final Map<Long, BitSet> ownerRows = new HashMap<>();
+        final Map<Long, Job> jobs = new HashMap<>();
+
+        final Map<String, Integer> statusCodes = new HashMap<>();
+        final List<String> statusNames = new ArrayList<>();
+        final Map<String, Integer> positionCodes = new HashMap<>();
+        final List<String> positionNames = new ArrayList<>();
+        final Map<String, Integer> personCodes = new HashMap<>();
+        final List<String> personKeys = new ArrayList<>();
+        int[] personRowCounts = new int[capacity];
+        // Each person's slots as a linked list: first slot, then next slot per slot.
+        int[] personHeads = filled(capacity);
+        int[] nextInPerson = new int[capacity];
+
+        final TalentPoolStats stats = new TalentPoolStats();
+
+        final Map<Long, Integer> slotByPipelineId = new HashMap<>();
+        final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+
+        void putJob(JobRow row) {
+            Job job = jobs.computeIfAbsent(row.id(), id -> new Job());
+            Set<Integer> affected = new HashSet<>();
+            for (int slot = job.rows.nextSetBit(0); slot >= 0; slot = job.rows.nextSetBit(slot + 1)) {
+                affected.add(persons[slot]);
+            }
+            affected.forEach(person -> contribute(person, -1));
+            if (job.known) {
+                detachJob(job);
+            }
+            job.known = true;
+            job.userId = row.userId();
+            job.position = row.positionType() != null ? code(positionCodes, positionRows, row.positionType()) : -1;
+            if (positionNames.size() < positionCodes.size()) {
+                positionNames.add(row.positionType());
+            }
+            job.city = lower(row.city());
+            job.location = lower(row.location());
+            job.deleted = row.deleted();
+            attachJob(job);
+            affected.forEach(person -> contribute(person, 1));
+        }
+
+        private void detachJob(Job job) {
+            visible.andNot(job.rows);
+            if (job.position >= 0) {
+                positionRows.get(job.position).andNot(job.rows);
+            }
+            if (job.userId != null) {
+                ownerRows.get(job.userId).andNot(job.rows);
+            }
+        }
+
+        private void attachJob(Job job) {
+            if (!job.deleted) {
+                visible.or(job.rows);
+            }
+            if (job.position >= 0) {
+                positionRows.get(job.position).or(job.rows);
+            }
+            if (job.userId != null) {
+                ownerRows.computeIfAbsent(job.userId, id -> new BitSet()).or(job.rows);
+            }
+        }
+
+        void putRow(PipelineRow row) {
+            Integer existing = slotByPipelineId.get(row.id());
+            int person = person(row.personKey() != null ? row.personKey() : "");
+            int previousPerson = existing != null ? persons[existing] : -1;
+            if (previousPerson >= 0) {
+                contribute(previousPerson, -1);
+            }
+            if (person != previousPerson) {
+                contribute(person, -1);
+            }
+            int slot;
+            if (existing != null) {
+                slot = existing;
+                detachRow(slot);
+            } else {
+                slot = allocate();
+                slotByPipelineId.put(row.id(), slot);
+            }
+            pipelineIds[slot] = row.id();
+            jobIds[slot] = row.jobId();
+            candidateIds[slot] = row.candidateId();
+            tiers[slot] = tierOrdinal(row.tier());
+            scoreRanks[slot] = row.tierScore() != null ? row.tierScore() : NULL_RANK;
+            statuses[slot] = row.pipelineStatus() != null ? code(statusCodes, statusRows, row.pipelineStatus()) : -1;
+            if (statusNames.size() < statusCodes.size()) {
+                statusNames.add(row.pipelineStatus());
+            }
+            persons[slot] = person;
+            uploadRanks[slot] = row.uploadDate() != null ? row.uploadDate().toEpochMilli() : NULL_RANK;
+            years[slot] = row.yearsOfExperience() != null ? row.yearsOfExperience() : Double.NaN;
+            filenames[slot] = row.filename();
+            certified.set(slot, row.hasCertifications());
+            attachRow(slot);
+            if (previousPerson >= 0 && previousPerson != person) {
+                contribute(previousPerson, 1);
+            }
+            contribute(person, 1);
+        }
+
+        void removeRow(long pipelineId) {
+            Integer slot = slotByPipelineId.remove(pipelineId);
+            if (slot != null) {
+                int person = persons[slot];
+                contribute(person, -1);
+                detachRow(slot);
+                filenames[slot] = null;
+                certified.clear(slot);
+                freeSlots.push(slot);
+                contribute(person, 1);
+            }
+        }
+
+        void updateScore(long pipelineId, Tier tier, int tierScore) {
+            Integer slot = slotByPipelineId.get(pipelineId);
+            if (slot == null) {
+                return;
+            }
+            contribute(persons[slot], -1);
+            if (tiers[slot] >= 0) {
+                tierRows[tiers[slot]].clear(slot);
+            }
+            tiers[slot] = (byte) tier.ordinal();
+            tierRows[tier.ordinal()].set(slot);
+            scoreRanks[slot] = tierScore;
+            contribute(persons[slot], 1);
+        }
+
+        private void attachRow(int slot) {
+            live.set(slot);
+            if (tiers[slot] >= 0) {
+                tierRows[tiers[slot]].set(slot);
+            }
+            if (statuses[slot] >= 0) {
+                statusRows.get(statuses[slot]).set(slot);
+            }
+            personRowCounts[persons[slot]]++;
+            nextInPerson[slot] = personHeads[persons[slot]];
+            personHeads[persons[slot]] = slot;
+            Job job = jobs.computeIfAbsent(jobIds[slot], id -> new Job());
+            job.rows.set(slot);
+            if (job.known) {
+                visible.set(slot, !job.deleted);
+                if (job.position >= 0) {
+                    positionRows.get(job.position).set(slot);
+                }
+                if (job.userId != null) {
+                    ownerRows.computeIfAbsent(job.userId, id -> new BitSet()).set(slot);
+                }
+            }
+        }
+
+        private void detachRow(int slot) {
+            live.clear(slot);
+            visible.clear(slot);
+            if (tiers[slot] >= 0) {
+                tierRows[tiers[slot]].clear(slot);
+            }
+            if (statuses[slot] >= 0) {
+                statusRows.get(statuses[slot]).clear(slot);
+            }
+            personRowCounts[persons[slot]]--;
+            unlinkFromPerson(slot);
+            Job job = jobs.get(jobIds[slot]);
+            job.rows.clear(slot);
+            if (job.position >= 0) {
+                positionRows.get(job.position).clear(slot);
+            }
+            if (job.userId != null) {
+                ownerRows.get(job.userId).clear(slot);
+            }
+        }
+
+        private int allocate() {
+            if (!freeSlots.isEmpty()) {
+                return freeSlots.pop();
+            }
+            if (slotCount == capacity) {
+                capacity *= 2;
+                pipelineIds = Arrays.copyOf(pipelineIds, capacity);
+                jobIds = Arrays.copyOf(jobIds, capacity);
+                candidateIds = Arrays.copyOf(candidateIds, capacity);
+                nextInPerson = Arrays.copyOf(nextInPerson, capacity);
+                tiers = Arrays.copyOf(tiers, capacity);
+                scoreRanks = Arrays.copyOf(scoreRanks, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+                persons = Arrays.copyOf(persons, capacity);
+                uploadRanks = Arrays.copyOf(uploadRanks, capacity);
+                years = Arrays.copyOf(years, capacity);
+                filenames = Arrays.copyOf(filenames, capacity);
+            }
+            return slotCount++;
+        }
+
+        private int person(String key) {
+            Integer code = personCodes.get(key);
+            if (code == null) {
+                code = personCodes.size();
+                personCodes.put(key, code);
+                personKeys.add(key);
+                if (code == personRowCounts.length) {
+                    personRowCounts = Arrays.copyOf(personRowCounts, code * 2);
+                    personHeads = Arrays.copyOf(personHeads, code * 2);
+                    Arrays.fill(personHeads, code, code * 2, -1);
+                }
+            }
+            return code;
+        }
+
+        private void unlinkFromPerson(int slot) {
+            int person = persons[slot];
+            if (personHeads[person] == slot) {
+                personHeads[person] = nextInPerson[slot];
+                return;
+            }
+            for (int s = personHeads[person]; s >= 0; s = nextInPerson[s]) {
+                if (nextInPerson[s] == slot) {
+                    nextInPerson[s] = nextInPerson[slot];
+                    return;
+                }
+            }
+        }
+
+        RowState state(int slot) {
+            Job job = jobs.get(jobIds[slot]);
+            return new RowState(pipelineIds[slot],
+                    personKeys.get(persons[slot]),
+                    tiers[slot] >= 0 ? Tier.fromOrdinal(tiers[slot]).code() : null,
+                    scoreRanks[slot] != NULL_RANK ? (int) scoreRanks[slot] : null,
+                    statuses[slot] >= 0 ? statusNames.get(statuses[slot]) : null,
+                    jobIds[slot],
+                    job.userId,
+                    job.position >= 0 ? positionNames.get(job.position) : null,
+                    job.city,
+                    job.location,
+                    Double.isNaN(years[slot]) ? null : years[slot],
+                    certified.get(slot),
+                    visible.get(slot));
+        }
+
+        /**
+         * The current state of each row, null for rows not in the index.
+         */
+        Map<Long, RowState> states(long... pipelineIds) {
+            Map<Long, RowState> states = new HashMap<>();
+            for (long id : pipelineIds) {
+                Integer slot = slotByPipelineId.get(id);
+                states.put(id, slot != null ? state(slot) : null);
+            }
+            return states;
+        }
+
+        /**
+         * The current state of the given rows and of every row of the given jobs.
+         */
+        Map<Long, RowState> states(Collection<JobRow> jobRows, Collection<PipelineRow> rows) {
+            Map<Long, RowState> states = new HashMap<>();
+            for (JobRow jobRow : jobRows) {
+                Job job = jobs.get(jobRow.id());
+                if (job != null) {
+                    for (int slot = job.rows.nextSetBit(0); slot >= 0; slot = job.rows.nextSetBit(slot + 1)) {
+                        states.put(pipelineIds[slot], state(slot));
+                    }
+                }
+            }
+            for (PipelineRow row : rows) {
+                Integer slot = slotByPipelineId.get(row.id());
+                states.put(row.id(), slot != null ? state(slot) : null);
+            }
+            return states;
+        }
+
+        /**
+         * The people whose rows differ from {@code before}, each with all of their
+         * current rows. A row that moved to another person touches both.
+         */
+        List<PersonChange> changes(Map<Long, RowState> before) {
+            Map<String, List<RowState>> previousByPerson = new HashMap<>();
+            before.forEach((id, old) -> {
+                Integer slot = slotByPipelineId.get(id);
+                RowState now = slot != null ? state(slot) : null;
+                if (Objects.equals(old, now)) {
+                    return;
+                }
+                if (old != null) {
+                    previousByPerson.computeIfAbsent(old.personKey(), key -> new ArrayList<>()).add(old);
+                }
+                if (now != null) {
+                    previousByPerson.computeIfAbsent(now.personKey(), key -> new ArrayList<>());
+                }
+            });
+            List<PersonChange> changes = new ArrayList<>(previousByPerson.size());
+            previousByPerson.forEach((key, previous) -> {
+                Integer person = personCodes.get(key);
+                List<RowState> rows = new ArrayList<>();
+                if (person != null) {
+                    for (int slot = personHeads[person]; slot >= 0; slot = nextInPerson[slot]) {
+                        rows.add(state(slot));
+                    }
+                }
+                changes.add(new PersonChange(key, rows, previous, person != null ? personRowCounts[person] : 0));
+            });
+            return changes;
+        }
+
+        /**
+         * What changed between an index and the rebuilt index replacing it.
+         */
+        static List<PersonChange> diff(Data old, Data rebuilt) {
+            Map<Long, RowState> before = new HashMap<>();
+            for (int slot = old.live.nextSetBit(0); slot >= 0; slot = old.live.nextSetBit(slot + 1)) {
+                before.put(old.pipelineIds[slot], old.state(slot));
+            }
+            for (long id : rebuilt.slotByPipelineId.keySet()) {
+                before.putIfAbsent(id, null);
+            }
+            return rebuilt.changes(before);
+        }
+
+        /**
+         * The row a person is represented by: highest score, a null score counting as
+         * highest, then lowest pipeline id.
+         */
+        private boolean better(int slot, int than) {
+            return scoreRanks[slot] > scoreRanks[than]
+                    || scoreRanks[slot] == scoreRanks[than] && pipelineIds[slot] < pipelineIds[than];
+        }
+
+        /**
+         * Adds ({@code sign} 1) or subtracts ({@code sign} -1) a person's visible rows
+         * to or from the statistics of every scope they appear in: all jobs and each
+         * owner, each narrowed by each status the person has there. Mutations call this
+         * with -1 before changing a row or job and with 1 after.
+         */
+        private void contribute(int person, int sign) {
+            List<Integer> rows = new ArrayList<>();
+            Set<Long> owners = new HashSet<>();
+            for (int slot = personHeads[person]; slot >= 0; slot = nextInPerson[slot]) {
+                if (visible.get(slot)) {
+                    rows.add(slot);
+                    Long owner = jobs.get(jobIds[slot]).userId;
+                    if (owner != null) {
+                        owners.add(owner);
+                    }
+                }
+            }
+            if (rows.isEmpty()) {
+                return;
+            }
+            contribute(rows, null, sign);
+            for (Long owner : owners) {
+                contribute(rows.stream().filter(slot -> owner.equals(jobs.get(jobIds[slot]).userId)).toList(),
+                        owner, sign);
+            }
+        }
+
+        private void contribute(List<Integer> rows, Long owner, int sign) {
+            TalentPoolStats.Scope scope = new TalentPoolStats.Scope(owner, null);
+            addBest(scope, best(rows, -1), sign);
+            Set<Integer> statusesSeen = new HashSet<>();
+            Set<CandidatePosition> candidatePositions = new HashSet<>();
+            for (int slot : rows) {
+                if (statuses[slot] >= 0 && statusesSeen.add(statuses[slot])) {
+                    addBest(new TalentPoolStats.Scope(owner, statusNames.get(statuses[slot])),
+                            best(rows, statuses[slot]), sign);
+                }
+                int position = jobs.get(jobIds[slot]).position;
+                if (candidatePositions.add(new CandidatePosition(candidateIds[slot], position))) {
+                    stats.addPosition(scope, position >= 0 ? positionNames.get(position) : null, sign);
+                }
+            }
+        }
+
+        private int best(List<Integer> rows, int status) {
+            int best = -1;
+            for (int slot : rows) {
+                if ((status < 0 || statuses[slot] == status) && (best < 0 || better(slot, best))) {
+                    best = slot;
+                }
+            }
+            return best;
+        }
+
+        private void addBest(TalentPoolStats.Scope scope, int slot, int sign) {
+            stats.addBest(scope,
+                    tiers[slot] >= 0 ? Tier.fromOrdinal(tiers[slot]).code() : null,
+                    scoreRanks[slot] != NULL_RANK ? (int) scoreRanks[slot] : null,
+                    statuses[slot] >= 0 ? statusNames.get(statuses[slot]) : null,
+                    sign);
+        }
+
+        private static int[] filled(int length) {
+            int[] array = new int[length];
+            Arrays.fill(array, -1);
+            return array;
+        }
+
+        private static int code(Map<String, Integer> codes, List<BitSet> rows, String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = codes.size();
+                codes.put(value, code);
+                rows.add(new BitSet());
+            }
+            return code;
+        }
+
+        Result query(TalentPoolQuery q) {
+            BitSet matches = (BitSet) visible.clone();
+            if (q.tier() != null) {
+                byte tier = tierOrdinal(q.tier());
+                matches.and(tier >= 0 ? tierRows[tier] : new BitSet());
+            }
+            if (q.status() != null) {
+                matches.and(rowsFor(statusCodes, statusRows, q.status()));
+            }
+            if (q.position() != null) {
+                matches.and(rowsFor(positionCodes, positionRows, q.position()));
+            }
+            if (q.userId() != null) {
+                matches.and(ownerRows.getOrDefault(q.userId(), new BitSet()));
+            }
+            if (q.jobId() != null) {
+                Job job = jobs.get(q.jobId());
+                matches.and(job != null ? job.rows : new BitSet());
+            }
+            if (q.hasCertifications()) {
+                matches.and(certified);
+            }
+            if (q.city() != null) {
+                String city = q.city().toLowerCase(Locale.ROOT);
+                BitSet inCity = new BitSet();
+                for (Job job : jobs.values()) {
+                    if (job.city != null && job.city.contains(city)
+                            || job.location != null && job.location.contains(city)) {
+                        inCity.or(job.rows);
+                    }
+                }
+                matches.and(inCity);
+            }
+
+            // Best row per person among the rows passing every filter.
+            int[] best = new int[personCodes.size()];
+            Arrays.fill(best, -1);
+            int[] people = new int[Math.min(matches.cardinality(), best.length)];
+            int total = 0;
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                long score = scoreRanks[slot];
+                if (q.minScore() != null && (score == NULL_RANK || score < q.minScore())
+                        || q.maxScore() != null && (score == NULL_RANK || score > q.maxScore())
+                        || q.minExperience() != null && !(years[slot] >= q.minExperience())) {
+                    continue;
+                }
+                int person = persons[slot];
+                int current = best[person];
+                if (current < 0) {
+                    people[total++] = person;
+                    best[person] = slot;
+                } else if (better(slot, current)) {
+                    best[person] = slot;
+                }
+            }
+
+            if (q.offset() >= total) {
+                return new Result(new long[0], new int[0], total);
+            }
+            int offset = (int) q.offset();
+            int[] page = topK(people, total, best, Math.min(total, offset + q.limit()), order(q));
+            int size = page.length - offset;
+            long[] ids = new long[size];
+            int[] applied = new int[size];
+            for (int i = 0; i < size; i++) {
+                int slot = page[offset + i];
+                ids[i] = pipelineIds[slot];
+                applied[i] = personRowCounts[persons[slot]];
+            }
+            return new Result(ids, applied, total);
+        }
+
+        private SlotOrder order(TalentPoolQuery q) {
+            SlotOrder byField = switch (q.sortBy()) {
+                case SCORE -> (a, b) -> Long.compare(scoreRanks[a], scoreRanks[b]);
+                case DATE -> (a, b) -> Long.compare(uploadRanks[a], uploadRanks[b]);
+                case NAME -> (a, b) -> compareNullsHigh(filenames[a], filenames[b]);
+                case POSITION -> (a, b) -> compareNullsHigh(positionName(a), positionName(b));
+            };
+            boolean ascending = q.ascending();
+            return (a, b) -> {
+                int c = byField.compare(a, b);
+                if (c != 0) {
+                    return ascending ? c : -c;
+                }
+                return Long.compare(pipelineIds[a], pipelineIds[b]);
+            };
+        }
+
+        private String positionName(int slot) {
+            Job job = jobs.get(jobIds[slot]);
+            return job.position >= 0 ? positionNames.get(job.position) : null;
+        }
+
+        /**
+         * The best {@code k} of the people's chosen slots, best first. Keeps a heap
+         * of size k whose root is the worst slot kept so far, then heap-sorts it.
+         */
+        private static int[] topK(int[] people, int count, int[] best, int k, SlotOrder order) {
+            int[] heap = new int[k];
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                int slot = best[people[i]];
+                if (size < k) {
+                    heap[size] = slot;
+                    siftUp(heap, size++, order);
+                } else if (order.compare(slot, heap[0]) < 0) {
+                    heap[0] = slot;
+                    siftDown(heap, 0, size, order);
+                }
+            }
+            for (int end = size - 1; end > 0; end--) {
+                int worst = heap[0];
+                heap[0] = heap[end];
+                heap[end] = worst;
+                siftDown(heap, 0, end, order);
+            }
+            return heap;
+        }
+
+        private static void siftUp(int[] heap, int i, SlotOrder order) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (order.compare(heap[i], heap[parent]) <= 0) {
+                    return;
+                }
+                int t = heap[i];
+                heap[i] = heap[parent];
+                heap[parent] = t;
+                i = parent;
+            }
+        }
+
+        private static void siftDown(int[] heap, int i, int size, SlotOrder order) {
+            while (true) {
+                int worst = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && order.compare(heap[left], heap[worst]) > 0) {
+                    worst = left;
+                }
+                if (right < size && order.compare(heap[right], heap[worst]) > 0) {
+                    worst = right;
+                }
+                if (worst == i) {
+                    return;
+                }
+                int t = heap[i];
+                heap[i] = heap[worst];
+                heap[worst] = t;
+                i = worst;
+            }
+        }
+
+        private static BitSet rowsFor(Map<String, Integer> codes, List<BitSet> rows, String value) {
+            Integer code = codes.get(value);
+            return code != null ? rows.get(code) : new BitSet();
+        }
+
+        private static int compareNullsHigh(String a, String b) {
+            if (a == null || b == null) {
+                return a == null ? (b == null ? 0 : 1) : -1;
+            }
+            return a.compareTo(b);
+        }
+
+        private static byte tierOrdinal(String code) {
+            if (code != null) {
+                for (Tier tier : Tier.values()) {
+                    if (tier.code().equals(code)) {
+                        return (byte) tier.ordinal();
+                    }
+                }
+            }
+            return -1;
+        }
+
+        private static String lower(String value) {
+            return value != null ? value.toLowerCase(Locale.ROOT) : null;
+        }
+    }
+}
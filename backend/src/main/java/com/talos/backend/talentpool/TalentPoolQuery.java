@@ -0,0 +1,121 @@
+package com.talos.backend.talentpool;
+
+/**
+ * Filters, sort and page for a talent-pool listing, with the same meaning as the
+ * query parameters of the Node {@code GET /api/pipeline/talent-pool} route. Null
+ * filters are not applied.
+ *
+ * @param userId restricts to jobs owned by this user; null for admins
+ * @param city   case-insensitive substring of the job's city or location
+ * @param page   1-based
+ */
+public record TalentPoolQuery(Long userId,
+                              String tier,
+                              Long jobId,
+                              String position,
+                              Integer minScore,
+                              Integer maxScore,
+                              String status,
+                              Double minExperience,
+                              boolean hasCertifications,
+                              String city,
+                              SortField sortBy,
+                              boolean ascending,
+                              int page,
+                              int limit) {
+
+    public enum SortField {
+        SCORE, DATE, NAME, POSITION
+    }
+
+    public long offset() {
+        return (long) (page - 1) * limit;
+    }
+
+    /**
+     * Starts with no filters, highest score first, and the first page of 50.
+     */
+    public static final class Builder {
+        private Long userId;
+        private String tier;
+        private Long jobId;
+        private String position;
+        private Integer minScore;
+        private Integer maxScore;
+        private String status;
+        private Double minExperience;
+        private boolean hasCertifications;
+        private String city;
+        private SortField sortBy = SortField.SCORE;
+        private boolean ascending;
+        private int page = 1;
+        private int limit = 50;
+
+        public Builder userId(Long userId) {
+            this.userId = userId;
+            return this;
+        }
+
+        public Builder tier(String tier) {
+            this.tier = tier;
+            return this;
+        }
+
+        public Builder jobId(Long jobId) {
+            this.jobId = jobId;
+            return this;
+        }
+
+        public Builder position(String position) {
+            this.position = position;
+            return this;
+        }
+
+        public Builder minScore(Integer minScore) {
+            this.minScore = minScore;
+            return this;
+        }
+
+        public Builder maxScore(Integer maxScore) {
+            this.maxScore = maxScore;
+            return this;
+        }
+
+        public Builder status(String status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder minExperience(Double minExperience) {
+            this.minExperience = minExperience;
+            return this;
+        }
+
+        public Builder hasCertifications(boolean hasCertifications) {
+            this.hasCertifications = hasCertifications;
+            return this;
+        }
+
+        public Builder city(String city) {
+            this.city = city;
+            return this;
+        }
+
+        public Builder sortBy(SortField sortBy, boolean ascending) {
+            this.sortBy = sortBy;
+            this.ascending = ascending;
+            return this;
+        }
+
+        public Builder page(int page, int limit) {
+            this.page = page;
+            this.limit = limit;
+            return this;
+        }
+
+        public TalentPoolQuery build() {
+            return new TalentPoolQuery(userId, tier, jobId, position, minScore, maxScore, status,
+                    minExperience, hasCertifications, city, sortBy, ascending, page, limit);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.talos.backend.talentpool;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Talent-pool listings: {@link TalentPoolIndex} picks the page, then the page's rows
+ * are loaded by primary key with the columns the Node route returns.
+ */
+@Service
+public class TalentPoolService {
+
+    private static final String PAGE_SQL = """
+            SELECT cp.id AS pipeline_id, cp.candidate_id, cp.job_id, cp.tier, cp.tier_score, cp.star_rating,
+                   cp.pipeline_status, cp.give_them_a_chance, cp.vehicle_status, cp.ai_summary,
+                   cp.contacted_via, cp.contacted_at, cp.internal_notes, cp.evaluated_position,
+                   c.filename, c.full_name, c.file_path, c.applicant_email, c.status AS candidate_status,
+                   c.upload_date, a.overall_score, a.score_out_of_10, a.summary, a.years_of_experience,
+                   a.certifications_found, a.hiring_recommendation, a.strengths, a.weaknesses,
+                   j.title AS job_title, j.position_type, j.location AS job_location, j.job_label,
+                   j.required_years_experience, COALESCE(c.applicant_email, c.filename) AS person_key
+            FROM candidate_pipeline cp
+            JOIN candidates c ON cp.candidate_id = c.id
+            JOIN jobs j ON cp.job_id = j.id
+            LEFT JOIN analyses a ON c.id = a.candidate_id
+            WHERE cp.id IN (%s)
+            """;
+
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
+    private static final String[] JSON_COLUMNS = {"certifications_found", "strengths", "weaknesses"};
+
+    private final TalentPoolIndex index;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public TalentPoolService(TalentPoolIndex index, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.index = index;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public boolean isReady() {
+        return index.isReady();
+    }
+
+    /**
+     * Dashboard statistics for one owner's jobs, or all jobs when {@code userId} is null.
+     */
+    public TalentPoolStats.Snapshot stats(Long userId, String status) {
+        return index.stats().snapshot(userId, status);
+    }
+
+    /**
+     * One page of the talent pool, best first, with {@code jobs_applied} added to each
+     * candidate. A row deleted between the index lookup and the load is left out.
+     */
+    public Page find(TalentPoolQuery query) {
+        TalentPoolIndex.Result result = index.query(query);
+        long[] ids = result.pipelineIds();
+        if (ids.length == 0) {
+            return new Page(List.of(), result.total());
+        }
+
+        Map<Long, Map<String, Object>> byId = rows(ids);
+        List<Map<String, Object>> candidates = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            Map<String, Object> row = byId.get(ids[i]);
+            if (row != null) {
+                row.put("jobs_applied", result.jobsApplied()[i]);
+                candidates.add(row);
+            }
+        }
+        return new Page(candidates, result.total());
+    }
+
+    /**
+     * Loads pipeline rows by id with the listing's columns, without
+     * {@code jobs_applied}. Ids that no longer exist are absent from the result.
+     */
+    public Map<Long, Map<String, Object>> rows(long[] ids) {
+        Map<Long, Map<String, Object>> byId = new HashMap<>();
+        for (int from = 0; from < ids.length; from += MAX_IDS_PER_QUERY) {
+            int to = Math.min(ids.length, from + MAX_IDS_PER_QUERY);
+            Object[] args = new Object[to - from];
+            for (int i = from; i < to; i++) {
+                args[i - from] = ids[i];
+            }
+            String sql = PAGE_SQL.formatted(String.join(",", Collections.nCopies(args.length, "?")));
+            for (Map<String, Object> row : jdbcTemplate.queryForList(sql, args)) {
+                for (String column : JSON_COLUMNS) {
+                    row.put(column, fromJson(row.get(column)));
+                }
+                byId.put(((Number) row.get("pipeline_id")).longValue(), row);
+            }
+        }
+        return byId;
+    }
+
+    /**
+     * Parses JSON-looking text columns the way the Node backend's {@code fromJSON}
+     * does, and SQL arrays to lists; anything else, including unparseable text, is
+     * returned as is.
+     */
+    private Object fromJson(Object value) {
+        if (value instanceof Array array) {
+            try {
+                return Arrays.asList((Object[]) array.getArray());
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not read array column", e);
+            }
+        }
+        if (value instanceof String text && (text.startsWith("[") || text.startsWith("{"))) {
+            try {
+                return objectMapper.readValue(text, Object.class);
+            } catch (JsonProcessingException e) {
+                return value;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @param total number of distinct people matching the filters, across all pages
+     */
+    public record Page(List<Map<String, Object>> candidates, int total) {
+    }
+}
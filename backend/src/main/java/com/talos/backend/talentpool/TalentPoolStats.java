@@ -0,0 +1,169 @@
+package com.talos.backend.talentpool;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Talent-pool dashboard counters, kept current by {@link TalentPoolIndex} as rows
+ * change rather than aggregated per request.
+ *
+ * <p>Counters are kept per scope: all jobs or one owner's jobs, optionally narrowed to
+ * one pipeline status. Like the Node {@code getTalentPoolStats}, tier, status and score
+ * counts describe each person's best row in the scope, and positions count distinct
+ * candidates. The index applies a change by subtracting the affected people's
+ * contributions and adding them back, all under its write lock; readers sum the
+ * {@link LongAdder}s without locking, so a snapshot taken mid-update may be off by the
+ * rows being changed.
+ */
+public final class TalentPoolStats {
+
+    static final String NULL_KEY = "null";
+
+    private static final String[] HISTOGRAM_LABELS =
+            {"0-9", "10-19", "20-29", "30-39", "40-49", "50-59", "60-69", "70-79", "80-89", "90-100", "unscored"};
+
+    private final Map<Scope, ScopeCounters> scopes = new ConcurrentHashMap<>();
+
+    /**
+     * Counts for the dashboard of {@code owner} (null for every job). {@code status}
+     * narrows the total, tier distribution, tier averages and histogram as the Node
+     * route's {@code status} parameter does; position and status breakdowns are always
+     * over the whole scope.
+     */
+    public Snapshot snapshot(Long owner, String status) {
+        ScopeCounters byStatus = scopes.get(new Scope(owner, status));
+        ScopeCounters all = status != null ? scopes.get(new Scope(owner, null)) : byStatus;
+
+        Map<String, Long> tiers = new LinkedHashMap<>();
+        Map<String, TierAverage> averages = new LinkedHashMap<>();
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        long total = 0;
+        if (byStatus != null) {
+            total = byStatus.total.sum();
+            byStatus.tiers.forEach((tier, count) -> {
+                long n = count.sum();
+                if (n > 0) {
+                    tiers.put(tier, n);
+                    long scored = sum(byStatus.tierScored.get(tier));
+                    double average = scored > 0 ? (double) sum(byStatus.tierScoreSums.get(tier)) / scored : 0;
+                    averages.put(tier, new TierAverage(Math.round(average * 10) / 10.0, n));
+                }
+            });
+            for (int i = 0; i < HISTOGRAM_LABELS.length; i++) {
+                histogram.put(HISTOGRAM_LABELS[i], byStatus.histogram[i].sum());
+            }
+        }
+        return new Snapshot(total, tiers,
+                all != null ? nonZero(all.positions) : Map.of(),
+                all != null ? nonZero(all.statuses) : Map.of(),
+                averages, histogram);
+    }
+
+    /**
+     * Adds ({@code sign} 1) or removes ({@code sign} -1) one person's best row in a scope.
+     *
+     * @param score the row's score, or null
+     */
+    void addBest(Scope scope, String tier, Integer score, String status, int sign) {
+        ScopeCounters counters = scopes.computeIfAbsent(scope, s -> new ScopeCounters());
+        String tierKey = tier != null ? tier : NULL_KEY;
+        counters.total.add(sign);
+        counters.tiers.computeIfAbsent(tierKey, t -> new LongAdder()).add(sign);
+        counters.tierScored.computeIfAbsent(tierKey, t -> new LongAdder()).add(score != null ? sign : 0);
+        counters.tierScoreSums.computeIfAbsent(tierKey, t -> new LongAdder()).add(score != null ? (long) sign * score : 0);
+        counters.histogram[bucket(score)].add(sign);
+        if (scope.status() == null) {
+            counters.statuses.computeIfAbsent(status != null ? status : NULL_KEY, s -> new LongAdder()).add(sign);
+        }
+    }
+
+    /**
+     * Adds or removes one candidate under a position in a scope.
+     */
+    void addPosition(Scope scope, String position, int sign) {
+        scopes.computeIfAbsent(scope, s -> new ScopeCounters())
+                .positions.computeIfAbsent(position != null ? position : NULL_KEY, p -> new LongAdder()).add(sign);
+    }
+
+    /**
+     * How far the all-jobs counters differ from {@code other}'s: the sum of absolute
+     * differences of the total and each tier and status count. Zero when they agree.
+     */
+    long drift(TalentPoolStats other) {
+        Snapshot mine = snapshot(null, null);
+        Snapshot theirs = other.snapshot(null, null);
+        return Math.abs(mine.total() - theirs.total())
+                + difference(mine.tierDistribution(), theirs.tierDistribution())
+                + difference(mine.statusBreakdown(), theirs.statusBreakdown());
+    }
+
+    private static long difference(Map<String, Long> a, Map<String, Long> b) {
+        Map<String, Long> diff = new TreeMap<>(a);
+        b.forEach((key, n) -> diff.merge(key, -n, Long::sum));
+        return diff.values().stream().mapToLong(Math::abs).sum();
+    }
+
+    private static long sum(LongAdder adder) {
+        return adder != null ? adder.sum() : 0;
+    }
+
+    private static int bucket(Integer score) {
+        if (score == null) {
+            return HISTOGRAM_LABELS.length - 1;
+        }
+        return Math.max(0, Math.min(9, score / 10));
+    }
+
+    private static Map<String, Long> nonZero(Map<String, LongAdder> counts) {
+        Map<String, Long> out = new TreeMap<>();
+        counts.forEach((key, count) -> {
+            long n = count.sum();
+            if (n > 0) {
+                out.put(key, n);
+            }
+        });
+        return out;
+    }
+
+    /**
+     * @param owner  job owner, or null for every job
+     * @param status pipeline status, or null for every status
+     */
+    record Scope(Long owner, String status) {
+    }
+
+    private static final class ScopeCounters {
+        final LongAdder total = new LongAdder();
+        final Map<String, LongAdder> tiers = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> tierScored = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> tierScoreSums = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> positions = new ConcurrentHashMap<>();
+        final LongAdder[] histogram = new LongAdder[HISTOGRAM_LABELS.length];
+
+        ScopeCounters() {
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+    }
+
+    /**
+     * Dashboard counts, shaped like the Node route's response.
+     *
+     * @param scoreHistogram best-row scores in buckets of ten, plus unscored rows
+     */
+    public record Snapshot(long total,
+                           Map<String, Long> tierDistribution,
+                           Map<String, Long> positionBreakdown,
+                           Map<String, Long> statusBreakdown,
+                           Map<String, TierAverage> averageScoreByTier,
+                           Map<String, Long> scoreHistogram) {
+    }
+
+    public record TierAverage(double avgScore, long count) {
+    }
+}
@@ -0,0 +1,396 @@
+package com.talos.backend.talentpool;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes talent-pool changes to subscribed listings over server-sent events
+ * ({@code GET /api/pipeline/talent-pool/stream}), so an open dashboard stays current
+ * without refetching its page.
+ *
+ * <p>{@link TalentPoolIndex} hands every update's {@link PersonChange}s to this class
+ * on the updating thread; they are only queued. One dispatcher thread gathers changes
+ * for {@code coalesce-ms}, keeps the latest change per person, works out each
+ * connection's {@link PersonChange.Delta} against its filter, and loads the rows to be
+ * shown with one query for all connections together.
+ *
+ * <p>Each connection has a bounded buffer keyed by pipeline id, so a row changed many
+ * times before it is sent goes out once, in its latest form. A small pool writes the
+ * buffers out, at most one write per connection at a time, so a slow client delays
+ * only itself. A client whose buffer overflows, or that missed changes because the
+ * inbox overflowed, is sent {@code resync} instead and should refetch its page.
+ *
+ * <p>Events: {@code upsert} with a JSON array of rows in the listing's format,
+ * {@code remove} with a JSON array of pipeline ids, and {@code resync}. A comment is
+ * sent every {@code heartbeat-seconds} to keep idle connections open.
+ */
+@Service
+public class TalentPoolStream implements TalentPoolIndex.ChangeListener, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TalentPoolStream.class);
+
+    private final TalentPoolService talentPoolService;
+    private final int maxConnections;
+    private final int bufferCapacity;
+    private final long coalesceNanos;
+    private final long heartbeatNanos;
+    private final long timeoutMs;
+
+    private final Map<Long, Connection> connections = new ConcurrentHashMap<>();
+    private final AtomicLong connectionIds = new AtomicLong();
+    private final BlockingQueue<List<PersonChange>> inbox;
+    private final ExecutorService writers;
+
+    private final LongAdder changesReceived = new LongAdder();
+    private final LongAdder eventsSent = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+    private final LongAdder refused = new LongAdder();
+
+    private volatile boolean running = true;
+    private Thread dispatcher;
+
+    public TalentPoolStream(TalentPoolIndex index,
+                            TalentPoolService talentPoolService,
+                            @Value("${talos.talent-pool.stream.max-connections:500}") int maxConnections,
+                            @Value("${talos.talent-pool.stream.buffer-capacity:1000}") int bufferCapacity,
+                            @Value("${talos.talent-pool.stream.inbox-capacity:10000}") int inboxCapacity,
+                            @Value("${talos.talent-pool.stream.coalesce-ms:250}") long coalesceMs,
+                            @Value("${talos.talent-pool.stream.heartbeat-seconds:20}") long heartbeatSeconds,
+                            @Value("${talos.talent-pool.stream.timeout-minutes:30}") long timeoutMinutes,
+                            @Value("${talos.talent-pool.stream.writers:4}") int writerThreads) {
+        this.talentPoolService = talentPoolService;
+        this.maxConnections = maxConnections;
+        this.bufferCapacity = bufferCapacity;
+        this.coalesceNanos = TimeUnit.MILLISECONDS.toNanos(coalesceMs);
+        this.heartbeatNanos = TimeUnit.SECONDS.toNanos(heartbeatSeconds);
+        this.timeoutMs = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.inbox = new ArrayBlockingQueue<>(inboxCapacity);
+        AtomicInteger count = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, r -> {
+            Thread thread = new Thread(r, "talent-pool-stream-writer-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        index.setChangeListener(this);
+    }
+
+    @PostConstruct
+    void start() {
+        dispatcher = new Thread(this::dispatchLoop, "talent-pool-stream");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Opens a stream of the changes to the listing {@code filter} selects (its sort
+     * and page are ignored).
+     *
+     * @return null when {@code max-connections} streams are already open
+     */
+    public SseEmitter subscribe(TalentPoolQuery filter) {
+        if (connections.size() >= maxConnections) {
+            refused.increment();
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Connection connection = new Connection(connectionIds.incrementAndGet(), filter, emitter);
+        connections.put(connection.id, connection);
+        emitter.onCompletion(() -> connections.remove(connection.id));
+        emitter.onTimeout(() -> connections.remove(connection.id));
+        emitter.onError(e -> connections.remove(connection.id));
+        return emitter;
+    }
+
+    public int connectionCount() {
+        return connections.size();
+    }
+
+    @Override
+    public boolean isListening() {
+        return !connections.isEmpty();
+    }
+
+    @Override
+    public void changed(List<PersonChange> changes) {
+        changesReceived.add(changes.size());
+        if (!inbox.offer(changes)) {
+            // Changes are lost; every listing may now be stale.
+            connections.values().forEach(Connection::markResync);
+            connections.values().forEach(this::schedule);
+        }
+    }
+
+    private void dispatchLoop() {
+        long nextHeartbeat = System.nanoTime() + heartbeatNanos;
+        while (running) {
+            try {
+                List<PersonChange> first = inbox.poll(Math.max(0, nextHeartbeat - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    Map<String, PersonChange> latest = new LinkedHashMap<>();
+                    merge(latest, first);
+                    long deadline = System.nanoTime() + coalesceNanos;
+                    long remaining;
+                    List<PersonChange> more;
+                    while ((remaining = deadline - System.nanoTime()) > 0
+                            && (more = inbox.poll(remaining, TimeUnit.NANOSECONDS)) != null) {
+                        merge(latest, more);
+                    }
+                    dispatch(latest.values());
+                }
+                if (System.nanoTime() - nextHeartbeat >= 0) {
+                    for (Connection connection : connections.values()) {
+                        connection.markHeartbeat();
+                        schedule(connection);
+                    }
+                    nextHeartbeat = System.nanoTime() + heartbeatNanos;
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Talent-pool stream dispatch failed; open listings will resync", e);
+                connections.values().forEach(Connection::markResync);
+                connections.values().forEach(this::schedule);
+            }
+        }
+    }
+
+    /**
+     * Keeps the latest rows per person, and every previous state seen in the window.
+     */
+    private static void merge(Map<String, PersonChange> latest, List<PersonChange> changes) {
+        for (PersonChange change : changes) {
+            latest.merge(change.personKey(), change, (earlier, later) -> {
+                List<RowState> previous = new ArrayList<>(earlier.previous());
+                previous.addAll(later.previous());
+                return new PersonChange(later.personKey(), later.rows(), previous, later.jobsApplied());
+            });
+        }
+    }
+
+    private void dispatch(Iterable<PersonChange> changes) {
+        Map<Connection, List<PersonChange.Delta>> deltas = new HashMap<>();
+        Map<Long, Integer> jobsApplied = new HashMap<>();
+        for (Connection connection : connections.values()) {
+            for (PersonChange change : changes) {
+                PersonChange.Delta delta = change.delta(connection.filter);
+                if (delta != null) {
+                    deltas.computeIfAbsent(connection, c -> new ArrayList<>()).add(delta);
+                    if (delta.show() != null) {
+                        jobsApplied.put(delta.show().pipelineId(), change.jobsApplied());
+                    }
+                }
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        // One query for every row any connection is about to show.
+        long[] ids = jobsApplied.keySet().stream().mapToLong(Long::longValue).toArray();
+        Map<Long, Map<String, Object>> rows = ids.length > 0 ? talentPoolService.rows(ids) : Map.of();
+        rows.forEach((id, row) -> row.put("jobs_applied", jobsApplied.get(id)));
+
+        deltas.forEach((connection, connectionDeltas) -> {
+            // Hides first: a row that moved between people is hidden for one and shown for the other.
+            for (PersonChange.Delta delta : connectionDeltas) {
+                delta.hideIds().forEach(connection::remove);
+            }
+            for (PersonChange.Delta delta : connectionDeltas) {
+                if (delta.show() != null) {
+                    Map<String, Object> row = rows.get(delta.show().pipelineId());
+                    if (row != null) {
+                        connection.upsert(delta.show().pipelineId(), row);
+                    } else {
+                        connection.remove(delta.show().pipelineId());
+                    }
+                }
+            }
+            schedule(connection);
+        });
+    }
+
+    private void schedule(Connection connection) {
+        if (connection.scheduled.compareAndSet(false, true)) {
+            try {
+                writers.execute(() -> write(connection));
+            } catch (RejectedExecutionException e) {
+                connection.scheduled.set(false);
+            }
+        }
+    }
+
+    private void write(Connection connection) {
+        try {
+            Connection.Batch batch;
+            while ((batch = connection.take()) != null) {
+                if (batch.resync()) {
+                    connection.emitter.send(SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON));
+                    resyncs.increment();
+                    eventsSent.increment();
+                }
+                if (!batch.removed().isEmpty()) {
+                    connection.emitter.send(SseEmitter.event().name("remove")
+                            .data(batch.removed(), MediaType.APPLICATION_JSON));
+                    eventsSent.increment();
+                }
+                if (!batch.rows().isEmpty()) {
+                    connection.emitter.send(SseEmitter.event().name("upsert")
+                            .data(batch.rows(), MediaType.APPLICATION_JSON));
+                    eventsSent.increment();
+                }
+                if (batch.heartbeat()) {
+                    connection.emitter.send(SseEmitter.event().comment("keepalive"));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the emitter callbacks may not fire for a broken pipe.
+            connections.remove(connection.id);
+            connection.emitter.completeWithError(e);
+        } finally {
+            connection.scheduled.set(false);
+            if (connection.hasPending() && connections.containsKey(connection.id)) {
+                schedule(connection);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("talos.talent.pool.stream.connections", connections, Map::size)
+                .description("Open talent-pool change streams")
+                .register(registry);
+        Gauge.builder("talos.talent.pool.stream.inbox", inbox, BlockingQueue::size)
+                .description("Index updates waiting to be dispatched to streams")
+                .register(registry);
+        FunctionCounter.builder("talos.talent.pool.stream.changes", changesReceived, LongAdder::sum)
+                .description("Person changes received from the talent-pool index")
+                .register(registry);
+        FunctionCounter.builder("talos.talent.pool.stream.events", eventsSent, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("talos.talent.pool.stream.resyncs", resyncs, LongAdder::sum)
+                .description("Streams told to refetch because their buffer or the inbox overflowed")
+                .register(registry);
+        FunctionCounter.builder("talos.talent.pool.stream.refused", refused, LongAdder::sum)
+                .description("Stream requests refused because max-connections were open")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        dispatcher.interrupt();
+        dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        writers.shutdownNow();
+        connections.values().forEach(connection -> connection.emitter.complete());
+        connections.clear();
+    }
+
+    /**
+     * One open stream and the events waiting to be written to it.
+     */
+    private final class Connection {
+
+        record Batch(boolean resync, List<Long> removed, List<Map<String, Object>> rows, boolean heartbeat) {
+        }
+
+        final long id;
+        final TalentPoolQuery filter;
+        final SseEmitter emitter;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+
+        // Latest event per pipeline id: a row to show, or null to remove it.
+        private final Map<Long, Map<String, Object>> pending = new LinkedHashMap<>();
+        private boolean resync;
+        private boolean heartbeat;
+
+        Connection(long id, TalentPoolQuery filter, SseEmitter emitter) {
+            this.id = id;
+            this.filter = filter;
+            this.emitter = emitter;
+        }
+
+        synchronized void upsert(long pipelineId, Map<String, Object> row) {
+            put(pipelineId, row);
+        }
+
+        synchronized void remove(long pipelineId) {
+            put(pipelineId, null);
+        }
+
+        private void put(long pipelineId, Map<String, Object> row) {
+            if (resync) {
+                return;
+            }
+            pending.put(pipelineId, row);
+            if (pending.size() > bufferCapacity) {
+                markResync();
+            }
+        }
+
+        synchronized void markResync() {
+            pending.clear();
+            resync = true;
+        }
+
+        synchronized void markHeartbeat() {
+            heartbeat = true;
+        }
+
+        synchronized boolean hasPending() {
+            return resync || heartbeat || !pending.isEmpty();
+        }
+
+        /**
+         * Takes everything pending, or null when nothing is.
+         */
+        synchronized Batch take() {
+            if (!hasPending()) {
+                return null;
+            }
+            Set<Long> removed = new LinkedHashSet<>();
+            List<Map<String, Object>> rows = new ArrayList<>();
+            pending.forEach((pipelineId, row) -> {
+                if (row != null) {
+                    rows.add(row);
+                } else {
+                    removed.add(pipelineId);
+                }
+            });
+            Batch batch = new Batch(resync, new ArrayList<>(removed), rows, heartbeat);
+            pending.clear();
+            resync = false;
+            heartbeat = false;
+            return batch;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.talos.backend.talentpool;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps {@link TalentPoolIndex} in step with the database.
+ *
+ * <p>Every {@code talos.talent-pool.sync.refresh-ms} it reloads the jobs and
+ * pipeline rows whose {@code updated_at} moved (the schema's triggers bump it on every
+ * update, including a job's soft delete). The watermark is read from the database
+ * clock and each poll looks back {@code overlap-ms} past it, so rows committed by
+ * transactions that started before the previous poll are not missed; re-applying a
+ * row is harmless. Hard-deleted pipeline rows and changes to candidates or analyses do
+ * not touch {@code updated_at}, so the index is also rebuilt from scratch every
+ * {@code rebuild-minutes}. The rebuild doubles as reconciliation of the incrementally
+ * kept {@link TalentPoolStats}: any drift it corrects is logged and counted. It reads
+ * the full tables and the rows changed since the last poll in one snapshot, so both
+ * sides of that comparison describe the same moment.
+ *
+ * <p>Disabled unless {@code talos.talent-pool.sync.enabled=true}, since it needs the
+ * Node backend's schema.
+ */
+@Component
+@ConditionalOnProperty(name = "talos.talent-pool.sync.enabled", havingValue = "true")
+public class TalentPoolSync {
+
+    private static final Logger log = LoggerFactory.getLogger(TalentPoolSync.class);
+
+    private static final String JOBS_SQL = """
+            SELECT id, user_id, position_type, city, location, deleted_at IS NOT NULL
+            FROM jobs
+            """;
+
+    private static final String ROWS_SQL = """
+            SELECT cp.id, cp.candidate_id, cp.job_id, cp.tier, cp.tier_score, cp.pipeline_status,
+                   c.filename, COALESCE(c.applicant_email, c.filename), c.upload_date,
+                   a.years_of_experience,
+                   COALESCE(CAST(a.certifications_found AS VARCHAR) NOT IN ('[]', 'null', '{}'), FALSE)
+            FROM candidate_pipeline cp
+            JOIN candidates c ON cp.candidate_id = c.id
+            LEFT JOIN analyses a ON c.id = a.candidate_id
+            """;
+
+    private static final RowMapper<JobRow> JOB_MAPPER = (rs, i) -> new JobRow(
+            rs.getLong(1),
+            rs.getObject(2) != null ? rs.getLong(2) : null,
+            rs.getString(3),
+            rs.getString(4),
+            rs.getString(5),
+            rs.getBoolean(6));
+
+    private static final RowMapper<PipelineRow> ROW_MAPPER = (rs, i) -> {
+        Timestamp uploaded = rs.getTimestamp(9);
+        return new PipelineRow(
+                rs.getLong(1),
+                rs.getLong(2),
+                rs.getLong(3),
+                rs.getString(4),
+                rs.getObject(5) != null ? rs.getInt(5) : null,
+                rs.getString(6),
+                rs.getString(7),
+                rs.getString(8),
+                uploaded != null ? uploaded.toInstant() : null,
+                rs.getObject(10) != null ? rs.getDouble(10) : null,
+                rs.getBoolean(11));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotReads;
+    private final TalentPoolIndex index;
+    private final long refreshMs;
+    private final long rebuildMinutes;
+    private final long overlapMs;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "talent-pool-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Timestamp watermark;
+
+    public TalentPoolSync(JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          TalentPoolIndex index,
+                          @Value("${talos.talent-pool.sync.refresh-ms:2000}") long refreshMs,
+                          @Value("${talos.talent-pool.sync.rebuild-minutes:15}") long rebuildMinutes,
+                          @Value("${talos.talent-pool.sync.overlap-ms:30000}") long overlapMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotReads = new TransactionTemplate(transactionManager);
+        this.snapshotReads.setReadOnly(true);
+        this.snapshotReads.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.index = index;
+        this.refreshMs = refreshMs;
+        this.rebuildMinutes = rebuildMinutes;
+        this.overlapMs = overlapMs;
+    }
+
+    @PostConstruct
+    void start() {
+        // One thread runs every task, so a refresh never interleaves with a rebuild.
+        scheduler.execute(this::rebuild);
+        scheduler.scheduleWithFixedDelay(this::refresh, refreshMs, refreshMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::rebuild, rebuildMinutes, rebuildMinutes, TimeUnit.MINUTES);
+    }
+
+    void rebuild() {
+        try {
+            long started = System.nanoTime();
+            Timestamp since = watermark != null ? new Timestamp(watermark.getTime() - overlapMs) : null;
+            Load load = snapshotReads.execute(status -> new Load(
+                    databaseNow(),
+                    jdbcTemplate.query(JOBS_SQL, JOB_MAPPER),
+                    jdbcTemplate.query(ROWS_SQL, ROW_MAPPER),
+                    since != null ? changedJobs(since) : List.of(),
+                    since != null ? changedRows(since) : List.of()));
+            long drift = index.replaceAll(load.jobs(), load.rows(), load.pendingJobs(), load.pendingRows());
+            watermark = load.now();
+            if (drift > 0) {
+                log.warn("Talent-pool statistics had drifted from the database by {}; reset by the rebuild", drift);
+            }
+            log.info("Talent-pool index rebuilt: {} jobs, {} pipeline rows in {} ms", load.jobs().size(),
+                    load.rows().size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (RuntimeException e) {
+            log.error("Talent-pool index rebuild failed", e);
+        }
+    }
+
+    void refresh() {
+        if (watermark == null) {
+            return;
+        }
+        try {
+            Timestamp now = databaseNow();
+            Timestamp since = new Timestamp(watermark.getTime() - overlapMs);
+            List<JobRow> jobs = changedJobs(since);
+            List<PipelineRow> rows = changedRows(since);
+            if (!jobs.isEmpty() || !rows.isEmpty()) {
+                index.apply(jobs, rows);
+            }
+            watermark = now;
+        } catch (RuntimeException e) {
+            log.warn("Talent-pool index refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private List<JobRow> changedJobs(Timestamp since) {
+        return jdbcTemplate.query(JOBS_SQL + " WHERE updated_at >= ?", JOB_MAPPER, since);
+    }
+
+    private List<PipelineRow> changedRows(Timestamp since) {
+        return jdbcTemplate.query(ROWS_SQL + " WHERE cp.updated_at >= ?", ROW_MAPPER, since);
+    }
+
+    private record Load(Timestamp now, List<JobRow> jobs, List<PipelineRow> rows,
+                        List<JobRow> pendingJobs, List<PipelineRow> pendingRows) {
+    }
+
+    private Timestamp databaseNow() {
+        return jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", Timestamp.class);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
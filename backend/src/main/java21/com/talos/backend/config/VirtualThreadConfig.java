@@ -0,0 +1,46 @@
+package com.talos.backend.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Serves every request, every {@code @Async} task, the model-call workers of
+ * {@link com.talos.backend.analysis.AnalysisScheduler} and the send workers of
+ * {@link com.talos.backend.messaging.BulkMessagingService} on virtual threads instead of
+ * bounded platform-thread pools. Only compiled by the
+ * {@code virtual-threads} Maven profile (Java 21) and only active when
+ * {@code talos.threads.virtual.enabled=true}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "talos.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean
+    public ThreadFactory analysisThreadFactory() {
+        return Thread.ofVirtual().name("analysis-worker-", 1).factory();
+    }
+
+    @Bean
+    public ThreadFactory messagingThreadFactory() {
+        return Thread.ofVirtual().name("message-sender-", 1).factory();
+    }
+}
@@ -0,0 +1,149 @@
+package com.talos.backend.analysis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the scheduler against a local stub of the Messages API.
+ */
+class AnalysisSchedulerTest {
+
+    private HttpServer stub;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int rateLimitedResponses;
+    private volatile int statusAfterRateLimit = 200;
+
+    private ModelClient client;
+    private AnalysisScheduler scheduler;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/v1/messages", exchange -> {
+            int n = requests.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            if (n <= rateLimitedResponses) {
+                exchange.getResponseHeaders().add("retry-after", "0.05");
+                exchange.sendResponseHeaders(429, -1);
+            } else if (statusAfterRateLimit != 200) {
+                exchange.sendResponseHeaders(statusAfterRateLimit, -1);
+            } else {
+                byte[] body = "{\"content\":[{\"type\":\"text\",\"text\":\"ok\"}]}".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        stub.start();
+        client = new ModelClient(new ObjectMapper(), "http://127.0.0.1:" + stub.getAddress().getPort(),
+                "test-key", "test-model", 5);
+    }
+
+    @AfterEach
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        stub.stop(0);
+    }
+
+    private AnalysisScheduler scheduler(int maxConcurrent, int queueCapacity) {
+        scheduler = new AnalysisScheduler(1000, 1000, maxConcurrent, queueCapacity, 4, 10, 100,
+                new StaticListableBeanFactory().getBeanProvider(ThreadFactory.class));
+        return scheduler;
+    }
+
+    @Test
+    void recordsAttemptsAndRetries() throws Exception {
+        rateLimitedResponses = 1;
+        AnalysisScheduler scheduler = scheduler(1, 10);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        scheduler.bindTo(registry);
+
+        scheduler.submit(AnalysisPriority.INTERACTIVE, () -> client.createMessage("hello", 10))
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(2.0, registry.get("talos.analysis.attempts").functionTimer().count());
+        assertEquals(1.0, registry.get("talos.analysis.retries").functionCounter().count());
+        assertEquals(0.0, registry.get("talos.analysis.failures").functionCounter().count());
+        assertEquals(1.0, registry.get("talos.analysis.queue.wait").functionTimer().count());
+    }
+
+    @Test
+    void retriesRateLimitedCallsUntilTheyPass() throws Exception {
+        rateLimitedResponses = 2;
+        String text = scheduler(2, 10)
+                .submit(AnalysisPriority.INTERACTIVE, () -> client.createMessage("hello", 10))
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals("ok", text);
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        statusAfterRateLimit = 400;
+        CompletableFuture<String> result = scheduler(1, 10)
+                .submit(AnalysisPriority.INTERACTIVE, () -> client.createMessage("hello", 10));
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+        assertEquals(400, ((ModelCallException) failure.getCause()).getStatus());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void interactiveWorkOvertakesQueuedBackgroundWork() throws Exception {
+        AnalysisScheduler scheduler = scheduler(1, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<Void> blocker = scheduler.submit(AnalysisPriority.BACKGROUND, () -> {
+            release.await();
+            return null;
+        });
+        while (scheduler.activeCount() == 0) {
+            Thread.onSpinWait();
+        }
+        CompletableFuture<Boolean> background = scheduler.submit(AnalysisPriority.BACKGROUND, () -> order.add("background"));
+        CompletableFuture<Boolean> interactive = scheduler.submit(AnalysisPriority.INTERACTIVE, () -> order.add("interactive"));
+        release.countDown();
+        CompletableFuture.allOf(blocker, background, interactive).get(10, TimeUnit.SECONDS);
+
+        assertEquals(List.of("interactive", "background"), order);
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        AnalysisScheduler scheduler = scheduler(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        scheduler.submit(AnalysisPriority.BACKGROUND, () -> release.await(10, TimeUnit.SECONDS));
+        while (scheduler.activeCount() == 0) {
+            Thread.onSpinWait();
+        }
+        scheduler.submit(AnalysisPriority.BACKGROUND, () -> true);
+
+        assertThrows(RejectedExecutionException.class,
+                () -> scheduler.submit(AnalysisPriority.INTERACTIVE, () -> true));
+        release.countDown();
+    }
+}
@@ -0,0 +1,196 @@
+package com.talos.backend.apply;
+
+import com.talos.backend.storage.ResumeStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApplyIngestionTest {
+
+    @TempDir
+    Path dir;
+
+    private JdbcTemplate jdbc;
+    private DataSourceTransactionManager transactionManager;
+    private ApplyQueries queries;
+    private ResumeStore resumeStore;
+    private ApplyIngestion ingestion;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:apply;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc.execute("""
+                CREATE TABLE jobs (id BIGINT PRIMARY KEY, user_id BIGINT, title VARCHAR(255), deleted_at TIMESTAMP)
+                """);
+        jdbc.execute("""
+                CREATE TABLE candidates (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY, batch_id BIGINT, filename VARCHAR(255) NOT NULL,
+                    file_path VARCHAR(500), upload_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                    status VARCHAR(50) DEFAULT 'pending', applicant_email VARCHAR(255), full_name VARCHAR(255))
+                """);
+        jdbc.execute("""
+                CREATE TABLE candidate_pipeline (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY, candidate_id BIGINT, job_id BIGINT,
+                    pipeline_status VARCHAR(50) DEFAULT 'new', tier VARCHAR(50), tier_score INTEGER,
+                    vehicle_status VARCHAR(50), ai_summary TEXT, internal_notes TEXT, tags TEXT,
+                    UNIQUE (candidate_id, job_id))
+                """);
+        jdbc.update("INSERT INTO jobs VALUES (1, 1, 'General Talent Pool', NULL), (7, 20, 'HVAC Installer', NULL)");
+        queries = new ApplyQueries(jdbc);
+        resumeStore = new ResumeStore(dir.resolve("store"), 1 << 20, 0.5);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (ingestion != null) {
+            ingestion.stop();
+        }
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+
+    private ApplyIngestion start() throws Exception {
+        return start(true);
+    }
+
+    private ApplyIngestion start(boolean singleInstance) throws Exception {
+        ingestion = new ApplyIngestion(queries, resumeStore,
+                new StaticListableBeanFactory().getBeanProvider(ApplicationAnalyzer.class), transactionManager,
+                dir.resolve("spool"), 100, 50, 20, 24, 15, 1000, 0.01, 24, 1000, 1000, singleInstance);
+        ingestion.start();
+        return ingestion;
+    }
+
+    private ApplyIngestion.Receipt submit(String email, Long jobId, String jobTitle) throws Exception {
+        return submit("Pat Doe", email, jobId, jobTitle);
+    }
+
+    private ApplyIngestion.Receipt submit(String name, String email, Long jobId, String jobTitle) throws Exception {
+        MockMultipartFile resume = new MockMultipartFile("resume", email + ".pdf", "application/pdf",
+                ("%PDF-1.4 " + email).getBytes(StandardCharsets.UTF_8));
+        return ingestion.submit(null, name, email, "555-0100", jobId, jobTitle, resume);
+    }
+
+    private Set<String> spooled() throws Exception {
+        try (Stream<Path> files = Files.list(dir.resolve("spool"))) {
+            return files.map(file -> file.getFileName().toString()).collect(Collectors.toSet());
+        }
+    }
+
+    private long candidates(String email) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM candidates WHERE applicant_email = ?", Long.class, email);
+    }
+
+    @Test
+    void linksEachApplicationToItsJob() throws Exception {
+        start();
+        assertEquals(ApplyIngestion.Status.ACCEPTED, submit("pat@example.com", 7L, "HVAC Installer").status());
+        assertEquals(ApplyIngestion.Status.ACCEPTED, submit("sam@example.com", null, null).status());
+        ingestion.stop();
+
+        long pat = jdbc.queryForObject("SELECT id FROM candidates WHERE applicant_email = 'pat@example.com'", Long.class);
+        assertEquals(7L, jdbc.queryForObject("SELECT job_id FROM candidate_pipeline WHERE candidate_id = ?",
+                Long.class, pat));
+        assertEquals("Source: Public Apply Page\nContact: Pat Doe | Email: pat@example.com | Phone: 555-0100"
+                        + " | Applied for: HVAC Installer",
+                jdbc.queryForObject("SELECT internal_notes FROM candidate_pipeline WHERE candidate_id = ?",
+                        String.class, pat));
+        assertEquals(1L, jdbc.queryForObject("""
+                SELECT cp.job_id FROM candidate_pipeline cp JOIN candidates c ON c.id = cp.candidate_id
+                WHERE c.applicant_email = 'sam@example.com'""", Long.class), "the General Talent Pool");
+        assertTrue(resumeStore.find(pat).isPresent());
+
+        // The duplicate check finds the application through its pipeline entry.
+        assertTrue(queries.hasRecentApplication("pat@example.com", 7, Instant.now().minus(1, ChronoUnit.HOURS)));
+    }
+
+    @Test
+    void aRowThatFailsIsKeptAndReplayedAtStartup() throws Exception {
+        start();
+        // Longer than full_name allows, so its insert fails, whether batched with the others or alone.
+        String id = submit("P".repeat(300), "long@example.com", 7L, "HVAC Installer").applicationId();
+        submit("pat@example.com", 7L, "HVAC Installer");
+        submit("sam@example.com", null, null);
+        ingestion.stop();
+
+        assertEquals(1, candidates("pat@example.com"));
+        assertEquals(1, candidates("sam@example.com"));
+        assertEquals(0, candidates("long@example.com"));
+        assertEquals(Set.of(id, id + ".properties"), spooled());
+
+        // A resume whose metadata was never written was not admitted.
+        Files.writeString(dir.resolve("spool").resolve("orphan"), "%PDF-1.4");
+        jdbc.execute("ALTER TABLE candidates ALTER COLUMN full_name VARCHAR(500)");
+        start();
+        ingestion.stop();
+
+        assertEquals(1, candidates("long@example.com"));
+        long candidateId = jdbc.queryForObject("SELECT id FROM candidates WHERE applicant_email = 'long@example.com'",
+                Long.class);
+        assertEquals(7L, jdbc.queryForObject("SELECT job_id FROM candidate_pipeline WHERE candidate_id = ?",
+                Long.class, candidateId));
+        assertTrue(resumeStore.find(candidateId).isPresent());
+        assertEquals(Set.of(), spooled());
+
+        start();
+        assertEquals(ApplyIngestion.Status.DUPLICATE,
+                submit("P".repeat(300), "long@example.com", 7L, "HVAC Installer").status());
+    }
+
+    @Test
+    void anApplicationStoredBeforeARestartIsNotInsertedAgain() throws Exception {
+        start();
+        submit("pat@example.com", 7L, "HVAC Installer");
+        ingestion.stop();
+        long candidateId = jdbc.queryForObject("SELECT id FROM candidates", Long.class);
+
+        // As if the restart came after the insert but before the resume was stored.
+        Path resume = dir.resolve("spool").resolve("lost");
+        Files.writeString(resume, "%PDF-1.4 pat@example.com");
+        Files.writeString(dir.resolve("spool").resolve("lost.properties"), """
+                name=Pat Doe
+                email=pat@example.com
+                jobId=7
+                filename=pat@example.com.pdf
+                receivedAt=%s
+                """.formatted(Instant.now().minus(1, ChronoUnit.MINUTES)));
+        resumeStore = new ResumeStore(dir.resolve("other-store"), 1 << 20, 0.5);
+        jdbc.update("UPDATE candidates SET status = 'error'");
+        start();
+        ingestion.stop();
+
+        assertEquals(1, candidates("pat@example.com"));
+        assertEquals("pending", jdbc.queryForObject("SELECT status FROM candidates", String.class));
+        assertTrue(resumeStore.find(candidateId).isPresent());
+        assertEquals(Set.of(), spooled());
+    }
+
+    @Test
+    void withSeveralInstancesEveryNewPairIsCheckedInTheDatabase() throws Exception {
+        start(false);
+        // Stored by another instance after this one started.
+        jdbc.update("INSERT INTO candidates (id, filename, applicant_email) VALUES (900, 'r.pdf', 'pat@example.com')");
+        jdbc.update("INSERT INTO candidate_pipeline (candidate_id, job_id) VALUES (900, 7)");
+
+        assertEquals(ApplyIngestion.Status.DUPLICATE, submit("pat@example.com", 7L, "HVAC Installer").status());
+        assertEquals(ApplyIngestion.Status.ACCEPTED, submit("sam@example.com", 7L, "HVAC Installer").status());
+    }
+}
@@ -0,0 +1,104 @@
+package com.talos.backend.apply;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DuplicateFilterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Set<String> database = new HashSet<>();
+    private final AtomicInteger queries = new AtomicInteger();
+
+    private DuplicateFilter filter() {
+        return new DuplicateFilter((email, jobId, since) -> {
+            queries.incrementAndGet();
+            return database.contains(email + "/" + jobId);
+        }, Duration.ofHours(24), Duration.ofMinutes(15), 10_000, 0.01, nanos::get);
+    }
+
+    private void advance(long amount, TimeUnit unit) {
+        nanos.addAndGet(unit.toNanos(amount));
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndAboutTheConfiguredFalsePositives() {
+        BloomFilter bloom = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bloom.put("applicant" + i + "@example.com\n" + i % 50);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(bloom.mightContain("applicant" + i + "@example.com\n" + i % 50));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (bloom.mightContain("someone" + i + "@example.org\n" + i % 50)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void answersFromMemoryOnceSeeded() {
+        database.add("seeded@example.com/7");
+        DuplicateFilter filter = filter();
+        filter.seed("seeded@example.com", 7);
+        filter.markSeeded();
+
+        assertEquals(DuplicateFilter.Verdict.NEW, filter.claim("new@example.com", 7));
+        assertEquals(DuplicateFilter.Verdict.DUPLICATE, filter.claim("New@Example.com ", 7));
+        assertEquals(DuplicateFilter.Verdict.NEW, filter.claim("new@example.com", 8));
+        assertEquals(0, queries.get());
+
+        // A Bloom hit the recent map doesn't know is confirmed against the database.
+        assertEquals(DuplicateFilter.Verdict.DUPLICATE, filter.claim("seeded@example.com", 7));
+        assertEquals(1, queries.get());
+        assertEquals(DuplicateFilter.Verdict.DUPLICATE, filter.claim("seeded@example.com", 7));
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void queriesEveryCheckUntilSeeded() {
+        database.add("old@example.com/1");
+        DuplicateFilter filter = filter();
+
+        assertEquals(DuplicateFilter.Verdict.DUPLICATE, filter.claim("old@example.com", 1));
+        assertEquals(DuplicateFilter.Verdict.NEW, filter.claim("fresh@example.com", 1));
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void releasedAndExpiredClaimsCanApplyAgain() {
+        DuplicateFilter filter = filter();
+        filter.markSeeded();
+
+        assertEquals(DuplicateFilter.Verdict.NEW, filter.claim("a@example.com", 1));
+        filter.release("a@example.com", 1);
+        // The Bloom bit survives the release, so the retry is checked against the database.
+        assertEquals(DuplicateFilter.Verdict.NEW, filter.claim("a@example.com", 1));
+        assertEquals(1, queries.get());
+
+        // Once the recent claim expires the Bloom filter still remembers the pair...
+        advance(20, TimeUnit.MINUTES);
+        database.add("a@example.com/1");
+        assertEquals(DuplicateFilter.Verdict.DUPLICATE, filter.claim("a@example.com", 1));
+        assertEquals(2, queries.get());
+
+        // ...until two windows have passed and both generations have rotated out.
+        database.clear();
+        advance(25, TimeUnit.HOURS);
+        filter.claim("b@example.com", 1);
+        advance(25, TimeUnit.HOURS);
+        int before = queries.get();
+        assertEquals(DuplicateFilter.Verdict.NEW, filter.claim("a@example.com", 1));
+        assertEquals(before, queries.get());
+    }
+}
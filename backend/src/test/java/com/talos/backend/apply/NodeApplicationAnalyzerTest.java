@@ -0,0 +1,159 @@
+package com.talos.backend.apply;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.talos.backend.analysis.AnalysisScheduler;
+import com.talos.backend.auth.AuthenticatedUser;
+import com.talos.backend.auth.JwtSigner;
+import com.talos.backend.auth.JwtVerifier;
+import com.talos.backend.storage.ResumeStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+
+import java.io.ByteArrayInputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the hand-off against a local stub serving both the S3 bucket and Node's
+ * reanalyze route.
+ */
+class NodeApplicationAnalyzerTest {
+
+    private static final String SECRET = "test-secret";
+
+    @TempDir
+    Path dir;
+
+    private HttpServer stub;
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final BlockingQueue<String> analyzed = new LinkedBlockingQueue<>();
+    private final List<String> tokens = new CopyOnWriteArrayList<>();
+
+    private JdbcTemplate jdbc;
+    private ResumeStore resumeStore;
+    private AnalysisScheduler scheduler;
+    private S3Client s3;
+    private NodeApplicationAnalyzer analyzer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/resumes-bucket/", exchange -> {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            objects.put(exchange.getRequestURI().getPath().substring("/resumes-bucket/".length()), body);
+            try {
+                exchange.getResponseHeaders().add("ETag",
+                        '"' + HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(body)) + '"');
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        stub.createContext("/api/admin/reanalyze-candidate/", exchange -> {
+            tokens.add(exchange.getRequestHeaders().getFirst("Authorization").substring("Bearer ".length()));
+            analyzed.add(exchange.getRequestURI().getPath().substring("/api/admin/reanalyze-candidate/".length()));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        stub.start();
+        String stubUrl = "http://127.0.0.1:" + stub.getAddress().getPort();
+
+        jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:handoff;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.execute("""
+                CREATE TABLE candidates (
+                    id BIGINT PRIMARY KEY, batch_id BIGINT, filename VARCHAR(255) NOT NULL,
+                    file_path VARCHAR(500), upload_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                    status VARCHAR(50) DEFAULT 'pending', applicant_email VARCHAR(255), full_name VARCHAR(255))
+                """);
+        resumeStore = new ResumeStore(dir, 1 << 20, 0.5);
+        scheduler = new AnalysisScheduler(1000, 1000, 1, 10, 2, 10, 100,
+                new StaticListableBeanFactory().getBeanProvider(ThreadFactory.class));
+        s3 = S3Client.builder()
+                .endpointOverride(URI.create(stubUrl))
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(true)
+                        .chunkedEncodingEnabled(false)
+                        .build())
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("key", "secret")))
+                .build();
+        analyzer = new NodeApplicationAnalyzer(new ApplyQueries(jdbc), resumeStore, scheduler, s3,
+                new JwtSigner(SECRET, new ObjectMapper()), "resumes-bucket", stubUrl + "/", 1, 72);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        scheduler.shutdown();
+        s3.close();
+        stub.stop(0);
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+
+    private byte[] apply(long candidateId, String filePath) throws Exception {
+        byte[] resume = ("%PDF-1.4 candidate " + candidateId).getBytes(StandardCharsets.UTF_8);
+        jdbc.update("INSERT INTO candidates (id, filename, file_path, applicant_email) VALUES (?, 'Resume.PDF', ?, ?)",
+                candidateId, filePath, "c" + candidateId + "@example.com");
+        resumeStore.put(candidateId, "Resume.PDF", "application/pdf", new ByteArrayInputStream(resume));
+        return resume;
+    }
+
+    @Test
+    void copiesTheResumeToS3AndAsksNodeToAnalyzeIt() throws Exception {
+        byte[] resume = apply(5, null);
+
+        analyzer.analyze(5, null);
+
+        assertEquals("5", analyzed.poll(5, TimeUnit.SECONDS));
+        String key = jdbc.queryForObject("SELECT file_path FROM candidates WHERE id = 5", String.class);
+        assertTrue(key.matches("resumes/application-\\d+-\\d+\\.pdf"), key);
+        assertArrayEquals(resume, objects.get(key));
+        AuthenticatedUser caller = new JwtVerifier(SECRET, new ObjectMapper()).verify(tokens.get(0)).orElseThrow();
+        assertTrue(caller.isAdmin());
+        assertEquals(1, caller.userId());
+    }
+
+    @Test
+    void handsOffPendingApplicationsAgainAtStartup() throws Exception {
+        apply(1, null);
+        apply(2, "resumes/application-1-1.pdf");
+        apply(3, null);
+        jdbc.update("UPDATE candidates SET status = 'completed' WHERE id = 3");
+        // Pending, but not a resume this backend stored.
+        jdbc.update("INSERT INTO candidates (id, filename, status) VALUES (4, 'node.pdf', 'pending')");
+
+        analyzer.recoverPending();
+
+        assertEquals(List.of("1", "2"), List.of(analyzed.poll(5, TimeUnit.SECONDS), analyzed.poll(5, TimeUnit.SECONDS)));
+        assertNull(analyzed.poll(200, TimeUnit.MILLISECONDS));
+        // Already copied on an earlier attempt.
+        assertEquals(1, objects.size());
+        assertEquals("resumes/application-1-1.pdf",
+                jdbc.queryForObject("SELECT file_path FROM candidates WHERE id = 2", String.class));
+    }
+}
@@ -0,0 +1,172 @@
+package com.talos.backend.audit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditWriterTest {
+
+    private JdbcTemplate jdbc;
+    private final AtomicInteger statements = new AtomicInteger();
+    private AuditQueries queries;
+    private AuditWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:audit;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("""
+                CREATE TABLE audit_log (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT, action VARCHAR(50), entity_type VARCHAR(50),
+                    entity_id BIGINT, old_value TEXT, new_value TEXT)
+                """);
+        queries = new AuditQueries(jdbc) {
+            @Override
+            public void insert(List<AuditEvent> events) {
+                statements.incrementAndGet();
+                super.insert(events);
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.stop();
+        }
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+
+    private AuditWriter start(int ringCapacity, String durability, long overflowWaitMs) {
+        return start(ringCapacity, durability, overflowWaitMs, 50);
+    }
+
+    private AuditWriter start(int ringCapacity, String durability, long overflowWaitMs, long flushIntervalMs) {
+        writer = new AuditWriter(queries, ringCapacity, 500, flushIntervalMs, durability, overflowWaitMs, 2000);
+        writer.start();
+        return writer;
+    }
+
+    private int rows() {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM audit_log", Integer.class);
+    }
+
+    private static List<AuditEvent> changes(int count) {
+        List<AuditEvent> events = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            events.add(AuditEvent.statusChange(10L, i, "new", "contacted"));
+        }
+        return events;
+    }
+
+    @Test
+    void ringHandsOutEachSlotOncePerLap() {
+        AuditRing ring = new AuditRing(3);
+        assertEquals(4, ring.capacity());
+        List<AuditEvent> events = changes(6);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, ring.offer(events.get(i)));
+        }
+        assertEquals(-1, ring.offer(events.get(4)), "full");
+
+        List<AuditEvent> drained = new ArrayList<>();
+        assertEquals(3, ring.drainTo(drained, 3));
+        assertEquals(events.subList(0, 3), drained);
+        assertEquals(4, ring.offer(events.get(4)));
+        assertEquals(5, ring.offer(events.get(5)));
+        assertEquals(3, ring.drainTo(drained, 10));
+        assertEquals(events, drained);
+        assertTrue(ring.isEmpty());
+        assertEquals(6, ring.head());
+    }
+
+    @Test
+    void asyncModeBatchesABulkChangeIntoOneInsert() throws InterruptedException {
+        // A partial batch waits a full interval, so only stop() can flush it.
+        start(1024, "async", 50, TimeUnit.MINUTES.toMillis(1));
+        List<AuditEvent> events = changes(300);
+        events.add(new AuditEvent(null, "soft_delete", "job", 7L, null, null, null));
+        writer.logAll(events);
+        assertEquals(0, rows(), "nothing waits for the insert");
+        writer.stop();
+
+        assertEquals(301, rows());
+        assertEquals(1, statements.get());
+        assertEquals(300, jdbc.queryForObject(
+                "SELECT COUNT(*) FROM audit_log WHERE action = 'status_change' AND user_id = 10"
+                        + " AND old_value = '{\"status\":\"new\"}' AND new_value = '{\"status\":\"contacted\"}'",
+                Integer.class));
+    }
+
+    @Test
+    void syncModeReturnsOnceWrittenAndSharesBatches() throws Exception {
+        start(1024, "sync", 50);
+        writer.logAll(changes(5));
+        assertEquals(5, rows());
+
+        int threads = 8;
+        CountDownLatch ready = new CountDownLatch(threads);
+        List<Thread> callers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread caller = new Thread(() -> {
+                ready.countDown();
+                try {
+                    ready.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 20; i++) {
+                    writer.logAll(changes(3));
+                }
+            });
+            callers.add(caller);
+            caller.start();
+        }
+        for (Thread caller : callers) {
+            caller.join();
+        }
+        assertEquals(5 + threads * 20 * 3, rows());
+        assertTrue(statements.get() <= 1 + threads * 20);
+    }
+
+    @Test
+    void fullRingWritesOnTheCallerThread() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        queries = new AuditQueries(jdbc) {
+            @Override
+            public void insert(List<AuditEvent> events) {
+                if (Thread.currentThread().getName().equals("audit-writer")) {
+                    blocked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.insert(events);
+            }
+        };
+        start(16, "async", 5);
+        writer.logAll(changes(16));
+        // The writer holds a batch while blocked, so the ring fills again behind it.
+        blocked.await();
+        writer.logAll(changes(16));
+        writer.logAll(changes(10));
+        assertEquals(10, rows(), "the overflow went straight to the table");
+
+        release.countDown();
+        writer.stop();
+        assertEquals(42, rows());
+    }
+}
@@ -0,0 +1,70 @@
+package com.talos.backend.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Accepts "user" and "admin" as tokens for the matching role.
+    private final JwtVerifier verifier = new JwtVerifier("unused", objectMapper) {
+        @Override
+        public Optional<AuthenticatedUser> verify(String token) {
+            return switch (token) {
+                case "user" -> Optional.of(new AuthenticatedUser(7, "owner@example.com", "user"));
+                case "admin" -> Optional.of(new AuthenticatedUser(1, "admin@example.com", "admin"));
+                default -> Optional.empty();
+            };
+        }
+    };
+
+    private MockHttpServletResponse call(boolean adminOnly, String method, String authorization,
+                                         MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/resumes/file/5");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new AuthFilter(verifier, objectMapper, adminOnly).doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    void answersLikeTheNodeMiddleware() throws Exception {
+        MockHttpServletResponse missing = call(false, "GET", null, new MockFilterChain());
+        assertEquals(401, missing.getStatus());
+        assertEquals("{\"status\":\"error\",\"message\":\"Access token required\"}", missing.getContentAsString());
+
+        MockHttpServletResponse invalid = call(false, "GET", "Bearer forged", new MockFilterChain());
+        assertEquals(401, invalid.getStatus());
+        assertTrue(invalid.getContentAsString().contains("Invalid or expired token"));
+
+        MockHttpServletResponse notAdmin = call(true, "POST", "Bearer user", new MockFilterChain());
+        assertEquals(403, notAdmin.getStatus());
+        assertTrue(notAdmin.getContentAsString().contains("Admin access required"));
+    }
+
+    @Test
+    void passesTheVerifiedUserOn() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        assertEquals(200, call(false, "GET", "Bearer user", chain).getStatus());
+        AuthenticatedUser user = (AuthenticatedUser) chain.getRequest().getAttribute(AuthenticatedUser.ATTRIBUTE);
+        assertEquals(7, user.userId());
+
+        MockFilterChain adminChain = new MockFilterChain();
+        assertEquals(200, call(true, "POST", "Bearer admin", adminChain).getStatus());
+        assertNotNull(adminChain.getRequest());
+
+        MockFilterChain preflight = new MockFilterChain();
+        call(true, "OPTIONS", null, preflight);
+        assertNotNull(preflight.getRequest(), "CORS preflights are not authenticated");
+    }
+}
@@ -0,0 +1,76 @@
+package com.talos.backend.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtVerifierTest {
+
+    private static final String SECRET = "test-secret";
+    private static final Instant NOW = Instant.now();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JwtVerifier verifier = new JwtVerifier(SECRET, objectMapper);
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Same shape as jsonwebtoken's jwt.sign(payload, secret, { expiresIn }).
+    private static String sign(String header, String payload, String secret) throws Exception {
+        String signingInput = encode(header) + "." + encode(payload);
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] signature = mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+
+    private static String token(String role, long exp, String secret) throws Exception {
+        return sign("{\"alg\":\"HS256\",\"typ\":\"JWT\"}",
+                "{\"userId\":42,\"email\":\"owner@example.com\",\"role\":\"" + role + "\",\"iat\":"
+                        + (NOW.getEpochSecond() - 60) + ",\"exp\":" + exp + "}", secret);
+    }
+
+    @Test
+    void acceptsANodeToken() throws Exception {
+        AuthenticatedUser user = verifier.verify(token("user", NOW.getEpochSecond() + 3600, SECRET)).orElseThrow();
+        assertEquals(42, user.userId());
+        assertEquals("owner@example.com", user.email());
+        assertFalse(user.isAdmin());
+        assertEquals(42L, user.ownerFilter());
+
+        AuthenticatedUser admin = verifier.verify(token("admin", NOW.getEpochSecond() + 3600, SECRET)).orElseThrow();
+        assertTrue(admin.isAdmin());
+        assertNull(admin.ownerFilter());
+    }
+
+    @Test
+    void rejectsForgedExpiredAndMalformedTokens() throws Exception {
+        long exp = NOW.getEpochSecond() + 3600;
+        assertTrue(verifier.verify(token("user", exp, "other-secret")).isEmpty());
+        assertTrue(verifier.verify(token("user", NOW.getEpochSecond(), SECRET)).isEmpty(), "expired");
+
+        String valid = token("user", exp, SECRET);
+        String[] parts = valid.split("\\.");
+        String escalated = parts[0] + "." + encode("{\"userId\":42,\"role\":\"admin\",\"exp\":" + exp + "}")
+                + "." + parts[2];
+        assertTrue(verifier.verify(escalated).isEmpty(), "payload changed after signing");
+        assertTrue(verifier.verify(encode("{\"alg\":\"none\"}") + "." + parts[1] + ".").isEmpty());
+        assertTrue(verifier.verify(sign("{\"alg\":\"HS256\"}", "{\"userId\":42}", SECRET)).isEmpty(), "no exp");
+        assertTrue(verifier.verify("not-a-token").isEmpty());
+        assertTrue(verifier.verify(parts[0] + ".%%%." + parts[2]).isEmpty());
+    }
+
+    @Test
+    void withoutASecretEveryTokenIsRejected() throws Exception {
+        JwtVerifier unconfigured = new JwtVerifier("", objectMapper);
+        assertTrue(unconfigured.verify(token("admin", NOW.getEpochSecond() + 3600, SECRET)).isEmpty());
+    }
+}
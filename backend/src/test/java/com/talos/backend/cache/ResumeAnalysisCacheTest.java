@@ -0,0 +1,114 @@
+package com.talos.backend.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResumeAnalysisCacheTest {
+
+    @TempDir
+    Path cacheDir;
+
+    private final String hash = ContentHash.sha256Hex("%PDF-1.4 resume".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    void computesEachKeyOnce() {
+        ResumeAnalysisCache cache = new ResumeAnalysisCache(cacheDir, 1 << 20, 1 << 20);
+        AtomicInteger extractions = new AtomicInteger();
+
+        assertEquals("text", cache.extractedText(hash, () -> { extractions.incrementAndGet(); return "text"; }));
+        assertEquals("text", cache.extractedText(hash, () -> { extractions.incrementAndGet(); return "other"; }));
+        assertEquals(1, extractions.get());
+    }
+
+    @Test
+    void aSlowLoadBlocksOnlyItsOwnKey() throws Exception {
+        ResumeAnalysisCache cache = new ResumeAnalysisCache(cacheDir, 1 << 20, 1 << 20);
+        String other = ContentHash.sha256Hex("another resume".getBytes(StandardCharsets.UTF_8));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger extractions = new AtomicInteger();
+
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> cache.extractedText(hash, () -> {
+            extractions.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "slow";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(
+                () -> cache.extractedText(hash, () -> { extractions.incrementAndGet(); return "again"; }));
+
+        // Other keys load while the first is in flight.
+        assertEquals("fast", cache.extractedText(other, () -> "fast"));
+        assertTrue(cache.cachedText(hash).isEmpty());
+        assertFalse(waiter.isDone());
+
+        release.countDown();
+        assertEquals("slow", slow.get(5, TimeUnit.SECONDS));
+        assertEquals("slow", waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(1, extractions.get());
+    }
+
+    @Test
+    void aFailedLoadIsRetried() {
+        ResumeAnalysisCache cache = new ResumeAnalysisCache(cacheDir, 1 << 20, 1 << 20);
+
+        assertThrows(IllegalStateException.class,
+                () -> cache.extractedText(hash, () -> { throw new IllegalStateException("corrupt PDF"); }));
+        assertEquals("text", cache.extractedText(hash, () -> "text"));
+    }
+
+    @Test
+    void diskTierEvictsTheLeastRecentlyUsedPastItsCap() throws Exception {
+        String text = "x".repeat(400);
+        String[] hashes = new String[3];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = ContentHash.sha256Hex(("resume " + i).getBytes(StandardCharsets.UTF_8));
+        }
+        ResumeAnalysisCache cache = new ResumeAnalysisCache(cacheDir, 1 << 20, 1000);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        cache.extractedText(hashes[0], () -> text);
+        cache.extractedText(hashes[1], () -> text);
+        Path first = cacheDir.resolve("text").resolve(hashes[0].substring(0, 2)).resolve(hashes[0] + ".txt");
+        Files.setLastModifiedTime(first, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+
+        // The third entry takes the tier past 1000 bytes; the oldest goes.
+        cache.extractedText(hashes[2], () -> text);
+
+        assertFalse(Files.exists(first));
+        assertEquals(800.0, registry.get("talos.resume.cache.disk.bytes").gauge().value());
+        assertEquals(1.0, registry.get("talos.resume.cache.disk.evictions").functionCounter().count());
+        assertTrue(new ResumeAnalysisCache(cacheDir, 1 << 20, 1000).cachedText(hashes[0]).isEmpty());
+        assertEquals(text, new ResumeAnalysisCache(cacheDir, 1 << 20, 1000).cachedText(hashes[2]).orElseThrow());
+    }
+
+    @Test
+    void diskTierSurvivesRestart() {
+        new ResumeAnalysisCache(cacheDir, 1 << 20, 1 << 20).extractedText(hash, () -> "persisted");
+
+        ResumeAnalysisCache restarted = new ResumeAnalysisCache(cacheDir, 1 << 20, 1 << 20);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        restarted.bindTo(registry);
+
+        assertEquals("persisted", restarted.extractedText(hash, () -> fail("recomputed")));
+        assertEquals(1.0, registry.get("talos.resume.cache.disk").tag("result", "hit").functionCounter().count());
+        assertEquals(0.0, registry.get("talos.resume.cache.computations").functionCounter().count());
+    }
+}
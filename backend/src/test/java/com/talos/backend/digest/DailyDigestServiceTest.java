@@ -0,0 +1,167 @@
+package com.talos.backend.digest;
+
+import com.talos.backend.messaging.MessageChannel;
+import com.talos.backend.messaging.MessageSender;
+import com.talos.backend.messaging.Recipient;
+import com.talos.backend.messaging.RenderedMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DailyDigestServiceTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private final Map<String, RenderedMessage> sent = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final List<DailyDigestService> services = new ArrayList<>();
+
+    private final MessageSender email = new MessageSender() {
+        @Override
+        public MessageChannel channel() {
+            return MessageChannel.EMAIL;
+        }
+
+        @Override
+        public void send(Recipient recipient, RenderedMessage message) throws Exception {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+                if (recipient.email().startsWith("bounce")) {
+                    throw new IllegalStateException("Mailbox unavailable");
+                }
+                sent.put(recipient.email(), message);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:digest;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, email VARCHAR(255))");
+        jdbc.execute("CREATE TABLE jobs (id BIGINT PRIMARY KEY, user_id BIGINT, title VARCHAR(255))");
+        jdbc.execute("CREATE TABLE candidates (id BIGINT PRIMARY KEY, applicant_email VARCHAR(255))");
+        jdbc.execute("""
+                CREATE TABLE candidate_pipeline (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY, candidate_id BIGINT, job_id BIGINT, tier VARCHAR(20),
+                    tier_score INTEGER, created_at TIMESTAMP)
+                """);
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(DailyDigestService::stop);
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+
+    private DailyDigestService service(int maxRows, int shardCount, int shardIndex) {
+        DailyDigestService service = new DailyDigestService(dataSource, new DataSourceTransactionManager(dataSource),
+                List.of(email), 10, 24, "https://talos.test/", maxRows, 3, 2, 1000, 1000, shardCount, shardIndex);
+        services.add(service);
+        return service;
+    }
+
+    private void owner(long id, String email) {
+        jdbc.update("INSERT INTO users VALUES (?, ?)", id, email);
+        jdbc.update("INSERT INTO jobs VALUES (?, ?, ?)", id, id, "Technician <" + id + ">");
+    }
+
+    private void application(long candidateId, long jobId, String tier, Integer score, int hoursAgo) {
+        jdbc.update("INSERT INTO candidates VALUES (?, ?)", candidateId, "c" + candidateId + "@example.com");
+        jdbc.update("INSERT INTO candidate_pipeline (candidate_id, job_id, tier, tier_score, created_at) VALUES (?, ?, ?, ?, ?)",
+                candidateId, jobId, tier, score, Timestamp.from(Instant.now().minus(hoursAgo, ChronoUnit.HOURS)));
+    }
+
+    @Test
+    void buildsEachOwnersDigestInDisplayOrder() throws InterruptedException {
+        owner(1, "one@example.com");
+        owner(2, null);
+        owner(3, "bounce@example.com");
+        application(1, 1, "red", 20, 1);
+        application(2, 1, "green", 80, 2);
+        application(3, 1, "yellow", 60, 3);
+        application(4, 1, "green", 95, 4);
+        application(5, 1, null, null, 5);
+        application(6, 1, "green", 99, 30);
+        application(7, 2, "green", 90, 1);
+        application(8, 3, "red", 10, 1);
+
+        DailyDigestService.Summary summary = service(200, 1, 0).run();
+        assertEquals(3, summary.owners());
+        assertEquals(7, summary.applications());
+        assertEquals(1, summary.sent());
+        assertEquals(1, summary.failed());
+        assertEquals(1, summary.skipped());
+
+        RenderedMessage message = sent.get("one@example.com");
+        assertEquals("Talos daily recap — 5 new applicants (2 🟢 1 🟡 1 🔴)", message.subject());
+        String html = message.body();
+        assertTrue(html.contains("<strong>5 applications</strong>"));
+        assertTrue(html.contains("https://talos.test/jobs-management"));
+        assertTrue(html.contains("Technician &lt;1&gt;"));
+        assertFalse(html.contains("c6@"), "outside the window");
+        assertFalse(html.contains("c5@"), "no tier, no row");
+        int c4 = html.indexOf("🟢 95/100"), c2 = html.indexOf("🟢 80/100");
+        int c3 = html.indexOf("🟡 60/100"), c1 = html.indexOf("🔴 20/100");
+        assertTrue(c4 >= 0 && c4 < c2 && c2 < c3 && c3 < c1, html);
+    }
+
+    @Test
+    void capsRowsAndBoundsConcurrentSends() throws InterruptedException {
+        for (long id = 1; id <= 40; id++) {
+            owner(id, "owner" + id + "@example.com");
+            for (int i = 0; i < 5; i++) {
+                application(id * 100 + i, id, "green", 50 + i, 1);
+            }
+        }
+
+        DailyDigestService.Summary summary = service(3, 1, 0).run();
+        assertEquals(40, summary.sent());
+        assertEquals(200, summary.applications());
+        assertTrue(maxInFlight.get() <= 3, "at most 3 sender threads");
+
+        String html = sent.get("owner7@example.com").body();
+        assertTrue(html.contains("<strong>5 applications</strong>"));
+        assertTrue(html.contains("🟢 54/100") && !html.contains("🟢 51/100"), html);
+        assertTrue(html.contains("…and 2 more"));
+    }
+
+    @Test
+    void shardsSplitTheOwners() throws InterruptedException {
+        for (long id = 1; id <= 9; id++) {
+            owner(id, "owner" + id + "@example.com");
+            application(id, id, "yellow", 70, 1);
+        }
+
+        int total = 0;
+        for (int shard = 0; shard < 3; shard++) {
+            sent.clear();
+            DailyDigestService.Summary summary = service(200, 3, shard).run();
+            total += summary.sent();
+            for (String address : sent.keySet()) {
+                long owner = Long.parseLong(address.substring(5, address.indexOf('@')));
+                assertEquals(shard, owner % 3, address);
+            }
+        }
+        assertEquals(9, total);
+        assertThrows(IllegalArgumentException.class, () -> service(200, 3, 3));
+    }
+}
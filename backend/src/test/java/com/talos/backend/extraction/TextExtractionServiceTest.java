@@ -0,0 +1,162 @@
+package com.talos.backend.extraction;
+
+import com.talos.backend.cache.ResumeAnalysisCache;
+import com.talos.backend.storage.ResumeStore;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextExtractionServiceTest {
+
+    private static final String LINE = "EPA 608 Universal certified HVAC technician with ten years of service work";
+
+    @TempDir
+    Path dir;
+
+    private ResumeStore store;
+    private TextExtractionService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new ResumeStore(dir.resolve("store"), 1 << 20, 0.5);
+        service = new TextExtractionService(store, new ResumeAnalysisCache(dir.resolve("cache"), 1 << 20, 1 << 20),
+                4, 8, 64 * 1024, 3, 2000, 256 * 1024, 20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    private Path pdf(String name, int pages) throws IOException {
+        Path file = dir.resolve(name);
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 1; i <= pages; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 11);
+                    content.newLineAtOffset(50, 700);
+                    content.showText("Page " + i + ": " + LINE);
+                    content.endText();
+                }
+            }
+            document.save(file.toFile());
+        }
+        return file;
+    }
+
+    private Path docx(String name, String... paragraphs) throws IOException {
+        Path file = dir.resolve(name);
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<w:document xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\"><w:body>");
+        for (String paragraph : paragraphs) {
+            xml.append("<w:p><w:r><w:t>").append(paragraph).append("</w:t><w:tab/><w:t>x</w:t></w:r></w:p>");
+        }
+        xml.append("</w:body></w:document>");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write(xml.toString().getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return file;
+    }
+
+    private static ExtractionException.Reason failure(CompletableFuture<ExtractedText> future) {
+        CompletionException e = assertThrows(CompletionException.class, future::join);
+        return ((ExtractionException) e.getCause()).reason();
+    }
+
+    @Test
+    void extractsPdfPagesUpToTheLimit() throws Exception {
+        ExtractedText two = service.submit(pdf("two.pdf", 2), "two.pdf").join();
+        assertEquals(2, two.pages());
+        assertFalse(two.truncated());
+        assertTrue(two.text().contains("Page 1: " + LINE), two.text());
+        assertTrue(two.text().contains("Page 2: " + LINE), two.text());
+
+        ExtractedText five = service.submit(pdf("five.pdf", 5), "five.pdf").join();
+        assertEquals(3, five.pages());
+        assertTrue(five.truncated());
+        assertFalse(five.text().contains("Page 4"));
+    }
+
+    @Test
+    void extractsDocxParagraphs() throws Exception {
+        ExtractedText text = service.submit(docx("cv.docx", LINE, "Second paragraph"), "CV.DOCX").join();
+        assertEquals(LINE + "\tx\n\nSecond paragraph\tx\n\n", text.text());
+        assertEquals(0, text.pages());
+    }
+
+    @Test
+    void refusesUnsupportedOversizedEmptyAndDamagedFiles() throws Exception {
+        assertEquals(ExtractionException.Reason.UNSUPPORTED_TYPE,
+                failure(service.submit(docx("old.doc", LINE), "old.doc")));
+        Path large = dir.resolve("large.pdf");
+        Files.write(large, new byte[128 * 1024]);
+        assertEquals(ExtractionException.Reason.TOO_LARGE, failure(service.submit(large, "large.pdf")));
+        assertEquals(ExtractionException.Reason.EMPTY_RESUME,
+                failure(service.submit(docx("short.docx", "Jane Doe"), "short.docx")));
+        Path garbage = dir.resolve("garbage.pdf");
+        Files.writeString(garbage, "not a pdf at all");
+        assertEquals(ExtractionException.Reason.UNREADABLE, failure(service.submit(garbage, "garbage.pdf")));
+
+        // A small zip that inflates past max-uncompressed-bytes.
+        Path bomb = dir.resolve("bomb.docx");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(bomb))) {
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            byte[] spaces = new byte[64 * 1024];
+            Arrays.fill(spaces, (byte) ' ');
+            zip.write("<?xml version=\"1.0\"?><a>".getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < 8; i++) {
+                zip.write(spaces);
+            }
+            zip.closeEntry();
+        }
+        assertTrue(Files.size(bomb) < 64 * 1024);
+        assertEquals(ExtractionException.Reason.TOO_LARGE, failure(service.submit(bomb, "bomb.docx")));
+    }
+
+    @Test
+    void extractsABatchInParallelAndCachesStoredResumes() throws Exception {
+        List<CompletableFuture<ExtractedText>> batch = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            batch.add(service.submit(pdf("batch" + i + ".pdf", 2), "batch" + i + ".pdf"));
+        }
+        for (CompletableFuture<ExtractedText> future : batch) {
+            assertEquals(2, future.join().pages());
+        }
+
+        try (InputStream in = Files.newInputStream(pdf("stored.pdf", 1))) {
+            store.put(42, "stored.pdf", "application/pdf", in);
+        }
+        ExtractedText extracted = service.storedText(42).orElseThrow();
+        assertEquals(1, extracted.pages());
+        ExtractedText cached = service.storedText(42).orElseThrow();
+        assertEquals(extracted.text(), cached.text());
+        assertEquals(0, cached.pages(), "served from the cache");
+        assertTrue(service.storedText(43).isEmpty());
+    }
+}
@@ -0,0 +1,121 @@
+package com.talos.backend.feed;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobFeedServiceTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private JobFeedService feed;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:feed;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("""
+                CREATE TABLE jobs (
+                    id BIGINT PRIMARY KEY, title VARCHAR(200), company_name VARCHAR(200), description TEXT,
+                    ai_generated_description TEXT, city VARCHAR(100), location VARCHAR(200), zip_code VARCHAR(10),
+                    job_type VARCHAR(20), pay_range_min NUMERIC(10,2), salary_min REAL, pay_range_max NUMERIC(10,2),
+                    salary_max REAL, pay_type VARCHAR(20), created_at TIMESTAMP, valid_through DATE,
+                    status VARCHAR(20), deleted_at TIMESTAMP, updated_at TIMESTAMP)
+                """);
+        insert(1, "Warehouse Associate", "2024-03-01 10:00:00", "Lift & <carry> ]]> boxes");
+        insert(2, "HVAC Installer", "2024-03-05 10:00:00", null);
+        jdbc.update("UPDATE jobs SET pay_range_min = 18, pay_range_max = 24.5, valid_through = DATE '2999-01-01' WHERE id = 2");
+        feed = new JobFeedService(dataSource, new DataSourceTransactionManager(dataSource), "https://jobs.example/", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+
+    private void insert(long id, String title, String created, String description) {
+        jdbc.update("INSERT INTO jobs (id, title, description, ai_generated_description, location, job_type, "
+                        + "created_at, status, updated_at) VALUES (?, ?, ?, 'Generated', 'Tulsa, OK', 'Part_Time', "
+                        + "TIMESTAMP '" + created + "', 'active', CURRENT_TIMESTAMP)",
+                id, title, description);
+    }
+
+    private String streamed() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        feed.stream(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String withoutBuildDate(String xml) {
+        return xml.replaceAll("<lastBuildDate>[^<]*</lastBuildDate>", "");
+    }
+
+    @Test
+    void streamsTheNodeFeedFormat() throws Exception {
+        String xml = streamed();
+
+        DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+        assertTrue(xml.startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<source>\n  <publisher>Talos ATS</publisher>"));
+        assertTrue(xml.indexOf("<referencenumber>2<") < xml.indexOf("<referencenumber>1<"), "newest first");
+        assertTrue(xml.contains("<url>https://jobs.example/jobs/2</url>"));
+        assertTrue(xml.contains("<company>Company</company>"));
+        assertTrue(xml.contains("<city>Tulsa, OK</city>"));
+        assertTrue(xml.contains("<salary>$18.00-24.50/hour</salary>"));
+        assertTrue(xml.contains("<jobtype>part-time</jobtype>"));
+        assertTrue(xml.contains("<validthrough>2999-01-01</validthrough>"));
+        assertTrue(xml.contains("<description><![CDATA[Generated]]></description>"));
+        assertTrue(xml.contains("<![CDATA[Lift & <carry> ]]]]><![CDATA[> boxes]]>"));
+        assertTrue(xml.endsWith("  </job>\n</source>"));
+    }
+
+    @Test
+    void snapshotMatchesTheStreamedFeed() throws Exception {
+        feed.rebuild();
+        JobFeedSnapshot snapshot = feed.snapshot();
+
+        assertEquals(2, snapshot.jobCount());
+        assertEquals(withoutBuildDate(streamed()), withoutBuildDate(new String(snapshot.xml(), StandardCharsets.UTF_8)));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+            assertArrayEquals(snapshot.xml(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void republishesOnlyWhenAJobChanges() {
+        feed.rebuild();
+        JobFeedSnapshot first = feed.snapshot();
+        Timestamp since = Timestamp.from(Instant.EPOCH);
+
+        feed.rebuild();
+        assertFalse(feed.refresh(since));
+        assertSame(first, feed.snapshot());
+
+        jdbc.update("UPDATE jobs SET title = 'Senior HVAC Installer' WHERE id = 2");
+        assertTrue(feed.refresh(since));
+        JobFeedSnapshot renamed = feed.snapshot();
+        assertNotEquals(first.etag(), renamed.etag());
+        assertTrue(new String(renamed.xml(), StandardCharsets.UTF_8).contains("Senior HVAC Installer"));
+
+        jdbc.update("UPDATE jobs SET deleted_at = CURRENT_TIMESTAMP WHERE id = 1");
+        insert(3, "Bookkeeper", "2024-02-01 10:00:00", "Books");
+        assertTrue(feed.refresh(since));
+        String xml = new String(feed.snapshot().xml(), StandardCharsets.UTF_8);
+        assertFalse(xml.contains("<referencenumber>1<"));
+        assertTrue(xml.indexOf("<referencenumber>2<") < xml.indexOf("<referencenumber>3<"));
+        assertEquals(2, feed.snapshot().jobCount());
+    }
+}
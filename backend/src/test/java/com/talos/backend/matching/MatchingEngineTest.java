@@ -0,0 +1,78 @@
+package com.talos.backend.matching;
+
+import com.talos.backend.scoring.VehicleStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchingEngineTest {
+
+    private static final SkillVocabulary VOCABULARY = SkillVocabulary.load();
+
+    private static CandidateFeatures candidate(int score, double years, List<String> skills, String city,
+                                               String zip, VehicleStatus vehicle) {
+        return CandidateFeatures.of(new CandidateProfile(1, score, years, skills, List.of(), List.of(), null,
+                city, zip, vehicle), VOCABULARY);
+    }
+
+    private static JobProfile job(long id, String position, double years, boolean vehicle, String city, String zip) {
+        return new JobProfile(id, position + " " + id, "somewhere", position, years, vehicle, city, zip, null);
+    }
+
+    @Test
+    void matchesKeywordsAtWordStarts() {
+        long mask = VOCABULARY.skillsIn(List.of("Coordinated schedules", "NATE certified", "Diagnostics"));
+        assertEquals(List.of("diagnostics", "nate"), VOCABULARY.names(mask));
+        assertEquals(0, VOCABULARY.skillsIn(List.of("coordinate")));
+
+        SkillVocabulary small = new SkillVocabulary(Map.of("b", "beta", "a", "alpha"), Map.of());
+        assertEquals(List.of("a", "b"), small.names(small.skillsIn(List.of("Beta and ALPHA"))));
+    }
+
+    @Test
+    void scoresExperienceSkillsLocationAndVehicle() {
+        JobMatrix matrix = JobMatrix.ofJobs(List.of(
+                job(1, "HVAC Installer", 2, false, "Tulsa", "74101"),
+                job(2, "HVAC Installer", 10, true, null, null),
+                job(3, "Bookkeeper", 3, false, "Austin", "73301")), VOCABULARY);
+        // installation, hand-tools and electrical out of the installer's five skills.
+        CandidateFeatures candidate = candidate(70, 3, List.of("Installation", "Brazing", "Wiring"),
+                " tulsa ", "74133", VehicleStatus.NO_VEHICLE);
+        float[] scores = new float[matrix.size()];
+        matrix.score(candidate, scores);
+
+        assertEquals(70 + 5 + 2 + 5, scores[0], 1e-4);
+        assertEquals(70 - 10 + 2 - 10, scores[1], 1e-4);
+        assertEquals(70 + 5 - 10, scores[2], 1e-4);
+
+        CandidateFeatures nowhere = candidate(98, 3, List.of("Installation", "Brazing", "Wiring"),
+                null, null, VehicleStatus.HAS_VEHICLE);
+        matrix.score(nowhere, scores);
+        assertEquals(100, scores[0]);
+        assertEquals(98 - 10 + 2 + 5, scores[1], 1e-4);
+    }
+
+    @Test
+    void topIsBestFirstWithTiesInIndexOrder() {
+        float[] scores = {50, 90, 70, 90, 10, 70};
+        assertArrayEquals(new int[]{1, 3, 2, 5}, JobMatrix.top(scores, scores.length, 4));
+        assertArrayEquals(new int[]{1, 2, 0}, JobMatrix.top(scores, 3, 10));
+        assertArrayEquals(new int[0], JobMatrix.top(scores, scores.length, 0));
+    }
+
+    @Test
+    void ranksPositionsBySkills() {
+        JobMatrix positions = JobMatrix.ofPositions(VOCABULARY);
+        CandidateFeatures bookkeeper = candidate(60, 4,
+                List.of("QuickBooks", "Accounts payable", "Data entry", "Invoicing"), null, null,
+                VehicleStatus.UNKNOWN);
+        float[] scores = new float[positions.size()];
+        positions.score(bookkeeper, scores);
+
+        assertEquals("Bookkeeper", positions.title(JobMatrix.top(scores, positions.size(), 1)[0]));
+        assertNull(positions.job(0));
+    }
+}
@@ -0,0 +1,204 @@
+package com.talos.backend.messaging;
+
+import com.talos.backend.audit.AuditQueries;
+import com.talos.backend.audit.AuditWriter;
+import com.talos.backend.auth.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkMessagingServiceTest {
+
+    private static final int MAX_CONCURRENT = 4;
+    private static final AuthenticatedUser ADMIN = new AuthenticatedUser(1, "admin@example.com", "admin");
+    private static final AuthenticatedUser OWNER = new AuthenticatedUser(10, "owner@example.com", "user");
+
+    private JdbcTemplate jdbc;
+    private CommunicationStatusWriter statusWriter;
+    private AuditWriter auditWriter;
+    private BulkMessagingService service;
+
+    private final AtomicInteger renders = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final List<String> sentTo = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:messaging;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE jobs (id BIGINT PRIMARY KEY, user_id BIGINT)");
+        jdbc.execute("CREATE TABLE candidates (id BIGINT PRIMARY KEY, full_name VARCHAR(255), applicant_email VARCHAR(255))");
+        jdbc.execute("""
+                CREATE TABLE candidate_pipeline (
+                    id BIGINT PRIMARY KEY, candidate_id BIGINT, job_id BIGINT, pipeline_status VARCHAR(50),
+                    contacted_via VARCHAR(50), contacted_at TIMESTAMP, last_message_sent TEXT)
+                """);
+        jdbc.execute("""
+                CREATE TABLE communication_log (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY, candidate_pipeline_id BIGINT, communication_type VARCHAR(50),
+                    message_content TEXT, template_type VARCHAR(50), template_tone VARCHAR(50),
+                    is_nudge BOOLEAN DEFAULT FALSE, scheduling_link VARCHAR(500),
+                    sent_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, status VARCHAR(50) DEFAULT 'sent')
+                """);
+        jdbc.execute("""
+                CREATE TABLE audit_log (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT, action VARCHAR(50), entity_type VARCHAR(50),
+                    entity_id BIGINT, old_value TEXT, new_value TEXT)
+                """);
+        jdbc.update("INSERT INTO jobs VALUES (1, 10), (2, 20)");
+
+        DataSourceTransactionManager transactions = new DataSourceTransactionManager(dataSource);
+        MessagingQueries queries = new MessagingQueries(jdbc);
+        statusWriter = new CommunicationStatusWriter(queries, transactions, 100, 50, 20);
+        statusWriter.start();
+        auditWriter = new AuditWriter(new AuditQueries(jdbc), 256, 50, 20, "sync", 50, 2000);
+        auditWriter.start();
+        MessageRenderer renderer = new MessageRenderer(null, null, 0) {
+            @Override
+            public RenderedMessage render(MessageType type, String jobTitle, String jobLocation, String schedulingLink) {
+                renders.incrementAndGet();
+                return RenderedMessage.of(fallback(type, jobTitle, jobLocation, schedulingLink), "unused");
+            }
+        };
+        MessageSender email = new MessageSender() {
+            @Override
+            public MessageChannel channel() {
+                return MessageChannel.EMAIL;
+            }
+
+            @Override
+            public void send(Recipient recipient, RenderedMessage message) throws Exception {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                    if (recipient.email() == null) {
+                        throw new IllegalArgumentException("No email address on file");
+                    }
+                    synchronized (sentTo) {
+                        sentTo.add(recipient.email() + "|" + message.subject());
+                    }
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }
+        };
+        service = new BulkMessagingService(queries, renderer, statusWriter, auditWriter, transactions, List.of(email),
+                1000, 1000, 1000, 1000, MAX_CONCURRENT, 1000, 10_000,
+                new StaticListableBeanFactory().getBeanProvider(ThreadFactory.class));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        service.stop();
+        statusWriter.stop();
+        auditWriter.stop();
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+
+    private void pipeline(long id, long jobId, String status, String email) {
+        jdbc.update("INSERT INTO candidates VALUES (?, ?, ?)", id, "Candidate " + id, email);
+        jdbc.update("INSERT INTO candidate_pipeline (id, candidate_id, job_id, pipeline_status) VALUES (?, ?, ?, ?)",
+                id, id, jobId, status);
+    }
+
+    private int count(String sql, Object... args) {
+        return jdbc.queryForObject(sql, Integer.class, args);
+    }
+
+    private void awaitWrittenOutcomes() throws InterruptedException {
+        for (int i = 0; i < 200 && count("SELECT COUNT(*) FROM communication_log WHERE status = 'pending'") > 0; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void rendersOnceWritesInBulkAndBoundsConcurrentSends() throws InterruptedException {
+        for (long id = 1; id <= 200; id++) {
+            pipeline(id, 1, id % 2 == 0 ? "approved" : "contacted", id == 7 ? null : "c" + id + "@example.com");
+        }
+        List<Long> ids = new ArrayList<>(LongStream.rangeClosed(1, 200).boxed().toList());
+        ids.add(999L);
+
+        BulkMessagingService.MessageResult result = service.send(ids, MessageType.EMAIL, "HVAC Technician",
+                "Tulsa, OK", "https://cal.example/x", ADMIN);
+
+        assertEquals(BulkMessagingService.Status.OK, result.status());
+        assertEquals(1, renders.get());
+        assertEquals("Opportunity: HVAC Technician - Tulsa, OK", result.message().subject());
+        assertEquals(201, result.deliveries().size());
+        assertEquals(199, result.deliveries().stream().filter(d -> d.status().equals("sent")).count());
+        assertEquals("No email address on file", result.deliveries().get(6).error());
+        assertEquals("Pipeline entry not found", result.deliveries().get(200).error());
+        assertTrue(maxInFlight.get() <= MAX_CONCURRENT, "max in flight: " + maxInFlight.get());
+        assertTrue(sentTo.contains("c1@example.com|Opportunity: HVAC Technician - Tulsa, OK"));
+
+        assertEquals(200, count("SELECT COUNT(*) FROM candidate_pipeline WHERE pipeline_status = 'contacted' "
+                + "AND contacted_via = 'email' AND contacted_at IS NOT NULL AND last_message_sent LIKE 'Subject: %'"));
+        awaitWrittenOutcomes();
+        assertEquals(199, count("SELECT COUNT(*) FROM communication_log WHERE status = 'sent'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM communication_log WHERE status = 'failed' AND candidate_pipeline_id = 7"));
+        // Only the entries that were approved changed status.
+        assertEquals(100, count("SELECT COUNT(*) FROM audit_log WHERE new_value = '{\"status\":\"contacted\"}'"));
+        assertEquals(100, count("SELECT COUNT(*) FROM audit_log WHERE user_id = 1"));
+    }
+
+    @Test
+    void channelsWithoutASenderAreLoggedAsSent() throws InterruptedException {
+        pipeline(1, 1, "new", null);
+
+        BulkMessagingService.MessageResult result = service.send(List.of(1L), MessageType.SMS, "Installer",
+                "Tulsa, OK", null, ADMIN);
+
+        assertTrue(result.deliveries().get(0).success());
+        assertTrue(sentTo.isEmpty());
+        awaitWrittenOutcomes();
+        assertEquals(1, count("SELECT COUNT(*) FROM communication_log WHERE status = 'sent' AND communication_type = 'sms'"));
+    }
+
+    @Test
+    void restrictsRequestsToTheUsersJobs() {
+        pipeline(1, 1, "approved", "a@example.com");
+        pipeline(2, 2, "approved", "b@example.com");
+
+        assertEquals(BulkMessagingService.Status.FORBIDDEN,
+                service.send(List.of(1L, 2L), MessageType.REJECTION_EMAIL, "Installer", null, null, OWNER).status());
+        assertEquals(BulkMessagingService.Status.FORBIDDEN,
+                service.updateStatus(List.of(1L, 2L), "backup", OWNER).status());
+        assertEquals(0, count("SELECT COUNT(*) FROM communication_log"));
+        assertEquals(BulkMessagingService.Status.OK, service.updateStatus(List.of(1L), "backup", OWNER).status());
+        assertEquals(1, count("SELECT COUNT(*) FROM audit_log WHERE entity_id = 1 AND user_id = 10"));
+    }
+
+    @Test
+    void bulkUpdateFollowsThePipelineStateMachine() {
+        pipeline(1, 1, "new", null);
+        pipeline(2, 1, "approved", null);
+        pipeline(3, 1, "contacted", null);
+
+        BulkMessagingService.UpdateResult refused = service.updateStatus(List.of(1L, 2L, 3L), "contacted", ADMIN);
+        assertEquals(BulkMessagingService.Status.INVALID_TRANSITION, refused.status());
+        assertEquals("Invalid status transitions: id 1: 'new' -> 'contacted'", refused.error());
+        assertEquals(1, count("SELECT COUNT(*) FROM candidate_pipeline WHERE pipeline_status = 'contacted'"));
+
+        BulkMessagingService.UpdateResult updated = service.updateStatus(List.of(1L, 2L, 3L), "rejected", ADMIN);
+        assertEquals(BulkMessagingService.Status.OK, updated.status());
+        assertEquals(3, updated.pipelines().size());
+        assertEquals(3, count("SELECT COUNT(*) FROM candidate_pipeline WHERE pipeline_status = 'rejected'"));
+        assertEquals(3, count("SELECT COUNT(*) FROM audit_log WHERE action = 'status_change' AND user_id = 1"));
+        assertFalse(PipelineTransitions.allows("rejected", "approved"));
+        assertTrue(PipelineTransitions.allows("rejected", "rejected"));
+    }
+}
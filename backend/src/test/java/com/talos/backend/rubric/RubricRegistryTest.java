@@ -0,0 +1,68 @@
+package com.talos.backend.rubric;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RubricRegistryTest {
+
+    private static final String RESUME = "Jane Doe\nWarehouse Lead, 2019-2024";
+
+    @Test
+    void compilesEachKeyOnce() throws IOException {
+        RubricRegistry registry = new RubricRegistry(16);
+
+        CompiledRubric first = registry.find("Warehouse Associate", 3, true).orElseThrow();
+        assertSame(first, registry.find("Warehouse Associate", 3.0, true).orElseThrow());
+        assertNotSame(first, registry.find("Warehouse Associate", 3, false).orElseThrow());
+        assertNotEquals(first.version(), registry.find("Warehouse Associate", 3, false).orElseThrow().version());
+        assertTrue(registry.find("Chief Executive Officer", 3, true).isEmpty());
+    }
+
+    @Test
+    void resumeAndLocationStayOutOfThePrefix() throws IOException {
+        CompiledRubric rubric = new RubricRegistry(16).find("HVAC Dispatcher", 4, true).orElseThrow();
+
+        String prefix = rubric.prefix().toString();
+        assertTrue(prefix.contains("Job Requirement: 4 years"));
+        assertFalse(prefix.contains("Job Location:"));
+        assertTrue(prefix.length() > 8 * 1024);
+
+        String request = rubric.request("Tulsa, OK", RESUME);
+        assertTrue(request.startsWith("Job Location: Tulsa, OK\n\nResume Content:\n" + RESUME));
+        assertEquals(prefix + request, rubric.prompt("Tulsa, OK", RESUME));
+        assertTrue(rubric.request(null, RESUME).startsWith("Resume Content:\n" + RESUME));
+    }
+
+    @Test
+    void rendersFlagsAndNumbersLikeTheNodeBackend() throws IOException {
+        RubricRegistry registry = new RubricRegistry(16);
+
+        String strict = registry.find("Warehouse Associate", 3, false).orElseThrow().prompt(null, RESUME);
+        assertTrue(strict.contains("Flexibility on Role Title: NO - Strict title matching"));
+        assertTrue(strict.contains("(1.5 to 2.8499999999999996 years - 50-95% of required)"));
+        assertTrue(strict.contains("Good Resume + Skills Listed:"));
+
+        String lead = registry.find("Lead HVAC Technician", 5, true).orElseThrow().prompt(null, RESUME);
+        assertTrue(lead.contains("Good Resume + Certs Listed:"));
+
+        String entryLevel = registry.find("Preventative Maintenance Technician", 0, true).orElseThrow().prompt(null, RESUME);
+        assertTrue(entryLevel.contains("ZERO EXPERIENCE REQUIRED"));
+    }
+
+    @Test
+    void rejectsMalformedTemplates() {
+        assertThrows(IllegalArgumentException.class, () -> RubricTemplate.parse("t", "{{#flexibleOnTitle}}open"));
+        assertThrows(IllegalArgumentException.class, () -> RubricTemplate.parse("t", "{{requiredMonths}}"));
+        assertThrows(IllegalArgumentException.class, () -> RubricTemplate.parse("t", "{{@coverLetter}}"));
+
+        RubricTemplate template = RubricTemplate.parse("t",
+                "{{requiredYears}}/{{requiredYearsHalf}}{{^flexibleOnTitle}} -{{flexibilityPenalty}}{{/flexibleOnTitle}}");
+        CompiledRubric.Builder out = new CompiledRubric.Builder();
+        template.render(new RubricKey("p", 5, false), Map.of(), out);
+        assertEquals("5/2.5 -9", out.build(new RubricKey("p", 5, false), "t").prefix().toString());
+    }
+}
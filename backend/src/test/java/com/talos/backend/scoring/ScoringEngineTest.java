@@ -0,0 +1,104 @@
+package com.talos.backend.scoring;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mirrors backend-node/tests/scoringService.test.js so both implementations stay in step.
+ */
+class ScoringEngineTest {
+
+    private static final double NaN = Double.NaN;
+
+    @Test
+    void calculateTierBoundaries() {
+        assertEquals(Tier.GREEN, ScoringEngine.calculateTier(80));
+        assertEquals(Tier.GREEN, ScoringEngine.calculateTier(100));
+        assertEquals(Tier.YELLOW, ScoringEngine.calculateTier(79));
+        assertEquals(Tier.YELLOW, ScoringEngine.calculateTier(50));
+        assertEquals(Tier.RED, ScoringEngine.calculateTier(49));
+        assertEquals(Tier.RED, ScoringEngine.calculateTier(0));
+    }
+
+    @Test
+    void calculateStarRatingAnchors() {
+        assertEquals(5.0, ScoringEngine.calculateStarRating(100));
+        assertEquals(4.0, ScoringEngine.calculateStarRating(80));
+        assertEquals(2.0, ScoringEngine.calculateStarRating(50));
+        assertEquals(0.0, ScoringEngine.calculateStarRating(0));
+        // Values from the Node implementation
+        assertEquals(2.3, ScoringEngine.calculateStarRating(55));
+        assertEquals(3.8, ScoringEngine.calculateStarRating(79));
+        assertEquals(1.5, ScoringEngine.calculateStarRating(49));
+    }
+
+    @Test
+    void starRatingStaysWithinTierBands() {
+        for (int score = 0; score <= 100; score++) {
+            double rating = ScoringEngine.calculateStarRating(score);
+            if (score >= 80) {
+                assertTrue(rating >= 4.0 && rating <= 5.0, "score " + score);
+            } else if (score >= 50) {
+                assertTrue(rating >= 2.0 && rating <= 3.9, "score " + score);
+            } else {
+                assertTrue(rating >= 0 && rating <= 1.5, "score " + score);
+            }
+        }
+    }
+
+    @Test
+    void adjustScoreForVehicle() {
+        assertEquals(70, ScoringEngine.adjustScoreForVehicle(70, VehicleStatus.HAS_VEHICLE, false));
+        assertEquals(70, ScoringEngine.adjustScoreForVehicle(70, VehicleStatus.NO_VEHICLE, false));
+        assertEquals(75, ScoringEngine.adjustScoreForVehicle(70, VehicleStatus.HAS_VEHICLE, true));
+        assertEquals(60, ScoringEngine.adjustScoreForVehicle(70, VehicleStatus.NO_VEHICLE, true));
+        assertEquals(70, ScoringEngine.adjustScoreForVehicle(70, VehicleStatus.UNKNOWN, true));
+        assertEquals(100, ScoringEngine.adjustScoreForVehicle(98, VehicleStatus.HAS_VEHICLE, true));
+        assertEquals(0, ScoringEngine.adjustScoreForVehicle(5, VehicleStatus.NO_VEHICLE, true));
+        assertEquals(VehicleStatus.UNKNOWN, VehicleStatus.fromCode(null));
+    }
+
+    @Test
+    void giveThemAChance() {
+        assertFalse(ScoringEngine.determineGiveThemAChance(49, 5, 2, 100, 100, 100,
+                "promoted to manager, customer service expert"));
+        assertTrue(ScoringEngine.determineGiveThemAChance(60, 1, 2, 85, 0, 0, ""));
+        assertFalse(ScoringEngine.determineGiveThemAChance(60, 1, 2, 50, 50, 0, ""));
+        assertTrue(ScoringEngine.determineGiveThemAChance(75, 10, 2, 0, 0, 0, ""));
+        assertFalse(ScoringEngine.determineGiveThemAChance(70, 10, 2, 0, 0, 0, ""));
+        assertTrue(ScoringEngine.determineGiveThemAChance(55, 0, 0, 0, 0, 75,
+                "Previously worked in Customer Service before transitioning to HVAC."));
+        assertFalse(ScoringEngine.determineGiveThemAChance(55, 0, 0, 0, 0, 60,
+                "Previously worked in customer service before transitioning to HVAC."));
+        assertFalse(ScoringEngine.determineGiveThemAChance(65, 2, 2, 60, 60, 60,
+                "Experienced HVAC technician with solid fundamentals."));
+        assertFalse(ScoringEngine.determineGiveThemAChance(60, NaN, NaN, NaN, NaN, NaN, (String) null));
+    }
+
+    @Test
+    void scoreAllMatchesScalarPath() {
+        int count = 203;
+        int[] scores = new int[count];
+        byte[] statuses = new byte[count];
+        boolean[] required = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            scores[i] = i - 1; // includes -1 and 101 to exercise the non-table path
+            statuses[i] = (byte) (i % 3);
+            required[i] = i % 2 == 0;
+        }
+        byte[] tiers = new byte[count];
+        int[] tierScores = new int[count];
+        double[] stars = new double[count];
+
+        ScoringEngine.scoreAll(scores, statuses, required, count, tiers, tierScores, stars);
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(ScoringEngine.calculateTier(scores[i]), Tier.fromOrdinal(tiers[i]));
+            assertEquals(ScoringEngine.calculateStarRating(scores[i]), stars[i]);
+            double adjusted = ScoringEngine.adjustScoreForVehicle(scores[i],
+                    VehicleStatus.values()[statuses[i]], required[i]);
+            assertEquals((int) adjusted, tierScores[i]);
+        }
+    }
+}
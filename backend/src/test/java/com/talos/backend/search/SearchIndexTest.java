@@ -0,0 +1,123 @@
+package com.talos.backend.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+
+    @TempDir
+    Path dir;
+
+    private static SearchDocument doc(long candidateId, String resume, String... certifications) {
+        Map<SearchField, List<String>> fields = new EnumMap<>(SearchField.class);
+        fields.put(SearchField.RESUME, List.of(resume));
+        fields.put(SearchField.CERTIFICATIONS, List.of(certifications));
+        return new SearchDocument(candidateId, fields);
+    }
+
+    private static List<SearchDocument> sample() {
+        return List.of(
+                doc(1, "Residential HVAC installer, eight years of ductwork and heat pumps", "EPA 608 Universal"),
+                doc(2, "Warehouse associate; forklift operator", "OSHA 10"),
+                doc(3, "Holds EPA 608 Type II. Universal remote programming for home theaters"),
+                doc(4, "Commercial refrigeration technician, refrigeration service and refrigeration repair",
+                        "EPA 608 Type I", "NATE"),
+                doc(5, "HVAC service technician", "EPA-608 universal"));
+    }
+
+    private static List<Long> ids(SearchIndex index, String query) {
+        return index.search(SearchQuery.parse(query), 10, null).stream().map(SearchIndex.Hit::candidateId).toList();
+    }
+
+    @Test
+    void phrasesMustMatchInOrderWithinOneValue() {
+        SearchIndex index = new SearchIndex(dir, 8);
+        index.replaceAll(sample());
+
+        // Candidate 3 has every word, but not as the phrase.
+        assertEquals(List.of(1L, 5L), ids(index, "\"EPA 608 Universal\"").stream().sorted().toList());
+        assertEquals(List.of(4L), ids(index, "\"608 type i\" \"nate\""));
+        assertEquals(List.of(), ids(index, "\"type i nate\""));
+        // Terms rank the phrase matches; they do not filter them.
+        assertEquals(List.of(5L, 1L), ids(index, "\"EPA 608 Universal\" service"));
+    }
+
+    @Test
+    void ranksWithBm25AndFieldWeights() {
+        SearchIndex index = new SearchIndex(dir, 8);
+        index.replaceAll(sample());
+
+        assertEquals(List.of(4L), ids(index, "refrigeration"));
+        // A certification outranks the same word in the resume text.
+        List<Long> universal = ids(index, "universal");
+        assertEquals(3, universal.size());
+        assertEquals(3L, universal.get(2));
+        assertEquals(List.of(), ids(index, "plumber"));
+        assertEquals(List.of(2L), index.search(SearchQuery.parse("forklift"), 10, id -> id == 2).stream()
+                .map(SearchIndex.Hit::candidateId).toList());
+        assertEquals(List.of(), index.search(SearchQuery.parse("forklift"), 10, id -> id != 2));
+    }
+
+    @Test
+    void updatesReplaceAndRemoveCandidatesAcrossMerges() {
+        SearchIndex index = new SearchIndex(dir, 2);
+        index.replaceAll(sample());
+
+        index.update(List.of(doc(2, "Forklift operator, now EPA 608 Universal certified")), List.of());
+        index.update(List.of(doc(6, "Apprentice", "EPA 608 Universal")), List.of(1L));
+        index.update(List.of(doc(7, "Forklift trainer")), List.of());
+
+        assertEquals(List.of(2L, 5L, 6L), ids(index, "\"epa 608 universal\"").stream().sorted().toList());
+        assertEquals(List.of(2L, 7L), ids(index, "forklift").stream().sorted().toList());
+        assertEquals(6, index.size());
+        assertFalse(index.candidateIds().contains(1L));
+    }
+
+    @Test
+    void savesAndReloadsMappedIndex() throws Exception {
+        SearchIndex index = new SearchIndex(dir, 8);
+        index.replaceAll(sample());
+        assertTrue(index.save(1234L));
+        assertFalse(index.save(1234L), "nothing changed");
+        index.update(List.of(), List.of(3L));
+        assertTrue(index.save(5678L));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(List.of("search-2.idx"), files.map(p -> p.getFileName().toString()).toList());
+        }
+
+        SearchIndex reloaded = new SearchIndex(dir, 8);
+        assertEquals(OptionalLong.of(5678L), reloaded.load());
+        assertTrue(reloaded.isReady());
+        assertEquals(4, reloaded.size());
+        assertEquals(List.of(1L, 5L), ids(reloaded, "\"EPA 608 Universal\"").stream().sorted().toList());
+        assertEquals(ids(index, "hvac technician"), ids(reloaded, "hvac technician"));
+
+        reloaded.update(List.of(doc(8, "Universal installer")), List.of());
+        assertEquals(3, ids(reloaded, "universal").size());
+        assertEquals(OptionalLong.empty(), new SearchIndex(dir.resolve("missing"), 8).load());
+    }
+
+    @Test
+    void parsesQueries() {
+        SearchQuery query = SearchQuery.parse("  \"EPA-608 Universal\" HVAC hvac \"\" \"open");
+        assertEquals(List.of("hvac"), query.terms());
+        assertEquals(List.of(List.of("epa", "608", "universal"), List.of("open")), query.phrases());
+        assertTrue(SearchQuery.parse(" \"\" - ").isEmpty());
+        List<String> many = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            many.add("w" + i);
+        }
+        assertEquals(SearchQuery.MAX_CLAUSES, SearchQuery.parse(String.join(" ", many)).terms().size());
+    }
+}
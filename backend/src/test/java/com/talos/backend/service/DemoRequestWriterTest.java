@@ -0,0 +1,101 @@
+package com.talos.backend.service;
+
+import com.talos.backend.model.DemoRequest;
+import com.talos.backend.repository.DemoRequestRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DemoRequestWriterTest {
+
+    private static final PlatformTransactionManager NO_TRANSACTIONS = new PlatformTransactionManager() {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    };
+
+    @TempDir
+    Path spoolDir;
+
+    private final List<String> saved = Collections.synchronizedList(new ArrayList<>());
+
+    // A repository whose writes fail for any email in {@code failing}, taking the whole batch down with them.
+    @SuppressWarnings("unchecked")
+    private DemoRequestRepository repository(Set<String> failing) {
+        return (DemoRequestRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{DemoRequestRepository.class}, (proxy, method, args) -> {
+                    List<DemoRequest> requests = switch (method.getName()) {
+                        case "save" -> List.of((DemoRequest) args[0]);
+                        case "saveAll" -> new ArrayList<>((List<DemoRequest>) args[0]);
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                    if (requests.stream().anyMatch(request -> failing.contains(request.getEmail()))) {
+                        throw new IllegalStateException("value too long");
+                    }
+                    requests.forEach(request -> saved.add(request.getEmail()));
+                    return method.getName().equals("save") ? args[0] : requests;
+                });
+    }
+
+    private DemoRequestWriter start(Set<String> failing) throws Exception {
+        DemoRequestWriter writer = new DemoRequestWriter(repository(failing), NO_TRANSACTIONS, 100, 50, 20, spoolDir);
+        writer.start();
+        return writer;
+    }
+
+    private static DemoRequest request(String email) {
+        DemoRequest request = new DemoRequest();
+        request.setFirstName("Pat");
+        request.setEmail(email);
+        request.setCreatedAt(Instant.parse("2026-01-05T10:00:00Z"));
+        return request;
+    }
+
+    private long spooled() throws Exception {
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void aFailedBatchIsRetriedRowByRowAndTheRowThatStillFailsIsReplayedAtStartup() throws Exception {
+        DemoRequestWriter writer = start(Set.of("bad@example.com"));
+        assertTrue(writer.enqueue(request("a@example.com")));
+        assertTrue(writer.enqueue(request("bad@example.com")));
+        assertTrue(writer.enqueue(request("b@example.com")));
+        writer.stop();
+
+        assertEquals(Set.of("a@example.com", "b@example.com"), Set.copyOf(saved));
+        assertEquals(1, spooled());
+
+        writer = start(Set.of());
+        writer.stop();
+
+        assertEquals(List.of("bad@example.com"), saved.subList(2, saved.size()));
+        assertEquals(0, spooled());
+    }
+}
@@ -0,0 +1,135 @@
+package com.talos.backend.talentpool;
+
+import com.talos.backend.scoring.Tier;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TalentPoolIndexTest {
+
+    private static final Instant DAY = Instant.parse("2025-01-01T00:00:00Z");
+
+    private static PipelineRow row(long id, long jobId, String tier, Integer score, String status,
+                                   String person, Double years, boolean certs) {
+        return new PipelineRow(id, id, jobId, tier, score, status, person + ".pdf", person,
+                DAY.plusSeconds(id * 60), years, certs);
+    }
+
+    private static TalentPoolQuery.Builder query() {
+        return new TalentPoolQuery.Builder();
+    }
+
+    private static TalentPoolIndex sample() {
+        TalentPoolIndex index = new TalentPoolIndex();
+        index.replaceAll(
+                List.of(new JobRow(1, 10L, "Warehouse Associate", "Tulsa", "Tulsa, OK", false),
+                        new JobRow(2, 10L, "HVAC Dispatcher", null, "Austin, TX", false),
+                        new JobRow(3, 20L, "Warehouse Associate", "Dallas", null, false),
+                        new JobRow(4, 10L, "Warehouse Associate", "Tulsa", null, true)),
+                List.of(row(1, 1, "green", 90, "new", "ann", 5.0, true),
+                        row(2, 2, "yellow", 60, "approved", "ann", 5.0, true),
+                        row(3, 1, "red", 20, "new", "bob", 1.0, false),
+                        row(4, 3, "green", 85, "contacted", "cat", 8.0, false),
+                        row(5, 2, "yellow", null, "new", "dan", null, false),
+                        row(6, 4, "green", 99, "new", "eve", 10.0, true)));
+        return index;
+    }
+
+    private static long[] ids(TalentPoolIndex index, TalentPoolQuery query) {
+        return index.query(query).pipelineIds();
+    }
+
+    @Test
+    void keepsBestRowPerPersonAndSkipsDeletedJobs() {
+        TalentPoolIndex index = sample();
+
+        TalentPoolIndex.Result result = index.query(query().build());
+        // Null scores sort first in descending order, as in PostgreSQL.
+        assertArrayEquals(new long[]{5, 1, 4, 3}, result.pipelineIds());
+        assertArrayEquals(new int[]{1, 2, 1, 1}, result.jobsApplied());
+        assertEquals(4, result.total());
+
+        assertArrayEquals(new long[]{1, 4, 3}, ids(index, query().minScore(0).maxScore(100).build()));
+    }
+
+    @Test
+    void intersectsFilters() {
+        TalentPoolIndex index = sample();
+
+        assertArrayEquals(new long[]{1, 4}, ids(index, query().tier("green").build()));
+        assertArrayEquals(new long[]{1, 3}, ids(index, query().userId(10L).position("Warehouse Associate").build()));
+        assertArrayEquals(new long[]{2}, ids(index, query().status("approved").build()));
+        assertArrayEquals(new long[]{1}, ids(index, query().hasCertifications(true).build()));
+        assertArrayEquals(new long[]{1, 4}, ids(index, query().minExperience(5.0).build()));
+        assertArrayEquals(new long[]{5, 2}, ids(index, query().city("austin").build()));
+        assertArrayEquals(new long[]{1, 3}, ids(index, query().city("TULSA").build()));
+        assertArrayEquals(new long[]{2}, ids(index, query().minScore(50).maxScore(70).build()));
+        assertArrayEquals(new long[0], ids(index, query().userId(99L).build()));
+        assertArrayEquals(new long[0], ids(index, query().position("Chief Executive Officer").build()));
+    }
+
+    @Test
+    void sortsAndPages() {
+        TalentPoolIndex index = sample();
+
+        assertArrayEquals(new long[]{3, 4, 1, 5},
+                ids(index, query().sortBy(TalentPoolQuery.SortField.SCORE, true).build()));
+        assertArrayEquals(new long[]{5, 4, 3, 1},
+                ids(index, query().sortBy(TalentPoolQuery.SortField.DATE, false).build()));
+        assertArrayEquals(new long[]{1, 3, 4, 5},
+                ids(index, query().sortBy(TalentPoolQuery.SortField.NAME, true).build()));
+        assertArrayEquals(new long[]{5, 1, 3, 4},
+                ids(index, query().sortBy(TalentPoolQuery.SortField.POSITION, true).build()));
+
+        assertArrayEquals(new long[]{4, 3}, ids(index, query().page(2, 2).build()));
+        TalentPoolIndex.Result past = index.query(query().page(3, 2).build());
+        assertEquals(0, past.pipelineIds().length);
+        assertEquals(4, past.total());
+    }
+
+    @Test
+    void appliesIncrementalChanges() {
+        TalentPoolIndex index = sample();
+
+        index.updateScore(3, Tier.GREEN, 95);
+        assertArrayEquals(new long[]{3, 1, 4}, ids(index, query().tier("green").build()));
+
+        index.apply(List.of(new JobRow(3, 20L, "Warehouse Associate", "Dallas", null, true)),
+                List.of(row(7, 1, "green", 70, "new", "bob", 2.0, false),
+                        row(5, 2, "yellow", 40, "backup", "dan", null, false)));
+        assertArrayEquals(new long[]{3, 1, 5}, ids(index, query().build()));
+        assertArrayEquals(new int[]{2, 2, 1}, index.query(query().build()).jobsApplied());
+        assertArrayEquals(new long[]{5}, ids(index, query().status("backup").build()));
+        assertArrayEquals(new long[0], ids(index, query().status("new").tier("yellow").build()));
+
+        index.remove(3);
+        assertArrayEquals(new long[]{1, 7, 5}, ids(index, query().build()));
+        index.apply(List.of(new JobRow(4, 10L, "Warehouse Associate", "Tulsa", null, false)), List.of());
+        assertArrayEquals(new long[]{6, 1, 7}, ids(index, query().tier("green").build()));
+    }
+
+    @Test
+    void selectsTopOfLargePool() {
+        List<PipelineRow> rows = new ArrayList<>();
+        for (int i = 1; i <= 10_000; i++) {
+            rows.add(row(i, 1, "green", (i * 37) % 101, "new", "p" + i, (double) (i % 12), i % 3 == 0));
+        }
+        TalentPoolIndex index = new TalentPoolIndex();
+        index.replaceAll(List.of(new JobRow(1, 10L, "Warehouse Associate", "Tulsa", null, false)), rows);
+
+        List<PipelineRow> expected = rows.stream()
+                .filter(r -> r.hasCertifications() && r.yearsOfExperience() >= 4)
+                .sorted((a, b) -> a.tierScore().equals(b.tierScore())
+                        ? Long.compare(a.id(), b.id()) : Integer.compare(b.tierScore(), a.tierScore()))
+                .toList();
+        TalentPoolIndex.Result result = index.query(query().hasCertifications(true).minExperience(4.0).page(3, 25).build());
+        assertEquals(expected.size(), result.total());
+        for (int i = 0; i < 25; i++) {
+            assertEquals(expected.get(50 + i).id(), result.pipelineIds()[i]);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.talos.backend.talentpool;
+
+import com.talos.backend.scoring.Tier;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TalentPoolStatsTest {
+
+    private static final String[] TIERS = {"green", "yellow", "red", null};
+    private static final String[] STATUSES = {"new", "approved", "contacted", "backup", "rejected"};
+    private static final String[] POSITIONS = {"Warehouse Associate", "HVAC Dispatcher", null};
+
+    private static PipelineRow row(long id, long candidateId, long jobId, String tier, Integer score,
+                                   String status, String person) {
+        return new PipelineRow(id, candidateId, jobId, tier, score, status, person + ".pdf", person,
+                Instant.EPOCH, null, false);
+    }
+
+    private static TalentPoolIndex sample() {
+        TalentPoolIndex index = new TalentPoolIndex();
+        index.replaceAll(
+                List.of(new JobRow(1, 10L, "Warehouse Associate", "Tulsa", null, false),
+                        new JobRow(2, 10L, "HVAC Dispatcher", null, "Austin, TX", false),
+                        new JobRow(3, 20L, "Warehouse Associate", "Dallas", null, false),
+                        new JobRow(4, 10L, "Warehouse Associate", "Tulsa", null, true)),
+                List.of(row(1, 1, 1, "green", 90, "new", "ann"),
+                        row(2, 2, 2, "yellow", 60, "approved", "ann"),
+                        row(3, 3, 1, "red", 20, "new", "bob"),
+                        row(4, 4, 3, "green", 85, "contacted", "cat"),
+                        row(5, 5, 2, "yellow", null, "new", "dan"),
+                        row(6, 6, 4, "green", 99, "new", "eve")));
+        return index;
+    }
+
+    @Test
+    void countsBestRowPerPerson() {
+        TalentPoolStats.Snapshot all = sample().stats().snapshot(null, null);
+
+        assertEquals(4, all.total());
+        assertEquals(Map.of("green", 2L, "yellow", 1L, "red", 1L), all.tierDistribution());
+        assertEquals(new TalentPoolStats.TierAverage(87.5, 2), all.averageScoreByTier().get("green"));
+        assertEquals(new TalentPoolStats.TierAverage(0, 1), all.averageScoreByTier().get("yellow"));
+        assertEquals(Map.of("new", 3L, "contacted", 1L), all.statusBreakdown());
+        assertEquals(Map.of("Warehouse Associate", 3L, "HVAC Dispatcher", 2L), all.positionBreakdown());
+        assertEquals(1, all.scoreHistogram().get("90-100"));
+        assertEquals(1, all.scoreHistogram().get("unscored"));
+    }
+
+    @Test
+    void scopesByOwnerAndStatus() {
+        TalentPoolStats stats = sample().stats();
+
+        assertEquals(3, stats.snapshot(10L, null).total());
+        assertEquals(Map.of("Warehouse Associate", 1L), stats.snapshot(20L, null).positionBreakdown());
+        assertEquals(0, stats.snapshot(99L, null).total());
+
+        TalentPoolStats.Snapshot approved = stats.snapshot(null, "approved");
+        assertEquals(1, approved.total());
+        assertEquals(Map.of("yellow", 1L), approved.tierDistribution());
+        // The status breakdown always covers every status, as in the Node backend.
+        assertEquals(Map.of("new", 3L, "contacted", 1L), approved.statusBreakdown());
+    }
+
+    @Test
+    void changesNotYetPolledAreNotDrift() {
+        List<JobRow> jobs = List.of(new JobRow(1, 10L, "Warehouse Associate", "Tulsa", null, false));
+        List<PipelineRow> now = List.of(row(1, 1, 1, "green", 90, "contacted", "ann"),
+                row(2, 2, 1, "red", 20, "new", "bob"));
+
+        TalentPoolIndex stale = new TalentPoolIndex();
+        stale.replaceAll(jobs, List.of(row(1, 1, 1, "green", 90, "new", "ann")));
+        // ann was contacted and bob applied after the last poll: both are in the pending delta.
+        assertEquals(0, stale.replaceAll(jobs, now, List.of(), now));
+
+        TalentPoolIndex unpolled = new TalentPoolIndex();
+        unpolled.replaceAll(jobs, List.of(row(1, 1, 1, "green", 90, "new", "ann")));
+        assertTrue(unpolled.replaceAll(jobs, now) > 0, "without the delta the same changes look like drift");
+    }
+
+    @Test
+    void incrementalUpdatesMatchARebuild() {
+        Random random = new Random(42);
+        Map<Long, JobRow> jobs = new HashMap<>();
+        Map<Long, PipelineRow> rows = new HashMap<>();
+        TalentPoolIndex index = new TalentPoolIndex();
+        index.replaceAll(List.of(), List.of());
+
+        for (int step = 0; step < 3000; step++) {
+            int op = random.nextInt(10);
+            if (op == 0) {
+                JobRow job = new JobRow(1 + random.nextInt(8), (long) (1 + random.nextInt(3)),
+                        POSITIONS[random.nextInt(POSITIONS.length)], null, null, random.nextInt(5) == 0);
+                jobs.put(job.id(), job);
+                index.apply(List.of(job), List.of());
+            } else if (op == 1 && !rows.isEmpty()) {
+                long id = new ArrayList<>(rows.keySet()).get(random.nextInt(rows.size()));
+                rows.remove(id);
+                index.remove(id);
+            } else if (op == 2 && !rows.isEmpty()) {
+                PipelineRow old = new ArrayList<>(rows.values()).get(random.nextInt(rows.size()));
+                Tier tier = Tier.values()[random.nextInt(3)];
+                int score = random.nextInt(101);
+                rows.put(old.id(), new PipelineRow(old.id(), old.candidateId(), old.jobId(), tier.code(), score,
+                        old.pipelineStatus(), old.filename(), old.personKey(), old.uploadDate(), null, false));
+                index.updateScore(old.id(), tier, score);
+            } else {
+                long candidate = 1 + random.nextInt(60);
+                PipelineRow row = row(1 + random.nextInt(200), candidate, 1 + random.nextInt(8),
+                        TIERS[random.nextInt(TIERS.length)],
+                        random.nextInt(6) == 0 ? null : random.nextInt(101),
+                        STATUSES[random.nextInt(STATUSES.length)], "p" + candidate % 25);
+                rows.put(row.id(), row);
+                index.apply(List.of(), List.of(row));
+            }
+        }
+
+        TalentPoolIndex rebuilt = new TalentPoolIndex();
+        rebuilt.replaceAll(jobs.values(), rows.values());
+        for (Long owner : new Long[]{null, 1L, 2L, 3L}) {
+            for (String status : new String[]{null, "new", "backup"}) {
+                assertEquals(rebuilt.stats().snapshot(owner, status), index.stats().snapshot(owner, status),
+                        "owner " + owner + ", status " + status);
+            }
+        }
+        assertEquals(0, index.replaceAll(jobs.values(), rows.values()));
+    }
+}
@@ -0,0 +1,142 @@
+package com.talos.backend.talentpool;
+
+import com.talos.backend.scoring.Tier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TalentPoolStreamTest {
+
+    private static final Instant DAY = Instant.parse("2025-01-01T00:00:00Z");
+    private static final List<JobRow> JOBS = List.of(
+            new JobRow(1, 10L, "Warehouse Associate", "Tulsa", "Tulsa, OK", false),
+            new JobRow(2, 20L, "HVAC Dispatcher", null, "Austin, TX", false));
+
+    private final List<PersonChange> published = new ArrayList<>();
+    private TalentPoolStream stream;
+
+    private static PipelineRow row(long id, long jobId, String tier, Integer score, String status, String person) {
+        return new PipelineRow(id, id, jobId, tier, score, status, person + ".pdf", person,
+                DAY.plusSeconds(id * 60), null, false);
+    }
+
+    private static List<PipelineRow> rows() {
+        return List.of(row(1, 1, "green", 90, "new", "ann"),
+                row(2, 2, "yellow", 60, "approved", "ann"),
+                row(3, 1, "red", 20, "new", "bob"),
+                row(4, 2, "green", 85, "contacted", "cat"));
+    }
+
+    private TalentPoolIndex listeningIndex() {
+        TalentPoolIndex index = new TalentPoolIndex();
+        index.replaceAll(JOBS, rows());
+        index.setChangeListener(new TalentPoolIndex.ChangeListener() {
+            @Override
+            public boolean isListening() {
+                return true;
+            }
+
+            @Override
+            public void changed(List<PersonChange> changes) {
+                published.addAll(changes);
+            }
+        });
+        return index;
+    }
+
+    private PersonChange only(String person) {
+        assertEquals(1, published.size(), published.toString());
+        PersonChange change = published.remove(0);
+        assertEquals(person, change.personKey());
+        return change;
+    }
+
+    private static TalentPoolQuery.Builder query() {
+        return new TalentPoolQuery.Builder();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (stream != null) {
+            stream.stop();
+        }
+    }
+
+    @Test
+    void publishesDeltasForRescoresNewRowsAndRemovals() {
+        TalentPoolIndex index = listeningIndex();
+
+        index.updateScore(3, Tier.GREEN, 95);
+        PersonChange rescored = only("bob");
+        assertEquals(3, rescored.delta(query().tier("green").build()).show().pipelineId());
+        PersonChange.Delta leftRed = rescored.delta(query().tier("red").build());
+        assertNull(leftRed.show());
+        assertEquals(List.of(3L), leftRed.hideIds());
+        assertNull(rescored.delta(query().userId(20L).build()));
+
+        index.apply(List.of(), List.of(row(5, 2, "green", 70, "new", "bob")));
+        PersonChange applied = only("bob");
+        assertEquals(2, applied.jobsApplied());
+        PersonChange.Delta everyone = applied.delta(query().build());
+        assertEquals(3, everyone.show().pipelineId());
+        assertEquals(List.of(5L), everyone.hideIds());
+        // Filtered to job 2, the new row is the only match and is shown.
+        PersonChange.Delta jobTwo = applied.delta(query().jobId(2L).build());
+        assertEquals(5, jobTwo.show().pipelineId());
+        assertEquals(List.of(), jobTwo.hideIds());
+
+        index.remove(1);
+        PersonChange removed = only("ann");
+        assertEquals(1, removed.jobsApplied());
+        PersonChange.Delta ann = removed.delta(query().build());
+        assertEquals(2, ann.show().pipelineId());
+        assertEquals(List.of(1L), ann.hideIds());
+    }
+
+    @Test
+    void publishesOnlyTheDifferenceOfARebuild() {
+        TalentPoolIndex index = listeningIndex();
+
+        List<PipelineRow> rebuilt = new ArrayList<>(rows());
+        rebuilt.set(3, row(4, 2, "green", 85, "rejected", "cat"));
+        rebuilt.remove(2);
+        index.replaceAll(JOBS, rebuilt);
+
+        assertEquals(2, published.size());
+        PersonChange bob = published.stream().filter(c -> c.personKey().equals("bob")).findFirst().orElseThrow();
+        assertTrue(bob.rows().isEmpty());
+        assertEquals(List.of(3L), bob.delta(query().build()).hideIds());
+        PersonChange cat = published.stream().filter(c -> c.personKey().equals("cat")).findFirst().orElseThrow();
+        assertEquals(4, cat.delta(query().status("rejected").build()).show().pipelineId());
+        assertEquals(List.of(4L), cat.delta(query().status("contacted").build()).hideIds());
+    }
+
+    @Test
+    void listensOnlyWhileSubscribedAndCapsConnections() {
+        TalentPoolIndex index = new TalentPoolIndex();
+        index.replaceAll(JOBS, rows());
+        stream = new TalentPoolStream(index, service(index), 1, 10, 10, 10, 20, 1, 1);
+        stream.start();
+
+        assertFalse(stream.isListening());
+        assertNotNull(stream.subscribe(query().build()));
+        assertTrue(stream.isListening());
+        assertNull(stream.subscribe(query().build()), "over max-connections");
+        assertEquals(1, stream.connectionCount());
+    }
+
+    private static TalentPoolService service(TalentPoolIndex index) {
+        return new TalentPoolService(index, null, null) {
+            @Override
+            public Map<Long, Map<String, Object>> rows(long[] ids) {
+                return Map.of();
+            }
+        };
+    }
+}
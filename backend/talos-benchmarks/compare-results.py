@@ -0,0 +1,54 @@
+#!/usr/bin/env python3
+"""Compare two JMH JSON result files and fail if any benchmark regressed.
+
+Usage: python compare-results.py baseline.json current.json [--threshold 0.10]
+
+Scores are compared per benchmark + params. For time-per-op modes a higher
+score is worse; for throughput a lower score is worse.
+"""
+import argparse
+import json
+import sys
+
+
+def load(path):
+    with open(path) as f:
+        results = {}
+        for entry in json.load(f):
+            params = entry.get('params') or {}
+            key = entry['benchmark'] + ''.join(f' {k}={v}' for k, v in sorted(params.items()))
+            metric = entry['primaryMetric']
+            results[key] = (entry['mode'], metric['score'], metric['scoreUnit'])
+        return results
+
+
+def main():
+    parser = argparse.ArgumentParser()
+    parser.add_argument('baseline')
+    parser.add_argument('current')
+    parser.add_argument('--threshold', type=float, default=0.10,
+                        help='allowed relative slowdown before failing (default 0.10)')
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+    regressions = 0
+
+    for key in sorted(current):
+        mode, score, unit = current[key]
+        if key not in baseline:
+            print(f'NEW        {key}: {score:.3f} {unit}')
+            continue
+        old = baseline[key][1]
+        change = (score - old) / old if old else 0.0
+        if mode == 'thrpt':
+            change = -change
+        status = 'REGRESSED' if change > args.threshold else 'ok'
+        regressions += status == 'REGRESSED'
+        print(f'{status:<10} {key}: {old:.3f} -> {score:.3f} {unit} ({change:+.1%})')
+
+    sys.exit(1 if regressions else 0)
+
+
+if __name__ == '__main__':
+    main()
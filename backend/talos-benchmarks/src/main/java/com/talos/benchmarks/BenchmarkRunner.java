@@ -0,0 +1,30 @@
+package com.talos.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point of benchmarks.jar. Same options as the stock JMH launcher, but
+ * results default to JSON in jmh-result.json so CI can diff them against the
+ * last deployed run with compare-results.py.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> argv = new ArrayList<>(List.of(args));
+        if (!argv.contains("-rf")) {
+            argv.add("-rf");
+            argv.add("json");
+        }
+        if (!argv.contains("-rff")) {
+            argv.add("-rff");
+            argv.add("jmh-result.json");
+        }
+        Main.main(argv.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,112 @@
+package com.talos.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.talos.backend.controller.DemoController;
+import com.talos.backend.controller.DemoRequestForm;
+import com.talos.backend.model.DemoRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.actuate.health.DefaultHealthContributorRegistry;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.HealthEndpointGroup;
+import org.springframework.boot.actuate.health.HealthEndpointGroups;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request/response path of {@code POST /api/demo-request} and {@code GET /api/health}
+ * without the servlet container: JSON binding of the body, entity mapping, and
+ * building plus serializing the response map.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DemoRequestBindingBenchmark {
+
+    private static final byte[] BODY = ("{\"firstName\":\"Dana\",\"lastName\":\"Reyes\","
+            + "\"email\":\"dana.reyes@coolairhvac.com\",\"company\":\"Cool Air HVAC\","
+            + "\"phone\":\"(555) 123-4567\",\"companySize\":\"11-50\","
+            + "\"currentChallenges\":\"Hard to find EPA certified service techs for summer peak\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private ObjectReader mapReader;
+    private ObjectReader formReader;
+    private ObjectWriter responseWriter;
+    private DemoController controller;
+
+    @Setup
+    public void setup() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapReader = mapper.readerFor(new TypeReference<Map<String, Object>>() { });
+        formReader = mapper.readerFor(DemoRequestForm.class);
+        responseWriter = mapper.writer();
+        // healthCheck does not touch the writer; health is stubbed to UP so only the
+        // controller's own work is measured.
+        controller = new DemoController(null, new UpHealthEndpoint());
+    }
+
+    @Benchmark
+    public Map<String, Object> bindUntypedMap() throws Exception {
+        return mapReader.readValue(BODY);
+    }
+
+    @Benchmark
+    public DemoRequestForm bindTypedForm() throws Exception {
+        return formReader.readValue(BODY);
+    }
+
+    @Benchmark
+    public DemoRequest bindAndMapToEntity() throws Exception {
+        DemoRequestForm form = formReader.readValue(BODY);
+        return form.toEntity();
+    }
+
+    @Benchmark
+    public Object buildHealthResponse() {
+        return controller.healthCheck().getBody();
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializeHealthResponse() throws Exception {
+        return responseWriter.writeValueAsBytes(controller.healthCheck().getBody());
+    }
+
+    private static final class UpHealthEndpoint extends HealthEndpoint {
+        private static final Health UP = Health.up().build();
+
+        UpHealthEndpoint() {
+            super(new DefaultHealthContributorRegistry(), new HealthEndpointGroups() {
+                @Override
+                public HealthEndpointGroup getPrimary() {
+                    return null;
+                }
+
+                @Override
+                public Set<String> getNames() {
+                    return Set.of();
+                }
+
+                @Override
+                public HealthEndpointGroup get(String name) {
+                    return null;
+                }
+            }, Duration.ZERO);
+        }
+
+        @Override
+        public HealthComponent health() {
+            return UP;
+        }
+    }
+}
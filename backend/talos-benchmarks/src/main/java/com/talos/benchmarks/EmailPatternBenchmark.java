@@ -0,0 +1,37 @@
+package com.talos.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Email validation as done by the desktop {@code DemoRequestDialog}. The dialog
+ * lives in the default package and cannot be imported, so its
+ * {@code EMAIL_PATTERN} expression is mirrored here; keep the two in sync.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailPatternBenchmark {
+
+    static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$";
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL_REGEX);
+
+    @Param({"dispatch@coolairhvac.com", "first.last+jobs@mail.service-techs.example.org", "not-an-email@localhost"})
+    public String email;
+
+    @Benchmark
+    public boolean precompiledPattern() {
+        return EMAIL_PATTERN.matcher(email).matches();
+    }
+
+    @Benchmark
+    public boolean stringMatches() {
+        return email.matches(EMAIL_REGEX);
+    }
+}
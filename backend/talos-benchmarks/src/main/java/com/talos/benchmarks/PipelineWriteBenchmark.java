@@ -0,0 +1,193 @@
+package com.talos.benchmarks;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The candidate_pipeline write paths (adding a scored candidate, moving candidates
+ * between statuses) through a Hikari pool, one statement per row in auto-commit as the
+ * Node routes do, against a JDBC batch in one transaction as the {@code postgres}
+ * profile configures Hibernate and the bulk writers.
+ *
+ * <p>Runs against H2 in PostgreSQL mode unless pointed at a real server, where the
+ * {@code tuned} pool also gets the profile's prepared-statement cache and batch-rewrite
+ * settings:
+ * <pre>
+ * java -Dtalos.bench.url=jdbc:postgresql://localhost:5432/talos_bench \
+ *      -Dtalos.bench.user=talos -Dtalos.bench.password=... \
+ *      -jar benchmarks.jar PipelineWriteBenchmark
+ * </pre>
+ * The benchmark creates and drops its own {@code bench_candidate_pipeline} table.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class PipelineWriteBenchmark {
+
+    private static final int ROWS_PER_OP = 50;
+    private static final int SEEDED_ROWS = 20_000;
+    private static final String[] STATUSES = {"new", "approved", "contacted", "backup", "rejected"};
+
+    private static final String INSERT_SQL = """
+            INSERT INTO bench_candidate_pipeline
+                (candidate_id, job_id, pipeline_status, tier, tier_score, star_rating, vehicle_status, updated_at)
+            VALUES (?, ?, 'new', ?, ?, ?, 'unknown', CURRENT_TIMESTAMP)""";
+
+    private static final String STATUS_SQL =
+            "UPDATE bench_candidate_pipeline SET pipeline_status = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    /** {@code default}: Hikari and driver defaults; {@code tuned}: the postgres profile's settings. */
+    @Param({"default", "tuned"})
+    public String pool;
+
+    /** Rows per round trip: 1 is row by row in auto-commit, otherwise one batch per transaction. */
+    @Param({"1", "50"})
+    public int batch;
+
+    private HikariDataSource dataSource;
+    private final AtomicLong nextCandidate = new AtomicLong(SEEDED_ROWS);
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        String url = System.getProperty("talos.bench.url",
+                "jdbc:h2:mem:pipeline;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(System.getProperty("talos.bench.user", "sa"));
+        config.setPassword(System.getProperty("talos.bench.password", ""));
+        config.setPoolName("bench-" + pool);
+        if ("tuned".equals(pool)) {
+            // Same values as application-postgres.properties on an 8-thread load.
+            config.setMaximumPoolSize(Math.min(Runtime.getRuntime().availableProcessors() * 2 + 1, 8) + 3);
+            config.setMinimumIdle(config.getMaximumPoolSize());
+            if (url.startsWith("jdbc:postgresql:")) {
+                config.addDataSourceProperty("prepareThreshold", "3");
+                config.addDataSourceProperty("preparedStatementCacheQueries", "256");
+                config.addDataSourceProperty("preparedStatementCacheSizeMiB", "5");
+                config.addDataSourceProperty("reWriteBatchedInserts", "true");
+            }
+        }
+        dataSource = new HikariDataSource(config);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_candidate_pipeline");
+            statement.execute("""
+                    CREATE TABLE bench_candidate_pipeline (
+                        id BIGSERIAL PRIMARY KEY,
+                        candidate_id BIGINT NOT NULL,
+                        job_id BIGINT NOT NULL,
+                        pipeline_status VARCHAR(20) NOT NULL,
+                        tier VARCHAR(10),
+                        tier_score INTEGER,
+                        star_rating NUMERIC(2,1),
+                        vehicle_status VARCHAR(20),
+                        updated_at TIMESTAMP,
+                        UNIQUE (candidate_id, job_id))""");
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            connection.setAutoCommit(false);
+            for (int i = 0; i < SEEDED_ROWS; i++) {
+                bindInsert(insert, i, random);
+                insert.addBatch();
+                if (i % 1000 == 999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE bench_candidate_pipeline");
+        }
+        dataSource.close();
+    }
+
+    /**
+     * Adds {@value #ROWS_PER_OP} scored candidates to the pipeline.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_OP)
+    public void addToPipeline() throws SQLException {
+        SplittableRandom random = new SplittableRandom(nextCandidate.get());
+        long first = nextCandidate.getAndAdd(ROWS_PER_OP);
+        write(INSERT_SQL, (statement, i) -> bindInsert(statement, first + i, random));
+    }
+
+    /**
+     * Moves {@value #ROWS_PER_OP} random seeded rows to a new status. Rows are updated in
+     * id order, as a bulk writer must, so concurrent transactions cannot deadlock.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_OP)
+    public void updateStatus() throws SQLException {
+        SplittableRandom random = new SplittableRandom(System.nanoTime());
+        long[] ids = random.longs(ROWS_PER_OP, 1, SEEDED_ROWS + 1).sorted().toArray();
+        write(STATUS_SQL, (statement, i) -> {
+            statement.setString(1, STATUSES[random.nextInt(STATUSES.length)]);
+            statement.setLong(2, ids[i]);
+        });
+    }
+
+    private void write(String sql, Binder binder) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            if (batch == 1) {
+                for (int i = 0; i < ROWS_PER_OP; i++) {
+                    binder.bind(statement, i);
+                    statement.executeUpdate();
+                }
+                return;
+            }
+            connection.setAutoCommit(false);
+            try {
+                for (int i = 0; i < ROWS_PER_OP; i++) {
+                    binder.bind(statement, i);
+                    statement.addBatch();
+                    if ((i + 1) % batch == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static void bindInsert(PreparedStatement statement, long candidateId, SplittableRandom random)
+            throws SQLException {
+        int score = random.nextInt(101);
+        statement.setLong(1, candidateId);
+        statement.setLong(2, 1 + candidateId % 40);
+        statement.setString(3, score >= 80 ? "green" : score >= 50 ? "yellow" : "red");
+        statement.setInt(4, score);
+        statement.setBigDecimal(5, java.math.BigDecimal.valueOf(Math.round(score / 20.0 * 2) / 2.0));
+    }
+
+    @FunctionalInterface
+    private interface Binder {
+        void bind(PreparedStatement statement, int row) throws SQLException;
+    }
+}
@@ -0,0 +1,70 @@
+package com.talos.benchmarks;
+
+import com.talos.backend.scoring.ScoringEngine;
+import com.talos.backend.scoring.Tier;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Candidate scoring as run by the re-analysis sweeps: the bulk primitive loop
+ * against calling the scalar methods row by row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoringBenchmark {
+
+    @Param({"1000", "50000"})
+    public int rows;
+
+    private int[] scores;
+    private byte[] vehicleStatuses;
+    private boolean[] vehicleRequired;
+    private byte[] tiers;
+    private int[] tierScores;
+    private double[] starRatings;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        scores = new int[rows];
+        vehicleStatuses = new byte[rows];
+        vehicleRequired = new boolean[rows];
+        for (int i = 0; i < rows; i++) {
+            scores[i] = random.nextInt(101);
+            vehicleStatuses[i] = (byte) random.nextInt(3);
+            vehicleRequired[i] = random.nextBoolean();
+        }
+        tiers = new byte[rows];
+        tierScores = new int[rows];
+        starRatings = new double[rows];
+    }
+
+    @Benchmark
+    public double[] scoreAllBulk() {
+        ScoringEngine.scoreAll(scores, vehicleStatuses, vehicleRequired, rows, tiers, tierScores, starRatings);
+        return starRatings;
+    }
+
+    @Benchmark
+    public void scoreRowByRow(Blackhole bh) {
+        for (int i = 0; i < rows; i++) {
+            Tier tier = ScoringEngine.calculateTier(scores[i]);
+            double stars = ScoringEngine.calculateStarRating(scores[i]);
+            bh.consume(tier);
+            bh.consume(stars);
+        }
+    }
+
+    @Benchmark
+    public boolean giveThemAChance() {
+        return ScoringEngine.determineGiveThemAChance(72, 1.5, 3, 60, 82, 65,
+                "Promoted to lead installer after two years of residential maintenance work.");
+    }
+}